@@ -24,11 +24,24 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.aggregator;
 
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
+import org.eclipse.basyx.aas.aggregator.api.AASPage;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
@@ -55,7 +68,16 @@ import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
  */
 public class AASAggregator implements IAASAggregator {
 
-	protected Map<String, MultiSubmodelProvider> aasProviderMap = new LinkedHashMap<>();
+	/**
+	 * Providers of the contained AAS. The map is concurrent and iterates in the
+	 * order the AAS were created
+	 */
+	protected Map<String, MultiSubmodelProvider> aasProviderMap = new ProviderMap();
+
+	/**
+	 * If true, the AAS of the complete AAS list are retrieved in parallel
+	 */
+	private boolean parallelListing = false;
 
 	protected IAASRegistry registry;
 
@@ -109,21 +131,68 @@ public class AASAggregator implements IAASAggregator {
 		this(new VABAASAPIFactory(), new SubmodelAggregatorFactory(), registry);
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Enables or disables retrieving the AAS of the complete AAS list in parallel.
+	 * If disabled, the AAS are retrieved while the list is iterated, e.g. while it
+	 * is serialized, so that the list is not held in memory as a whole.
+	 * 
+	 * @param parallelListing
+	 */
+	public void setParallelListing(boolean parallelListing) {
+		this.parallelListing = parallelListing;
+	}
+
 	@Override
 	public Collection<IAssetAdministrationShell> getAASList() {
-		return aasProviderMap.values().stream().map(p -> {
-			try {
-				return p.getValue("/aas");
-			} catch (Exception e1) {
-				e1.printStackTrace();
-				throw new RuntimeException();
+		List<MultiSubmodelProvider> providers = new ArrayList<>(aasProviderMap.values());
+		if (parallelListing) {
+			return providers.parallelStream().map(AASAggregator::retrieveAAS).collect(Collectors.toList());
+		} else {
+			return new AASList(providers);
+		}
+	}
+
+	/**
+	 * Retrieves a page of the contained AAS. In contrast to {@link #getAASList()},
+	 * which lists the AAS in the order they were created, the pages are sorted by
+	 * the AAS id. Thus, the cursor stays valid if other AAS are created or deleted.
+	 */
+	@Override
+	public AASPage getAASPage(int limit, String cursor) {
+		AASPage.checkLimit(limit);
+		NavigableMap<String, MultiSubmodelProvider> remaining = getProvidersById();
+		if (cursor != null) {
+			remaining = remaining.tailMap(AASPage.getAASId(cursor), false);
+		}
+
+		List<IAssetAdministrationShell> items = new ArrayList<>();
+		String lastId = null;
+		for (Map.Entry<String, MultiSubmodelProvider> entry : remaining.entrySet()) {
+			if (items.size() == limit) {
+				return new AASPage(items, AASPage.createCursor(lastId));
 			}
-		}).map(m -> {
-			AssetAdministrationShell aas = new AssetAdministrationShell();
-			aas.putAll((Map<? extends String, ? extends Object>) m);
-			return aas;
-		}).collect(Collectors.toList());
+			items.add(retrieveAAS(entry.getValue()));
+			lastId = entry.getKey();
+		}
+		return new AASPage(items, null);
+	}
+
+	/**
+	 * Returns the providers sorted by the id of their AAS
+	 */
+	private NavigableMap<String, MultiSubmodelProvider> getProvidersById() {
+		if (aasProviderMap instanceof ProviderMap) {
+			return ((ProviderMap) aasProviderMap).providersById;
+		}
+		// A subclass replaced the provider map
+		return new TreeMap<>(aasProviderMap);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static IAssetAdministrationShell retrieveAAS(MultiSubmodelProvider provider) {
+		// Only return a copy of the AAS
+		Map<String, Object> aas = new LinkedHashMap<>((Map<String, Object>) provider.getValue("/aas"));
+		return AssetAdministrationShell.createAsFacade(aas);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -140,7 +209,8 @@ public class AASAggregator implements IAASAggregator {
 
 	@Override
 	public void createAAS(AssetAdministrationShell aas) {
-		aasProviderMap.put(aas.getIdentification().getId(), createMultiSubmodelProvider(aas));
+		String id = aas.getIdentification().getId();
+		aasProviderMap.put(id, createMultiSubmodelProvider(aas));
 	}
 
 	@Override
@@ -177,4 +247,170 @@ public class AASAggregator implements IAASAggregator {
 		return provider;
 	}
 
+	/**
+	 * Concurrent map of the AAS providers that keeps the AAS both sorted by id,
+	 * so that pages can be looked up directly, and in creation order, in which
+	 * the map is iterated. Reads do not block, writes are serialized.
+	 */
+	private static class ProviderMap extends AbstractMap<String, MultiSubmodelProvider> {
+		private final ConcurrentSkipListMap<String, MultiSubmodelProvider> providersById = new ConcurrentSkipListMap<>();
+		private final Map<String, Long> creationNumbers = new ConcurrentHashMap<>();
+		private final ConcurrentSkipListMap<Long, String> idsByCreation = new ConcurrentSkipListMap<>();
+		private long nextCreationNumber = 0;
+
+		@Override
+		public MultiSubmodelProvider get(Object id) {
+			return providersById.get(id);
+		}
+
+		@Override
+		public boolean containsKey(Object id) {
+			return providersById.containsKey(id);
+		}
+
+		@Override
+		public int size() {
+			return providersById.size();
+		}
+
+		@Override
+		public synchronized MultiSubmodelProvider put(String id, MultiSubmodelProvider provider) {
+			MultiSubmodelProvider previous = providersById.put(id, provider);
+			if (previous == null) {
+				long creationNumber = nextCreationNumber++;
+				creationNumbers.put(id, creationNumber);
+				idsByCreation.put(creationNumber, id);
+			}
+			return previous;
+		}
+
+		@Override
+		public synchronized MultiSubmodelProvider remove(Object id) {
+			MultiSubmodelProvider previous = providersById.remove(id);
+			if (previous != null) {
+				idsByCreation.remove(creationNumbers.remove(id));
+			}
+			return previous;
+		}
+
+		@Override
+		public synchronized void clear() {
+			providersById.clear();
+			creationNumbers.clear();
+			idsByCreation.clear();
+		}
+
+		@Override
+		public Set<Map.Entry<String, MultiSubmodelProvider>> entrySet() {
+			return new AbstractSet<Map.Entry<String, MultiSubmodelProvider>>() {
+				@Override
+				public Iterator<Map.Entry<String, MultiSubmodelProvider>> iterator() {
+					return new CreationOrderIterator();
+				}
+
+				@Override
+				public int size() {
+					return providersById.size();
+				}
+			};
+		}
+
+		/**
+		 * Iterates the providers in creation order. Like the iterators of the
+		 * concurrent collections, it is weakly consistent.
+		 */
+		private class CreationOrderIterator implements Iterator<Map.Entry<String, MultiSubmodelProvider>> {
+			private final Iterator<String> ids = idsByCreation.values().iterator();
+			private Map.Entry<String, MultiSubmodelProvider> next = advance();
+			private String lastId;
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public Map.Entry<String, MultiSubmodelProvider> next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				Map.Entry<String, MultiSubmodelProvider> current = next;
+				lastId = current.getKey();
+				next = advance();
+				return current;
+			}
+
+			@Override
+			public void remove() {
+				if (lastId == null) {
+					throw new IllegalStateException();
+				}
+				ProviderMap.this.remove(lastId);
+				lastId = null;
+			}
+
+			private Map.Entry<String, MultiSubmodelProvider> advance() {
+				while (ids.hasNext()) {
+					String id = ids.next();
+					MultiSubmodelProvider provider = providersById.get(id);
+					// Skip AAS that have been deleted in the meantime
+					if (provider != null) {
+						return new AbstractMap.SimpleImmutableEntry<>(id, provider);
+					}
+				}
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * List of AAS that are retrieved from their providers when they are accessed
+	 * for the first time. Afterwards, the list behaves like a regular list.
+	 */
+	private static class AASList extends AbstractList<IAssetAdministrationShell> {
+		/**
+		 * Either the provider of an AAS that was not accessed yet or the AAS itself
+		 */
+		private final List<Object> elements;
+
+		private AASList(List<MultiSubmodelProvider> providers) {
+			this.elements = new ArrayList<>(providers);
+		}
+
+		@Override
+		public IAssetAdministrationShell get(int index) {
+			Object element = elements.get(index);
+			if (element instanceof MultiSubmodelProvider) {
+				element = retrieveAAS((MultiSubmodelProvider) element);
+				elements.set(index, element);
+			}
+			return (IAssetAdministrationShell) element;
+		}
+
+		@Override
+		public int size() {
+			return elements.size();
+		}
+
+		@Override
+		public IAssetAdministrationShell set(int index, IAssetAdministrationShell aas) {
+			IAssetAdministrationShell previous = get(index);
+			elements.set(index, aas);
+			return previous;
+		}
+
+		@Override
+		public void add(int index, IAssetAdministrationShell aas) {
+			elements.add(index, aas);
+			modCount++;
+		}
+
+		@Override
+		public IAssetAdministrationShell remove(int index) {
+			IAssetAdministrationShell previous = get(index);
+			elements.remove(index);
+			modCount++;
+			return previous;
+		}
+	}
 }
@@ -62,4 +62,20 @@ public class AASAggregatorAPIHelper {
 	public static String getAASAccessPath(IIdentifier aasId) {
 		return VABPathTools.concatenatePaths(getAASEntryPath(aasId), AASAggregatorAPIHelper.AAS_SUFFIX);
 	}
+
+	/**
+	 * Retrieves access path for getting a page of AAS
+	 * 
+	 * @param limit
+	 * @param cursor
+	 *            the cursor of the previous page or null for the first page
+	 * @return
+	 */
+	public static String getAASPagePath(int limit, String cursor) {
+		String path = getAggregatorPath() + "?" + AASAggregatorProvider.LIMIT + "=" + limit;
+		if (cursor != null) {
+			path += "&" + AASAggregatorProvider.CURSOR + "=" + cursor;
+		}
+		return path;
+	}
 }
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.aggregator.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.model.VABModelMap;
+
+/**
+ * A page of the Asset Administration Shells of an aggregator. The cursor
+ * points to the next page and is null for the last page. It is opaque to
+ * clients and only valid for the aggregator that created it.
+ */
+public class AASPage extends VABModelMap<Object> {
+	public static final String ITEMS = "items";
+	public static final String CURSOR = "cursor";
+
+	public AASPage() {
+	}
+
+	public AASPage(Collection<IAssetAdministrationShell> items, String cursor) {
+		put(ITEMS, items);
+		put(CURSOR, cursor);
+	}
+
+	public static AASPage createAsFacade(Map<String, Object> map) {
+		if (map == null) {
+			return null;
+		}
+
+		AASPage ret = new AASPage();
+		ret.setMap(map);
+		return ret;
+	}
+
+	@SuppressWarnings("unchecked")
+	public Collection<IAssetAdministrationShell> getItems() {
+		return (Collection<IAssetAdministrationShell>) get(ITEMS);
+	}
+
+	public String getCursor() {
+		return (String) get(CURSOR);
+	}
+
+	/**
+	 * Creates the cursor pointing behind the AAS with the given id
+	 * 
+	 * @param aasId
+	 * @return
+	 */
+	public static String createCursor(String aasId) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(aasId.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the id of the AAS the cursor points behind
+	 * 
+	 * @param cursor
+	 * @return
+	 */
+	public static String getAASId(String cursor) {
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new MalformedRequestException("Invalid cursor '" + cursor + "'");
+		}
+	}
+
+	/**
+	 * Checks that the limit of a page is valid
+	 * 
+	 * @param limit
+	 */
+	public static void checkLimit(int limit) {
+		if (limit <= 0) {
+			throw new MalformedRequestException("The limit of a page has to be positive, but is " + limit);
+		}
+	}
+
+	/**
+	 * Returns a page of a list of AAS, starting behind the AAS the cursor points
+	 * to
+	 * 
+	 * @param shells
+	 * @param limit
+	 * @param cursor
+	 *            null for the first page
+	 * @return
+	 */
+	public static AASPage fromList(Collection<IAssetAdministrationShell> shells, int limit, String cursor) {
+		checkLimit(limit);
+		Iterator<IAssetAdministrationShell> iterator = shells.iterator();
+		if (cursor != null) {
+			// Skip all AAS up to the last AAS of the previous page
+			String lastId = getAASId(cursor);
+			while (iterator.hasNext()) {
+				if (iterator.next().getIdentification().getId().equals(lastId)) {
+					break;
+				}
+			}
+		}
+
+		List<IAssetAdministrationShell> items = new ArrayList<>();
+		while (items.size() < limit && iterator.hasNext()) {
+			items.add(iterator.next());
+		}
+
+		String nextCursor = null;
+		if (iterator.hasNext() && !items.isEmpty()) {
+			IAssetAdministrationShell last = items.get(items.size() - 1);
+			nextCursor = createCursor(last.getIdentification().getId());
+		}
+		return new AASPage(items, nextCursor);
+	}
+}
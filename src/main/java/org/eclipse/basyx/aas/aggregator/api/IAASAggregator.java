@@ -48,6 +48,20 @@ public interface IAASAggregator {
 	 */
 	public Collection<IAssetAdministrationShell> getAASList();
 
+	/**
+	 * Retrieves a page of the Asset Administration Shells from the endpoint. By
+	 * default, the page is taken from the list of all AAS.
+	 * 
+	 * @param limit
+	 *            the maximum number of AAS in the page
+	 * @param cursor
+	 *            the cursor of the previous page or null for the first page
+	 * @return the requested page, whose cursor points to the next page
+	 */
+	public default AASPage getAASPage(int limit, String cursor) {
+		return AASPage.fromList(getAASList(), limit, cursor);
+	}
+
 	/**
 	 * Retrieves a specific Asset Administration Shell
 	 * 
@@ -28,6 +28,7 @@ package org.eclipse.basyx.aas.aggregator.observing;
 
 import java.util.Collection;
 
+import org.eclipse.basyx.aas.aggregator.api.AASPage;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
@@ -57,6 +58,11 @@ public class ObservableAASAggregator extends Observable<IAASAggregatorObserver>
 		return aasAggregator.getAASList();
 	}
 
+	@Override
+	public AASPage getAASPage(int limit, String cursor) {
+		return aasAggregator.getAASPage(limit, cursor);
+	}
+
 	@Override
 	public IAssetAdministrationShell getAAS(IIdentifier aasId) throws ResourceNotFoundException {
 		return aasAggregator.getAAS(aasId);
@@ -70,18 +76,21 @@ public class ObservableAASAggregator extends Observable<IAASAggregatorObserver>
 	@Override
 	public void createAAS(AssetAdministrationShell aas) {
 		aasAggregator.createAAS(aas);
-		observers.stream().forEach(o -> o.aasCreated(aas.getIdentification().getId()));
+		String aasId = aas.getIdentification().getId();
+		notifyObservers(o -> o.aasCreated(aasId));
 	}
 
 	@Override
 	public void updateAAS(AssetAdministrationShell aas) throws ResourceNotFoundException {
 		aasAggregator.updateAAS(aas);
-		observers.stream().forEach(o -> o.aasUpdated(aas.getIdentification().getId()));
+		String aasId = aas.getIdentification().getId();
+		notifyObservers(o -> o.aasUpdated(aasId));
 	}
 
 	@Override
 	public void deleteAAS(IIdentifier aasId) {
 		aasAggregator.deleteAAS(aasId);
-		observers.stream().forEach(o -> o.aasDeleted(aasId.getId()));
+		String id = aasId.getId();
+		notifyObservers(o -> o.aasDeleted(id));
 	}
 }
@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.aggregator.AASAggregatorAPIHelper;
+import org.eclipse.basyx.aas.aggregator.api.AASPage;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.aggregator.restapi.AASAggregatorProvider;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
@@ -86,6 +87,17 @@ public class AASAggregatorProxy implements IAASAggregator {
 		return collection.stream().map(m -> AssetAdministrationShell.createAsFacade(m)).map(aas -> getConnectedAAS(aas.getIdentification(), aas)).collect(Collectors.toList());
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public AASPage getAASPage(int limit, String cursor) {
+		AASPage.checkLimit(limit);
+		Map<String, Object> page = (Map<String, Object>) provider.getValue(AASAggregatorAPIHelper.getAASPagePath(limit, cursor));
+		logger.debug("Getting page of AAS");
+		Collection<Map<String, Object>> collection = (Collection<Map<String, Object>>) page.get(AASPage.ITEMS);
+		Collection<IAssetAdministrationShell> items = collection.stream().map(m -> AssetAdministrationShell.createAsFacade(m)).map(aas -> getConnectedAAS(aas.getIdentification(), aas)).collect(Collectors.toList());
+		return new AASPage(items, (String) page.get(AASPage.CURSOR));
+	}
+
 	@Override
 	public IAssetAdministrationShell getAAS(IIdentifier aasId) {
 		logger.debug("Getting AAS with id " + aasId);
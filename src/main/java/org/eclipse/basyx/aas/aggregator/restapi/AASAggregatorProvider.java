@@ -24,8 +24,10 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.aggregator.restapi;
 
+import java.util.HashMap;
 import java.util.Map;
 
+import org.eclipse.basyx.aas.aggregator.api.AASPage;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
@@ -52,6 +54,16 @@ public class AASAggregatorProvider implements IModelProvider {
 
 	public static final String PREFIX = "shells";
 
+	/**
+	 * Query parameter for the maximum number of AAS in a page
+	 */
+	public static final String LIMIT = "limit";
+
+	/**
+	 * Query parameter for the cursor of a page
+	 */
+	public static final String CURSOR = "cursor";
+
 	public AASAggregatorProvider(IAASAggregator aggregator) {
 		this.aggregator = aggregator;
 	}
@@ -69,7 +81,7 @@ public class AASAggregatorProvider implements IModelProvider {
 		if (!path.startsWith(PREFIX)) {
 			throw new MalformedRequestException("Path " + path + " not recognized as aggregator path. Has to start with " + PREFIX);
 		}
-		path = path.replaceFirst(PREFIX, "");
+		path = path.substring(PREFIX.length());
 		path = VABPathTools.stripSlashes(path);
 		return path;
 	}
@@ -107,12 +119,45 @@ public class AASAggregatorProvider implements IModelProvider {
 		return aas;
 	}
 
+	/**
+	 * Returns the page of AAS that is requested by the query parameters, e.g.
+	 * <i>?limit=10&cursor=...</i>
+	 * 
+	 * @param query
+	 *            the query string including the leading "?"
+	 * @return
+	 * @throws MalformedRequestException
+	 */
+	private AASPage getAASPage(String query) throws MalformedRequestException {
+		Map<String, String> parameters = new HashMap<>();
+		for (String parameter : query.substring(1).split("&")) {
+			int separator = parameter.indexOf('=');
+			if (separator < 0) {
+				throw new MalformedRequestException("Query parameter " + parameter + " has no value");
+			}
+			parameters.put(parameter.substring(0, separator), parameter.substring(separator + 1));
+		}
+
+		String limit = parameters.get(LIMIT);
+		if (limit == null) {
+			throw new MalformedRequestException("Paging requires the query parameter " + LIMIT);
+		}
+
+		try {
+			return aggregator.getAASPage(Integer.parseInt(limit), parameters.get(CURSOR));
+		} catch (NumberFormatException e) {
+			throw new MalformedRequestException("Query parameter " + LIMIT + " has to be a number, but was " + limit);
+		}
+	}
+
 	@Override
 	public Object getValue(String path) throws ProviderException {
 		path = stripPrefix(path);
 
 		if (path.isEmpty()) { // Return all AAS if path is empty
 			return aggregator.getAASList();
+		} else if (path.startsWith("?")) { // Return a page of AAS
+			return getAASPage(path);
 		} else {
 			String[] splitted = VABPathTools.splitPath(path);
 			if (splitted.length == 1) { // A specific AAS was requested
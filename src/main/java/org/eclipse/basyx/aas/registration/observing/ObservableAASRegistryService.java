@@ -54,24 +54,27 @@ public class ObservableAASRegistryService extends Observable<IAASRegistryService
 	@Override
 	public void register(AASDescriptor deviceAASDescriptor) throws ProviderException {
 		aasRegistry.register(deviceAASDescriptor);
-		observers.stream().forEach(o -> o.aasRegistered(deviceAASDescriptor.getIdentifier().getId()));
+		String aasId = deviceAASDescriptor.getIdentifier().getId();
+		notifyObservers(o -> o.aasRegistered(aasId));
 	}
 
 	@Override
 	public void register(IIdentifier aas, SubmodelDescriptor smDescriptor) throws ProviderException {
 		aasRegistry.register(aas, smDescriptor);
-		observers.stream().forEach(o -> o.submodelRegistered(aas, smDescriptor.getIdentifier()));
+		IIdentifier smId = smDescriptor.getIdentifier();
+		notifyObservers(o -> o.submodelRegistered(aas, smId));
 	}
 
 	@Override
 	public void delete(IIdentifier aasId) throws ProviderException {
 		aasRegistry.delete(aasId);
-		observers.stream().forEach(o -> o.aasDeleted(aasId.getId()));
+		String id = aasId.getId();
+		notifyObservers(o -> o.aasDeleted(id));
 	}
 
 	@Override
 	public void delete(IIdentifier aasId, IIdentifier smId) throws ProviderException {
-		observers.stream().forEach(o -> o.submodelDeleted(aasId, smId));
+		notifyObservers(o -> o.submodelDeleted(aasId, smId));
 	}
 
 	@Override
@@ -77,7 +77,7 @@ public class AASRegistryModelProvider implements IModelProvider {
 		if (!path.startsWith(PREFIX)) {
 			throw new MalformedRequestException("Path " + path + " not recognized as registry path. Has to start with " + PREFIX);
 		}
-		path = path.replaceFirst(PREFIX, "");
+		path = path.substring(PREFIX.length());
 		path = VABPathTools.stripSlashes(path);
 		return path;
 	}
@@ -27,6 +27,7 @@ package org.eclipse.basyx.aas.restapi;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
@@ -48,8 +49,11 @@ import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPIFactory;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.VABPath;
+import org.eclipse.basyx.vab.modelprovider.VABPathModelProviderAdapter;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVABPathModelProvider;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
 
@@ -95,10 +99,11 @@ import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
  * @author kuhn, pschorn
  *
  */
-public class MultiSubmodelProvider implements IModelProvider {
+public class MultiSubmodelProvider implements IVABPathModelProvider {
 
 	public static final String AAS = "aas";
 	public static final String SUBMODELS_PREFIX = VABPathTools.concatenatePaths(AAS, AssetAdministrationShell.SUBMODELS);
+	private static final VABPath SUBMODELS_PREFIX_PATH = VABPath.of(AAS, AssetAdministrationShell.SUBMODELS);
 
 	/**
 	 * Store aas providers
@@ -127,6 +132,12 @@ public class MultiSubmodelProvider implements IModelProvider {
 
 	private ISubmodelAggregator smAggregator;
 
+	/**
+	 * Providers of the local submodels by idShort. A provider is created once per
+	 * submodel API and reused by all requests to that submodel.
+	 */
+	private final Map<String, SubmodelProvider> submodelProviders = new ConcurrentHashMap<>();
+
 	/**
 	 * Constructor with empty default aas and default VAB APIs
 	 */
@@ -230,6 +241,7 @@ public class MultiSubmodelProvider implements IModelProvider {
 		Submodel sm = Submodel.createAsFacade((Map<String, Object>) modelContentProvider.getValue("/submodel"));
 		aas_provider.createValue("/submodels", sm);
 		getSmAggregator().createSubmodel(modelContentProvider.getAPI());
+		submodelProviders.remove(sm.getIdShort());
 	}
 
 	@SuppressWarnings("unchecked")
@@ -237,6 +249,7 @@ public class MultiSubmodelProvider implements IModelProvider {
 		Map<String, Object> newSubmodelMap = (Map<String, Object>) newValue;
 		Submodel submodel = Submodel.createAsFacade(newSubmodelMap);
 		getSmAggregator().createSubmodel(submodel);
+		submodelProviders.remove(submodel.getIdShort());
 		aas_provider.createValue("/submodels", submodel);
 	}
 
@@ -248,51 +261,59 @@ public class MultiSubmodelProvider implements IModelProvider {
 	 */
 	public void removeProvider(String elementIdShort) {
 		getSmAggregator().deleteSubmodelByIdShort(elementIdShort);
+		submodelProviders.remove(elementIdShort);
 	}
 
 	/**
 	 * Get the value of an element
 	 */
 	@Override
-	public Object getValue(String path) throws ProviderException {
-		VABPathTools.checkPathForNull(path);
-		path = VABPathTools.stripSlashes(path);
-		String[] pathElements = VABPathTools.splitPath(path);
-		if (pathElements.length > 0 && pathElements[0].equals(AAS)) {
-			if (pathElements.length == 1) {
+	public Object getValue(VABPath path) throws ProviderException {
+		if (path.startsWith(AAS)) {
+			if (path.size() == 1) {
 				return aas_provider.getValue("");
 			}
-			if (pathElements[1].equals(AssetAdministrationShell.SUBMODELS)) {
-				if (pathElements.length == 2) {
+			if (path.get(1).equals(AssetAdministrationShell.SUBMODELS)) {
+				if (path.size() == 2) {
 					return retrieveSubmodels();
 				} else {
-					String smIdShort = pathElements[2];
-					String remainingPath = VABPathTools.buildPath(pathElements, 3);
-					return handleSingleSubmodelRequest(smIdShort, remainingPath);
+					String smIdShort = path.get(2);
+					return retrieveSubmodelProvider(smIdShort).getValue(path.subPath(3));
 				}
 			} else {
-				String remainingPath = VABPathTools.buildPath(pathElements, 1);
-				return aas_provider.getValue(remainingPath);
+				return aas_provider.getValue(path.subPath(1).toString());
 			}
 		} else {
 			throw new MalformedRequestException("The request " + path + " is not allowed for this endpoint");
 		}
 	}
 
-	private Object handleSingleSubmodelRequest(String smIdShort, String remainingPath) {
-		IModelProvider provider = retrieveSubmodelProvider(smIdShort);
-		return provider.getValue(remainingPath);
-	}
-
-	private IModelProvider retrieveSubmodelProvider(String smIdShort) {
-		IModelProvider smProvider;
+	private IVABPathModelProvider retrieveSubmodelProvider(String smIdShort) {
+		IVABPathModelProvider smProvider;
 		try {
 			ISubmodelAPI smAPI = getSmAggregator().getSubmodelAPIByIdShort(smIdShort);
-			smProvider = new SubmodelProvider(smAPI);
+			smProvider = getLocalSubmodelProvider(smIdShort, smAPI);
 		} catch (ResourceNotFoundException exception) {
+			submodelProviders.remove(smIdShort);
 			// Get a model provider for the submodel in the registry
-			smProvider = getRemoteSubmodelProvider(smIdShort);
+			smProvider = VABPathModelProviderAdapter.of(getRemoteSubmodelProvider(smIdShort));
+		}
+		return smProvider;
+	}
+
+	/**
+	 * Returns the cached provider for the given submodel API. The aggregator is
+	 * still asked for the API on each request, so that a submodel replaced by
+	 * other means than this provider results in a new provider.
+	 */
+	private SubmodelProvider getLocalSubmodelProvider(String smIdShort, ISubmodelAPI smAPI) {
+		SubmodelProvider cached = submodelProviders.get(smIdShort);
+		if (cached != null && cached.getAPI() == smAPI) {
+			return cached;
 		}
+
+		SubmodelProvider smProvider = new SubmodelProvider(smAPI);
+		submodelProviders.put(smIdShort, smProvider);
 		return smProvider;
 	}
 
@@ -353,26 +374,21 @@ public class MultiSubmodelProvider implements IModelProvider {
 	 * Change a model property value
 	 */
 	@Override
-	public void setValue(String path, Object newValue) throws ProviderException {
-		VABPathTools.checkPathForNull(path);
-		path = VABPathTools.stripSlashes(path);
-		String[] pathElements = VABPathTools.splitPath(path);
-		String propertyPath = VABPathTools.buildPath(pathElements, 3);
-		if (path.equals(AAS)) {
+	public void setValue(VABPath path, Object newValue) throws ProviderException {
+		if (path.size() == 1 && path.startsWith(AAS)) {
 			createAssetAdministrationShell(newValue);
-		} else if (!path.startsWith(SUBMODELS_PREFIX)) {
+		} else if (!path.startsWith(SUBMODELS_PREFIX_PATH)) {
 			throw new MalformedRequestException("Access to MultiSubmodelProvider always has to start with \"" + SUBMODELS_PREFIX + "\", was " + path);
-		} else if (propertyPath.isEmpty()) {
+		} else if (path.size() <= 3) {
 			createSubmodel(newValue);
 		} else {
-			String smIdShort = pathElements[2];
-			IModelProvider provider = retrieveSubmodelProvider(smIdShort);
-			provider.setValue(propertyPath, newValue);
+			String smIdShort = path.get(2);
+			retrieveSubmodelProvider(smIdShort).setValue(path.subPath(3), newValue);
 		}
 	}
 
 	@Override
-	public void createValue(String path, Object newValue) throws ProviderException {
+	public void createValue(VABPath path, Object newValue) throws ProviderException {
 		throw new MalformedRequestException("Create is not supported by VABMultiSubmodelProvider. Path was: " + path);
 	}
 
@@ -385,18 +401,14 @@ public class MultiSubmodelProvider implements IModelProvider {
 	}
 
 	@Override
-	public void deleteValue(String path) throws ProviderException {
-		VABPathTools.checkPathForNull(path);
-		path = VABPathTools.stripSlashes(path);
-		if (!path.startsWith(SUBMODELS_PREFIX)) {
+	public void deleteValue(VABPath path) throws ProviderException {
+		if (!path.startsWith(SUBMODELS_PREFIX_PATH)) {
 			throw new MalformedRequestException("Access to MultiSubmodelProvider always has to start with \"" + SUBMODELS_PREFIX + "\", was " + path);
 		}
 
-		String[] pathElements = VABPathTools.splitPath(path);
-		String propertyPath = VABPathTools.buildPath(pathElements, 3);
-		if (pathElements.length == 3) {
+		if (path.size() == 3) {
 			// Delete Submodel from registered AAS
-			String smIdShort = pathElements[2];
+			String smIdShort = path.get(2);
 			if (!isSubmodelLocal(smIdShort)) {
 				return;
 			}
@@ -404,30 +416,25 @@ public class MultiSubmodelProvider implements IModelProvider {
 			String smId = sm.getIdentification().getId();
 			aas_provider.deleteValue(SUBMODELS_PREFIX + "/" + VABPathTools.encodePathElement(smId));
 			getSmAggregator().deleteSubmodelByIdShort(smIdShort);
-		} else if (propertyPath.length() > 0) {
-			String smIdShort = pathElements[2];
-			IModelProvider provider = retrieveSubmodelProvider(smIdShort);
-			provider.deleteValue(propertyPath);
+			submodelProviders.remove(smIdShort);
+		} else if (path.size() > 3) {
+			String smIdShort = path.get(2);
+			retrieveSubmodelProvider(smIdShort).deleteValue(path.subPath(3));
 		}
 	}
 
 	@Override
-	public void deleteValue(String path, Object obj) throws ProviderException {
+	public void deleteValue(VABPath path, Object obj) throws ProviderException {
 		throw new MalformedRequestException("DeleteValue with a parameter is not supported. Path was: " + path);
 	}
 
 	@Override
-	public Object invokeOperation(String path, Object... parameter) throws ProviderException {
-		VABPathTools.checkPathForNull(path);
-		path = VABPathTools.stripSlashes(path);
-		if (!path.startsWith(SUBMODELS_PREFIX)) {
+	public Object invokeOperation(VABPath path, Object... parameter) throws ProviderException {
+		if (!path.startsWith(SUBMODELS_PREFIX_PATH) || path.size() < 3) {
 			throw new MalformedRequestException("Access to MultiSubmodelProvider always has to start with \"" + SUBMODELS_PREFIX + "\", was " + path);
 		}
-		String[] pathElements = VABPathTools.splitPath(path);
-		String operationPath = VABPathTools.buildPath(pathElements, 3);
-		String smIdShort = pathElements[2];
-		IModelProvider provider = retrieveSubmodelProvider(smIdShort);
-		return provider.invokeOperation(operationPath, parameter);
+		String smIdShort = path.get(2);
+		return retrieveSubmodelProvider(smIdShort).invokeOperation(path.subPath(3), parameter);
 	}
 
 	/**
@@ -528,6 +535,7 @@ public class MultiSubmodelProvider implements IModelProvider {
 
 	public void setSmAggregator(ISubmodelAggregator smAggregator) {
 		this.smAggregator = smAggregator;
+		submodelProviders.clear();
 	}
 
 	public IAASAPIFactory getAasApiProvider() {
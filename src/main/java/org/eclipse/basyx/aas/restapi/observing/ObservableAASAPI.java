@@ -60,13 +60,13 @@ public class ObservableAASAPI extends Observable<IAASAPIObserver> implements IAA
 			throw new MalformedRequestException("Reference has to contain a submodel");
 
 		aasAPI.addSubmodel(submodel);
-		observers.stream().forEach(o -> o.submodelAdded(submodel));
+		notifyObservers(o -> o.submodelAdded(submodel));
 	}
 
 	@Override
 	public void removeSubmodel(String id) {
 		aasAPI.removeSubmodel(id);
-		observers.stream().forEach(o -> o.submodelRemoved(id));
+		notifyObservers(o -> o.submodelRemoved(id));
 	}
 
 	private boolean containsSubmodelReference(IReference submodel) {
@@ -30,6 +30,7 @@ import java.io.InputStream;
 import java.util.Collection;
 import java.util.Set;
 
+import org.eclipse.basyx.aas.aggregator.api.AASPage;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.bundle.AASBundle;
 import org.eclipse.basyx.aas.bundle.AASBundleHelper;
@@ -75,6 +76,11 @@ public class AASAggregatorAASXUpload implements IAASAggregatorAASXUpload {
 		return aggregator.getAASList();
 	}
 
+	@Override
+	public AASPage getAASPage(int limit, String cursor) {
+		return aggregator.getAASPage(limit, cursor);
+	}
+
 	@Override
 	public IAssetAdministrationShell getAAS(IIdentifier aasId) throws ResourceNotFoundException {
 		return aggregator.getAAS(aasId);
@@ -37,6 +37,7 @@ package org.eclipse.basyx.extensions.aas.aggregator.authorization;
  */
 import java.util.Collection;
 
+import org.eclipse.basyx.aas.aggregator.api.AASPage;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
@@ -63,6 +64,12 @@ public class AuthorizedAASAggregator implements IAASAggregator {
 		return aasAggregator.getAASList();
 	}
 
+	@Override
+	public AASPage getAASPage(int limit, String cursor) {
+		authorizer.throwExceptionInCaseOfInsufficientAuthorization(READ_AUTHORITY);
+		return aasAggregator.getAASPage(limit, cursor);
+	}
+
 	@Override
 	public IAssetAdministrationShell getAAS(IIdentifier shellId) throws ResourceNotFoundException {
 		authorizer.throwExceptionInCaseOfInsufficientAuthorization(READ_AUTHORITY);
@@ -26,6 +26,7 @@ package org.eclipse.basyx.extensions.aas.aggregator.mqtt;
 
 import java.util.Collection;
 
+import org.eclipse.basyx.aas.aggregator.api.AASPage;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.aggregator.observing.ObservableAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
@@ -139,6 +140,11 @@ public class MqttAASAggregator implements IAASAggregator {
 		return observedAASAggregator.getAASList();
 	}
 
+	@Override
+	public AASPage getAASPage(int limit, String cursor) {
+		return observedAASAggregator.getAASPage(limit, cursor);
+	}
+
 	@Override
 	public IAssetAdministrationShell getAAS(IIdentifier shellId) throws ResourceNotFoundException {
 		return observedAASAggregator.getAAS(shellId);
@@ -24,6 +24,8 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.shared.mqtt;
 
+import org.eclipse.basyx.vab.modelprovider.async.BoundedDispatchQueue.OverflowPolicy;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.MqttClient;
 import org.eclipse.paho.client.mqttv3.MqttClientPersistence;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
@@ -47,9 +49,21 @@ public class MqttEventService {
 	// The MQTTClient
 	protected MqttClient mqttClient;
 
+	// Asynchronous client, if the service has been created with one
+	private IMqttAsyncClient asyncClient;
+
+	// Queue of messages to be published asynchronously. Null, if messages are
+	// published synchronously
+	protected MqttPublishQueue publishQueue;
+
 	// QoS for MQTT messages (1, 2 or 3).
 	protected int qos = 1;
 
+	/**
+	 * Default capacity of the queue for asynchronous publishing
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
 	/**
 	 * Constructor for creating an MqttClient (no authentication)
 	 * 
@@ -105,6 +119,52 @@ public class MqttEventService {
 		this.mqttClient = client;
 	}
 
+	/**
+	 * Constructor for creating an MqttEventService with an existing asynchronous
+	 * client. Messages are published asynchronously.
+	 * 
+	 * @param client
+	 *            an already connected client
+	 */
+	public MqttEventService(IMqttAsyncClient client) {
+		this.asyncClient = client;
+		enableAsyncPublishing(DEFAULT_QUEUE_CAPACITY, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * Publishes messages asynchronously. Sending a message only enqueues it and
+	 * does not wait for the broker.
+	 * 
+	 * @param capacity
+	 *            maximum number of queued messages
+	 * @param overflowPolicy
+	 *            behaviour if the queue is full
+	 */
+	public void enableAsyncPublishing(int capacity, OverflowPolicy overflowPolicy) {
+		MqttPublishQueue.Publisher publisher;
+		if (asyncClient != null) {
+			publisher = MqttPublishQueue.createPublisher(asyncClient);
+		} else {
+			publisher = MqttPublishQueue.createPublisher(mqttClient);
+		}
+
+		MqttPublishQueue previous = publishQueue;
+		publishQueue = new MqttPublishQueue(publisher, capacity, overflowPolicy);
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Returns the queue of asynchronously published messages, e.g. for accessing
+	 * its metrics
+	 * 
+	 * @return the queue or null, if messages are published synchronously
+	 */
+	public MqttPublishQueue getPublishQueue() {
+		return publishQueue;
+	}
+
 	/**
 	 * Sets the QoS for MQTT messages
 	 * 
@@ -138,6 +198,13 @@ public class MqttEventService {
 		if (this.qos != 1) {
 			msg.setQos(this.qos);
 		}
+
+		MqttPublishQueue queue = publishQueue;
+		if (queue != null) {
+			queue.enqueue(topic, msg);
+			return;
+		}
+
 		try {
 			logger.debug("Send MQTT message to " + topic + ": " + payload);
 			mqttClient.publish(topic, msg);
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.shared.mqtt;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import org.eclipse.basyx.vab.modelprovider.async.BoundedDispatchQueue;
+import org.eclipse.basyx.vab.modelprovider.async.BoundedDispatchQueue.OverflowPolicy;
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue of MQTT messages that is drained asynchronously by a
+ * {@link BoundedDispatchQueue}. Senders only enqueue their messages and do not
+ * wait for the broker. If the queue is full, the {@link OverflowPolicy} decides
+ * whether the sender blocks or a message is dropped.
+ */
+public class MqttPublishQueue {
+	private static Logger logger = LoggerFactory.getLogger(MqttPublishQueue.class);
+
+	/**
+	 * Publishes a message. The callback is called with null after the message has
+	 * been delivered or with the cause, if the delivery failed.
+	 */
+	@FunctionalInterface
+	public interface Publisher {
+		void publish(String topic, MqttMessage message, Consumer<Throwable> callback) throws MqttException;
+	}
+
+	// Default of paho for the maximum number of unacknowledged messages
+	private static final int DEFAULT_MAX_INFLIGHT = 10;
+
+	private final BoundedDispatchQueue<PendingMessage> queue;
+
+	/**
+	 * Creates the queue. Its messages are published on the shared executor of
+	 * {@link BoundedDispatchQueue}.
+	 * 
+	 * @param publisher
+	 *            publishes the messages of the queue
+	 * @param capacity
+	 *            maximum number of queued messages
+	 * @param overflowPolicy
+	 *            behaviour if the queue is full
+	 */
+	public MqttPublishQueue(Publisher publisher, int capacity, OverflowPolicy overflowPolicy) {
+		this.queue = new BoundedDispatchQueue<>((pending, callback) -> publish(publisher, pending, callback), capacity, overflowPolicy);
+	}
+
+	/**
+	 * Creates a publisher for a blocking client. The messages are published one
+	 * after another.
+	 * 
+	 * @param client
+	 * @return
+	 */
+	public static Publisher createPublisher(MqttClient client) {
+		return (topic, message, callback) -> {
+			client.publish(topic, message);
+			callback.accept(null);
+		};
+	}
+
+	/**
+	 * Creates a publisher for an asynchronous client. Messages are published
+	 * without waiting for the acknowledgement of previous messages, as long as
+	 * there are less than paho's default maximum of unacknowledged messages.
+	 * 
+	 * @param client
+	 * @return
+	 */
+	public static Publisher createPublisher(IMqttAsyncClient client) {
+		return createPublisher(client, DEFAULT_MAX_INFLIGHT);
+	}
+
+	/**
+	 * Creates a publisher for an asynchronous client. Messages are published
+	 * without waiting for the acknowledgement of previous messages, as long as
+	 * there are less than <i>maxInflight</i> unacknowledged messages.
+	 * 
+	 * @param client
+	 * @param maxInflight
+	 *            has to match the maximum configured in the connect options of
+	 *            the client
+	 * @return
+	 */
+	public static Publisher createPublisher(IMqttAsyncClient client, int maxInflight) {
+		Semaphore inflight = new Semaphore(maxInflight);
+		return (topic, message, callback) -> {
+			inflight.acquireUninterruptibly();
+			try {
+				client.publish(topic, message, null, new IMqttActionListener() {
+					@Override
+					public void onSuccess(IMqttToken asyncActionToken) {
+						inflight.release();
+						callback.accept(null);
+					}
+
+					@Override
+					public void onFailure(IMqttToken asyncActionToken, Throwable exception) {
+						inflight.release();
+						callback.accept(exception);
+					}
+				});
+			} catch (MqttException | RuntimeException e) {
+				inflight.release();
+				throw e;
+			}
+		};
+	}
+
+	/**
+	 * Adds a message to the queue
+	 * 
+	 * @param topic
+	 * @param message
+	 */
+	public void enqueue(String topic, MqttMessage message) {
+		if (!queue.dispatch(new PendingMessage(topic, message))) {
+			throw new IllegalStateException("The MQTT publish queue has been closed");
+		}
+	}
+
+	/**
+	 * Stops accepting new messages. The remaining messages are still published.
+	 */
+	public void close() {
+		queue.close();
+	}
+
+	/**
+	 * Closes the queue and waits for the remaining messages to be published
+	 * 
+	 * @param timeout
+	 *            time in milliseconds
+	 * @return true, if all messages have been published within the timeout
+	 * @throws InterruptedException
+	 */
+	public boolean close(long timeout) throws InterruptedException {
+		return queue.close(timeout);
+	}
+
+	/**
+	 * Returns the number of messages waiting to be published
+	 * 
+	 * @return
+	 */
+	public int getQueueDepth() {
+		return queue.getQueueDepth();
+	}
+
+	/**
+	 * Returns the number of messages that have been delivered
+	 * 
+	 * @return
+	 */
+	public long getPublishedCount() {
+		return queue.getDeliveredCount();
+	}
+
+	/**
+	 * Returns the number of messages whose delivery failed
+	 * 
+	 * @return
+	 */
+	public long getFailedCount() {
+		return queue.getFailedCount();
+	}
+
+	/**
+	 * Returns the number of messages that have been dropped due to the overflow
+	 * policy
+	 * 
+	 * @return
+	 */
+	public long getDroppedCount() {
+		return queue.getDroppedCount();
+	}
+
+	/**
+	 * Returns the average time in milliseconds from enqueuing a message until its
+	 * delivery
+	 * 
+	 * @return
+	 */
+	public double getAverageLatency() {
+		return queue.getAverageLatency();
+	}
+
+	/**
+	 * Returns the maximum time in milliseconds from enqueuing a message until its
+	 * delivery
+	 * 
+	 * @return
+	 */
+	public double getMaxLatency() {
+		return queue.getMaxLatency();
+	}
+
+	private static void publish(Publisher publisher, PendingMessage pending, Consumer<Throwable> callback) {
+		logger.debug("Send MQTT message to " + pending.topic);
+		Consumer<Throwable> loggingCallback = cause -> {
+			if (cause != null) {
+				logger.error("Could not send mqtt message to " + pending.topic, cause);
+			}
+			callback.accept(cause);
+		};
+
+		try {
+			publisher.publish(pending.topic, pending.message, loggingCallback);
+		} catch (MqttException | RuntimeException e) {
+			loggingCallback.accept(e);
+		}
+	}
+
+	private static class PendingMessage {
+		private final String topic;
+		private final MqttMessage message;
+
+		private PendingMessage(String topic, MqttMessage message) {
+			this.topic = topic;
+			this.message = message;
+		}
+	}
+}
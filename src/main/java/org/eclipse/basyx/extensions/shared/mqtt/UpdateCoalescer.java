@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.shared.mqtt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Coalesces frequent updates per key. For each key, updates are published at
+ * most once per minimum interval. Updates arriving within the interval replace
+ * each other, so that only the latest value is published at the end of the
+ * interval. Optionally, numeric values are only published if they differ from
+ * the last published value by at least a deadband.
+ */
+public class UpdateCoalescer {
+	private final long minInterval;
+	private final double deadband;
+	private final BiConsumer<String, Object> publisher;
+	private final Map<String, KeyState> states = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Creates a coalescer without deadband
+	 * 
+	 * @param minInterval
+	 *            minimum time in milliseconds between two publications of the
+	 *            same key
+	 * @param publisher
+	 *            publishes the value of a key
+	 */
+	public UpdateCoalescer(long minInterval, BiConsumer<String, Object> publisher) {
+		this(minInterval, 0, publisher);
+	}
+
+	/**
+	 * Creates a coalescer with a deadband for numeric values
+	 * 
+	 * @param minInterval
+	 *            minimum time in milliseconds between two publications of the
+	 *            same key
+	 * @param deadband
+	 *            minimum difference of a numeric value to the last published
+	 *            value; 0 disables the deadband
+	 * @param publisher
+	 *            publishes the value of a key
+	 */
+	public UpdateCoalescer(long minInterval, double deadband, BiConsumer<String, Object> publisher) {
+		if (minInterval < 0 || deadband < 0) {
+			throw new IllegalArgumentException("Interval and deadband must not be negative");
+		}
+		this.minInterval = minInterval;
+		this.deadband = deadband;
+		this.publisher = publisher;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "update-coalescer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Publishes the update of a key, either directly or at the end of the current
+	 * interval
+	 * 
+	 * @param key
+	 * @param value
+	 */
+	public void update(String key, Object value) {
+		states.computeIfAbsent(key, KeyState::new).update(value);
+	}
+
+	/**
+	 * Discards the pending update of a key and forgets its last published value
+	 * 
+	 * @param key
+	 */
+	public void remove(String key) {
+		KeyState state = states.remove(key);
+		if (state != null) {
+			state.discard();
+		}
+	}
+
+	/**
+	 * Stops the coalescer. Pending updates are discarded.
+	 */
+	public void close() {
+		scheduler.shutdownNow();
+	}
+
+	private boolean withinDeadband(Object published, Object value) {
+		if (deadband <= 0 || !(published instanceof Number) || !(value instanceof Number)) {
+			return false;
+		}
+		return Math.abs(((Number) value).doubleValue() - ((Number) published).doubleValue()) < deadband;
+	}
+
+	/**
+	 * Publication state of a single key
+	 */
+	private class KeyState {
+		private final String key;
+		private boolean published = false;
+		private Object publishedValue;
+		private long publishedTime;
+		private boolean pending = false;
+		private Object pendingValue;
+		private boolean scheduled = false;
+
+		private KeyState(String key) {
+			this.key = key;
+		}
+
+		private synchronized void update(Object value) {
+			if (published && withinDeadband(publishedValue, value)) {
+				// The latest value does not need to be published
+				pending = false;
+				pendingValue = null;
+				return;
+			}
+
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - publishedTime);
+			if (!published || (!scheduled && elapsed >= minInterval)) {
+				publish(value);
+				return;
+			}
+
+			pending = true;
+			pendingValue = value;
+			if (!scheduled) {
+				scheduled = true;
+				scheduler.schedule(this::flush, Math.max(0, minInterval - elapsed), TimeUnit.MILLISECONDS);
+			}
+		}
+
+		private synchronized void flush() {
+			scheduled = false;
+			if (pending) {
+				Object value = pendingValue;
+				pending = false;
+				pendingValue = null;
+				publish(value);
+			}
+		}
+
+		private synchronized void discard() {
+			pending = false;
+			pendingValue = null;
+		}
+
+		private void publish(Object value) {
+			published = true;
+			publishedValue = value;
+			publishedTime = System.nanoTime();
+			publisher.accept(key, value);
+		}
+	}
+}
@@ -29,12 +29,14 @@ import java.util.List;
 import java.util.Set;
 
 import org.eclipse.basyx.extensions.shared.mqtt.MqttEventService;
+import org.eclipse.basyx.extensions.shared.mqtt.UpdateCoalescer;
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.reference.IKey;
 import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
 import org.eclipse.basyx.submodel.restapi.observing.ISubmodelAPIObserver;
 import org.eclipse.basyx.submodel.restapi.observing.ObservableSubmodelAPI;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.MqttClient;
 import org.eclipse.paho.client.mqttv3.MqttClientPersistence;
 import org.eclipse.paho.client.mqttv3.MqttException;
@@ -59,6 +61,10 @@ public class MqttSubmodelAPIObserver extends MqttEventService implements ISubmod
 	protected boolean useWhitelist = false;
 	protected Set<String> whitelist = new HashSet<>();
 
+	// Coalesces the update events of frequently updated elements. Null, if every
+	// update is published
+	private volatile UpdateCoalescer updateCoalescer;
+
 	/**
 	 * Constructor for adding this MQTT extension on top of another SubmodelAPI
 	 * 
@@ -121,6 +127,22 @@ public class MqttSubmodelAPIObserver extends MqttEventService implements ISubmod
 		sendMqttMessage(MqttSubmodelAPIHelper.TOPIC_CREATESUBMODEL, observedAPI.getSubmodel().getIdentification().getId());
 	}
 
+	/**
+	 * Constructor for adding this MQTT extension on top of another SubmodelAPI.
+	 * The events are published asynchronously.
+	 * 
+	 * @param observedAPI
+	 *            The underlying submodelAPI
+	 * @param client
+	 *            An already connected asynchronous mqtt client
+	 */
+	public MqttSubmodelAPIObserver(ObservableSubmodelAPI observedAPI, IMqttAsyncClient client) {
+		super(client);
+		this.observedAPI = observedAPI;
+		observedAPI.addObserver(this);
+		sendMqttMessage(MqttSubmodelAPIHelper.TOPIC_CREATESUBMODEL, observedAPI.getSubmodel().getIdentification().getId());
+	}
+
 	/**
 	 * Adds a submodel element to the filter whitelist. Can also be a path for
 	 * nested submodel elements.
@@ -159,6 +181,49 @@ public class MqttSubmodelAPIObserver extends MqttEventService implements ISubmod
 		useWhitelist = true;
 	}
 
+	/**
+	 * Publishes the update events of each submodel element at most once per
+	 * interval. Within the interval, only the latest update is published.
+	 * 
+	 * @param minInterval
+	 *            minimum time in milliseconds between two update events of the
+	 *            same element
+	 */
+	public void enableUpdateCoalescing(long minInterval) {
+		enableUpdateCoalescing(minInterval, 0);
+	}
+
+	/**
+	 * Publishes the update events of each submodel element at most once per
+	 * interval. Within the interval, only the latest update is published.
+	 * Updates of numeric values are only published, if they differ by at least
+	 * the deadband from the last published value.
+	 * 
+	 * @param minInterval
+	 *            minimum time in milliseconds between two update events of the
+	 *            same element
+	 * @param deadband
+	 *            minimum change of numeric values; 0 disables the deadband
+	 */
+	public void enableUpdateCoalescing(long minInterval, double deadband) {
+		UpdateCoalescer previous = updateCoalescer;
+		updateCoalescer = new UpdateCoalescer(minInterval, deadband, (idShortPath, newValue) -> sendUpdateMessage(idShortPath));
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Publishes an update event for every update
+	 */
+	public void disableUpdateCoalescing() {
+		UpdateCoalescer previous = updateCoalescer;
+		updateCoalescer = null;
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
 	@Override
 	public void elementAdded(String idShortPath, Object newValue) {
 		if (filter(idShortPath)) {
@@ -169,6 +234,11 @@ public class MqttSubmodelAPIObserver extends MqttEventService implements ISubmod
 	@Override
 	public void elementDeleted(String idShortPath) {
 		if (filter(idShortPath)) {
+			// Pending updates must not be published after the deletion
+			UpdateCoalescer coalescer = updateCoalescer;
+			if (coalescer != null) {
+				coalescer.remove(VABPathTools.stripSlashes(idShortPath));
+			}
 			sendMqttMessage(MqttSubmodelAPIHelper.TOPIC_DELETEELEMENT, getCombinedMessage(getAASId(), getSubmodelId(), idShortPath));
 		}
 	}
@@ -176,10 +246,19 @@ public class MqttSubmodelAPIObserver extends MqttEventService implements ISubmod
 	@Override
 	public void elementUpdated(String idShortPath, Object newValue) {
 		if (filter(idShortPath)) {
-			sendMqttMessage(MqttSubmodelAPIHelper.TOPIC_UPDATEELEMENT, getCombinedMessage(getAASId(), getSubmodelId(), idShortPath));
+			UpdateCoalescer coalescer = updateCoalescer;
+			if (coalescer == null) {
+				sendUpdateMessage(idShortPath);
+			} else {
+				coalescer.update(VABPathTools.stripSlashes(idShortPath), newValue);
+			}
 		}
 	}
 
+	private void sendUpdateMessage(String idShortPath) {
+		sendMqttMessage(MqttSubmodelAPIHelper.TOPIC_UPDATEELEMENT, getCombinedMessage(getAASId(), getSubmodelId(), idShortPath));
+	}
+
 	public static String getCombinedMessage(String aasId, String submodelId, String elementPart) {
 		elementPart = VABPathTools.stripSlashes(elementPart);
 		return "(" + aasId + "," + submodelId + "," + elementPart + ")";
@@ -1,8 +1,8 @@
 package org.eclipse.basyx.submodel.aggregator;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregator;
@@ -21,7 +21,15 @@ import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
  *
  */
 public class SubmodelAggregator implements ISubmodelAggregator {
-	protected Map<String, ISubmodelAPI> smApiMap = new HashMap<>();
+	protected Map<String, ISubmodelAPI> smApiMap = new ConcurrentHashMap<>();
+
+	/**
+	 * Index between the identifiers and the idShorts of the contained submodels.
+	 * Both directions are updated together with the submodel API map, so that
+	 * submodels can be looked up by identifier without retrieving each submodel.
+	 */
+	private final Map<String, String> idShortsById = new ConcurrentHashMap<>();
+	private final Map<String, String> idsByIdShort = new ConcurrentHashMap<>();
 
 	/**
 	 * Store Submodel API Provider. By default, uses the VAB Submodel Provider
@@ -48,14 +56,11 @@ public class SubmodelAggregator implements ISubmodelAggregator {
 	}
 
 	private String getIdShort(IIdentifier identifier) {
-		for (ISubmodelAPI api : smApiMap.values()) {
-			ISubmodel submodel = api.getSubmodel();
-			String idValue = submodel.getIdentification().getId();
-			if (idValue.equals(identifier.getId())) {
-				return submodel.getIdShort();
-			}
+		String idShort = idShortsById.get(identifier.getId());
+		if (idShort == null) {
+			throw new ResourceNotFoundException("The submodel with id '" + identifier.getId() + "' could not be found");
 		}
-		throw new ResourceNotFoundException("The submodel with id '" + identifier.getId() + "' could not be found");
+		return idShort;
 	}
 
 	@Override
@@ -70,8 +75,23 @@ public class SubmodelAggregator implements ISubmodelAggregator {
 	}
 
 	@Override
-	public void createSubmodel(ISubmodelAPI submodelAPI) {
-		smApiMap.put(submodelAPI.getSubmodel().getIdShort(), submodelAPI);
+	public synchronized void createSubmodel(ISubmodelAPI submodelAPI) {
+		ISubmodel submodel = submodelAPI.getSubmodel();
+		String idShort = submodel.getIdShort();
+		String id = submodel.getIdentification().getId();
+
+		// A submodel with the same identifier, but a different idShort is replaced
+		String previousIdShort = idShortsById.get(id);
+		if (previousIdShort != null && !previousIdShort.equals(idShort)) {
+			removeSubmodel(previousIdShort);
+		}
+		// A submodel with the same idShort, but a different identifier is replaced
+		String previousId = idsByIdShort.put(idShort, id);
+		if (previousId != null && !previousId.equals(id)) {
+			idShortsById.remove(previousId);
+		}
+		idShortsById.put(id, idShort);
+		smApiMap.put(idShort, submodelAPI);
 	}
 
 	@Override
@@ -85,23 +105,35 @@ public class SubmodelAggregator implements ISubmodelAggregator {
 	}
 
 	@Override
-	public void deleteSubmodelByIdentifier(IIdentifier identifier) {
-		try {
-			String idShort = getIdShort(identifier);
-			smApiMap.remove(idShort);
-		} catch (ResourceNotFoundException exception) {
+	public synchronized void deleteSubmodelByIdentifier(IIdentifier identifier) {
+		String idShort = idShortsById.get(identifier.getId());
+		if (idShort != null) {
+			removeSubmodel(idShort);
 		}
 	}
 
 	@Override
-	public void deleteSubmodelByIdShort(String idShort) {
+	public synchronized void deleteSubmodelByIdShort(String idShort) {
+		removeSubmodel(idShort);
+	}
+
+	private void removeSubmodel(String idShort) {
 		smApiMap.remove(idShort);
+		String id = idsByIdShort.remove(idShort);
+		if (id != null) {
+			idShortsById.remove(id);
+		}
 	}
 
 	@Override
 	public ISubmodelAPI getSubmodelAPIById(IIdentifier identifier) throws ResourceNotFoundException {
 		String idShort = getIdShort(identifier);
-		return smApiMap.get(idShort);
+		ISubmodelAPI api = smApiMap.get(idShort);
+		if (api == null) {
+			// Deleted concurrently
+			throw new ResourceNotFoundException("The submodel with id '" + identifier.getId() + "' could not be found");
+		}
+		return api;
 	}
 
 	@Override
@@ -82,34 +82,46 @@ public class ObservableSubmodelAggregator extends Observable<ISubmodelAggregator
 	@Override
 	public void createSubmodel(Submodel submodel) {
 		submodelAggregator.createSubmodel(submodel);
-		observers.stream().forEach(observer -> observer.submodelCreated(getParentAASId(submodel), submodel.getIdentification().getId()));
+		String parentAASId = getParentAASId(submodel);
+		String submodelId = submodel.getIdentification().getId();
+		notifyObservers(observer -> observer.submodelCreated(parentAASId, submodelId));
 	}
 
 	@Override
 	public void createSubmodel(ISubmodelAPI submodelAPI) {
 		submodelAggregator.createSubmodel(submodelAPI);
-		observers.stream().forEach(observer -> observer.submodelCreated(getParentAASId(submodelAPI.getSubmodel()), submodelAPI.getSubmodel().getIdentification().getId()));
+		if (!hasObservers()) {
+			return;
+		}
+		ISubmodel submodel = submodelAPI.getSubmodel();
+		String parentAASId = getParentAASId(submodel);
+		String submodelId = submodel.getIdentification().getId();
+		notifyObservers(observer -> observer.submodelCreated(parentAASId, submodelId));
 	}
 
 	@Override
 	public void updateSubmodel(Submodel submodel) throws ResourceNotFoundException {
 		submodelAggregator.updateSubmodel(submodel);
-		observers.stream().forEach(observer -> observer.submodelUpdated(getParentAASId(submodel), submodel.getIdentification().getId()));
+		String parentAASId = getParentAASId(submodel);
+		String submodelId = submodel.getIdentification().getId();
+		notifyObservers(observer -> observer.submodelUpdated(parentAASId, submodelId));
 	}
 
 	@Override
 	public void deleteSubmodelByIdentifier(IIdentifier submodelIdentifier) {
 		String parentAASId = getParentAASId(submodelAggregator.getSubmodel(submodelIdentifier));
+		String submodelId = submodelIdentifier.getId();
 		submodelAggregator.deleteSubmodelByIdentifier(submodelIdentifier);
-		observers.stream().forEach(observer -> observer.submodelDeleted(parentAASId, submodelIdentifier.getId()));
+		notifyObservers(observer -> observer.submodelDeleted(parentAASId, submodelId));
 	}
 
 	@Override
 	public void deleteSubmodelByIdShort(String submodelIdShort) {
 		ISubmodel submodel = submodelAggregator.getSubmodelbyIdShort(submodelIdShort);
 		String parentAASId = getParentAASId(submodel);
+		String submodelId = submodel.getIdentification().getId();
 		submodelAggregator.deleteSubmodelByIdShort(submodelIdShort);
-		observers.stream().forEach(observer -> observer.submodelDeleted(parentAASId, submodel.getIdentification().getId()));
+		notifyObservers(observer -> observer.submodelDeleted(parentAASId, submodelId));
 	}
 
 	private String getParentAASId(ISubmodel submodel) {
@@ -25,6 +25,7 @@
 package org.eclipse.basyx.submodel.metamodel.connected;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.basyx.submodel.metamodel.api.IElement;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.Referable;
@@ -66,6 +67,34 @@ public class ConnectedElement implements IElement {
 		return map;
 	}
 
+	/**
+	 * Asynchronous variant of {@link #getElemLive()}
+	 * 
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public CompletableFuture<VABModelMap<Object>> getElemLiveAsync() {
+		return getProxy().getValueAsync("").thenApply(value -> {
+			VABModelMap<Object> map = new VABModelMap<>((Map<String, Object>) value);
+			// update cache
+			cached = map;
+			return map;
+		});
+	}
+
+	/**
+	 * Asynchronous variant of {@link #getElem()}
+	 * 
+	 * @return
+	 */
+	public CompletableFuture<VABModelMap<Object>> getElemAsync() {
+		if (cached == null) {
+			return getElemLiveAsync();
+		} else {
+			return CompletableFuture.completedFuture(cached);
+		}
+	}
+
 	/**
 	 * Returns the cached variant of the underlying element. <br>
 	 * Only use this method if you are accessing static data (e.g. meta data) of the
@@ -25,6 +25,7 @@
 package org.eclipse.basyx.submodel.metamodel.connected.submodelelement.dataelement;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
 import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
@@ -33,6 +34,7 @@ import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueTypeHelper;
+import org.eclipse.basyx.submodel.restapi.MultiSubmodelElementProvider;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 
 /**
@@ -79,6 +81,33 @@ public class ConnectedProperty extends ConnectedDataElement implements IProperty
 		}
 	}
 
+	/**
+	 * Gets the value without blocking. Values transmitted as string are converted
+	 * according to the value type like in {@link #getValue()}; the value type is
+	 * retrieved without blocking, too, if it is not cached yet.
+	 * 
+	 * @return future for the value
+	 */
+	public CompletableFuture<Object> getValueAsync() {
+		return getProxy().getValueAsync(Property.VALUE).thenCompose(value -> {
+			if (value instanceof String) {
+				return getElemAsync().thenApply(elem -> ValueTypeHelper.getJavaObject(value, ValueTypeHelper.readTypeDef(elem.getPath(Property.VALUETYPE))));
+			} else {
+				return CompletableFuture.completedFuture(value);
+			}
+		});
+	}
+
+	/**
+	 * Sets the value without blocking
+	 * 
+	 * @param value
+	 * @return future that is completed when the value has been set
+	 */
+	public CompletableFuture<Void> setValueAsync(Object value) {
+		return getProxy().setValueAsync(MultiSubmodelElementProvider.VALUE, value);
+	}
+
 	@Override
 	public Property getLocalCopy() {
 		return Property.createAsFacade(getElem()).getLocalCopy();
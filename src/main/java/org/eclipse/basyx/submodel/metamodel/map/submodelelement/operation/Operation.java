@@ -42,7 +42,6 @@ import org.eclipse.basyx.submodel.metamodel.map.qualifier.HasDataSpecification;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.LangStrings;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.Referable;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
-import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
 
 /**
  * Operation as defined in DAAS document <br>
@@ -66,6 +65,9 @@ public class Operation extends SubmodelElement implements IOperation {
 	public static final String INVOKE = "invoke";
 	public static final String IS_WRAPPED_INVOKABLE = "isWrappedInvokable";
 
+	// Precomputed invocation, see getInvocationPlan()
+	private transient OperationInvocationPlan invocationPlan;
+
 	public Operation() {
 		this(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
 	}
@@ -193,28 +195,27 @@ public class Operation extends SubmodelElement implements IOperation {
 
 	@Override
 	public Object invokeSimple(Object... simpleParams) {
-		OperationCheckHelper.checkValidParameterLength(simpleParams.length, getIdShort(), getInputVariables());
-		OperationCheckHelper.checkSubmodelElementExpectedTypes(simpleParams, getInputVariables());
-		if (isWrappedInvokable()) {
-			return invokeWrappedInvokableWithSimpleParameters(simpleParams);
-		} else {
-			return directlyInvokeSimpleInvokable(simpleParams);
-		}
-	}
-
-	private Object invokeWrappedInvokableWithSimpleParameters(Object... simpleParams) {
-		Map<String, SubmodelElement> wrappedParamMap = OperationHelper.wrapSimpleInputParametersInMap(simpleParams, getInputVariables());
-		OperationCheckHelper.checkSubmodelElementAsParameter(wrappedParamMap, getInputVariables());
-		SubmodelElement[] wrappedResult = directlyInvokeWrappedInvokable(wrappedParamMap);
-		return OperationHelper.unwrapResult(wrappedResult);
+		return getInvocationPlan().invokeSimple(this, simpleParams);
 	}
 
 	@Override
 	public SubmodelElement[] invoke(SubmodelElement... elems) {
-		OperationCheckHelper.checkValidParameterLength(elems.length, getIdShort(), getInputVariables());
-		OperationCheckHelper.checkSubmodelElementAsParameter(elems, getInputVariables());
-		Map<String, SubmodelElement> seMap = OperationHelper.convertSubmodelElementArrayToMap(elems);
-		return invokeWrappedUnchecked(seMap);
+		return getInvocationPlan().invoke(this, elems);
+	}
+
+	/**
+	 * Returns the invocation plan of this operation. It is computed on first use
+	 * and again after the variables or the invokable have been replaced.
+	 * 
+	 * @return
+	 */
+	public OperationInvocationPlan getInvocationPlan() {
+		OperationInvocationPlan plan = invocationPlan;
+		if (plan == null || !plan.isValidFor(this)) {
+			plan = new OperationInvocationPlan(this);
+			invocationPlan = plan;
+		}
+		return plan;
 	}
 
 	@Override
@@ -380,29 +381,6 @@ public class Operation extends SubmodelElement implements IOperation {
 		return ret;
 	}
 
-	private Object directlyInvokeSimpleInvokable(Object[] simpleParams) {
-		return new VABLambdaProvider(this).invokeOperation(INVOKABLE, simpleParams);
-	}
-
-	private SubmodelElement[] invokeWrappedUnchecked(Map<String, SubmodelElement> wrappedParamMap) {
-		if (isWrappedInvokable()) {
-			return directlyInvokeWrappedInvokable(wrappedParamMap);
-		} else {
-			Object[] unwrappedParams = OperationHelper.unwrapInputParameters(wrappedParamMap, getInputVariables());
-			Object unwrappedResult = directlyInvokeSimpleInvokable(unwrappedParams);
-			return OperationHelper.wrapResult(unwrappedResult, getOutputVariables());
-		}
-	}
-
-	private SubmodelElement[] directlyInvokeWrappedInvokable(Map<String, SubmodelElement> wrappedParamMap) {
-		return (SubmodelElement[]) new VABLambdaProvider(this).invokeOperation(INVOKABLE, wrappedParamMap);
-	}
-
-	private boolean isWrappedInvokable() {
-		Object isWrappedInvokable = get(IS_WRAPPED_INVOKABLE);
-		return isWrappedInvokable != null && ((boolean) isWrappedInvokable);
-	}
-
 	@SuppressWarnings("unchecked")
 	private Function<Object[], Object> prepareWrappedFunctionForVAB(Function<Map<String, SubmodelElement>, SubmodelElement[]> wrappedFunction) {
 		return elemArray -> wrappedFunction.apply((Map<String, SubmodelElement>) elemArray[0]);
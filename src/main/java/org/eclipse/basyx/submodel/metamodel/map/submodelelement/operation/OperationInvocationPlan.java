@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperationVariable;
+import org.eclipse.basyx.submodel.metamodel.map.modeltype.ModelType;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.WrongNumberOfParametersException;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+
+/**
+ * Precomputed invocation of an {@link Operation}. The variables of the
+ * operation are transformed once into ordered slots, so that an invocation only
+ * has to wrap, check and unwrap the given parameters. <br>
+ * <br>
+ * A plan is only valid as long as the variables and the invokable of the
+ * operation are not replaced, see {@link #isValidFor(Operation)}.
+ */
+public class OperationInvocationPlan {
+	// Structure of the operation the plan was computed for
+	private final Object inputVariableCollection;
+	private final Object outputVariableCollection;
+	private final Object invokable;
+	private final boolean wrappedInvokable;
+	private final int inputCount;
+	private final int outputCount;
+
+	// Ordered slots of the input variables
+	private final Collection<IOperationVariable> inputVariables;
+	private final SubmodelElement[] inputTemplates;
+	private final String[] inputIdShorts;
+	private final boolean[] inputChecks;
+	private final Map<String, Integer> inputSlots;
+
+	// Template of the first output variable or null, if there is none
+	private final SubmodelElement outputTemplate;
+
+	/**
+	 * Computes the plan for the current variables and invokable of an operation
+	 * 
+	 * @param operation
+	 */
+	public OperationInvocationPlan(Operation operation) {
+		inputVariableCollection = operation.get(Operation.IN);
+		outputVariableCollection = operation.get(Operation.OUT);
+		invokable = operation.get(Operation.INVOKABLE);
+		wrappedInvokable = isWrappedInvokable(operation);
+		inputCount = sizeOf(inputVariableCollection);
+		outputCount = sizeOf(outputVariableCollection);
+
+		inputVariables = operation.getInputVariables();
+		inputTemplates = new SubmodelElement[inputVariables.size()];
+		inputIdShorts = new String[inputTemplates.length];
+		inputChecks = new boolean[inputTemplates.length];
+		inputSlots = new HashMap<>();
+		int i = 0;
+		for (IOperationVariable variable : inputVariables) {
+			inputTemplates[i] = (SubmodelElement) variable.getValue();
+			inputIdShorts[i] = inputTemplates[i].getIdShort();
+			inputChecks[i] = needsCheck(inputTemplates[i]);
+			inputSlots.put(inputIdShorts[i], i);
+			i++;
+		}
+
+		Collection<IOperationVariable> outputVariables = operation.getOutputVariables();
+		outputTemplate = outputVariables.isEmpty() ? null : (SubmodelElement) outputVariables.iterator().next().getValue();
+	}
+
+	/**
+	 * Checks if the plan still matches the variables and the invokable of the
+	 * given operation. Only the identity and size of the variable collections are
+	 * compared, so that the check is cheap.
+	 * 
+	 * @param operation
+	 * @return
+	 */
+	public boolean isValidFor(Operation operation) {
+		Object currentInputs = operation.get(Operation.IN);
+		Object currentOutputs = operation.get(Operation.OUT);
+		return currentInputs == inputVariableCollection && currentOutputs == outputVariableCollection && operation.get(Operation.INVOKABLE) == invokable && isWrappedInvokable(operation) == wrappedInvokable && sizeOf(currentInputs) == inputCount && sizeOf(currentOutputs) == outputCount;
+	}
+
+	/**
+	 * Returns the idShorts of the input variables in the order of their slots
+	 * 
+	 * @return
+	 */
+	public String[] getInputIdShorts() {
+		return inputIdShorts.clone();
+	}
+
+	/**
+	 * Returns the slot of the input variable with the given idShort or -1, if
+	 * there is no such input variable
+	 * 
+	 * @param idShort
+	 * @return
+	 */
+	public int getInputSlot(String idShort) {
+		Integer slot = inputSlots.get(idShort);
+		return slot == null ? -1 : slot;
+	}
+
+	/**
+	 * Invokes the operation with simple values
+	 * 
+	 * @param operation
+	 *            the operation this plan has been computed for
+	 * @param simpleParams
+	 * @return
+	 */
+	public Object invokeSimple(Operation operation, Object... simpleParams) {
+		checkParameterLength(operation, simpleParams.length);
+		if (wrappedInvokable) {
+			// Wrapping the parameters also checks their types
+			Map<String, SubmodelElement> wrappedParams = new LinkedHashMap<>();
+			for (int i = 0; i < inputTemplates.length; i++) {
+				wrappedParams.put(inputIdShorts[i], wrapInput(inputTemplates[i], simpleParams[i]));
+			}
+			return OperationHelper.unwrapResult(invokeWrapped(operation, wrappedParams));
+		} else {
+			for (int i = 0; i < inputTemplates.length; i++) {
+				if (inputChecks[i]) {
+					wrapInput(inputTemplates[i], simpleParams[i]);
+				}
+			}
+			return run(operation, simpleParams);
+		}
+	}
+
+	/**
+	 * Invokes the operation with submodel elements. Their idShorts and model types
+	 * have to match the input variables.
+	 * 
+	 * @param operation
+	 *            the operation this plan has been computed for
+	 * @param elems
+	 * @return
+	 */
+	public SubmodelElement[] invoke(Operation operation, SubmodelElement... elems) {
+		checkParameterLength(operation, elems.length);
+		OperationCheckHelper.checkSubmodelElementAsParameter(elems, inputVariables);
+		if (wrappedInvokable) {
+			return invokeWrapped(operation, OperationHelper.convertSubmodelElementArrayToMap(elems));
+		}
+
+		Object[] simpleParams = new Object[inputTemplates.length];
+		for (SubmodelElement elem : elems) {
+			int slot = getInputSlot(elem.getIdShort());
+			if (slot >= 0) {
+				simpleParams[slot] = elem.getValue();
+			}
+		}
+		Object result = run(operation, simpleParams);
+		if (outputTemplate == null) {
+			return new SubmodelElement[] {};
+		}
+		return new SubmodelElement[] { wrap(outputTemplate, result) };
+	}
+
+	private void checkParameterLength(Operation operation, int actualLength) {
+		if (actualLength != inputTemplates.length) {
+			throw new WrongNumberOfParametersException(operation.getIdShort(), inputVariables, actualLength);
+		}
+	}
+
+	private SubmodelElement[] invokeWrapped(Operation operation, Map<String, SubmodelElement> wrappedParams) {
+		return (SubmodelElement[]) run(operation, wrappedParams);
+	}
+
+	/**
+	 * Runs the invokable directly. Invokables that are not functional interfaces
+	 * are run through the VAB as before.
+	 */
+	@SuppressWarnings("unchecked")
+	private Object run(Operation operation, Object... params) {
+		try {
+			if (invokable instanceof Function<?, ?>) {
+				return ((Function<Object[], Object>) invokable).apply(params);
+			} else if (invokable instanceof Supplier<?>) {
+				return ((Supplier<Object>) invokable).get();
+			} else if (invokable instanceof Consumer<?>) {
+				((Consumer<Object[]>) invokable).accept(params);
+				return null;
+			} else if (invokable instanceof Runnable) {
+				((Runnable) invokable).run();
+				return null;
+			}
+		} catch (ProviderException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ProviderException(e);
+		}
+		return new VABLambdaProvider(operation).invokeOperation(Operation.INVOKABLE, params);
+	}
+
+	/**
+	 * Wraps an input parameter. Values that do not fit the template have been
+	 * given by the caller, so they are reported as a malformed request.
+	 */
+	private static SubmodelElement wrapInput(SubmodelElement template, Object value) {
+		try {
+			return wrap(template, value);
+		} catch (Exception e) {
+			throw new MalformedRequestException(e);
+		}
+	}
+
+	/**
+	 * Wraps a value the same way as {@link OperationHelper#wrapSingleParameter}
+	 */
+	private static SubmodelElement wrap(SubmodelElement template, Object value) {
+		SubmodelElement element = template.getLocalCopy();
+		element.setValue(value);
+		return element;
+	}
+
+	/**
+	 * Setting a value on properties with a value type never fails, so their values
+	 * do not have to be checked
+	 */
+	private static boolean needsCheck(SubmodelElement template) {
+		return !(Property.MODELTYPE.equals(ModelType.createAsFacade(template).getName()) && template.get(Property.VALUETYPE) != null);
+	}
+
+	private static boolean isWrappedInvokable(Operation operation) {
+		Object isWrappedInvokable = operation.get(Operation.IS_WRAPPED_INVOKABLE);
+		return isWrappedInvokable != null && ((boolean) isWrappedInvokable);
+	}
+
+	private static int sizeOf(Object collection) {
+		return collection instanceof Collection<?> ? ((Collection<?>) collection).size() : 0;
+	}
+}
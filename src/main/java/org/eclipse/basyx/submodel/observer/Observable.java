@@ -26,13 +26,21 @@
 
 package org.eclipse.basyx.submodel.observer;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.eclipse.basyx.vab.modelprovider.async.BoundedDispatchQueue.OverflowPolicy;
 
 /**
  * Generic implementation of an Observable. This class contains all common
  * operations an Observable is supposed to do. Java generics is used to specify
- * which type of Observable is required
+ * which type of Observable is required.<br>
+ * By default, observers are notified synchronously on the thread causing the
+ * event. Optionally, events are dispatched asynchronously, so that observers
+ * are notified on a shared executor in the order of the events.
  * 
  * @author haque
  *
@@ -41,7 +49,15 @@ import java.util.Collection;
  */
 public class Observable<T extends IObserver> {
 
-	public Collection<T> observers = new ArrayList<T>();
+	public Collection<T> observers = new CopyOnWriteArrayList<T>();
+
+	// Dispatchers of the observers, if events are dispatched asynchronously
+	private final Map<T, ObserverDispatcher<T>> dispatchers = new ConcurrentHashMap<>();
+
+	// Configuration of asynchronous dispatch; a capacity of 0 means synchronous
+	// notification
+	private int capacity = 0;
+	private OverflowPolicy overflowPolicy;
 
 	/**
 	 * Adds an observer to the subscriber list
@@ -49,8 +65,11 @@ public class Observable<T extends IObserver> {
 	 * @param observer
 	 *            the observer to be added
 	 */
-	public void addObserver(T observer) {
+	public synchronized void addObserver(T observer) {
 		observers.add(observer);
+		if (capacity > 0 && !dispatchers.containsKey(observer)) {
+			dispatchers.put(observer, new ObserverDispatcher<>(observer, capacity, overflowPolicy));
+		}
 	}
 
 	/**
@@ -60,7 +79,82 @@ public class Observable<T extends IObserver> {
 	 *            the observer to be removed
 	 * @return true if the observer was found and removed; false otherwise
 	 */
-	public boolean removeObserver(T observer) {
+	public synchronized boolean removeObserver(T observer) {
+		ObserverDispatcher<T> dispatcher = dispatchers.remove(observer);
+		if (dispatcher != null) {
+			dispatcher.close();
+		}
 		return observers.remove(observer);
 	}
+
+	/**
+	 * Notifies the observers asynchronously. Each observer gets a buffer for the
+	 * events that have not been delivered yet.
+	 * 
+	 * @param capacity
+	 *            maximum number of buffered events per observer
+	 * @param overflowPolicy
+	 *            behaviour if the buffer of an observer is full
+	 */
+	public synchronized void enableAsyncDispatch(int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity has to be positive, but is " + capacity);
+		}
+		closeDispatchers();
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		for (T observer : observers) {
+			dispatchers.put(observer, new ObserverDispatcher<>(observer, capacity, overflowPolicy));
+		}
+	}
+
+	/**
+	 * Notifies the observers synchronously on the thread causing the event
+	 */
+	public synchronized void disableAsyncDispatch() {
+		capacity = 0;
+		closeDispatchers();
+	}
+
+	/**
+	 * Returns the dispatcher of an observer, e.g. for accessing its lag metrics
+	 * 
+	 * @param observer
+	 * @return the dispatcher or null, if events are not dispatched asynchronously
+	 */
+	public ObserverDispatcher<T> getDispatcher(T observer) {
+		return dispatchers.get(observer);
+	}
+
+	/**
+	 * Returns whether there are observers. Can be used to skip computing the
+	 * arguments of an event nobody receives.
+	 * 
+	 * @return
+	 */
+	protected boolean hasObservers() {
+		return !observers.isEmpty();
+	}
+
+	/**
+	 * Notifies all observers about an event. If events are dispatched
+	 * asynchronously, the event is called later for each observer.
+	 * Its arguments therefore have to be computed before, so that all observers
+	 * see the state at the time of the event.
+	 * 
+	 * @param event
+	 *            calls the observer
+	 */
+	protected void notifyObservers(Consumer<T> event) {
+		if (dispatchers.isEmpty()) {
+			observers.forEach(event);
+		} else {
+			dispatchers.values().forEach(d -> d.dispatch(event));
+		}
+	}
+
+	private void closeDispatchers() {
+		dispatchers.values().forEach(ObserverDispatcher::close);
+		dispatchers.clear();
+	}
 }
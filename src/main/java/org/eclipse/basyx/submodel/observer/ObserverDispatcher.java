@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+
+package org.eclipse.basyx.submodel.observer;
+
+import java.util.function.Consumer;
+
+import org.eclipse.basyx.vab.modelprovider.async.BoundedDispatchQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events to a single observer. The events are buffered in a bounded
+ * queue and delivered in the order they have been dispatched. Delivery runs on
+ * the executor shared by all {@link BoundedDispatchQueue}s, so observers do not
+ * get threads of their own.
+ * 
+ * @param <T>
+ *            type of the observer
+ */
+public class ObserverDispatcher<T extends IObserver> extends BoundedDispatchQueue<Consumer<T>> {
+	private static Logger logger = LoggerFactory.getLogger(ObserverDispatcher.class);
+
+	private final T observer;
+
+	/**
+	 * Creates the dispatcher
+	 * 
+	 * @param observer
+	 * @param capacity
+	 *            maximum number of buffered events
+	 * @param overflowPolicy
+	 *            behaviour if the buffer is full
+	 */
+	public ObserverDispatcher(T observer, int capacity, OverflowPolicy overflowPolicy) {
+		super((event, callback) -> deliver(observer, event, callback), capacity, overflowPolicy);
+		this.observer = observer;
+	}
+
+	public T getObserver() {
+		return observer;
+	}
+
+	private static <T> void deliver(T observer, Consumer<T> event, Consumer<Throwable> callback) {
+		try {
+			event.accept(observer);
+		} catch (RuntimeException e) {
+			logger.error("Observer " + observer + " failed to handle event", e);
+			callback.accept(e);
+			return;
+		}
+		callback.accept(null);
+	}
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.Referable;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+
+/**
+ * Index from the idShortPaths of the submodel elements of a submodel to the
+ * paths of the elements within the submodel element map, e.g. from
+ * <i>a/b/c</i> to <i>a/value/b/value/c</i>. Elements can thus be accessed
+ * directly instead of resolving each level of nested collections through its
+ * own provider. <br>
+ * <br>
+ * The index has to be updated for each added, replaced or deleted element.
+ * Lookups do not block, updates are serialized.
+ */
+public class IdShortPathIndex {
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the path of an element within the submodel element map or null, if
+	 * the element is not indexed
+	 * 
+	 * @param idShortPath
+	 * @return
+	 */
+	public String getElementPath(String idShortPath) {
+		Entry entry = entries.get(VABPathTools.stripSlashes(idShortPath));
+		return entry == null ? null : entry.elementPath;
+	}
+
+	/**
+	 * Returns true, if the indexed element is a SubmodelElementCollection
+	 * 
+	 * @param idShortPath
+	 * @return
+	 */
+	public boolean isCollection(String idShortPath) {
+		Entry entry = entries.get(VABPathTools.stripSlashes(idShortPath));
+		return entry != null && entry.children != null;
+	}
+
+	/**
+	 * Indexes an element and, if it is a collection, its contained elements.
+	 * Previously indexed elements with the same idShortPath are replaced. Nested
+	 * elements are only indexed if their parent collection is indexed.
+	 * 
+	 * @param idShortPath
+	 * @param element
+	 */
+	public synchronized void put(String idShortPath, Map<String, Object> element) {
+		idShortPath = VABPathTools.stripSlashes(idShortPath);
+		remove(idShortPath);
+
+		String parentPath = VABPathTools.getParentPath(idShortPath);
+		if (parentPath.isEmpty()) {
+			index(idShortPath, idShortPath, element);
+			return;
+		}
+
+		Entry parent = entries.get(parentPath);
+		if (parent == null || parent.children == null) {
+			return;
+		}
+		parent.children.add(idShortPath);
+		String idShort = VABPathTools.getLastElement(idShortPath);
+		index(idShortPath, VABPathTools.concatenatePaths(parent.elementPath, Property.VALUE, idShort), element);
+	}
+
+	/**
+	 * Removes an element and all elements contained in it from the index
+	 * 
+	 * @param idShortPath
+	 */
+	public synchronized void remove(String idShortPath) {
+		idShortPath = VABPathTools.stripSlashes(idShortPath);
+		Entry entry = entries.get(idShortPath);
+		if (entry == null) {
+			return;
+		}
+
+		Entry parent = entries.get(VABPathTools.getParentPath(idShortPath));
+		if (parent != null && parent.children != null) {
+			parent.children.remove(idShortPath);
+		}
+		removeSubtree(idShortPath);
+	}
+
+	/**
+	 * Removes all elements from the index
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	private void removeSubtree(String idShortPath) {
+		Entry entry = entries.remove(idShortPath);
+		if (entry != null && entry.children != null) {
+			for (String child : entry.children) {
+				removeSubtree(child);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void index(String idShortPath, String elementPath, Map<String, Object> element) {
+		if (!SubmodelElementCollection.isSubmodelElementCollection(element)) {
+			entries.put(idShortPath, new Entry(elementPath, null));
+			return;
+		}
+
+		Set<String> children = new HashSet<>();
+		entries.put(idShortPath, new Entry(elementPath, children));
+
+		// Collections are stored as map from idShort to element, but may be passed
+		// as collection of elements
+		Object value = element.get(Property.VALUE);
+		Collection<Object> contained;
+		if (value instanceof Map<?, ?>) {
+			contained = ((Map<String, Object>) value).values();
+		} else if (value instanceof Collection<?>) {
+			contained = (Collection<Object>) value;
+		} else {
+			return;
+		}
+
+		for (Object child : contained) {
+			if (!(child instanceof Map<?, ?>)) {
+				continue;
+			}
+			Map<String, Object> childElement = (Map<String, Object>) child;
+			Object idShort = childElement.get(Referable.IDSHORT);
+			if (idShort == null) {
+				continue;
+			}
+			String childIdShortPath = VABPathTools.concatenatePaths(idShortPath, idShort.toString());
+			children.add(childIdShortPath);
+			index(childIdShortPath, VABPathTools.concatenatePaths(elementPath, Property.VALUE, idShort.toString()), childElement);
+		}
+	}
+
+	/**
+	 * Indexed element. Children is null, if the element is no collection
+	 */
+	private static class Entry {
+		private final String elementPath;
+		private final Set<String> children;
+
+		private Entry(String elementPath, Set<String> children) {
+			this.elementPath = elementPath;
+			this.children = children;
+		}
+	}
+}
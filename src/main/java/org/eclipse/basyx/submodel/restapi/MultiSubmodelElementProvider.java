@@ -34,8 +34,9 @@ import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
-import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.VABPath;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVABPathModelProvider;
 
 /**
  * Provider that handles container properties. Container properties can contain
@@ -44,7 +45,7 @@ import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
  * @author espen, conradi
  *
  */
-public class MultiSubmodelElementProvider implements IModelProvider {
+public class MultiSubmodelElementProvider implements IVABPathModelProvider {
 	// Constants for API-Access
 	public static final String ELEMENTS = "submodelElements";
 	public static final String VALUE = "value";
@@ -71,43 +72,37 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 
 		// Feed all ELements through their Providers, in case someting needs to be done
 		// to them (e.g. smElemCollections)
-		return all.entrySet().stream().map(e -> (Map<String, Object>) getSingleElement(ELEMENTS + "/" + e.getKey())).collect(Collectors.toList());
+		return all.entrySet().stream().map(e -> (Map<String, Object>) getSingleElement(VABPath.of(ELEMENTS, e.getKey()))).collect(Collectors.toList());
 	}
 
 	/**
 	 * Single elements can be directly accessed in maps => return a proxy
 	 */
-	private IModelProvider getElementProxy(String[] pathElements) {
-		String idShort = pathElements[1];
+	private IModelProvider getElementProxy(VABPath path) {
+		String idShort = path.get(1);
 		return new VABElementProxy(idShort, modelProvider);
 	}
 
-	private Object getSingleElement(String path) {
+	private Object getSingleElement(VABPath path) {
 		// Build new proxy pointing at sub-property of a submodelelement and forward the
 		// remaininig part of the path to an appropriate provider
-		String[] pathElements = VABPathTools.splitPath(path);
-		String qualifier = pathElements[0];
-		IModelProvider elementProxy = getElementProxy(pathElements);
+		IModelProvider elementProxy = getElementProxy(path);
 
-		if (qualifier.equals(ELEMENTS)) {
-			String subPath = VABPathTools.buildPath(pathElements, 2);
-			return new SubmodelElementProvider(elementProxy).getValue(subPath);
+		if (path.startsWith(ELEMENTS)) {
+			return new SubmodelElementProvider(elementProxy).getValue(path.subPath(2).toString());
 		} else {
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
 		}
 	}
 
 	@Override
-	public Object getValue(String path) throws ProviderException {
-		String[] pathElements = VABPathTools.splitPath(path);
-		String qualifier = pathElements[0];
-
-		if (!qualifier.equals(ELEMENTS)) {
+	public Object getValue(VABPath path) throws ProviderException {
+		if (!path.startsWith(ELEMENTS)) {
 			// No other qualifier in a submodel element container can be directly accessed
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
 		}
 
-		if (pathElements.length == 1) {
+		if (path.size() == 1) {
 			// returns all elements
 			return getElementsList();
 		} else {
@@ -117,28 +112,20 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 	}
 
 	@Override
-	public void setValue(String path, Object newValue) throws ProviderException {
-		String[] pathElements = VABPathTools.splitPath(path);
-		String qualifier = pathElements[0];
-		if (pathElements.length < 2 || !qualifier.equals(ELEMENTS)) {
+	public void setValue(VABPath path, Object newValue) throws ProviderException {
+		if (path.size() < 2 || !path.startsWith(ELEMENTS)) {
 			// only possible to set values in a data elements, currently
 			throw new MalformedRequestException("Given path '" + path + "' is invalid for set");
 		}
 
-		IModelProvider elementProxy = getElementProxy(pathElements);
-		String subPath = VABPathTools.buildPath(pathElements, 2);
-
-		new SubmodelElementProvider(elementProxy).setValue(subPath, newValue);
+		IModelProvider elementProxy = getElementProxy(path);
+		new SubmodelElementProvider(elementProxy).setValue(path.subPath(2).toString(), newValue);
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
-	public void createValue(String path, Object newEntity) throws ProviderException {
-		String[] pathElements = VABPathTools.splitPath(path);
-		String qualifier = pathElements[0];
-		String subPath = VABPathTools.buildPath(pathElements, 2);
-
-		if (!qualifier.equals(ELEMENTS)) {
+	public void createValue(VABPath path, Object newEntity) throws ProviderException {
+		if (!path.startsWith(ELEMENTS)) {
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
 		}
 
@@ -149,60 +136,47 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 			newEntity = SubmodelElementMapCollectionConverter.mapToSmECollection(smCollection);
 		}
 
-		if (pathElements.length == 2) {
+		if (path.size() == 2) {
 			// It is allowed to overwrite existing properties inside of a submodel
 			try {
-				modelProvider.setValue(pathElements[1], newEntity);
+				modelProvider.setValue(path.get(1), newEntity);
 			} catch (ResourceNotFoundException e) {
-				modelProvider.createValue(pathElements[1], newEntity);
+				modelProvider.createValue(path.get(1), newEntity);
 			}
 		} else {
-			IModelProvider elementProxy = getElementProxy(pathElements);
-			new SubmodelElementProvider(elementProxy).createValue(subPath, newEntity);
+			IModelProvider elementProxy = getElementProxy(path);
+			new SubmodelElementProvider(elementProxy).createValue(path.subPath(2).toString(), newEntity);
 		}
 	}
 
 	@Override
-	public void deleteValue(String path) throws ProviderException {
-		String[] pathElements = VABPathTools.splitPath(path);
-		String qualifier = pathElements[0];
-		String subPath;
-		IModelProvider elementProvider;
-
-		if (!qualifier.equals(ELEMENTS)) {
+	public void deleteValue(VABPath path) throws ProviderException {
+		if (!path.startsWith(ELEMENTS)) {
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
 		}
 
 		// If the first Element is a Collection, use its Provider
-		if (pathElements.length > 2) {
-			IModelProvider elementProxy = getElementProxy(pathElements);
-			elementProvider = new SubmodelElementProvider(elementProxy);
-			subPath = VABPathTools.buildPath(pathElements, 2);
+		if (path.size() > 2) {
+			IModelProvider elementProxy = getElementProxy(path);
+			new SubmodelElementProvider(elementProxy).deleteValue(path.subPath(2).toString());
 		} else {
-			elementProvider = modelProvider;
-			subPath = VABPathTools.buildPath(pathElements, 1);
+			// Delete a specific submodel element
+			modelProvider.deleteValue(path.subPath(1).toString());
 		}
-
-		// Delete a specific submodel element
-		elementProvider.deleteValue(subPath);
 	}
 
 	@Override
-	public void deleteValue(String path, Object obj) {
+	public void deleteValue(VABPath path, Object obj) {
 		throw new MalformedRequestException("Delete with a passed argument not allowed");
 	}
 
 	@Override
-	public Object invokeOperation(String path, Object... parameters) throws ProviderException {
-		String[] pathElements = VABPathTools.splitPath(path);
-		String subPath = VABPathTools.buildPath(pathElements, 2);
-
-		String qualifier = pathElements[0];
-		if (!qualifier.equals(ELEMENTS)) {
+	public Object invokeOperation(VABPath path, Object... parameters) throws ProviderException {
+		if (!path.startsWith(ELEMENTS)) {
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
 		}
 
-		IModelProvider elementProxy = getElementProxy(pathElements);
-		return new SubmodelElementProvider(elementProxy).invokeOperation(subPath, parameters);
+		IModelProvider elementProxy = getElementProxy(path);
+		return new SubmodelElementProvider(elementProxy).invokeOperation(path.subPath(2).toString(), parameters);
 	}
 }
@@ -27,6 +27,7 @@ package org.eclipse.basyx.submodel.restapi;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -47,7 +48,7 @@ import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
-import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
 
 /**
  * Handles operations according to AAS meta model.
@@ -62,17 +63,54 @@ public class OperationProvider implements IModelProvider {
 
 	private IModelProvider modelProvider;
 	private DelegatedInvocationManager invocationHelper;
+	private AsyncOperationHandler asyncHandler;
+
+	// Operation that is invoked directly instead of being read from the
+	// modelProvider for each invocation, or null
+	private Operation operation;
 
 	public OperationProvider(IModelProvider modelProvider) {
-		this(modelProvider, new DelegatedInvocationManager(new HTTPConnectorFactory()));
+		this(modelProvider, DelegatedInvocationManager.getDefault());
 	}
 
 	public OperationProvider(IModelProvider modelProvider, DelegatedInvocationManager invocationHelper) {
+		this(modelProvider, invocationHelper, AsyncOperationHandler.getDefault());
+	}
+
+	/**
+	 * Creates a provider that keeps asynchronous invocations in the given handler
+	 * instead of the default handler
+	 * 
+	 * @param modelProvider
+	 * @param invocationHelper
+	 * @param asyncHandler
+	 */
+	public OperationProvider(IModelProvider modelProvider, DelegatedInvocationManager invocationHelper, AsyncOperationHandler asyncHandler) {
 		this.modelProvider = modelProvider;
 		this.invocationHelper = invocationHelper;
+		this.asyncHandler = asyncHandler;
 		operationId = getIdShort(modelProvider.getValue(""));
 	}
 
+	/**
+	 * Creates a provider that invokes the given operation directly. In contrast to
+	 * reading the operation from a model provider for each invocation, the
+	 * invocation plan of the operation is computed once and reused for all
+	 * invocations, as long as the variables and the invokable of the operation
+	 * are not replaced.
+	 * 
+	 * @param operation
+	 * @param invocationHelper
+	 * @param asyncHandler
+	 */
+	public OperationProvider(Operation operation, DelegatedInvocationManager invocationHelper, AsyncOperationHandler asyncHandler) {
+		this.modelProvider = new VABLambdaProvider(operation);
+		this.invocationHelper = invocationHelper;
+		this.asyncHandler = asyncHandler;
+		this.operation = operation;
+		operationId = operation.getIdShort();
+	}
+
 	@Override
 	public Object getValue(String path) throws ProviderException {
 		String[] splitted = VABPathTools.splitPath(path);
@@ -80,7 +118,7 @@ public class OperationProvider implements IModelProvider {
 			return modelProvider.getValue("");
 		} else if (isInvocationListQuery(splitted)) {
 			String requestId = splitted[1];
-			return AsyncOperationHandler.retrieveResult(requestId, operationId);
+			return asyncHandler.getResult(requestId, operationId);
 
 		} else {
 			throw new MalformedRequestException("Get of an Operation supports only empty or /invocationList/{requestId} paths");
@@ -112,18 +150,12 @@ public class OperationProvider implements IModelProvider {
 		throw new MalformedRequestException("Delete not allowed at path '" + path + "'");
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public Object invokeOperation(String path, Object... parameters) throws ProviderException {
 		boolean isAsync = isAsyncInvokePath(path);
 		path = VABPathTools.stripInvokeFromPath(path);
 
-		// Invoke /invokable instead of an Operation property if existent
-		Object childElement = modelProvider.getValue(path);
-		if (!Operation.isOperation(childElement)) {
-			throw new MalformedRequestException("Only operations can be invoked.");
-		}
-		Operation op = Operation.createAsFacade((Map<String, Object>) childElement);
+		Operation op = getOperation(path);
 
 		if (DelegatedInvocationManager.isDelegatingOperation(op)) {
 			return invocationHelper.invokeDelegatedOperation(op, parameters);
@@ -142,14 +174,29 @@ public class OperationProvider implements IModelProvider {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private Operation getOperation(String path) {
+		if (operation != null && path.isEmpty()) {
+			return operation;
+		}
+
+		// Invoke /invokable instead of an Operation property if existent
+		Object childElement = modelProvider.getValue(path);
+		if (!Operation.isOperation(childElement)) {
+			throw new MalformedRequestException("Only operations can be invoked.");
+		}
+		return Operation.createAsFacade((Map<String, Object>) childElement);
+	}
+
 	private CallbackResponse handleAsyncRequestInvokation(Operation operation, InvocationRequest request) {
 		Collection<IOperationVariable> outputVars = copyOutputVariables(operation);
 
-		AsyncOperationHandler.invokeAsync(operation, operationId, request, outputVars);
+		asyncHandler.invoke(operation, operationId, request, outputVars);
 
 		// Request id has to be returned for caller to be able to retrieve result
-		// => Use callback response and leave url empty
-		return new CallbackResponse(request.getRequestId(), "");
+		// => Use callback response with the url the result is pushed to, if given
+		String callbackUrl = request.getCallbackUrl();
+		return new CallbackResponse(request.getRequestId(), callbackUrl == null ? "" : callbackUrl);
 	}
 
 	private InvocationResponse handleSyncRequestInvokation(Operation operation, InvocationRequest request) {
@@ -174,7 +221,7 @@ public class OperationProvider implements IModelProvider {
 
 		String requestId = UUID.randomUUID().toString();
 
-		AsyncOperationHandler.invokeAsync(operation, operationId, requestId, unwrappedParameters, outputVars, 10000);
+		asyncHandler.invoke(operation, operationId, requestId, unwrappedParameters, outputVars, 10000);
 		// Request id has to be returned for caller to be able to retrieve result
 		// => Use callback response and leave url empty
 		return new CallbackResponse(requestId, "");
@@ -227,31 +274,29 @@ public class OperationProvider implements IModelProvider {
 		InvocationRequest request = InvocationRequest.createAsFacade(requestMap);
 
 		// Sort parameters in request by InputVariables of operation
-		Collection<IOperationVariable> vars = op.getInputVariables();
-		Collection<IOperationVariable> ordered = createOrderedInputVariablesList(request, vars);
+		Collection<IOperationVariable> ordered = createOrderedInputVariablesList(request, op);
 
-		return new InvocationRequest(request.getRequestId(), request.getInOutArguments(), ordered, request.getTimeout());
+		return new InvocationRequest(request.getRequestId(), request.getInOutArguments(), ordered, request.getTimeout(), request.getCallbackUrl());
 	}
 
-	private Collection<IOperationVariable> createOrderedInputVariablesList(InvocationRequest request, Collection<IOperationVariable> vars) {
-		Collection<IOperationVariable> ordered = new ArrayList<>();
-
-		for (IOperationVariable var : vars) {
-			String id = var.getValue().getIdShort();
-			ordered.add(findOperationVariableById(id, request.getInputArguments()));
+	private Collection<IOperationVariable> createOrderedInputVariablesList(InvocationRequest request, Operation op) {
+		// Index the given variables once instead of searching them for each input
+		Map<String, IOperationVariable> givenById = new HashMap<>();
+		for (IOperationVariable input : request.getInputArguments()) {
+			givenById.putIfAbsent(input.getValue().getIdShort(), input);
 		}
 
-		return ordered;
-	}
-
-	private IOperationVariable findOperationVariableById(String id, Collection<IOperationVariable> vars) {
-		for (IOperationVariable input : vars) {
-			if (input.getValue().getIdShort().equals(id)) {
-				return input;
+		String[] ids = op.getInvocationPlan().getInputIdShorts();
+		Collection<IOperationVariable> ordered = new ArrayList<>(ids.length);
+		for (String id : ids) {
+			IOperationVariable input = givenById.get(id);
+			if (input == null) {
+				throw new MalformedRequestException("Expected parameter " + id + " missing in request");
 			}
+			ordered.add(input);
 		}
 
-		throw new MalformedRequestException("Expected parameter " + id + " missing in request");
+		return ordered;
 	}
 
 	private boolean isInvokationRequest(Object[] parameters) {
@@ -24,11 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.submodel.restapi;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
@@ -41,8 +37,10 @@ import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.VABPath;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVABPathModelProvider;
 import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
 
 /**
@@ -61,7 +59,7 @@ import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
  * @author espen, schnicke
  *
  */
-public class SubmodelProvider implements IModelProvider {
+public class SubmodelProvider implements IVABPathModelProvider {
 
 	public static final String VALUES = "values";
 	public static final String SUBMODEL = "submodel";
@@ -105,23 +103,15 @@ public class SubmodelProvider implements IModelProvider {
 	 * @param path
 	 * @return
 	 */
-	private String removeSubmodelPrefix(String path) {
-		path = VABPathTools.stripSlashes(path);
-		String submodelWithSlash = SUBMODEL + "/";
-		if (path.startsWith(submodelWithSlash)) {
-			path = path.replaceFirst(submodelWithSlash, "");
-		} else if (path.equals(SUBMODEL)) {
-			path = "";
-		} else {
+	private VABPath removeSubmodelPrefix(VABPath path) {
+		if (!path.startsWith(SUBMODEL)) {
 			throw new MalformedRequestException("The request " + path + " is not allowed for this endpoint. /" + SUBMODEL + " is missing");
 		}
-		path = VABPathTools.stripSlashes(path);
-		return path;
+		return path.subPath(1);
 	}
 
 	@Override
-	public Object getValue(String path) throws ProviderException {
-		VABPathTools.checkPathForNull(path);
+	public Object getValue(VABPath path) throws ProviderException {
 		path = removeSubmodelPrefix(path);
 		if (path.isEmpty()) {
 			ISubmodel sm = submodelAPI.getSubmodel();
@@ -133,115 +123,75 @@ public class SubmodelProvider implements IModelProvider {
 				return sm;
 			}
 		} else {
-			String[] splitted = VABPathTools.splitPath(path);
 			// Request for submodelElements
-			if (splitted.length == 1 && splitted[0].equals(VALUES)) {
+			if (path.size() == 1 && path.get(0).equals(VALUES)) {
 				// Request for values of all submodelElements
 				return submodelAPI.getSubmodel().getValues();
-			} else if (splitted.length == 1 && splitted[0].equals(MultiSubmodelElementProvider.ELEMENTS)) {
+			} else if (path.size() == 1 && path.get(0).equals(MultiSubmodelElementProvider.ELEMENTS)) {
 				return submodelAPI.getSubmodelElements();
-			} else if (splitted.length >= 2 && isQualifier(splitted[0])) { // Request for element with specific idShort
+			} else if (path.size() >= 2 && isQualifier(path.get(0))) { // Request for element with specific idShort
 				// Remove initial "/submodelElements"
-				path = removeSMElementPrefix(path);
-
-				if (endsWithValue(splitted)) { // Request for the value of an property
-					String idShortPath = removeValueSuffix(path);
-					return submodelAPI.getSubmodelElementValue(idShortPath);
-				} else if (isInvocationListPath(splitted)) {
-					List<String> idShorts = getIdShorts(splitted);
-
-					// Remove invocationList/{requestId} from the idShorts
-					idShorts.remove(idShorts.size() - 1);
-					idShorts.remove(idShorts.size() - 1);
-					return submodelAPI.getOperationResult(idShorts.get(0), splitted[splitted.length - 1]);
+				VABPath idShortPath = path.subPath(1);
+
+				if (endsWithValue(path)) { // Request for the value of an property
+					return submodelAPI.getSubmodelElementValue(idShortPath.getParent().toString());
+				} else if (isInvocationListPath(path)) {
+					// The operation is identified by the first idShort, followed by
+					// invocationList/{requestId}
+					return submodelAPI.getOperationResult(idShortPath.getFirst(), path.getLast());
 				} else {
-					return submodelAPI.getSubmodelElement(path);
+					return submodelAPI.getSubmodelElement(idShortPath.toString());
 				}
 			}
 		}
 		throw new MalformedRequestException("Unknown path " + path + " was requested");
 	}
 
-	private List<String> getIdShorts(String[] splitted) {
-		// Create list from array and wrap it in ArrayList to ensure modifiability
-		List<String> idShorts = new ArrayList<>(Arrays.asList(splitted));
-
-		// Drop inital "submodelElements"
-		idShorts.remove(0);
-
-		// If value is contained in path, remove it
-		if (splitted[splitted.length - 1].equals(Property.VALUE)) {
-			idShorts.remove(idShorts.size() - 1);
-		}
-		return idShorts;
+	private boolean endsWithValue(VABPath path) {
+		return path.getLast().equals(Property.VALUE);
 	}
 
-	private boolean endsWithValue(String[] splitted) {
-		return splitted[splitted.length - 1].equals(Property.VALUE);
-	}
-
-	/**
-	 * Removes a trailing <code>/value</code> from the path if it exists.
-	 *
-	 * @param path
-	 *            The original path, which might or might not end on
-	 *            {@value Property.VALUE}.
-	 * @return The new path
-	 */
-	private String removeValueSuffix(String path) {
-		String suffix = "/" + Property.VALUE;
-		if (path.endsWith(suffix)) {
-			path = path.substring(0, path.length() - suffix.length());
-		}
-
-		return path;
-	}
-
-	private boolean isInvocationListPath(String[] splitted) {
-		return splitted.length > 2 && splitted[splitted.length - 2].equals(OperationProvider.INVOCATION_LIST);
+	private boolean isInvocationListPath(VABPath path) {
+		return path.size() > 2 && path.get(path.size() - 2).equals(OperationProvider.INVOCATION_LIST);
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
-	public void setValue(String path, Object newValue) throws ProviderException {
+	public void setValue(VABPath path, Object newValue) throws ProviderException {
 		path = removeSubmodelPrefix(path);
 		if (path.isEmpty()) {
 			throw new MalformedRequestException("Set on \"" + SUBMODEL + "\" not supported");
 		} else {
-			String[] splitted = VABPathTools.splitPath(path);
-			path = removeSMElementPrefix(path);
-			String idshortPath = removeValueSuffix(path);
-			if (endsWithValue(splitted)) {
-				submodelAPI.updateSubmodelElement(idshortPath, newValue);
+			VABPath elementPath = removeSMElementPrefix(path);
+			if (endsWithValue(path)) {
+				submodelAPI.updateSubmodelElement(elementPath.getParent().toString(), newValue);
 			} else {
-
 				ISubmodelElement element = SubmodelElementFacadeFactory.createSubmodelElement((Map<String, Object>) newValue);
 
-				if (!path.endsWith(element.getIdShort())) {
-					throw new MalformedRequestException("The idShort of given Element '" + element.getIdShort() + "' does not match the ending of the given path '" + path + "'");
+				String idShortPath = elementPath.toString();
+				if (!idShortPath.endsWith(element.getIdShort())) {
+					throw new MalformedRequestException("The idShort of given Element '" + element.getIdShort() + "' does not match the ending of the given path '" + idShortPath + "'");
 				}
 
-				submodelAPI.addSubmodelElement(idshortPath, element);
+				submodelAPI.addSubmodelElement(idShortPath, element);
 			}
 		}
 	}
 
 	@Override
-	public void createValue(String path, Object newEntity) throws ProviderException {
+	public void createValue(VABPath path, Object newEntity) throws ProviderException {
 		throw new MalformedRequestException("POST (create) on '" + path + "' not allowed. Use PUT (set) instead.");
 	}
 
 	@Override
-	public void deleteValue(String path) throws ProviderException {
+	public void deleteValue(VABPath path) throws ProviderException {
 		path = removeSubmodelPrefix(path);
 		if (!path.isEmpty()) {
-			String[] splitted = VABPathTools.splitPath(path);
-			if (isQualifier(splitted[0])) {
-				if (splitted.length > 2) {
-					path = removeSMElementPrefix(path);
-					submodelAPI.deleteSubmodelElement(path);
+			if (isQualifier(path.get(0))) {
+				if (path.size() > 2) {
+					submodelAPI.deleteSubmodelElement(path.subPath(1).toString());
 				} else {
-					submodelAPI.deleteSubmodelElement(splitted[1]);
+					submodelAPI.deleteSubmodelElement(path.get(1));
 				}
 			} else {
 				throw new MalformedRequestException("Path " + path + " not supported for delete");
@@ -256,45 +206,60 @@ public class SubmodelProvider implements IModelProvider {
 	}
 
 	@Override
-	public void deleteValue(String path, Object obj) throws ProviderException {
+	public void deleteValue(VABPath path, Object obj) throws ProviderException {
 		throw new MalformedRequestException("Delete with a passed argument not allowed");
 	}
 
 	@Override
-	public Object invokeOperation(String path, Object... parameters) throws ProviderException {
-		String pathWithoutSubmodelPrefix = removeSubmodelPrefix(path);
+	public Object invokeOperation(VABPath path, Object... parameters) throws ProviderException {
+		VABPath pathWithoutSubmodelPrefix = removeSubmodelPrefix(path);
 		if (pathWithoutSubmodelPrefix.isEmpty()) {
 			throw new MalformedRequestException("Given path must not be empty");
 		}
 
-		if (!VABPathTools.isOperationInvokationPath(pathWithoutSubmodelPrefix)) {
+		if (!isOperationInvokationPath(pathWithoutSubmodelPrefix)) {
 			throw new MalformedRequestException("Given path '" + path + "' does not end in /" + Operation.INVOKE);
 		}
 
-		String pathWithoutSMElementPrefix = removeSMElementPrefix(pathWithoutSubmodelPrefix);
+		VABPath pathWithoutSMElementPrefix = removeSMElementPrefix(pathWithoutSubmodelPrefix);
 
 		if (isAsyncInvokePath(pathWithoutSMElementPrefix)) {
-			return invokeAsync(pathWithoutSMElementPrefix, parameters);
+			return submodelAPI.invokeAsync(stripInvoke(pathWithoutSMElementPrefix), parameters);
 		} else {
-			return invokeSync(pathWithoutSMElementPrefix, parameters);
+			return submodelAPI.invokeOperation(stripInvoke(pathWithoutSMElementPrefix), parameters);
 		}
-
 	}
 
-	private Object invokeSync(String path, Object... parameters) {
-		String pathWithoutInvoke = path.replaceFirst(Pattern.quote(Operation.INVOKE), "");
-		String strippedPathWithoutInvoke = VABPathTools.stripSlashes(pathWithoutInvoke);
-		return submodelAPI.invokeOperation(strippedPathWithoutInvoke, parameters);
+	/**
+	 * Check if the path leads to the invocation of an operation, see
+	 * {@link VABPathTools#isOperationInvokationPath(String)}
+	 */
+	private boolean isOperationInvokationPath(VABPath path) {
+		if (path.getLast().startsWith(Operation.INVOKE)) {
+			return true;
+		}
+
+		// "operations" has to be followed by at least one further element
+		for (int i = 0; i < path.size() - 1; i++) {
+			if (path.get(i).equalsIgnoreCase("operations")) {
+				return true;
+			}
+		}
+		return false;
 	}
 
-	private Object invokeAsync(String path, Object... parameters) {
-		String pathWithoutAsyncInvoke = path.replaceFirst(Pattern.quote(Operation.INVOKE + OperationProvider.ASYNC), "");
-		String strippedPathWithoutAsyncInvoke = VABPathTools.stripSlashes(pathWithoutAsyncInvoke);
-		return submodelAPI.invokeAsync(strippedPathWithoutAsyncInvoke, parameters);
+	/**
+	 * Removes a trailing <code>/invoke</code> or <code>/invoke?async</code>
+	 */
+	private String stripInvoke(VABPath path) {
+		if (path.getLast().startsWith(Operation.INVOKE)) {
+			path = path.getParent();
+		}
+		return path.toString();
 	}
 
-	private boolean isAsyncInvokePath(String path) {
-		return path.endsWith(OperationProvider.ASYNC);
+	private boolean isAsyncInvokePath(VABPath path) {
+		return path.getLast().endsWith(OperationProvider.ASYNC);
 	}
 
 	public ISubmodelAPI getAPI() {
@@ -305,7 +270,10 @@ public class SubmodelProvider implements IModelProvider {
 		this.submodelAPI = api;
 	}
 
-	private String removeSMElementPrefix(String path) {
-		return path.replaceFirst(MultiSubmodelElementProvider.ELEMENTS, "");
+	private VABPath removeSMElementPrefix(VABPath path) {
+		if (path.startsWith(MultiSubmodelElementProvider.ELEMENTS)) {
+			return path.subPath(1);
+		}
+		return path;
 	}
 }
@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
+import org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter;
+import org.eclipse.basyx.submodel.metamodel.facade.submodelelement.SubmodelElementFacadeFactory;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueTypeHelper;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.restapi.OperationProvider;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.operation.AsyncOperationHandler;
+import org.eclipse.basyx.submodel.restapi.operation.DelegatedInvocationManager;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaHandler;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
+
+/**
+ * Implements the Submodel API directly on a local Submodel. <br>
+ * <br>
+ * In contrast to the VABSubmodelAPI, calls are not mapped to VAB paths that are
+ * resolved through proxies and element providers. Instead, the elements are
+ * looked up directly in the submodel. Properties with hidden getters and
+ * setters are supported and the returned elements are resolved copies of the
+ * stored elements, as with the VABSubmodelAPI based on a VABLambdaProvider.
+ */
+public class InMemorySubmodelAPI implements ISubmodelAPI {
+	private final Submodel submodel;
+
+	// Handles the access to single elements including hidden getters and setters
+	private final VABLambdaHandler handler = new VABLambdaHandler();
+
+	private final DelegatedInvocationManager invocationManager;
+
+	// Keeps the asynchronous invocations of the operations of this submodel
+	private final AsyncOperationHandler asyncHandler;
+
+	// Providers of the operations by the identity of their stored elements. The
+	// providers keep the invocation plans of the operations across invocations.
+	private final Map<Map<String, Object>, OperationProvider> operationProviders = Collections.synchronizedMap(new IdentityHashMap<>());
+
+	/**
+	 * Creates an API for the given submodel
+	 * 
+	 * @param submodel
+	 */
+	public InMemorySubmodelAPI(Submodel submodel) {
+		this(submodel, new DelegatedInvocationManager(new HTTPConnectorFactory()));
+	}
+
+	/**
+	 * Creates an API for the given submodel that uses the given manager for
+	 * invoking delegated operations
+	 * 
+	 * @param submodel
+	 * @param invocationManager
+	 */
+	public InMemorySubmodelAPI(Submodel submodel, DelegatedInvocationManager invocationManager) {
+		this(submodel, invocationManager, new AsyncOperationHandler());
+	}
+
+	/**
+	 * Creates an API for the given submodel that uses the given manager for
+	 * invoking delegated operations and the given handler for asynchronous
+	 * invocations
+	 * 
+	 * @param submodel
+	 * @param invocationManager
+	 * @param asyncHandler
+	 */
+	public InMemorySubmodelAPI(Submodel submodel, DelegatedInvocationManager invocationManager, AsyncOperationHandler asyncHandler) {
+		this.submodel = submodel;
+		this.invocationManager = invocationManager;
+		this.asyncHandler = asyncHandler;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public ISubmodel getSubmodel() {
+		// The resolved submodel is a copy of the submodel
+		return Submodel.createAsFacade((Map<String, Object>) handler.postprocessObject(submodel));
+	}
+
+	@Override
+	public void addSubmodelElement(ISubmodelElement elem) {
+		addSubmodelElement(elem.getIdShort(), elem);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void addSubmodelElement(String idShortPath, ISubmodelElement elem) {
+		Object element = elem;
+		// Collections are stored with a map from idShort to element as value
+		if (SubmodelElementCollection.isSubmodelElementCollection((Map<String, Object>) elem)) {
+			element = SubmodelElementMapCollectionConverter.mapToSmECollection(SubmodelElementCollection.createAsFacade((Map<String, Object>) elem));
+		}
+
+		// It is allowed to overwrite existing elements
+		String[] idShorts = VABPathTools.splitPath(idShortPath);
+		Object container = getContainer(idShorts, true);
+		handler.setModelPropertyValue(container, idShorts[idShorts.length - 1], element);
+		operationProviders.clear();
+	}
+
+	@Override
+	public ISubmodelElement getSubmodelElement(String idShortPath) {
+		return SubmodelElement.createAsFacade(resolveElement(getElement(idShortPath)));
+	}
+
+	@Override
+	public void deleteSubmodelElement(String idShortPath) {
+		String[] idShorts = VABPathTools.splitPath(idShortPath);
+		Object container = getContainer(idShorts, true);
+		handler.deleteValue(container, idShorts[idShorts.length - 1]);
+		operationProviders.clear();
+	}
+
+	@Override
+	public Collection<IOperation> getOperations() {
+		return getSubmodelElements().stream().filter(e -> e instanceof IOperation).map(e -> (IOperation) e).collect(Collectors.toList());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Collection<ISubmodelElement> getSubmodelElements() {
+		Map<String, Object> elements = (Map<String, Object>) getSubmodelElementMap();
+		Collection<ISubmodelElement> ret = new ArrayList<>(elements.size());
+		for (Object element : elements.values()) {
+			ret.add(SubmodelElement.createAsFacade(resolveElement((Map<String, Object>) element)));
+		}
+		return ret;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void updateSubmodelElement(String idShortPath, Object newValue) {
+		String[] idShorts = VABPathTools.splitPath(idShortPath);
+		Object container = getContainer(idShorts, false);
+		String idShort = idShorts[idShorts.length - 1];
+		Map<String, Object> element = (Map<String, Object>) handler.getElementProperty(container, idShort);
+
+		if (Operation.isOperation(element)) {
+			throw new MalformedRequestException("Set not allowed at path '" + Property.VALUE + "'");
+		} else if (SubmodelElementCollection.isSubmodelElementCollection(element)) {
+			// Convert the Collection of Elements to the internally used Map
+			setProperty(element, Property.VALUE, SubmodelElementMapCollectionConverter.convertCollectionToIDMap(newValue));
+			operationProviders.clear();
+		} else if (Property.isProperty(element)) {
+			// Set value and type
+			setProperty(element, Property.VALUE, newValue);
+			setProperty(element, Property.VALUETYPE, ValueTypeHelper.getType(newValue).toString());
+		} else {
+			// Other elements are replaced by an updated copy
+			ISubmodelElement updated = SubmodelElementFacadeFactory.createSubmodelElement((Map<String, Object>) handler.postprocessObject(element));
+			try {
+				updated.setValue(newValue);
+			} catch (IllegalArgumentException e) {
+				throw new MalformedRequestException("The given Value was not valid for Element '" + Property.VALUE + "'");
+			}
+			handler.setModelPropertyValue(container, idShort, updated);
+			operationProviders.clear();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Object getSubmodelElementValue(String idShortPath) {
+		Map<String, Object> element = getElement(idShortPath);
+
+		if (Operation.isOperation(element)) {
+			throw new MalformedRequestException("Get of an Operation supports only empty or /invocationList/{requestId} paths");
+		} else if (SubmodelElementCollection.isSubmodelElementCollection(element)) {
+			Object value = handler.getElementProperty(element, Property.VALUE);
+			return SubmodelElementMapCollectionConverter.convertIDMapToCollection(handler.postprocessObject(value));
+		} else if (Property.isProperty(element)) {
+			return handler.postprocessObject(element.get(Property.VALUE));
+		}
+
+		ISubmodelElement facade = SubmodelElementFacadeFactory.createSubmodelElement((Map<String, Object>) handler.postprocessObject(element));
+		try {
+			return facade.getValue();
+		} catch (UnsupportedOperationException e) {
+			throw new MalformedRequestException("The requested Element '" + facade.getIdShort() + "' has no value.");
+		}
+	}
+
+	@Override
+	public Object invokeOperation(String idShortPath, Object... params) {
+		return getOperationProvider(idShortPath, Operation.INVOKE).invokeOperation(Operation.INVOKE, params);
+	}
+
+	@Override
+	public Object invokeAsync(String idShortPath, Object... params) {
+		String path = Operation.INVOKE + OperationProvider.ASYNC;
+		return getOperationProvider(idShortPath, path).invokeOperation(path, params);
+	}
+
+	@Override
+	public Object getOperationResult(String idShortPath, String requestId) {
+		Map<String, Object> element = getElement(idShortPath);
+		if (!Operation.isOperation(element)) {
+			throw notInvokable(element, VABPathTools.concatenatePaths(OperationProvider.INVOCATION_LIST, requestId));
+		}
+		return asyncHandler.getResult(requestId, Operation.createAsFacade(element).getIdShort());
+	}
+
+	/**
+	 * Returns the provider for the operation with the given idShortPath. The
+	 * provider is created once per stored operation and dropped when elements are
+	 * added, replaced or deleted.
+	 */
+	private OperationProvider getOperationProvider(String idShortPath, String path) {
+		Map<String, Object> element = getElement(idShortPath);
+		if (!Operation.isOperation(element)) {
+			throw notInvokable(element, path);
+		}
+		return operationProviders.computeIfAbsent(element, e -> new OperationProvider(Operation.createAsFacade(e), invocationManager, asyncHandler));
+	}
+
+	private RuntimeException notInvokable(Map<String, Object> element, String path) {
+		if (Property.isProperty(element)) {
+			return new MalformedRequestException("Not allowed at path '" + path + "'");
+		}
+		return new ResourceNotFoundException("Property \"" + VABPathTools.splitPath(path)[0] + "\" does not exist.");
+	}
+
+	/**
+	 * Returns the resolved copy of an element, as it is returned by the API
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> resolveElement(Map<String, Object> element) {
+		Map<String, Object> resolved = (Map<String, Object>) handler.postprocessObject(element);
+		if (!Operation.isOperation(resolved) && SubmodelElementCollection.isSubmodelElementCollection(resolved)) {
+			// Collections are returned with a collection of elements as value
+			return SubmodelElementMapCollectionConverter.smElementToMap(SubmodelElementCollection.createAsFacade(resolved));
+		}
+		return resolved;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> getElement(String idShortPath) {
+		String[] idShorts = VABPathTools.splitPath(idShortPath);
+		Object container = getContainer(idShorts, false);
+		return (Map<String, Object>) handler.getElementProperty(container, idShorts[idShorts.length - 1]);
+	}
+
+	/**
+	 * Returns the map containing the element with the given idShorts, i.e. the
+	 * submodel element map or the value of a SubmodelElementCollection. All
+	 * elements on the path except for the last one have to be collections.
+	 * 
+	 * @param idShorts
+	 * @param structural
+	 *            true, if elements are created or deleted in the container
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private Object getContainer(String[] idShorts, boolean structural) {
+		if (idShorts.length == 0) {
+			throw new MalformedRequestException("The idShortPath must not be empty");
+		}
+
+		Object container = getSubmodelElementMap();
+		for (int i = 0; i < idShorts.length - 1; i++) {
+			Map<String, Object> element = (Map<String, Object>) handler.getElementProperty(container, idShorts[i]);
+			if (Operation.isOperation(element) || !SubmodelElementCollection.isSubmodelElementCollection(element)) {
+				throw notACollection(element, idShorts, i, structural);
+			}
+			container = handler.getElementProperty(element, Property.VALUE);
+		}
+		return container;
+	}
+
+	private RuntimeException notACollection(Map<String, Object> element, String[] idShorts, int index, boolean structural) {
+		String subPath = VABPathTools.buildPath(idShorts, index + 1);
+		if (structural || Operation.isOperation(element) || Property.isProperty(element)) {
+			return new MalformedRequestException("Element '" + idShorts[index] + "' can not contain the path '" + subPath + "'");
+		}
+		return new ResourceNotFoundException("Property \"" + idShorts[index + 1] + "\" does not exist.");
+	}
+
+	private void setProperty(Map<String, Object> element, String key, Object value) {
+		// Only existing entries can be set
+		handler.getElementProperty(element, key);
+		handler.setModelPropertyValue(element, key, value);
+	}
+
+	private Object getSubmodelElementMap() {
+		return handler.getElementProperty(submodel, Submodel.SUBMODELELEMENT);
+	}
+}
@@ -55,13 +55,22 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 	@Override
 	public void addSubmodelElement(ISubmodelElement elem) {
 		submodelAPI.addSubmodelElement(elem);
-		observers.stream().forEach(o -> o.elementAdded(elem.getIdShort(), elem.getValue()));
+		if (!hasObservers()) {
+			return;
+		}
+		String idShort = elem.getIdShort();
+		Object value = getValue(elem);
+		notifyObservers(o -> o.elementAdded(idShort, value));
 	}
 
 	@Override
 	public void addSubmodelElement(String idShortPath, ISubmodelElement elem) {
 		submodelAPI.addSubmodelElement(idShortPath, elem);
-		observers.stream().forEach(o -> o.elementAdded(idShortPath, elem.getValue()));
+		if (!hasObservers()) {
+			return;
+		}
+		Object value = getValue(elem);
+		notifyObservers(o -> o.elementAdded(idShortPath, value));
 	}
 
 	@Override
@@ -72,7 +81,7 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 	@Override
 	public void deleteSubmodelElement(String idShortPath) {
 		submodelAPI.deleteSubmodelElement(idShortPath);
-		observers.stream().forEach(o -> o.elementDeleted(idShortPath));
+		notifyObservers(o -> o.elementDeleted(idShortPath));
 	}
 
 	@Override
@@ -88,7 +97,7 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 	@Override
 	public void updateSubmodelElement(String idShortPath, Object newValue) {
 		submodelAPI.updateSubmodelElement(idShortPath, newValue);
-		observers.stream().forEach(o -> o.elementUpdated(idShortPath, newValue));
+		notifyObservers(o -> o.elementUpdated(idShortPath, newValue));
 	}
 
 	@Override
@@ -111,4 +120,16 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 		return submodelAPI.getOperationResult(idShort, requestId);
 	}
 
+	/**
+	 * Returns the value of an element or null, if it has no value, e.g. if it is
+	 * an operation
+	 */
+	private static Object getValue(ISubmodelElement elem) {
+		try {
+			return elem.getValue();
+		} catch (UnsupportedOperationException e) {
+			return null;
+		}
+	}
+
 }
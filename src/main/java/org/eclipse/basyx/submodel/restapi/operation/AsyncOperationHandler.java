@@ -26,98 +26,367 @@ package org.eclipse.basyx.submodel.restapi.operation;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperationVariable;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationExecutionTimeoutException;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Helperclass used to keep and invoke operations asynchronously.
+ * Helperclass used to keep and invoke operations asynchronously. <br>
+ * <br>
+ * Each handler keeps its own results, so that e.g. each submodel API can use
+ * its own handler. The static methods use a shared default handler. Operations
+ * are run on a bounded executor, which can be configured for the handler or for
+ * single operations. Invocations that the executor rejects, e.g. because its
+ * queue is full, fail immediately. Finished results that are not retrieved are removed after
+ * a configurable time to live. Timeouts and evictions of all handlers are
+ * scheduled on a single timer thread. <br>
+ * <br>
+ * Instead of polling for the result, callers can give a callback URL in the
+ * invocation request, to which the response is sent when the invocation is
+ * finished. Callbacks are disabled, unless a sender is set with
+ * {@link #setCallbackSender(InvocationCallbackSender)}. Additionally, listeners can be registered that are notified about
+ * all state changes, e.g. to stream them to clients.
  * 
  * @author conradi, espen
  *
  */
 public class AsyncOperationHandler {
-	private static Map<String, InvocationResponse> responses = new LinkedHashMap<>();
-	private static Map<String, String> responseOperationMap = new LinkedHashMap<>();
-	private static ScheduledThreadPoolExecutor delayer = new ScheduledThreadPoolExecutor(0);
+	private static Logger logger = LoggerFactory.getLogger(AsyncOperationHandler.class);
 
 	/**
-	 * Invokes an Operation with an invocation request
+	 * Default time in milliseconds a finished result is kept, if it is not
+	 * retrieved
+	 */
+	public static final long DEFAULT_RESULT_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(1);
+
+	/**
+	 * Default number of operations that are run in parallel by the shared executor
+	 */
+	public static final int DEFAULT_MAXIMUM_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Default number of invocations that wait for a thread of the shared executor.
+	 * Further invocations are rejected and fail.
+	 */
+	public static final int DEFAULT_MAXIMUM_QUEUED_INVOCATIONS = 1000;
+
+	// Single timer for the timeouts and evictions of all handlers
+	private static final ScheduledThreadPoolExecutor timer = createTimer();
+
+	// Bounded executor shared by all handlers without an own executor
+	private static final ExecutorService sharedExecutor = createSharedExecutor();
+
+	private static final AsyncOperationHandler defaultHandler = new AsyncOperationHandler();
+
+	private final Map<String, Invocation> invocations = new ConcurrentHashMap<>();
+	private final Map<String, Executor> operationExecutors = new ConcurrentHashMap<>();
+	private volatile Executor executor;
+	private volatile long resultTimeToLive = DEFAULT_RESULT_TIME_TO_LIVE;
+	private final Collection<IInvocationListener> listeners = new CopyOnWriteArrayList<>();
+	private volatile InvocationCallbackSender callbackSender;
+
+	/**
+	 * A running or finished invocation
+	 */
+	private static class Invocation {
+		private final String operationId;
+		private final InvocationResponse response;
+		private final String callbackUrl;
+		private final InvocationCallbackSender callbackSender;
+		private volatile Future<?> task;
+		private volatile ScheduledFuture<?> eviction;
+
+		private Invocation(String operationId, InvocationResponse response, String callbackUrl, InvocationCallbackSender callbackSender) {
+			this.operationId = operationId;
+			this.response = response;
+			this.callbackUrl = callbackUrl;
+			this.callbackSender = callbackSender;
+		}
+	}
+
+	/**
+	 * Creates a handler that runs the operations on the shared executor
+	 */
+	public AsyncOperationHandler() {
+		this(sharedExecutor);
+	}
+
+	/**
+	 * Creates a handler that runs the operations on the given executor
+	 * 
+	 * @param executor
+	 */
+	public AsyncOperationHandler(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the handler that is used by the static methods and by all
+	 * OperationProviders that are not created with an own handler
+	 * 
+	 * @return
+	 */
+	public static AsyncOperationHandler getDefault() {
+		return defaultHandler;
+	}
+
+	/**
+	 * Sets the executor the operations of this handler are run on
+	 * 
+	 * @param executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the executor a specific operation is run on, e.g. to limit the number
+	 * of its parallel invocations. If the executor is null, the operation is run on
+	 * the executor of the handler again.
+	 * 
+	 * @param operationId
+	 * @param executor
+	 */
+	public void setExecutor(String operationId, Executor executor) {
+		if (executor == null) {
+			operationExecutors.remove(operationId);
+		} else {
+			operationExecutors.put(operationId, executor);
+		}
+	}
+
+	/**
+	 * Sets the time in milliseconds a finished result is kept, if it is not
+	 * retrieved. Applies to invocations that finish after the call.
+	 * 
+	 * @param resultTimeToLive
+	 */
+	public void setResultTimeToLive(long resultTimeToLive) {
+		this.resultTimeToLive = resultTimeToLive;
+	}
+
+	/**
+	 * Enables callbacks by setting the sender that delivers the responses to the
+	 * callback URLs of the requests. Requests with a callback URL are rejected, if
+	 * no sender is set or the sender does not allow the URL.
+	 * 
+	 * @param callbackSender
+	 *            the sender or null to disable callbacks
+	 */
+	public void setCallbackSender(InvocationCallbackSender callbackSender) {
+		this.callbackSender = callbackSender;
+	}
+
+	/**
+	 * Adds a listener that is notified about the state changes of all invocations
+	 * of this handler. The listener is called on the thread that changed the
+	 * state, i.e. an operation worker or the timer shared by all handlers. It
+	 * must therefore not block, e.g. by writing to a client.
+	 * 
+	 * @param listener
+	 */
+	public void addListener(IInvocationListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener
+	 * 
+	 * @param listener
+	 */
+	public void removeListener(IInvocationListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns the number of running and finished invocations that are kept by this
+	 * handler
+	 * 
+	 * @return
+	 */
+	public int getInvocationCount() {
+		return invocations.size();
+	}
+
+	/**
+	 * Invokes an Operation with an invocation request using the default handler
 	 */
 	public static void invokeAsync(Operation operation, String operationId, InvocationRequest request, Collection<IOperationVariable> outputArguments) {
+		defaultHandler.invoke(operation, operationId, request, outputArguments);
+	}
+
+	/**
+	 * Invokes an Operation without an invocation request using the default handler
+	 */
+	public static void invokeAsync(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> outputArguments, int timeout) {
+		defaultHandler.invoke(operation, operationId, requestId, inputs, outputArguments, timeout);
+	}
+
+	/**
+	 * Gets the result of an invocation of the default handler
+	 * 
+	 * @see #getResult(String, String)
+	 */
+	public static Object retrieveResult(String requestId, String operationId) {
+		return defaultHandler.getResult(requestId, operationId);
+	}
+
+	/**
+	 * Checks if a given requestId exists in the default handler
+	 * 
+	 * @param requestId
+	 *            the id to be checked
+	 * @return if the id exists
+	 */
+	public static boolean hasRequestId(String requestId) {
+		return defaultHandler.hasRequest(requestId);
+	}
+
+	/**
+	 * Invokes an Operation with an invocation request
+	 */
+	public void invoke(Operation operation, String operationId, InvocationRequest request, Collection<IOperationVariable> outputArguments) {
 		String requestId = request.getRequestId();
 		Collection<IOperationVariable> inOutArguments = request.getInOutArguments();
 		Object[] parameters = request.unwrapInputParameters();
-		invokeAsync(operation, operationId, requestId, parameters, inOutArguments, outputArguments, request.getTimeout());
+		invoke(operation, operationId, requestId, parameters, inOutArguments, outputArguments, request.getTimeout(), request.getCallbackUrl());
 	}
 
 	/**
 	 * Invokes an Operation without an invocation request
 	 */
-	public static void invokeAsync(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> outputArguments, int timeout) {
-		invokeAsync(operation, operationId, requestId, inputs, new ArrayList<>(), outputArguments, timeout);
-	}
-
-	/**
-	 * Invokes an Operation and returns its requestId
-	 */
-	private static void invokeAsync(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> inOutArguments, Collection<IOperationVariable> outputArguments, int timeout) {
-		synchronized (responses) {
-			InvocationResponse response = new InvocationResponse(requestId, inOutArguments, outputArguments, ExecutionState.INITIATED);
-
-			responses.put(requestId, response);
-			responseOperationMap.put(requestId, operationId);
-
-			CompletableFuture.supplyAsync(
-					// Run Operation asynchronously
-					() -> operation.invokeSimple(inputs))
-					// Accept either result or throw exception on timeout
-					.acceptEither(setTimeout(timeout, requestId), result -> {
-						// result accepted? => Write execution state if there is an output
-						response.setExecutionState(ExecutionState.COMPLETED);
-						if (!response.getOutputArguments().isEmpty()) {
-							IOperationVariable output = response.getOutputArguments().iterator().next();
-							output.getValue().setValue(result);
-						}
-					}).exceptionally(throwable -> {
-						// result not accepted? set operation state
-						ProviderException exception = null;
-						if (throwable.getCause() instanceof OperationExecutionTimeoutException) {
-							response.setExecutionState(ExecutionState.TIMEOUT);
-							exception = new ProviderException("Request " + requestId + " timed out", throwable);
-						} else {
-							response.setExecutionState(ExecutionState.FAILED);
-							exception = new ProviderException("Request " + requestId + " failed", throwable);
-						}
-						// set provider exception if there is an output
-						if (!response.getOutputArguments().isEmpty()) {
-							IOperationVariable output = response.getOutputArguments().iterator().next();
-							output.getValue().setValue(exception);
-						}
-						return null;
-					});
+	public void invoke(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> outputArguments, int timeout) {
+		invoke(operation, operationId, requestId, inputs, new ArrayList<>(), outputArguments, timeout, null);
+	}
+
+	/**
+	 * Invokes an Operation and keeps its response for the requestId
+	 */
+	private void invoke(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> inOutArguments, Collection<IOperationVariable> outputArguments, int timeout, String callbackUrl) {
+		InvocationCallbackSender sender = null;
+		if (callbackUrl != null && !callbackUrl.isEmpty()) {
+			sender = callbackSender;
+			if (sender == null) {
+				throw new MalformedRequestException("Callbacks are not enabled, request " + requestId + " can not have a callback URL");
+			}
+			if (!sender.isAllowed(callbackUrl)) {
+				throw new MalformedRequestException("Callback URL '" + callbackUrl + "' of request " + requestId + " is not allowed");
+			}
+		}
+
+		InvocationResponse response = new InvocationResponse(requestId, inOutArguments, outputArguments, ExecutionState.INITIATED);
+		Invocation invocation = new Invocation(operationId, response, callbackUrl, sender);
+		invocations.put(requestId, invocation);
+		notifyListeners(operationId, response);
+
+		CompletableFuture<Object> result = new CompletableFuture<>();
+
+		// Throw exception on timeout and stop the operation, if possible
+		ScheduledFuture<?> timeoutTask = timer.schedule(() -> {
+			if (result.completeExceptionally(new OperationExecutionTimeoutException("Request " + requestId + " timed out"))) {
+				Future<?> task = invocation.task;
+				if (task != null) {
+					task.cancel(true);
+				}
+			}
+		}, timeout, TimeUnit.MILLISECONDS);
+
+		// Accept either result or exception
+		result.whenComplete((value, throwable) -> {
+			timeoutTask.cancel(false);
+			finish(requestId, invocation, value, throwable);
+		});
+
+		// Run Operation asynchronously
+		Runnable task = () -> {
+			try {
+				result.complete(operation.invokeSimple(inputs));
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		};
+		try {
+			Executor operationExecutor = getExecutor(operationId);
+			if (operationExecutor instanceof ExecutorService) {
+				invocation.task = ((ExecutorService) operationExecutor).submit(task);
+			} else {
+				operationExecutor.execute(task);
+			}
+		} catch (RuntimeException e) {
+			// e.g. the executor rejected the operation
+			result.completeExceptionally(e);
 		}
 	}
 
+	private Executor getExecutor(String operationId) {
+		Executor operationExecutor = operationExecutors.get(operationId);
+		return operationExecutor == null ? executor : operationExecutor;
+	}
+
 	/**
-	 * Function for scheduling a timeout function with completable futures
+	 * Writes the result to the response, pushes it to the callback URL and
+	 * listeners and schedules the eviction of the result
 	 */
-	private static CompletableFuture<Void> setTimeout(int timeout, String requestId) {
-		CompletableFuture<Void> result = new CompletableFuture<>();
-		delayer.schedule(() -> result.completeExceptionally(new OperationExecutionTimeoutException("Request " + requestId + " timed out")), timeout, TimeUnit.MILLISECONDS);
-		return result;
+	private void finish(String requestId, Invocation invocation, Object value, Throwable throwable) {
+		InvocationResponse response = invocation.response;
+		Object output = value;
+		ExecutionState state = ExecutionState.COMPLETED;
+		if (throwable instanceof OperationExecutionTimeoutException) {
+			state = ExecutionState.TIMEOUT;
+			output = new ProviderException("Request " + requestId + " timed out", throwable);
+		} else if (throwable != null) {
+			state = ExecutionState.FAILED;
+			output = new ProviderException("Request " + requestId + " failed", throwable);
+		}
+
+		// Set output before the state, so that a finished response is complete
+		if (!response.getOutputArguments().isEmpty()) {
+			IOperationVariable outputVariable = response.getOutputArguments().iterator().next();
+			outputVariable.getValue().setValue(output);
+		}
+		response.setExecutionState(state);
+
+		if (invocation.callbackSender != null) {
+			invocation.callbackSender.send(invocation.callbackUrl, response);
+		}
+		notifyListeners(invocation.operationId, response);
+
+		invocation.eviction = timer.schedule(() -> invocations.remove(requestId, invocation), resultTimeToLive, TimeUnit.MILLISECONDS);
+	}
+
+	private void notifyListeners(String operationId, InvocationResponse response) {
+		for (IInvocationListener listener : listeners) {
+			try {
+				listener.stateChanged(operationId, response);
+			} catch (RuntimeException e) {
+				logger.warn("Listener failed for request " + response.getRequestId(), e);
+			}
+		}
 	}
 
 	/**
-	 * Gets the result of an invocation
+	 * Gets the result of an invocation. Finished results are removed after they
+	 * have been retrieved.
 	 * 
 	 * @param operationId
 	 *            the id of the requested Operation
@@ -125,25 +394,38 @@ public class AsyncOperationHandler {
 	 *            the id of the request
 	 * @return the result of the Operation or a Message that it is not yet finished
 	 */
-	public static Object retrieveResult(String requestId, String operationId) {
-		// Remove the Invocation if it is finished and its result was retrieved
-		synchronized (responses) {
-			if (!responses.containsKey(requestId)) {
-				throw new ResourceNotFoundException("RequestId '" + requestId + "' not found for operation '" + operationId + "'.");
-			}
+	public Object getResult(String requestId, String operationId) {
+		Invocation invocation = invocations.get(requestId);
+		if (invocation == null) {
+			throw new ResourceNotFoundException("RequestId '" + requestId + "' not found for operation '" + operationId + "'.");
+		}
 
-			String validOperationId = responseOperationMap.get(requestId);
-			if (!operationId.equals(validOperationId)) {
-				throw new ResourceNotFoundException("RequestId '" + requestId + "' does not belong to Operation '" + operationId + "'");
-			}
+		if (!operationId.equals(invocation.operationId)) {
+			throw new ResourceNotFoundException("RequestId '" + requestId + "' does not belong to Operation '" + operationId + "'");
+		}
 
-			InvocationResponse response = responses.get(requestId);
-			if (ExecutionState.COMPLETED == response.getExecutionState() || ExecutionState.TIMEOUT == response.getExecutionState() || ExecutionState.FAILED == response.getExecutionState()) {
-				responses.remove(requestId);
-				responseOperationMap.remove(requestId);
+		// Remove the Invocation if it is finished and its result was retrieved
+		InvocationResponse response = invocation.response;
+		if (isFinished(response.getExecutionState()) && invocations.remove(requestId, invocation)) {
+			ScheduledFuture<?> eviction = invocation.eviction;
+			if (eviction != null) {
+				eviction.cancel(false);
 			}
-			return response;
 		}
+		return response;
+	}
+
+	/**
+	 * Returns the current response of an invocation without removing it or null,
+	 * if the request is not known
+	 */
+	InvocationResponse getResponse(String requestId) {
+		Invocation invocation = invocations.get(requestId);
+		return invocation == null ? null : invocation.response;
+	}
+
+	static boolean isFinished(ExecutionState state) {
+		return ExecutionState.COMPLETED == state || ExecutionState.TIMEOUT == state || ExecutionState.FAILED == state;
 	}
 
 	/**
@@ -153,9 +435,29 @@ public class AsyncOperationHandler {
 	 *            the id to be checked
 	 * @return if the id exists
 	 */
-	public static boolean hasRequestId(String requestId) {
-		synchronized (responses) {
-			return responses.containsKey(requestId);
-		}
+	public boolean hasRequest(String requestId) {
+		return invocations.containsKey(requestId);
+	}
+
+	private static ScheduledThreadPoolExecutor createTimer() {
+		ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, createThreadFactory("AsyncOperationHandler-timer"));
+		// Cancelled timeouts of finished operations should not pile up in the queue
+		timer.setRemoveOnCancelPolicy(true);
+		return timer;
+	}
+
+	private static ExecutorService createSharedExecutor() {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_MAXIMUM_THREADS, DEFAULT_MAXIMUM_THREADS, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(DEFAULT_MAXIMUM_QUEUED_INVOCATIONS), createThreadFactory("AsyncOperationHandler-worker"));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	private static ThreadFactory createThreadFactory(String name) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
 	}
 }
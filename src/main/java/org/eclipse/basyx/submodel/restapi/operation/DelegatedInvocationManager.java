@@ -27,15 +27,37 @@
 package org.eclipse.basyx.submodel.restapi.operation;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.eclipse.basyx.submodel.metamodel.api.qualifier.qualifiable.IConstraint;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifiable;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifier;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationExecutionTimeoutException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IAsyncModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
 
 /**
- * A helper class for operation invocation delegation
+ * A helper class for operation invocation delegation. <br>
+ * <br>
+ * The connector of a delegation target is created once per delegation URL and
+ * reused for all following invocations. If an operation is replaced by one
+ * with another URL, the new target is resolved on its first invocation.
+ * Optionally, the number of concurrent invocations and their duration can be
+ * limited per target. The limits are kept apart from the connectors, so that
+ * changing the limits or dropping a connector does not affect the invocations
+ * that are currently running.
  * 
  * @author haque
  *
@@ -43,8 +65,50 @@ import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 public class DelegatedInvocationManager {
 	public static final String DELEGATION_TYPE = "invocationDelegation";
 
+	/**
+	 * Maximum number of delegation targets whose connectors and limits are kept
+	 */
+	private static final int MAXIMUM_TARGETS = 10000;
+
 	private IConnectorFactory connectorFactory;
 
+	// Connectors by their delegation URL. The least recently used connectors are
+	// dropped to prevent unbounded growth, e.g. by operations with generated URLs.
+	private final Map<String, IModelProvider> connectors = Collections.synchronizedMap(new LinkedHashMap<String, IModelProvider>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, IModelProvider> eldest) {
+			return size() > MAXIMUM_TARGETS;
+		}
+	});
+
+	// Limits of the targets by their delegation URL. Only limits without running
+	// invocations are dropped, so that their permits are never lost.
+	private final Map<String, Limits> limits = Collections.synchronizedMap(new LinkedHashMap<String, Limits>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Limits> eldest) {
+			return size() > MAXIMUM_TARGETS && eldest.getValue().running.get() == 0;
+		}
+	});
+
+	// Limits that differ from the default limits by delegation URL
+	private final Map<String, Integer> maximumConcurrentInvocations = new ConcurrentHashMap<>();
+	private final Map<String, Long> timeouts = new ConcurrentHashMap<>();
+
+	private volatile int defaultMaximumConcurrentInvocations = 0;
+	private volatile long defaultTimeout = 0;
+
+	/**
+	 * Lazily creates the manager that is shared by all OperationProviders that
+	 * are not created with an own manager
+	 */
+	private static class DefaultManager {
+		private static final DelegatedInvocationManager INSTANCE = new DelegatedInvocationManager(new HTTPConnectorFactory());
+	}
+
 	/**
 	 * Constructs the DelegatedInvocationHelper using the passed connectorFactory
 	 * for call delegation
@@ -56,6 +120,111 @@ public class DelegatedInvocationManager {
 		this.connectorFactory = connectorFactory;
 	}
 
+	/**
+	 * Returns the manager for delegating to HTTP URLs that is shared by all
+	 * OperationProviders that are not created with an own manager
+	 * 
+	 * @return
+	 */
+	public static DelegatedInvocationManager getDefault() {
+		return DefaultManager.INSTANCE;
+	}
+
+	/**
+	 * Limits the number of concurrent invocations per delegation target.
+	 * Invocations exceeding the limit wait until a running invocation has
+	 * finished.
+	 * 
+	 * @param maximumConcurrentInvocations
+	 *            maximum number of concurrent invocations; 0 disables the limit
+	 */
+	public void setMaximumConcurrentInvocations(int maximumConcurrentInvocations) {
+		checkMaximumConcurrentInvocations(maximumConcurrentInvocations);
+		this.defaultMaximumConcurrentInvocations = maximumConcurrentInvocations;
+		updateLimits();
+	}
+
+	/**
+	 * Limits the number of concurrent invocations of a specific delegation target
+	 * 
+	 * @param delegationURL
+	 * @param maximumConcurrentInvocations
+	 *            maximum number of concurrent invocations; 0 disables the limit
+	 */
+	public void setMaximumConcurrentInvocations(String delegationURL, int maximumConcurrentInvocations) {
+		checkMaximumConcurrentInvocations(maximumConcurrentInvocations);
+		this.maximumConcurrentInvocations.put(delegationURL, maximumConcurrentInvocations);
+		updateLimits();
+	}
+
+	private static void checkMaximumConcurrentInvocations(int maximumConcurrentInvocations) {
+		if (maximumConcurrentInvocations < 0) {
+			throw new IllegalArgumentException("The maximum number of concurrent invocations must not be negative, but is " + maximumConcurrentInvocations);
+		}
+	}
+
+	/**
+	 * Sets the time an invocation of a delegation target may take including the
+	 * time it waits for the concurrency limit
+	 * 
+	 * @param timeout
+	 *            time in milliseconds; 0 waits infinitely
+	 */
+	public void setTimeout(long timeout) {
+		checkTimeout(timeout);
+		this.defaultTimeout = timeout;
+		updateLimits();
+	}
+
+	/**
+	 * Sets the time an invocation of a specific delegation target may take
+	 * 
+	 * @param delegationURL
+	 * @param timeout
+	 *            time in milliseconds; 0 waits infinitely
+	 */
+	public void setTimeout(String delegationURL, long timeout) {
+		checkTimeout(timeout);
+		this.timeouts.put(delegationURL, timeout);
+		updateLimits();
+	}
+
+	private static void checkTimeout(long timeout) {
+		if (timeout < 0) {
+			throw new IllegalArgumentException("The timeout must not be negative, but is " + timeout);
+		}
+	}
+
+	/**
+	 * Applies changed limits to the known targets. Running invocations keep their
+	 * permits.
+	 */
+	private void updateLimits() {
+		synchronized (limits) {
+			for (Map.Entry<String, Limits> e : limits.entrySet()) {
+				e.getValue().update(getMaximumConcurrentInvocations(e.getKey()), getTimeout(e.getKey()));
+			}
+		}
+	}
+
+	private int getMaximumConcurrentInvocations(String delegationURL) {
+		return maximumConcurrentInvocations.getOrDefault(delegationURL, defaultMaximumConcurrentInvocations);
+	}
+
+	private long getTimeout(String delegationURL) {
+		return timeouts.getOrDefault(delegationURL, defaultTimeout);
+	}
+
+	/**
+	 * Removes the connector of a delegation URL, so that it is created again on
+	 * the next invocation
+	 * 
+	 * @param delegationURL
+	 */
+	public void invalidate(String delegationURL) {
+		connectors.remove(delegationURL);
+	}
+
 	/**
 	 * Checks whether the given operation is delegated invocation
 	 * 
@@ -75,7 +244,12 @@ public class DelegatedInvocationManager {
 	 */
 	public Object invokeDelegatedOperation(Operation operation, Object... parameters) {
 		String delegatedUrl = getDelegatedURL(operation);
-		return connectorFactory.create(delegatedUrl).invokeOperation("", parameters);
+		IModelProvider connector = getConnector(delegatedUrl);
+		Limits targetLimits = enterLimits(delegatedUrl);
+		if (targetLimits == null) {
+			return connector.invokeOperation("", parameters);
+		}
+		return targetLimits.invoke(delegatedUrl, connector, parameters);
 	}
 
 	/**
@@ -89,6 +263,43 @@ public class DelegatedInvocationManager {
 		return new Qualifier(DelegatedInvocationManager.DELEGATION_TYPE, delegationURL, "string", null);
 	}
 
+	/**
+	 * Returns the connector of the given URL and creates it, if necessary
+	 */
+	private IModelProvider getConnector(String delegationURL) {
+		IModelProvider connector = connectors.get(delegationURL);
+		if (connector != null) {
+			return connector;
+		}
+
+		// The connector is created outside of the lock. If another thread created one
+		// concurrently, it is used instead.
+		IModelProvider created = connectorFactory.create(delegationURL);
+		connector = connectors.putIfAbsent(delegationURL, created);
+		return connector != null ? connector : created;
+	}
+
+	/**
+	 * Returns the limits of the given URL and registers a running invocation on
+	 * them, or returns null if the target is not limited
+	 */
+	private Limits enterLimits(String delegationURL) {
+		synchronized (limits) {
+			Limits targetLimits = limits.get(delegationURL);
+			if (targetLimits == null) {
+				int maximum = getMaximumConcurrentInvocations(delegationURL);
+				long timeout = getTimeout(delegationURL);
+				if (maximum == 0 && timeout == 0) {
+					return null;
+				}
+				targetLimits = new Limits(maximum, timeout);
+				limits.put(delegationURL, targetLimits);
+			}
+			targetLimits.running.incrementAndGet();
+			return targetLimits;
+		}
+	}
+
 	/**
 	 * Retrieves the delegated URL of the operation invoke
 	 * 
@@ -98,33 +309,162 @@ public class DelegatedInvocationManager {
 	 *             if delegated qualifier does not exist
 	 */
 	private static String getDelegatedURL(Operation operation) throws RuntimeException {
-		Qualifier qualifier = getDelegatedQualifier(operation);
+		Map<String, Object> qualifier = getDelegatedQualifier(operation);
 		if (qualifier != null) {
-			return qualifier.getValue().toString();
+			return qualifier.get(Qualifier.VALUE).toString();
 		} else {
 			throw new RuntimeException("Qualifier with Delegated type does not exist");
 		}
 	}
 
 	/**
-	 * Gets the delegated qualifier if exists. Otherwise null is returned
+	 * Gets the delegated qualifier if exists. Otherwise null is returned. The
+	 * qualifiers are checked directly on their maps, since this is done for each
+	 * invocation.
 	 * 
 	 * @param operation
 	 * @return
 	 */
 	@SuppressWarnings("unchecked")
-	private static Qualifier getDelegatedQualifier(Operation operation) {
-		Collection<IConstraint> constraints = operation.getQualifiers();
-		for (IConstraint constraint : constraints) {
-			Qualifier qualifier = Qualifier.createAsFacade((Map<String, Object>) constraint);
-			if (isDelegationQualifier(qualifier)) {
-				return qualifier;
+	private static Map<String, Object> getDelegatedQualifier(Operation operation) {
+		Object qualifiers = operation.get(Qualifiable.QUALIFIERS);
+		if (!(qualifiers instanceof Collection<?>)) {
+			return null;
+		}
+		for (Object constraint : (Collection<Object>) qualifiers) {
+			if (constraint instanceof Map<?, ?> && isDelegationQualifier((Map<String, Object>) constraint)) {
+				return (Map<String, Object>) constraint;
 			}
 		}
 		return null;
 	}
 
-	private static boolean isDelegationQualifier(Qualifier qualifier) {
-		return qualifier.getType() != null && qualifier.getType().equalsIgnoreCase(DELEGATION_TYPE);
+	private static boolean isDelegationQualifier(Map<String, Object> qualifier) {
+		Object type = qualifier.get(Qualifier.TYPE);
+		return type instanceof String && ((String) type).equalsIgnoreCase(DELEGATION_TYPE);
+	}
+
+	/**
+	 * Limits of a delegation target. The permits of the concurrency limit are
+	 * adjusted when the limit changes, instead of being replaced.
+	 */
+	private static class Limits {
+		private final AdjustableSemaphore permits = new AdjustableSemaphore();
+		private final AtomicInteger running = new AtomicInteger();
+		private volatile int maximum;
+		private volatile long timeout;
+
+		private Limits(int maximum, long timeout) {
+			update(maximum, timeout);
+		}
+
+		private synchronized void update(int newMaximum, long newTimeout) {
+			int delta = newMaximum - maximum;
+			if (delta > 0) {
+				permits.release(delta);
+			} else if (delta < 0) {
+				// Permits that are currently held are subtracted on their release
+				permits.reducePermits(-delta);
+			}
+			maximum = newMaximum;
+			timeout = newTimeout;
+		}
+
+		/**
+		 * Invokes the connector within the limits. The invocation has to be
+		 * registered as running before.
+		 */
+		private Object invoke(String delegationURL, IModelProvider connector, Object... parameters) {
+			long start = System.currentTimeMillis();
+			long currentTimeout = timeout;
+			boolean acquired;
+			try {
+				acquired = acquire(delegationURL, currentTimeout);
+			} catch (RuntimeException e) {
+				running.decrementAndGet();
+				throw e;
+			}
+
+			if (currentTimeout == 0) {
+				try {
+					return connector.invokeOperation("", parameters);
+				} finally {
+					finish(acquired);
+				}
+			}
+
+			// The permit is kept until the invocation has finished, even if the
+			// caller does not wait for it anymore
+			CompletableFuture<Object> result;
+			try {
+				result = IAsyncModelProvider.of(connector).invokeOperationAsync("", parameters);
+			} catch (RuntimeException e) {
+				finish(acquired);
+				throw e;
+			}
+			result.whenComplete((value, throwable) -> finish(acquired));
+
+			long remaining = Math.max(1, currentTimeout - (System.currentTimeMillis() - start));
+			try {
+				return result.get(remaining, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				throw new OperationExecutionTimeoutException("Delegated invocation of " + delegationURL + " timed out after " + currentTimeout + "ms");
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new ProviderException(cause);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ProviderException(e);
+			}
+		}
+
+		/**
+		 * Acquires a permit, if the concurrency is limited
+		 * 
+		 * @return whether a permit has been acquired
+		 */
+		private boolean acquire(String delegationURL, long currentTimeout) throws ProviderException {
+			if (maximum == 0) {
+				return false;
+			}
+
+			try {
+				if (currentTimeout == 0) {
+					permits.acquire();
+				} else if (!permits.tryAcquire(currentTimeout, TimeUnit.MILLISECONDS)) {
+					throw new OperationExecutionTimeoutException("Delegated invocation of " + delegationURL + " timed out after waiting " + currentTimeout + "ms for a free slot");
+				}
+				return true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ProviderException(e);
+			}
+		}
+
+		private void finish(boolean acquired) {
+			if (acquired) {
+				permits.release();
+			}
+			running.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Fair semaphore whose number of permits can be reduced
+	 */
+	private static class AdjustableSemaphore extends Semaphore {
+		private static final long serialVersionUID = 1L;
+
+		private AdjustableSemaphore() {
+			super(0, true);
+		}
+
+		@Override
+		protected void reducePermits(int reduction) {
+			super.reducePermits(reduction);
+		}
 	}
 }
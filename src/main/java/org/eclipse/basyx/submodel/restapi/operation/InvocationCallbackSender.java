@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.operation;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the responses of finished asynchronous invocations to the callback URL
+ * given in their request. The response is created at the callback URL, i.e.
+ * sent as HTTP POST for HTTP URLs. Failed deliveries are retried with an
+ * exponentially growing delay. <br>
+ * <br>
+ * The callback URLs are chosen by the clients, so a sender only connects to
+ * URLs accepted by its validator, e.g. to a fixed set of hosts (see
+ * {@link #allowHosts(Collection)}). Otherwise, any client could make the
+ * server send requests into its internal network.
+ */
+public class InvocationCallbackSender {
+	private static Logger logger = LoggerFactory.getLogger(InvocationCallbackSender.class);
+
+	public static final int DEFAULT_MAXIMUM_ATTEMPTS = 5;
+	public static final long DEFAULT_RETRY_DELAY = 500;
+	public static final int DEFAULT_THREADS = 2;
+
+	private final IConnectorFactory connectorFactory;
+	private final Predicate<String> urlValidator;
+	private final ScheduledExecutorService executor;
+	private volatile int maximumAttempts = DEFAULT_MAXIMUM_ATTEMPTS;
+	private volatile long retryDelay = DEFAULT_RETRY_DELAY;
+
+	private final AtomicLong deliveredCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+
+	/**
+	 * Creates a sender that connects to the callback URLs using the given factory.
+	 * For HTTP, the factory should reuse its connectors, so that the pooled
+	 * connections are used for all callbacks to the same URL.
+	 * 
+	 * @param connectorFactory
+	 * @param urlValidator
+	 *            accepts the callback URLs the sender may connect to
+	 */
+	public InvocationCallbackSender(IConnectorFactory connectorFactory, Predicate<String> urlValidator) {
+		this(connectorFactory, urlValidator, createExecutor());
+	}
+
+	/**
+	 * Creates a sender that sends the callbacks on the given executor
+	 * 
+	 * @param connectorFactory
+	 * @param urlValidator
+	 *            accepts the callback URLs the sender may connect to
+	 * @param executor
+	 */
+	public InvocationCallbackSender(IConnectorFactory connectorFactory, Predicate<String> urlValidator, ScheduledExecutorService executor) {
+		this.connectorFactory = connectorFactory;
+		this.urlValidator = urlValidator;
+		this.executor = executor;
+	}
+
+	/**
+	 * Creates a validator that accepts HTTP and HTTPS URLs to the given hosts. An
+	 * entry can either be a host name, which accepts all ports of the host, or
+	 * <i>host:port</i>.
+	 * 
+	 * @param hosts
+	 * @return
+	 */
+	public static Predicate<String> allowHosts(Collection<String> hosts) {
+		Set<String> allowed = hosts.stream().map(host -> host.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+		return url -> {
+			URI uri;
+			try {
+				uri = new URI(url);
+			} catch (URISyntaxException e) {
+				return false;
+			}
+			String scheme = uri.getScheme();
+			String host = uri.getHost();
+			if (host == null || uri.getUserInfo() != null || !("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))) {
+				return false;
+			}
+			host = host.toLowerCase(Locale.ROOT);
+			int port = uri.getPort() == -1 ? ("http".equalsIgnoreCase(scheme) ? 80 : 443) : uri.getPort();
+			return allowed.contains(host) || allowed.contains(host + ":" + port);
+		};
+	}
+
+	/**
+	 * Creates a validator that accepts HTTP and HTTPS URLs to the given hosts
+	 * 
+	 * @see #allowHosts(Collection)
+	 */
+	public static Predicate<String> allowHosts(String... hosts) {
+		return allowHosts(Arrays.asList(hosts));
+	}
+
+	/**
+	 * Indicates if the sender may connect to the callback URL
+	 * 
+	 * @param callbackUrl
+	 * @return
+	 */
+	public boolean isAllowed(String callbackUrl) {
+		return callbackUrl != null && urlValidator.test(callbackUrl);
+	}
+
+	/**
+	 * Sets how often a delivery is attempted before it is given up
+	 * 
+	 * @param maximumAttempts
+	 */
+	public void setMaximumAttempts(int maximumAttempts) {
+		if (maximumAttempts < 1) {
+			throw new IllegalArgumentException("At least one attempt is necessary, but was " + maximumAttempts);
+		}
+		this.maximumAttempts = maximumAttempts;
+	}
+
+	/**
+	 * Sets the delay in milliseconds before the first retry. The delay is doubled
+	 * for each further retry.
+	 * 
+	 * @param retryDelay
+	 */
+	public void setRetryDelay(long retryDelay) {
+		this.retryDelay = retryDelay;
+	}
+
+	/**
+	 * Sends the response to the callback URL without blocking
+	 * 
+	 * @param callbackUrl
+	 * @param response
+	 * @return a future that is completed when the response has been delivered or
+	 *         completed exceptionally when all attempts failed or the URL is not
+	 *         allowed
+	 */
+	public CompletableFuture<Void> send(String callbackUrl, InvocationResponse response) {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		if (!isAllowed(callbackUrl)) {
+			logger.warn("Callback of request " + response.getRequestId() + " to " + callbackUrl + " is not allowed");
+			failedCount.incrementAndGet();
+			result.completeExceptionally(new IllegalArgumentException("Callback URL '" + callbackUrl + "' is not allowed"));
+			return result;
+		}
+		executor.execute(() -> attempt(callbackUrl, response, 1, result));
+		return result;
+	}
+
+	private void attempt(String callbackUrl, InvocationResponse response, int attempt, CompletableFuture<Void> result) {
+		try {
+			connectorFactory.create(callbackUrl).createValue("", response);
+			deliveredCount.incrementAndGet();
+			result.complete(null);
+		} catch (Exception e) {
+			if (attempt < maximumAttempts) {
+				long delay = retryDelay << Math.min(attempt - 1, 30);
+				logger.debug("Callback of request " + response.getRequestId() + " to " + callbackUrl + " failed, retrying in " + delay + "ms", e);
+				executor.schedule(() -> attempt(callbackUrl, response, attempt + 1, result), delay, TimeUnit.MILLISECONDS);
+			} else {
+				logger.warn("Callback of request " + response.getRequestId() + " to " + callbackUrl + " failed after " + attempt + " attempts", e);
+				failedCount.incrementAndGet();
+				result.completeExceptionally(e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of responses that have been delivered
+	 */
+	public long getDeliveredCount() {
+		return deliveredCount.get();
+	}
+
+	/**
+	 * Returns the number of responses that could not be delivered
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	private static ScheduledExecutorService createExecutor() {
+		AtomicInteger counter = new AtomicInteger();
+		return new ScheduledThreadPoolExecutor(DEFAULT_THREADS, runnable -> {
+			Thread thread = new Thread(runnable, "InvocationCallbackSender-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+}
@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.operation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+
+/**
+ * Streams the state changes of the asynchronous invocations of an
+ * {@link AsyncOperationHandler} as server-sent events. Each event has the
+ * requestId as id, the execution state as name and the serialized
+ * InvocationResponse as data. <br>
+ * <br>
+ * With the query parameter <i>?requestId=...</i>, only the events of a single
+ * invocation are streamed and the stream is closed after the invocation has
+ * finished. Unknown requests, e.g. requests whose result has already been
+ * retrieved, are answered with 404. Otherwise, the events of all invocations
+ * are streamed until the client disconnects or the stream timeout expires. <br>
+ * <br>
+ * The events are written with non-blocking IO, so slow clients do not block the
+ * threads that change the invocation states. Events that can not be written
+ * yet are queued per client; a client that falls too far behind is
+ * disconnected. Heartbeat comments are sent periodically, so that disconnected
+ * clients are detected.
+ */
+public class InvocationEventServlet extends HttpServlet {
+	private static final long serialVersionUID = 1L;
+
+	public static final String REQUESTID = "requestId";
+
+	/**
+	 * Default time in milliseconds after which a stream is closed
+	 */
+	public static final long DEFAULT_STREAM_TIMEOUT = TimeUnit.HOURS.toMillis(1);
+
+	/**
+	 * Default interval in milliseconds in which heartbeats are sent
+	 */
+	public static final long DEFAULT_HEARTBEAT_INTERVAL = TimeUnit.SECONDS.toMillis(15);
+
+	/**
+	 * Default number of events that are queued for a client, before it is
+	 * disconnected
+	 */
+	public static final int DEFAULT_MAXIMUM_QUEUED_EVENTS = 1000;
+
+	private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+	// Single timer for the heartbeats of all streams
+	private static final ScheduledThreadPoolExecutor heartbeatTimer = createHeartbeatTimer();
+
+	private final transient AsyncOperationHandler handler;
+	private final transient GSONTools serializer = new GSONTools(new DefaultTypeFactory());
+	private volatile long streamTimeout = DEFAULT_STREAM_TIMEOUT;
+	private volatile long heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+	private volatile int maximumQueuedEvents = DEFAULT_MAXIMUM_QUEUED_EVENTS;
+
+	/**
+	 * Creates a servlet that streams the invocations of the default handler
+	 */
+	public InvocationEventServlet() {
+		this(AsyncOperationHandler.getDefault());
+	}
+
+	/**
+	 * Creates a servlet that streams the invocations of the given handler
+	 * 
+	 * @param handler
+	 */
+	public InvocationEventServlet(AsyncOperationHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which a stream is closed. Applies to
+	 * streams opened after the call.
+	 * 
+	 * @param streamTimeout
+	 */
+	public void setStreamTimeout(long streamTimeout) {
+		if (streamTimeout <= 0) {
+			throw new IllegalArgumentException("The stream timeout has to be positive, but was " + streamTimeout);
+		}
+		this.streamTimeout = streamTimeout;
+	}
+
+	/**
+	 * Sets the interval in milliseconds in which heartbeats are sent. Applies to
+	 * streams opened after the call.
+	 * 
+	 * @param heartbeatInterval
+	 */
+	public void setHeartbeatInterval(long heartbeatInterval) {
+		if (heartbeatInterval <= 0) {
+			throw new IllegalArgumentException("The heartbeat interval has to be positive, but was " + heartbeatInterval);
+		}
+		this.heartbeatInterval = heartbeatInterval;
+	}
+
+	/**
+	 * Sets the number of events that are queued for a client, before it is
+	 * disconnected
+	 * 
+	 * @param maximumQueuedEvents
+	 */
+	public void setMaximumQueuedEvents(int maximumQueuedEvents) {
+		this.maximumQueuedEvents = maximumQueuedEvents;
+	}
+
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+		String requestId = req.getParameter(REQUESTID);
+		if (requestId != null && handler.getResponse(requestId) == null) {
+			resp.sendError(404, "RequestId '" + requestId + "' not found");
+			return;
+		}
+
+		resp.setStatus(200);
+		resp.setContentType("text/event-stream");
+		resp.setCharacterEncoding("UTF-8");
+		resp.setHeader("Cache-Control", "no-cache");
+
+		// Keep the connection open without blocking the request thread
+		AsyncContext context = req.startAsync();
+		context.setTimeout(streamTimeout);
+		EventStream stream = new EventStream(context, resp.getOutputStream(), requestId);
+		context.addListener(stream);
+		handler.addListener(stream);
+		stream.start(heartbeatInterval);
+
+		// The invocation may have finished or may have been removed before the
+		// listener was added
+		if (requestId != null) {
+			InvocationResponse response = handler.getResponse(requestId);
+			if (response == null) {
+				stream.close();
+			} else if (AsyncOperationHandler.isFinished(response.getExecutionState())) {
+				stream.stateChanged(null, response);
+			}
+		}
+	}
+
+	/**
+	 * Writes the events of one client without blocking
+	 */
+	private class EventStream implements IInvocationListener, AsyncListener, WriteListener {
+		private final AsyncContext context;
+		private final ServletOutputStream out;
+		private final String requestId;
+		private final Queue<byte[]> events = new ArrayDeque<>();
+		private ScheduledFuture<?> heartbeat;
+		private boolean writable;
+		private boolean finished;
+		private boolean closed;
+
+		private EventStream(AsyncContext context, ServletOutputStream out, String requestId) {
+			this.context = context;
+			this.out = out;
+			this.requestId = requestId;
+		}
+
+		/**
+		 * Starts writing and sending heartbeats
+		 */
+		private synchronized void start(long heartbeatInterval) {
+			// The heartbeat also sends the response header immediately
+			events.add(HEARTBEAT);
+			heartbeat = heartbeatTimer.scheduleWithFixedDelay(() -> enqueue(HEARTBEAT), heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+			out.setWriteListener(this);
+		}
+
+		@Override
+		public void stateChanged(String operationId, InvocationResponse response) {
+			if (requestId != null && !requestId.equals(response.getRequestId())) {
+				return;
+			}
+
+			// Serialize on the calling thread, the response may change afterwards
+			ExecutionState state = response.getExecutionState();
+			String data = serializer.serialize(response).replace("\n", "\ndata: ");
+			String event = "id: " + response.getRequestId() + "\nevent: " + state.getStandardizedLiteral() + "\ndata: " + data + "\n\n";
+
+			synchronized (this) {
+				if (requestId != null && AsyncOperationHandler.isFinished(state)) {
+					if (finished) {
+						return;
+					}
+					finished = true;
+				}
+				enqueue(event.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		private synchronized void enqueue(byte[] event) {
+			if (closed) {
+				return;
+			}
+			if (events.size() >= maximumQueuedEvents) {
+				// The client does not keep up
+				close();
+				return;
+			}
+			events.add(event);
+			write();
+		}
+
+		@Override
+		public synchronized void onWritePossible() {
+			writable = true;
+			write();
+		}
+
+		/**
+		 * Writes queued events as long as this is possible without blocking
+		 */
+		private void write() {
+			if (closed || !writable) {
+				return;
+			}
+			try {
+				while (out.isReady()) {
+					byte[] event = events.poll();
+					if (event == null) {
+						out.flush();
+						if (finished && out.isReady()) {
+							close();
+						}
+						return;
+					}
+					out.write(event);
+				}
+			} catch (IOException | IllegalStateException e) {
+				close();
+			}
+		}
+
+		private synchronized void close() {
+			handler.removeListener(this);
+			if (!closed) {
+				closed = true;
+				cancelHeartbeat();
+				events.clear();
+				try {
+					context.complete();
+				} catch (IllegalStateException e) {
+					// Already completed by the container
+				}
+			}
+		}
+
+		private void cancelHeartbeat() {
+			if (heartbeat != null) {
+				heartbeat.cancel(false);
+			}
+		}
+
+		@Override
+		public synchronized void onComplete(AsyncEvent event) {
+			closed = true;
+			cancelHeartbeat();
+			events.clear();
+			handler.removeListener(this);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			close();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+
+	private static ScheduledThreadPoolExecutor createHeartbeatTimer() {
+		ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "InvocationEventServlet-heartbeat");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Cancelled heartbeats of closed streams should not pile up in the queue
+		timer.setRemoveOnCancelPolicy(true);
+		return timer;
+	}
+}
@@ -45,6 +45,7 @@ public class InvocationRequest extends VABModelMap<Object> {
 	public static final String INOUTARGUMENTS = "inoutputArguments";
 	public static final String INPUTARGUMENTS = "inputArguments";
 	public static final String TIMEOUT = "timeout";
+	public static final String CALLBACKURL = "callbackUrl";
 
 	private InvocationRequest() {
 	}
@@ -56,6 +57,18 @@ public class InvocationRequest extends VABModelMap<Object> {
 		put(TIMEOUT, timeout);
 	}
 
+	/**
+	 * Creates a request whose response is sent to the given URL when the
+	 * asynchronous invocation is finished. If the URL is null, the result has to
+	 * be retrieved by the caller.
+	 */
+	public InvocationRequest(String requestId, Collection<IOperationVariable> inoutArguments, Collection<IOperationVariable> inputArguments, int timeout, String callbackUrl) {
+		this(requestId, inoutArguments, inputArguments, timeout);
+		if (callbackUrl != null) {
+			put(CALLBACKURL, callbackUrl);
+		}
+	}
+
 	public static InvocationRequest createAsFacade(Map<String, Object> map) {
 		if (map == null) {
 			return null;
@@ -71,6 +84,10 @@ public class InvocationRequest extends VABModelMap<Object> {
 
 		ret.setTimeout((int) map.get(TIMEOUT));
 
+		if (map.containsKey(CALLBACKURL)) {
+			ret.setCallbackUrl((String) map.get(CALLBACKURL));
+		}
+
 		return ret;
 	}
 
@@ -155,6 +172,10 @@ public class InvocationRequest extends VABModelMap<Object> {
 		put(TIMEOUT, timeout);
 	}
 
+	private void setCallbackUrl(String callbackUrl) {
+		put(CALLBACKURL, callbackUrl);
+	}
+
 	public String getRequestId() {
 		return (String) get(REQUESTID);
 	}
@@ -172,4 +193,12 @@ public class InvocationRequest extends VABModelMap<Object> {
 	public int getTimeout() {
 		return (int) get(TIMEOUT);
 	}
+
+	/**
+	 * Returns the URL the response is sent to when the asynchronous invocation is
+	 * finished or null, if the result has to be retrieved by the caller
+	 */
+	public String getCallbackUrl() {
+		return (String) get(CALLBACKURL);
+	}
 }
@@ -34,11 +34,16 @@ import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.IdShortPathIndex;
 import org.eclipse.basyx.submodel.restapi.MultiSubmodelElementProvider;
 import org.eclipse.basyx.submodel.restapi.SubmodelAPIHelper;
+import org.eclipse.basyx.submodel.restapi.SubmodelElementProvider;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.generic.VABModelProvider;
 
 /**
  * Implements the Submodel API by mapping it to VAB paths
@@ -52,6 +57,13 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 	// on
 	private IModelProvider modelProvider;
 
+	// Provider for the elements within the submodel. It only routes requests and
+	// is therefore created once and shared by all requests
+	private final MultiSubmodelElementProvider elementProvider;
+
+	// Index for directly accessing nested elements. It is built on first access
+	private volatile IdShortPathIndex index;
+
 	/**
 	 * Creates a VABSubmodelAPI that wraps an IModelProvider
 	 * 
@@ -61,18 +73,96 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 	public VABSubmodelAPI(IModelProvider modelProvider) {
 		super();
 		this.modelProvider = modelProvider;
+		IModelProvider elementProxy = new VABElementProxy(SubmodelAPIHelper.getSubmodelElementsPath(), modelProvider);
+		this.elementProvider = new MultiSubmodelElementProvider(elementProxy);
 	}
 
 	/**
-	 * Creates an IModelProvider for handling accesses to the elements within the
+	 * Returns the version of the submodel, which is incremented by each
+	 * modification. Returns -1, if the underlying provider does not keep track of
+	 * versions.
+	 * 
+	 * @return
+	 */
+	public long getVersion() {
+		if (modelProvider instanceof VABModelProvider) {
+			return ((VABModelProvider) modelProvider).getVersion();
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the IModelProvider for handling accesses to the elements within the
 	 * submodel
 	 * 
 	 * @return returns the SubmodelElementProvider pointing to the contained
 	 *         submodelelements
 	 */
 	private MultiSubmodelElementProvider getElementProvider() {
-		IModelProvider elementProxy = new VABElementProxy(SubmodelAPIHelper.getSubmodelElementsPath(), modelProvider);
-		return new MultiSubmodelElementProvider(elementProxy);
+		return elementProvider;
+	}
+
+	/**
+	 * Returns the index of the contained elements and builds it, if it does not
+	 * exist yet
+	 */
+	@SuppressWarnings("unchecked")
+	private IdShortPathIndex getIndex() {
+		IdShortPathIndex current = index;
+		if (current != null) {
+			return current;
+		}
+
+		synchronized (this) {
+			if (index == null) {
+				IdShortPathIndex newIndex = new IdShortPathIndex();
+				Object elements = modelProvider.getValue(SubmodelAPIHelper.getSubmodelElementsPath());
+				if (elements instanceof Map<?, ?>) {
+					for (Map.Entry<String, Object> entry : ((Map<String, Object>) elements).entrySet()) {
+						if (entry.getValue() instanceof Map<?, ?>) {
+							newIndex.put(entry.getKey(), (Map<String, Object>) entry.getValue());
+						}
+					}
+				}
+				index = newIndex;
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Returns a provider that directly points to an indexed element or null, if
+	 * the element is not indexed. Elements that are not indexed are accessed
+	 * through the element provider, which resolves each level of the
+	 * idShortPath. Top-level elements are resolved in a single step, so accessing
+	 * them does not build the index.
+	 */
+	private IModelProvider getIndexedElementProvider(String idShortPath) {
+		if (index == null && VABPathTools.getParentPath(VABPathTools.stripSlashes(idShortPath)).isEmpty()) {
+			return null;
+		}
+		String elementPath = getIndex().getElementPath(idShortPath);
+		if (elementPath == null) {
+			return null;
+		}
+		String path = VABPathTools.concatenatePaths(SubmodelAPIHelper.getSubmodelElementsPath(), elementPath);
+		return new SubmodelElementProvider(new VABElementProxy(path, modelProvider));
+	}
+
+	/**
+	 * Updates the index after an element has been added or replaced
+	 */
+	@SuppressWarnings("unchecked")
+	private void updateIndex(String idShortPath, Object element) {
+		IdShortPathIndex current = index;
+		if (current == null) {
+			return;
+		}
+		if (element instanceof Map<?, ?>) {
+			current.put(idShortPath, (Map<String, Object>) element);
+		} else {
+			current.remove(idShortPath);
+		}
 	}
 
 	@SuppressWarnings("unchecked")
@@ -90,16 +180,22 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 	@Override
 	public void addSubmodelElement(ISubmodelElement elem) {
 		getElementProvider().createValue(SubmodelAPIHelper.getSubmodelElementPath(elem.getIdShort()), elem);
+		updateIndex(elem.getIdShort(), elem);
 	}
 
 	@Override
 	public void addSubmodelElement(String idShortPath, ISubmodelElement elem) {
 		getElementProvider().createValue(SubmodelAPIHelper.getSubmodelElementPath(idShortPath), elem);
+		updateIndex(idShortPath, elem);
 	}
 
 	@Override
 	public void deleteSubmodelElement(String idShortPath) {
 		getElementProvider().deleteValue(SubmodelAPIHelper.getSubmodelElementPath(idShortPath));
+		IdShortPathIndex current = index;
+		if (current != null) {
+			current.remove(idShortPath);
+		}
 	}
 
 	@Override
@@ -116,18 +212,38 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 
 	@Override
 	public void updateSubmodelElement(String idShortPath, Object newValue) {
-		getElementProvider().setValue(SubmodelAPIHelper.getSubmodelElementValuePath(idShortPath), newValue);
+		IModelProvider provider = getIndexedElementProvider(idShortPath);
+		if (provider == null) {
+			getElementProvider().setValue(SubmodelAPIHelper.getSubmodelElementValuePath(idShortPath), newValue);
+		} else {
+			provider.setValue(Property.VALUE, newValue);
+		}
+
+		// The value of a collection consists of its contained elements
+		IdShortPathIndex current = index;
+		if (current != null && current.isCollection(idShortPath)) {
+			Object element = provider == null ? getElementProvider().getValue(SubmodelAPIHelper.getSubmodelElementPath(idShortPath)) : provider.getValue("");
+			updateIndex(idShortPath, element);
+		}
 	}
 
 	@Override
 	public Object getSubmodelElementValue(String idShortPath) {
-		return getElementProvider().getValue(SubmodelAPIHelper.getSubmodelElementValuePath(idShortPath));
+		IModelProvider provider = getIndexedElementProvider(idShortPath);
+		if (provider == null) {
+			return getElementProvider().getValue(SubmodelAPIHelper.getSubmodelElementValuePath(idShortPath));
+		}
+		return provider.getValue(Property.VALUE);
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public ISubmodelElement getSubmodelElement(String idShortPath) {
-		return SubmodelElement.createAsFacade((Map<String, Object>) getElementProvider().getValue(SubmodelAPIHelper.getSubmodelElementPath(idShortPath)));
+		IModelProvider provider = getIndexedElementProvider(idShortPath);
+		if (provider == null) {
+			return SubmodelElement.createAsFacade((Map<String, Object>) getElementProvider().getValue(SubmodelAPIHelper.getSubmodelElementPath(idShortPath)));
+		}
+		return SubmodelElement.createAsFacade((Map<String, Object>) provider.getValue(""));
 	}
 
 	@Override
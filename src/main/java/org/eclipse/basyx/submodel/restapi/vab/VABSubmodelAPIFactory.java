@@ -36,8 +36,25 @@ import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
  *
  */
 public class VABSubmodelAPIFactory implements ISubmodelAPIFactory {
+	private final boolean concurrent;
+
+	public VABSubmodelAPIFactory() {
+		this(false);
+	}
+
+	/**
+	 * Creates a factory whose submodel APIs optionally support concurrent access.
+	 * Reads of concurrent APIs do not lock, writes are serialized per top-level
+	 * submodel element.
+	 * 
+	 * @param concurrent
+	 */
+	public VABSubmodelAPIFactory(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
 	@Override
 	public ISubmodelAPI getSubmodelAPI(Submodel submodel) {
-		return new VABSubmodelAPI(new VABLambdaProvider(submodel));
+		return new VABSubmodelAPI(new VABLambdaProvider(submodel, concurrent));
 	}
 }
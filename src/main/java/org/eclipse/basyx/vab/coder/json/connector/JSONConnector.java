@@ -24,18 +24,31 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.coder.json.connector;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.basyx.submodel.restapi.operation.InvocationRequest;
 import org.eclipse.basyx.vab.coder.json.metaprotocol.IMetaProtocolHandler;
+import org.eclipse.basyx.vab.coder.json.metaprotocol.Message;
 import org.eclipse.basyx.vab.coder.json.metaprotocol.MetaprotocolHandler;
+import org.eclipse.basyx.vab.coder.json.metaprotocol.Result;
 import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
 import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
 import org.eclipse.basyx.vab.coder.json.serialization.GSONToolsFactory;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IAsyncModelProvider;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.async.AsyncModelProviderAdapter;
+import org.eclipse.basyx.vab.modelprovider.async.FutureHelper;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchRequest;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchResult;
+import org.eclipse.basyx.vab.protocol.api.IAsyncBaSyxConnector;
 import org.eclipse.basyx.vab.protocol.api.IBaSyxConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,12 +56,16 @@ import org.slf4j.LoggerFactory;
 /**
  * Connector Class responsible for serializing parameters and de-serializing
  * results. It verifies the results, removes the message header and returns the
- * requested entity.
+ * requested entity. <br>
+ * <br>
+ * Asynchronous calls are sent without blocking, if the connector backend
+ * implements {@link IAsyncBaSyxConnector}. Otherwise, the blocking calls are
+ * executed by an {@link AsyncModelProviderAdapter}.
  * 
  * @author pschorn
  *
  */
-public class JSONConnector implements IModelProvider {
+public class JSONConnector implements IModelProvider, IAsyncModelProvider {
 
 	private static final Logger LOGGER_DEFAULT = LoggerFactory.getLogger(JSONConnector.class);
 	private static final Logger LOGGER_COMMUNICATION = LoggerFactory.getLogger(LOGGER_DEFAULT.getName() + ".MALFORMED");
@@ -68,6 +85,11 @@ public class JSONConnector implements IModelProvider {
 	 */
 	protected IMetaProtocolHandler metaProtocolHandler = null;
 
+	/**
+	 * Executes asynchronous calls, if the connector backend does not support them
+	 */
+	private final IAsyncModelProvider blockingAdapter = new AsyncModelProviderAdapter(this);
+
 	/**
 	 * Constructor
 	 * 
@@ -105,6 +127,13 @@ public class JSONConnector implements IModelProvider {
 		String message = provider.getValue(path);
 
 		// De-serialize and verify
+		return deserializeValue(path, message);
+	}
+
+	/**
+	 * De-serializes and verifies the response to a get request
+	 */
+	private Object deserializeValue(String path, String message) throws ProviderException {
 		try {
 			return metaProtocolHandler.deserialize(message);
 		} catch (ProviderException e) {
@@ -172,16 +201,161 @@ public class JSONConnector implements IModelProvider {
 		VABPathTools.checkPathForNull(path);
 
 		// Serialize parameter
-		String jsonString;
+		String jsonString = serializeParameters(parameter);
+
+		String message = provider.invokeOperation(path, jsonString);
+
+		// De-serialize and verify
+		return metaProtocolHandler.deserialize(message);
+	}
+
+	/**
+	 * Serializes the parameters of an operation invocation
+	 */
+	private String serializeParameters(Object... parameter) {
 		if (parameter.length == 1 && parameter[0] instanceof InvocationRequest) {
-			jsonString = serializer.serialize(parameter[0]);
+			return serializer.serialize(parameter[0]);
 		} else {
-			jsonString = serializer.serialize(Arrays.asList(parameter));
+			return serializer.serialize(Arrays.asList(parameter));
 		}
+	}
 
-		String message = provider.invokeOperation(path, jsonString);
+	@Override
+	public CompletableFuture<Object> getValueAsync(String path) {
+		if (!(provider instanceof IAsyncBaSyxConnector)) {
+			return blockingAdapter.getValueAsync(path);
+		}
+
+		return FutureHelper.call(() -> {
+			VABPathTools.checkPathForNull(path);
+
+			// Get element from server and de-serialize on arrival
+			return getAsyncConnector().getValueAsync(path).thenApply(message -> deserializeValue(path, message));
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> setValueAsync(String path, Object newValue) {
+		if (!(provider instanceof IAsyncBaSyxConnector)) {
+			return blockingAdapter.setValueAsync(path, newValue);
+		}
+
+		return FutureHelper.call(() -> {
+			VABPathTools.checkPathForNull(path);
+
+			String jsonString = serializer.serialize(newValue);
+			return getAsyncConnector().setValueAsync(path, jsonString).thenAccept(metaProtocolHandler::deserialize);
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> createValueAsync(String path, Object newEntity) {
+		if (!(provider instanceof IAsyncBaSyxConnector)) {
+			return blockingAdapter.createValueAsync(path, newEntity);
+		}
+
+		return FutureHelper.call(() -> {
+			VABPathTools.checkPathForNull(path);
+
+			String jsonString = serializer.serialize(newEntity);
+			return getAsyncConnector().createValueAsync(path, jsonString).thenAccept(metaProtocolHandler::deserialize);
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteValueAsync(String path) {
+		if (!(provider instanceof IAsyncBaSyxConnector)) {
+			return blockingAdapter.deleteValueAsync(path);
+		}
+
+		return FutureHelper.call(() -> {
+			VABPathTools.checkPathForNull(path);
+
+			return getAsyncConnector().deleteValueAsync(path).thenAccept(metaProtocolHandler::deserialize);
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteValueAsync(String path, Object obj) {
+		if (!(provider instanceof IAsyncBaSyxConnector)) {
+			return blockingAdapter.deleteValueAsync(path, obj);
+		}
+
+		return FutureHelper.call(() -> {
+			VABPathTools.checkPathForNull(path);
+
+			String jsonString = serializer.serialize(obj);
+			return getAsyncConnector().deleteValueAsync(path, jsonString).thenAccept(metaProtocolHandler::deserialize);
+		});
+	}
+
+	@Override
+	public CompletableFuture<Object> invokeOperationAsync(String path, Object... parameter) {
+		if (!(provider instanceof IAsyncBaSyxConnector)) {
+			return blockingAdapter.invokeOperationAsync(path, parameter);
+		}
+
+		return FutureHelper.call(() -> {
+			VABPathTools.checkPathForNull(path);
+
+			String jsonString = serializeParameters(parameter);
+			return getAsyncConnector().invokeOperationAsync(path, jsonString).thenApply(metaProtocolHandler::deserialize);
+		});
+	}
+
+	private IAsyncBaSyxConnector getAsyncConnector() {
+		return (IAsyncBaSyxConnector) provider;
+	}
+
+	@Override
+	public List<VABBatchResult> executeBatch(List<VABBatchRequest> requests) throws ProviderException {
+		for (VABBatchRequest request : requests) {
+			VABPathTools.checkPathForNull(request.getPath());
+		}
+
+		// Serialize requests
+		String jsonString = serializer.serialize(requests);
+
+		String message;
+		try {
+			message = provider.executeBatch(jsonString);
+		} catch (UnsupportedOperationException e) {
+			// Connector can not transmit batches, execute the requests one by one
+			return IModelProvider.super.executeBatch(requests);
+		}
 
 		// De-serialize and verify
-		return metaProtocolHandler.deserialize(message);
+		Object response = metaProtocolHandler.deserialize(message);
+		if (!(response instanceof Collection<?>) || ((Collection<?>) response).size() != requests.size()) {
+			throw new ProviderException("Received malformed batch response from '" + provider.getEndpointRepresentation("") + "'");
+		}
+
+		List<VABBatchResult> results = new ArrayList<>(requests.size());
+		for (Object entry : (Collection<?>) response) {
+			results.add(createBatchResult(entry));
+		}
+		return results;
+	}
+
+	/**
+	 * Creates the result of a single request from its entry in the batch response
+	 */
+	@SuppressWarnings("unchecked")
+	private VABBatchResult createBatchResult(Object entry) {
+		if (!(entry instanceof Map<?, ?>)) {
+			return VABBatchResult.failure(new ProviderException("Received malformed batch result entry: " + entry));
+		}
+
+		Map<String, Object> map = (Map<String, Object>) entry;
+		if (Boolean.TRUE.equals(map.get(Result.SUCCESS))) {
+			return VABBatchResult.success(map.get(Result.ENTITY));
+		}
+
+		Collection<Map<String, Object>> messages = (Collection<Map<String, Object>>) map.get(Result.MESSAGES);
+		if (messages == null || messages.isEmpty()) {
+			return VABBatchResult.failure(new ProviderException("Unknown error occured: Success entry is indicating an error but no message was attached"));
+		}
+		Map<String, Object> first = messages.iterator().next();
+		return VABBatchResult.failure(MetaprotocolHandler.getExceptionFromCode((String) first.get(Message.CODE), (String) first.get(Message.TEXT)));
 	}
 }
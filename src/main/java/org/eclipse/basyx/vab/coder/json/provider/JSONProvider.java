@@ -28,7 +28,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.servlet.ServletOutputStream;
 
@@ -39,7 +43,11 @@ import org.eclipse.basyx.vab.coder.json.serialization.GSONToolsFactory;
 import org.eclipse.basyx.vab.exception.LostHTTPRequestParameterException;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResponseAbortedException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchRequest;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,6 +63,12 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 
 	private static Logger logger = LoggerFactory.getLogger(JSONProvider.class);
 
+	/**
+	 * Default maximum size of a response that is held back until its
+	 * serialization succeeded
+	 */
+	public static final int DEFAULT_RESPONSE_BUFFER_SIZE = 64 * 1024;
+
 	/**
 	 * Reference to IModelProvider backend
 	 */
@@ -65,6 +79,12 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 	 */
 	protected GSONTools serializer = null;
 
+	/**
+	 * Maximum size of a response that is held back until its serialization
+	 * succeeded
+	 */
+	private int responseBufferSize = DEFAULT_RESPONSE_BUFFER_SIZE;
+
 	/**
 	 * Constructor
 	 */
@@ -102,28 +122,16 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 	}
 
 	/**
-	 * Marks success as false and delivers exception cause messages
-	 * 
-	 * @param e
-	 * @return
-	 */
-	private String serialize(Exception e) {
-		// Create Ack
-		Result result = new Result(e);
-
-		// Serialize the whole thing
-		return serialize(result);
-	}
-
-	/**
-	 * Serialize IResult (LinkedHashMap)
+	 * Sets the maximum size of a response that is held back until its
+	 * serialization succeeded. Failures of smaller responses are answered with an
+	 * error. Larger responses are streamed; if they fail after the first bytes
+	 * have been written, a {@link ResponseAbortedException} is thrown and no
+	 * error is written.
 	 * 
-	 * @param string
-	 * @return
+	 * @param responseBufferSize
 	 */
-	private String serialize(Result string) {
-		// Serialize the whole thing
-		return serializer.serialize(string);
+	public void setResponseBufferSize(int responseBufferSize) {
+		this.responseBufferSize = responseBufferSize;
 	}
 
 	/**
@@ -135,10 +143,15 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 	 */
 	private void sendException(OutputStream resp, Exception e) throws ProviderException {
 
+		// A partially sent response can not be completed with an error anymore
+		if (e instanceof ResponseAbortedException) {
+			logger.error("Exception after the response has been committed in JSONProvider", e.getCause());
+			throw (ResponseAbortedException) e;
+		}
+
 		// Serialize Exception
-		String jsonString = serialize(e);
 		try {
-			resp.write(jsonString.getBytes(StandardCharsets.UTF_8));
+			resp.write(serializer.serialize(new Result(e)).getBytes(StandardCharsets.UTF_8));
 		} catch (IOException innerE) {
 			throw new ProviderException("Failed to send Exception '" + e.getMessage() + "' to client", innerE);
 		}
@@ -153,6 +166,27 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 		throw new ProviderException(e);
 	}
 
+	/**
+	 * Serializes a result to the stream. The result is held back until it is
+	 * either completely serialized or exceeds the response buffer size.
+	 * 
+	 * @param value
+	 * @param outputStream
+	 * @throws Exception
+	 */
+	private void sendResult(Object value, OutputStream outputStream) throws Exception {
+		ResponseBufferOutputStream buffer = new ResponseBufferOutputStream(outputStream, responseBufferSize);
+		try {
+			serializer.serialize(value, buffer);
+			buffer.commit();
+		} catch (Exception e) {
+			if (buffer.isCommitted()) {
+				throw new ResponseAbortedException(e);
+			}
+			throw e;
+		}
+	}
+
 	/**
 	 * Extracts parameter from JSON and handles de-serialization errors
 	 * 
@@ -179,6 +213,25 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 		return result;
 	}
 
+	/**
+	 * Extracts parameter from a JSON stream and handles de-serialization errors
+	 * 
+	 * @param path
+	 * @param serializedJSONValue
+	 * @param outputStream
+	 * @return
+	 * @throws MalformedRequestException
+	 */
+	private Object extractParameter(String path, InputStream serializedJSONValue, OutputStream outputStream) throws MalformedRequestException {
+		try {
+			// Deserialize json body while reading it
+			return serializer.deserialize(serializedJSONValue);
+		} catch (Exception e) {
+			// JSON could not be deserialized
+			throw new MalformedRequestException(e);
+		}
+	}
+
 	/**
 	 * Process a BaSys get operation, return JSON serialized result
 	 * 
@@ -190,11 +243,8 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 			// Get requested value from provider backend
 			Object value = providerBackend.getValue(path);
 
-			// Serialize as json string - any messages?
-			String jsonString = serializer.serialize(value);
-
-			// Send response
-			outputStream.write(jsonString.getBytes(StandardCharsets.UTF_8));
+			// Serialize the value to the response
+			sendResult(value, outputStream);
 		} catch (Exception e) {
 			sendException(outputStream, e);
 		}
@@ -216,23 +266,43 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 			// Deserialize json body. If parameter is not ex
 			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
 
-			// Set the value of the element
-			providerBackend.setValue(path, parameter);
+			setValue(path, parameter, outputStream);
 
-			// Send response
-			outputStream.write("".getBytes(StandardCharsets.UTF_8));
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
 
+	/**
+	 * Process a BaSys set operation, reading the JSON value from a stream
+	 * 
+	 * @param path
+	 * @param serializedJSONValue
+	 * @param outputStream
+	 * @throws ProviderException
+	 */
+	public void processBaSysSet(String path, InputStream serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		try {
+			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
+			setValue(path, parameter, outputStream);
 		} catch (Exception e) {
 			sendException(outputStream, e);
 		}
 	}
 
+	private void setValue(String path, Object parameter, OutputStream outputStream) throws Exception {
+		// Set the value of the element
+		providerBackend.setValue(path, parameter);
+
+		// Send response
+		outputStream.write("".getBytes(StandardCharsets.UTF_8));
+	}
+
 	/**
 	 * Process a BaSys invoke operation
 	 * 
 	 * @throws ProviderException
 	 */
-	@SuppressWarnings("unchecked")
 	public void processBaSysInvoke(String path, String serializedJSONValue, OutputStream outputStream) throws ProviderException {
 
 		try {
@@ -240,39 +310,55 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 			// Deserialize json body.
 			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
 
-			// If only a single parameter has been sent, pack it into an array so it can be
-			// casted safely
-			if (parameter instanceof Collection<?>) {
-				Collection<Object> list = (Collection<Object>) parameter;
-				Object[] parameterArray = new Object[list.size()];
-				int i = 0;
-				for (Object o : list) {
-					parameterArray[i] = o;
-					i++;
-				}
-				parameter = parameterArray;
-			}
-
-			if (!(parameter instanceof Object[])) {
-				Object[] parameterArray = new Object[1];
-				Object tmp = parameter;
-				parameterArray[0] = tmp;
-				parameter = parameterArray;
-			}
-
-			Object result = providerBackend.invokeOperation(path, (Object[]) parameter);
+			invokeOperation(path, parameter, outputStream);
 
-			// Serialize result as json string
-			String jsonString = serializer.serialize(result);
-
-			// Send response
-			outputStream.write(jsonString.getBytes(StandardCharsets.UTF_8));
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
 
+	/**
+	 * Process a BaSys invoke operation, reading the JSON parameters from a stream
+	 * 
+	 * @throws ProviderException
+	 */
+	public void processBaSysInvoke(String path, InputStream serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		try {
+			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
+			invokeOperation(path, parameter, outputStream);
 		} catch (Exception e) {
 			sendException(outputStream, e);
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private void invokeOperation(String path, Object parameter, OutputStream outputStream) throws Exception {
+		// If only a single parameter has been sent, pack it into an array so it can be
+		// casted safely
+		if (parameter instanceof Collection<?>) {
+			Collection<Object> list = (Collection<Object>) parameter;
+			Object[] parameterArray = new Object[list.size()];
+			int i = 0;
+			for (Object o : list) {
+				parameterArray[i] = o;
+				i++;
+			}
+			parameter = parameterArray;
+		}
+
+		if (!(parameter instanceof Object[])) {
+			Object[] parameterArray = new Object[1];
+			Object tmp = parameter;
+			parameterArray[0] = tmp;
+			parameter = parameterArray;
+		}
+
+		Object result = providerBackend.invokeOperation(path, (Object[]) parameter);
+
+		// Serialize the result to the response
+		sendResult(result, outputStream);
+	}
+
 	/**
 	 * Implement "Delete" operation. Deletes any resource under the given path.
 	 *
@@ -291,21 +377,43 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 			// Deserialize json body. If parameter is not ex
 			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
 
-			// Process delete request with or without argument
-			if (parameter == null) {
-				this.providerBackend.deleteValue(path);
-			} else {
-				this.providerBackend.deleteValue(path, parameter);
-			}
+			deleteValue(path, parameter, outputStream);
 
-			// Send response
-			outputStream.write("".getBytes(StandardCharsets.UTF_8));
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
 
+	/**
+	 * Implement "Delete" operation, reading the optional JSON parameter from a
+	 * stream. An empty stream deletes the resource under the given path.
+	 * 
+	 * @param path
+	 * @param serializedJSONValue
+	 * @param outputStream
+	 * @throws ProviderException
+	 */
+	public void processBaSysDelete(String path, InputStream serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		try {
+			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
+			deleteValue(path, parameter, outputStream);
 		} catch (Exception e) {
 			sendException(outputStream, e);
 		}
 	}
 
+	private void deleteValue(String path, Object parameter, OutputStream outputStream) throws Exception {
+		// Process delete request with or without argument
+		if (parameter == null) {
+			this.providerBackend.deleteValue(path);
+		} else {
+			this.providerBackend.deleteValue(path, parameter);
+		}
+
+		// Send response
+		outputStream.write("".getBytes(StandardCharsets.UTF_8));
+	}
+
 	/**
 	 * Creates a resource under the given path
 	 * 
@@ -320,15 +428,105 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 			// Deserialize json body.
 			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
 
-			providerBackend.createValue(path, parameter);
+			createValue(path, parameter, outputStream);
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
 
-			// Send response
-			outputStream.write("".getBytes(StandardCharsets.UTF_8));
+	/**
+	 * Creates a resource under the given path, reading the JSON value from a
+	 * stream
+	 * 
+	 * @param path
+	 * @param serializedJSONValue
+	 * @param outputStream
+	 * @throws ProviderException
+	 */
+	public void processBaSysCreate(String path, InputStream serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		try {
+			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
+			createValue(path, parameter, outputStream);
 		} catch (Exception e) {
 			sendException(outputStream, e);
 		}
 	}
 
+	private void createValue(String path, Object parameter, OutputStream outputStream) throws Exception {
+		providerBackend.createValue(path, parameter);
+
+		// Send response
+		outputStream.write("".getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Process a batch of requests, reading the serialized list of requests from a
+	 * stream. The response is a list that contains one entry per request. Each
+	 * entry either carries the result of the request as entity or the exception
+	 * the request failed with, using the format of {@link Result}.
+	 * 
+	 * @param path
+	 *            prefix of the paths of all requests of the batch
+	 * @param serializedJSONValue
+	 * @param outputStream
+	 * @throws ProviderException
+	 */
+	public void processBaSysBatch(String path, InputStream serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		try {
+			Object parameter = extractParameter(path, serializedJSONValue, outputStream);
+			List<VABBatchRequest> requests = createBatchRequests(path, parameter);
+
+			// Execute all requests, failing requests do not abort the batch
+			List<VABBatchResult> results = providerBackend.executeBatch(requests);
+
+			// Serialize the results to the response
+			sendResult(createBatchResponse(results), outputStream);
+		} catch (Exception e) {
+			sendException(outputStream, e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<VABBatchRequest> createBatchRequests(String path, Object parameter) throws MalformedRequestException {
+		if (!(parameter instanceof Collection<?>)) {
+			throw new MalformedRequestException("A batch has to be a list of requests");
+		}
+
+		String prefix = path == null ? "" : VABPathTools.stripSlashes(path);
+		List<VABBatchRequest> requests = new ArrayList<>();
+		for (Object entry : (Collection<Object>) parameter) {
+			if (!(entry instanceof Map<?, ?>)) {
+				throw new MalformedRequestException("Batch request entries have to be maps");
+			}
+			VABBatchRequest request = VABBatchRequest.createAsFacade((Map<String, Object>) entry);
+			if (!prefix.isEmpty()) {
+				String requestPath = VABPathTools.stripSlashes(request.getPath());
+				if (requestPath.startsWith("?")) {
+					request = request.withPath(prefix + requestPath);
+				} else {
+					request = request.withPath(VABPathTools.concatenatePaths(prefix, requestPath));
+				}
+			}
+			requests.add(request);
+		}
+		return requests;
+	}
+
+	private List<Map<String, Object>> createBatchResponse(List<VABBatchResult> results) {
+		List<Map<String, Object>> response = new ArrayList<>(results.size());
+		for (VABBatchResult result : results) {
+			if (result.isSuccess()) {
+				Map<String, Object> entry = new LinkedHashMap<>();
+				entry.put(Result.SUCCESS, true);
+				entry.put(Result.ENTITY, result.getValue());
+				response.add(entry);
+			} else {
+				response.add(new Result(result.getException()));
+			}
+		}
+		return response;
+	}
+
 	/**
 	 * Uploads a resource at given path
 	 * 
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.coder.json.provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * OutputStream that holds back a response until it is either complete or
+ * exceeds a given size. Small responses are only written to the wrapped stream
+ * after they have been serialized successfully, so a failure can still be
+ * answered with an error instead. Once the buffer overflows, the response is
+ * streamed and counts as committed.
+ */
+class ResponseBufferOutputStream extends OutputStream {
+	private final OutputStream out;
+	private final int maxSize;
+	private byte[] buffer;
+	private int count = 0;
+	private boolean committed = false;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param out
+	 *            the stream the response is written to
+	 * @param bufferSize
+	 *            maximum number of bytes that are held back
+	 */
+	public ResponseBufferOutputStream(OutputStream out, int bufferSize) {
+		this.out = out;
+		this.maxSize = bufferSize;
+		this.buffer = new byte[Math.min(bufferSize, 512)];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (committed) {
+			out.write(b);
+			return;
+		}
+		if (count == maxSize) {
+			commit();
+			out.write(b);
+			return;
+		}
+		ensureCapacity(count + 1);
+		buffer[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (committed) {
+			out.write(b, off, len);
+			return;
+		}
+		if (count + len > maxSize) {
+			commit();
+			out.write(b, off, len);
+			return;
+		}
+		ensureCapacity(count + len);
+		System.arraycopy(b, off, buffer, count, len);
+		count += len;
+	}
+
+	/**
+	 * Writes the held back bytes to the wrapped stream. All further bytes are
+	 * written through.
+	 */
+	public void commit() throws IOException {
+		if (committed) {
+			return;
+		}
+		committed = true;
+		out.write(buffer, 0, count);
+		buffer = null;
+	}
+
+	/**
+	 * Indicates if bytes have already been written to the wrapped stream
+	 */
+	public boolean isCommitted() {
+		return committed;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		// Flushing a held back response would commit it
+		if (committed) {
+			out.flush();
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > buffer.length) {
+			byte[] grown = new byte[Math.min(maxSize, Math.max(capacity, buffer.length * 2))];
+			System.arraycopy(buffer, 0, grown, 0, count);
+			buffer = grown;
+		}
+	}
+}
@@ -26,12 +26,20 @@ package org.eclipse.basyx.vab.coder.json.serialization;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Serializable;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Map;
@@ -44,13 +52,16 @@ import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Provides means for (de-)serialization of Primitives (int, double, string,
@@ -96,6 +107,12 @@ public class GSONTools implements Serializer {
 	 */
 	private boolean removeEmpty = false;
 
+	/**
+	 * Maximum nesting depth of objects and arrays accepted by stream
+	 * deserialization
+	 */
+	private int maxDepth = Integer.MAX_VALUE;
+
 	/**
 	 * Constructor
 	 */
@@ -121,45 +138,136 @@ public class GSONTools implements Serializer {
 		toolsFactory = newFactoryInstance;
 	}
 
+	/**
+	 * Sets the maximum nesting depth of objects and arrays accepted by
+	 * {@link #deserialize(InputStream)} and {@link #deserialize(Reader)}
+	 * 
+	 * @param maxDepth
+	 */
+	public void setMaxDepth(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	/**
+	 * Returns the maximum nesting depth accepted by stream deserialization
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
 	@Override
 	public Object deserialize(String str) {
 		JsonElement elem = parser.parse(str);
 		return deserializeJsonElement(elem);
 	}
 
+	/**
+	 * Deserializes UTF-8 encoded JSON read from the given stream. The maps and
+	 * collections are created directly while parsing without building an
+	 * intermediate JSON tree or String. The stream is not closed.
+	 * 
+	 * @param inputStream
+	 * @return
+	 * @throws IOException
+	 */
+	public Object deserialize(InputStream inputStream) throws IOException {
+		return deserialize(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Deserializes JSON read from the given reader. Behaves like
+	 * {@link #deserialize(String)}, i.e. an empty document results in
+	 * <i>null</i>. The reader is not closed.
+	 * 
+	 * @param reader
+	 * @return
+	 * @throws IOException
+	 */
+	public Object deserialize(Reader reader) throws IOException {
+		JsonReader jsonReader = new JsonReader(reader);
+		// Mirror the behaviour of JsonParser
+		jsonReader.setLenient(true);
+		try {
+			jsonReader.peek();
+		} catch (EOFException e) {
+			// Empty document
+			return null;
+		}
+
+		Object result = readElement(jsonReader, 0);
+		if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+			throw new JsonSyntaxException("Did not consume the entire document.");
+		}
+		return result;
+	}
+
 	@Override
 	public String serialize(Object obj) {
-		JsonElement elem = serializeObject(obj);
-		// Removing null value if the removeNull flag is on
-		if (removeNull) {
-			// Gson#toJson removes null automatically
-			Gson gson = new Gson();
-			return gson.toJson(elem);
-		} else {
-			return elem.toString();
+		StringWriter writer = new StringWriter();
+		try {
+			serialize(obj, writer);
+		} catch (IOException e) {
+			// StringWriter does not throw IOExceptions
+			throw new RuntimeException(e);
 		}
+		return writer.toString();
 	}
 
 	/**
-	 * Serialized an arbitrary object to a JsonElement
+	 * Serializes an arbitrary object and writes the resulting UTF-8 encoded JSON
+	 * directly to the given stream without building an intermediate JSON tree or
+	 * String. The stream is flushed, but not closed.
 	 * 
 	 * @param obj
-	 * @return
+	 * @param outputStream
+	 * @throws IOException
+	 */
+	@Override
+	public void serialize(Object obj, OutputStream outputStream) throws IOException {
+		Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+		serialize(obj, writer);
+	}
+
+	/**
+	 * Serializes an arbitrary object and writes the resulting JSON directly to the
+	 * given writer. The writer is flushed, but not closed.
+	 * 
+	 * @param obj
+	 * @param writer
+	 * @throws IOException
+	 */
+	public void serialize(Object obj, Writer writer) throws IOException {
+		JsonWriter jsonWriter = new JsonWriter(writer);
+		// Mirror the settings of Gson#toJson (removeNull) and JsonElement#toString
+		jsonWriter.setLenient(true);
+		jsonWriter.setHtmlSafe(removeNull);
+		jsonWriter.setSerializeNulls(!removeNull);
+		writeObject(obj, jsonWriter);
+		jsonWriter.flush();
+	}
+
+	/**
+	 * Writes an arbitrary object to a JsonWriter
+	 * 
+	 * @param obj
+	 * @param writer
+	 * @throws IOException
 	 */
 	@SuppressWarnings("unchecked")
-	private JsonElement serializeObject(Object obj) {
+	private void writeObject(Object obj, JsonWriter writer) throws IOException {
 		if (obj == null) {
-			return JsonNull.INSTANCE;
+			writer.nullValue();
 		} else if (obj.getClass().isPrimitive() || isWrapperType(obj.getClass()) || obj instanceof String || obj instanceof Number) {
-			return serializePrimitive(obj);
+			writePrimitive(obj, writer);
 		} else if (obj instanceof Map<?, ?>) {
-			return serializeMap((Map<String, Object>) obj);
+			writeMap((Map<String, Object>) obj, writer);
 		} else if (obj instanceof Collection<?>) {
-			return serializeCollection((Collection<Object>) obj);
+			writeCollection((Collection<Object>) obj, writer);
 		} else if (isFunction(obj)) {
-			return serializeFunction(obj);
+			writeFunction(obj, writer);
+		} else {
+			throw new RuntimeException("Unknown element!");
 		}
-		throw new RuntimeException("Unknown element!");
 	}
 
 	/**
@@ -179,6 +287,95 @@ public class GSONTools implements Serializer {
 		return null;
 	}
 
+	/**
+	 * Reads the next element from a JsonReader
+	 * 
+	 * @param reader
+	 * @param depth
+	 *            nesting depth of the element
+	 * @return
+	 * @throws IOException
+	 */
+	private Object readElement(JsonReader reader, int depth) throws IOException {
+		switch (reader.peek()) {
+		case BEGIN_OBJECT:
+			return readObject(reader, depth + 1);
+		case BEGIN_ARRAY:
+			return readArray(reader, depth + 1);
+		case NUMBER:
+			return parseNumber(reader.nextString());
+		case BOOLEAN:
+			return reader.nextBoolean();
+		case NULL:
+			reader.nextNull();
+			return null;
+		default:
+			return reader.nextString();
+		}
+	}
+
+	/**
+	 * Reads a JSON object to either a map or an operation
+	 * 
+	 * @param reader
+	 * @param depth
+	 * @return
+	 * @throws IOException
+	 */
+	private Object readObject(JsonReader reader, int depth) throws IOException {
+		checkDepth(depth);
+		Map<String, Object> map = toolsFactory.createMap();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String key = reader.nextName();
+			map.put(key, readElement(reader, depth));
+		}
+		reader.endObject();
+
+		if (map.containsKey(BASYXFUNCTIONTYPE)) {
+			String functionType = String.valueOf(map.get(BASYXFUNCTIONTYPE));
+			if (functionType.equals(OPERATION)) {
+				return BASYXINVOCABLE;
+			} else if (functionType.equals(LAMBDA)) {
+				return deserializeObjectFromString((String) map.get(BASYXFUNCTIONVALUE));
+			} else {
+				throw new RuntimeException("Unknown function type " + functionType + "!");
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Reads a JSON array to a Collection, preserving the order of the array
+	 * 
+	 * @param reader
+	 * @param depth
+	 * @return
+	 * @throws IOException
+	 */
+	private Collection<Object> readArray(JsonReader reader, int depth) throws IOException {
+		checkDepth(depth);
+		Collection<Object> list = toolsFactory.createCollection();
+		reader.beginArray();
+		while (reader.hasNext()) {
+			list.add(readElement(reader, depth));
+		}
+		reader.endArray();
+		return list;
+	}
+
+	/**
+	 * Throws an exception if the given nesting depth exceeds the configured
+	 * maximum depth
+	 * 
+	 * @param depth
+	 */
+	private void checkDepth(int depth) {
+		if (depth > maxDepth) {
+			throw new JsonParseException("Maximum nesting depth of " + maxDepth + " exceeded");
+		}
+	}
+
 	/**
 	 * Indicates if a class is a wrapper type, e.g. <i>Integer</i> for <i>int</i>
 	 * 
@@ -198,23 +395,7 @@ public class GSONTools implements Serializer {
 	 */
 	private Object deserializeJsonPrimitive(JsonPrimitive primitive) {
 		if (primitive.isNumber()) {
-			if (primitive.getAsString().contains(".")) {
-				return primitive.getAsDouble();
-			} else {
-				// Get value as Big integer
-				BigInteger tmp = primitive.getAsBigInteger();
-				if (BigInteger.valueOf(Integer.MAX_VALUE).compareTo(tmp) >= 0 && BigInteger.valueOf(Integer.MIN_VALUE).compareTo(tmp) <= 0) {
-					// convert to int
-					return primitive.getAsInt();
-				} else if (BigInteger.valueOf(Long.MAX_VALUE).compareTo(tmp) >= 0 && BigInteger.valueOf(Long.MIN_VALUE).compareTo(tmp) <= 0) {
-					// convert to long
-					return primitive.getAsLong();
-				} else {
-					// for types NonNegativeInteger, NonPositiveInteger, NegativeInteger,
-					// PositiveInteger
-					return tmp;
-				}
-			}
+			return parseNumber(primitive.getAsString());
 		} else if (primitive.isBoolean()) {
 			return primitive.getAsBoolean();
 		} else {
@@ -223,18 +404,45 @@ public class GSONTools implements Serializer {
 	}
 
 	/**
-	 * Serializes either string, number or boolean to a JsonPrimitive
+	 * Parses a JSON number literal to either double, int, long or BigInteger
 	 * 
-	 * @param primitive
+	 * @param number
 	 * @return
 	 */
-	private JsonPrimitive serializePrimitive(Object primitive) {
+	private Object parseNumber(String number) {
+		if (number.contains(".")) {
+			return Double.parseDouble(number);
+		} else {
+			// Get value as Big integer
+			BigInteger tmp = new BigInteger(number);
+			if (BigInteger.valueOf(Integer.MAX_VALUE).compareTo(tmp) >= 0 && BigInteger.valueOf(Integer.MIN_VALUE).compareTo(tmp) <= 0) {
+				// convert to int
+				return tmp.intValue();
+			} else if (BigInteger.valueOf(Long.MAX_VALUE).compareTo(tmp) >= 0 && BigInteger.valueOf(Long.MIN_VALUE).compareTo(tmp) <= 0) {
+				// convert to long
+				return tmp.longValue();
+			} else {
+				// for types NonNegativeInteger, NonPositiveInteger, NegativeInteger,
+				// PositiveInteger
+				return tmp;
+			}
+		}
+	}
+
+	/**
+	 * Writes either string, number or boolean to a JsonWriter
+	 * 
+	 * @param primitive
+	 * @param writer
+	 * @throws IOException
+	 */
+	private void writePrimitive(Object primitive, JsonWriter writer) throws IOException {
 		if (primitive instanceof Number) {
-			return new JsonPrimitive((Number) primitive);
+			writer.value((Number) primitive);
 		} else if (primitive instanceof Boolean) {
-			return new JsonPrimitive((Boolean) primitive);
+			writer.value((Boolean) primitive);
 		} else {
-			return new JsonPrimitive((String) primitive);
+			writer.value((String) primitive);
 		}
 	}
 
@@ -275,21 +483,23 @@ public class GSONTools implements Serializer {
 	}
 
 	/**
-	 * Serializes a Map to a JsonObject
+	 * Writes a Map as JSON object to a JsonWriter
 	 * 
 	 * @param map
-	 * @return
+	 * @param writer
+	 * @throws IOException
 	 */
-	private JsonObject serializeMap(Map<String, Object> map) {
-		JsonObject obj = new JsonObject();
+	private void writeMap(Map<String, Object> map, JsonWriter writer) throws IOException {
+		writer.beginObject();
 		for (Entry<String, Object> entry : map.entrySet()) {
 			Object value = entry.getValue();
 			// Remove empty list if removeEmpty flag is on
 			if (!removeEmpty || !(value instanceof Collection<?> && ((Collection<?>) value).isEmpty())) {
-				obj.add(entry.getKey(), serializeObject(value));
+				writer.name(entry.getKey());
+				writeObject(value, writer);
 			}
 		}
-		return obj;
+		writer.endObject();
 	}
 
 	/**
@@ -320,28 +530,32 @@ public class GSONTools implements Serializer {
 	}
 
 	/**
-	 * Serializes a list to a JsonArray and adds index where appropriate
+	 * Writes a collection as JSON array to a JsonWriter
 	 * 
-	 * @param list
-	 * @return
+	 * @param collection
+	 * @param writer
+	 * @throws IOException
 	 */
-	private JsonArray serializeCollection(Collection<Object> collection) {
-		JsonArray array = new JsonArray();
-		collection.stream().map(this::serializeObject).forEach(array::add);
-		return array;
+	private void writeCollection(Collection<Object> collection, JsonWriter writer) throws IOException {
+		writer.beginArray();
+		for (Object o : collection) {
+			writeObject(o, writer);
+		}
+		writer.endArray();
 	}
 
 	/**
-	 * Serializes a function if possible
+	 * Writes a function if possible
 	 * 
 	 * @param function
-	 * @return
+	 * @param writer
+	 * @throws IOException
 	 */
-	private JsonObject serializeFunction(Object function) {
+	private void writeFunction(Object function, JsonWriter writer) throws IOException {
 		if (function instanceof Serializable) {
-			return serializeSerializableOperation((Serializable) function);
+			writeSerializableOperation((Serializable) function, writer);
 		} else {
-			return serializeNotSerializableOperation(function);
+			writeNotSerializableOperation(function, writer);
 		}
 	}
 
@@ -378,30 +592,29 @@ public class GSONTools implements Serializer {
 	}
 
 	/**
-	 * Serialize an operation descriptor
+	 * Write an operation descriptor
 	 */
-	private JsonObject serializeSerializableOperation(Serializable value) {
-		JsonObject target = new JsonObject();
+	private void writeSerializableOperation(Serializable value, JsonWriter writer) throws IOException {
+		writer.beginObject();
 		// Serializable functions will be serialized.
-		target.add(BASYXFUNCTIONTYPE, new JsonPrimitive(LAMBDA));
+		writer.name(BASYXFUNCTIONTYPE).value(LAMBDA);
 
 		String serialized = serializeObjectToString(value);
-		target.add(BASYXFUNCTIONVALUE, new JsonPrimitive(serialized));
-
-		return target;
+		writer.name(BASYXFUNCTIONVALUE).value(serialized);
+		writer.endObject();
 	}
 
 	/**
-	 * Serializes a NonSerializableOperation to a String indicating that fact
+	 * Writes a NonSerializableOperation as object indicating that fact
 	 * 
 	 * @param function
-	 * @return
+	 * @param writer
+	 * @throws IOException
 	 */
-	private JsonObject serializeNotSerializableOperation(Object function) {
-		JsonObject target = new JsonObject();
+	private void writeNotSerializableOperation(Object function, JsonWriter writer) throws IOException {
+		writer.beginObject();
 		// Not serializable functions will be not be serialized.
-		target.add(BASYXFUNCTIONTYPE, new JsonPrimitive(OPERATION));
-
-		return target;
+		writer.name(BASYXFUNCTIONTYPE).value(OPERATION);
+		writer.endObject();
 	}
 }
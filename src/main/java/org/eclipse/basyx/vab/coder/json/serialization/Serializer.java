@@ -24,6 +24,10 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.coder.json.serialization;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * A BaSys serializer
  * 
@@ -36,6 +40,15 @@ public interface Serializer {
 	 */
 	public String serialize(Object value);
 
+	/**
+	 * Serialize a primitive or complex value into JSON and write it UTF-8 encoded
+	 * to the given stream. Implementations should override this to avoid
+	 * materializing the whole JSON string.
+	 */
+	public default void serialize(Object value, OutputStream outputStream) throws IOException {
+		outputStream.write(serialize(value).getBytes(StandardCharsets.UTF_8));
+	}
+
 	/**
 	 * Deserialize a primitive or complex value from JSON object
 	 */
@@ -24,8 +24,8 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.gateway;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
@@ -41,7 +41,7 @@ import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
  */
 public class ConnectorProviderMapper implements IConnectorFactory {
 
-	private Map<String, IConnectorFactory> providerMap = new LinkedHashMap<>();
+	private Map<String, IConnectorFactory> providerMap = new ConcurrentHashMap<>();
 
 	/**
 	 * 
@@ -70,8 +70,15 @@ public class ConnectorProviderMapper implements IConnectorFactory {
 	 * @return
 	 */
 	private String getPrefix(String addr) {
-		String prefix = addr.split("//")[0];
-		return prefix.replaceFirst(":", "");
+		int end = addr.indexOf("//");
+		String prefix = end < 0 ? addr : addr.substring(0, end);
+
+		// Remove the colon separating the protocol
+		int colon = prefix.indexOf(':');
+		if (colon < 0) {
+			return prefix;
+		}
+		return prefix.substring(0, colon) + prefix.substring(colon + 1);
 	}
 
 }
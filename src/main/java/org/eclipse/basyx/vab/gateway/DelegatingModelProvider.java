@@ -24,65 +24,199 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.gateway;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
-import org.eclipse.basyx.vab.factory.java.ModelProxyFactory;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 
 /**
  * IModelProvider that delegates all calls to a Connector to enable gateway
- * functionality
+ * functionality.<br>
+ * The connectors are resolved once per endpoint and reused for all following
+ * requests. Optionally, the number of concurrent requests per endpoint can be
+ * limited. Further requests are queued in order of their arrival.
  * 
  * @author schnicke
  *
  */
 public class DelegatingModelProvider implements IModelProvider {
 
+	/**
+	 * Maximum number of endpoints whose connectors are kept
+	 */
+	private static final int MAXIMUM_BACKENDS = 10000;
+
 	// Provider that provides the connectors
-	private ModelProxyFactory proxyFactory;
+	private IConnectorFactory connectorFactory;
+
+	// Resolved backends by their endpoint
+	private final Map<String, Backend> backends = new ConcurrentHashMap<>();
+
+	private volatile int maximumConcurrentRequests = 0;
+	private volatile long queueTimeout = 0;
 
 	public DelegatingModelProvider(IConnectorFactory connectorFactory) {
 		super();
-		this.proxyFactory = new ModelProxyFactory(connectorFactory);
+		this.connectorFactory = connectorFactory;
+	}
+
+	/**
+	 * Limits the number of concurrent requests per endpoint. Requests exceeding
+	 * the limit wait until a running request has finished.
+	 * 
+	 * @param maximumConcurrentRequests
+	 *            maximum number of concurrent requests per endpoint; 0 disables
+	 *            the limit
+	 */
+	public void setMaximumConcurrentRequests(int maximumConcurrentRequests) {
+		if (maximumConcurrentRequests < 0) {
+			throw new IllegalArgumentException("The maximum number of concurrent requests must not be negative, but is " + maximumConcurrentRequests);
+		}
+		this.maximumConcurrentRequests = maximumConcurrentRequests;
+		backends.clear();
+	}
+
+	/**
+	 * Sets the time a request waits for an endpoint whose concurrency limit is
+	 * reached
+	 * 
+	 * @param queueTimeout
+	 *            time in milliseconds; 0 waits infinitely
+	 */
+	public void setQueueTimeout(long queueTimeout) {
+		if (queueTimeout < 0) {
+			throw new IllegalArgumentException("The queue timeout must not be negative, but is " + queueTimeout);
+		}
+		this.queueTimeout = queueTimeout;
 	}
 
 	@Override
 	public Object getValue(String path) throws ProviderException {
-		return getProvider(path).getValue("");
+		return delegate(path, (p, subPath) -> p.getValue(subPath));
 	}
 
 	@Override
 	public void setValue(String path, Object newValue) throws ProviderException {
-		getProvider(path).setValue("", newValue);
+		delegate(path, (p, subPath) -> {
+			p.setValue(subPath, newValue);
+			return null;
+		});
 	}
 
 	@Override
 	public void createValue(String path, Object newEntity) throws ProviderException {
-		getProvider(path).createValue("", newEntity);
+		delegate(path, (p, subPath) -> {
+			p.createValue(subPath, newEntity);
+			return null;
+		});
 	}
 
 	@Override
 	public void deleteValue(String path) throws ProviderException {
-		getProvider(path).deleteValue("");
+		delegate(path, (p, subPath) -> {
+			p.deleteValue(subPath);
+			return null;
+		});
 	}
 
 	@Override
 	public void deleteValue(String path, Object obj) throws ProviderException {
-		getProvider(path).deleteValue("", obj);
+		delegate(path, (p, subPath) -> {
+			p.deleteValue(subPath, obj);
+			return null;
+		});
 	}
 
 	@Override
 	public Object invokeOperation(String path, Object... parameter) throws ProviderException {
-		return getProvider(path).invokeOperation("", parameter);
+		return delegate(path, (p, subPath) -> p.invokeOperation(subPath, parameter));
 	}
 
 	/**
-	 * Returns the appropriate connector based on address
+	 * Executes a request on the connector of the first endpoint in the path. The
+	 * remaining path is passed to the connector.
+	 */
+	private Object delegate(String path, Request request) throws ProviderException {
+		String endpoint = VABPathTools.getFirstEndpoint(path);
+		String subPath = VABPathTools.stripSlashes(VABPathTools.removeFirstEndpoint(path));
+		Backend backend = getBackend(endpoint);
+
+		backend.acquire(endpoint);
+		try {
+			return request.execute(backend.connector, subPath);
+		} finally {
+			backend.release();
+		}
+	}
+
+	/**
+	 * Returns the backend of the given endpoint and resolves it, if necessary
 	 * 
-	 * @param path
+	 * @param endpoint
 	 * @return
 	 */
-	private IModelProvider getProvider(String path) {
-		return proxyFactory.createProxy(path);
+	private Backend getBackend(String endpoint) {
+		Backend backend = backends.get(endpoint);
+		if (backend != null) {
+			return backend;
+		}
+
+		// Resolved backends are cheap to recreate, so the cache is simply reset if
+		// it grows too large
+		if (backends.size() >= MAXIMUM_BACKENDS) {
+			backends.clear();
+		}
+		return backends.computeIfAbsent(endpoint, e -> new Backend(connectorFactory.create(e), maximumConcurrentRequests));
+	}
+
+	/**
+	 * Request on a connector
+	 */
+	private interface Request {
+		Object execute(IModelProvider connector, String path) throws ProviderException;
+	}
+
+	/**
+	 * Resolved connector of an endpoint and its concurrency limit
+	 */
+	private class Backend {
+		private final IModelProvider connector;
+
+		// Fair, so that waiting requests are served in order of their arrival
+		private final Semaphore permits;
+
+		private Backend(IModelProvider connector, int maximumConcurrentRequests) {
+			this.connector = connector;
+			this.permits = maximumConcurrentRequests > 0 ? new Semaphore(maximumConcurrentRequests, true) : null;
+		}
+
+		private void acquire(String endpoint) throws ProviderException {
+			if (permits == null) {
+				return;
+			}
+
+			try {
+				long timeout = queueTimeout;
+				if (timeout <= 0) {
+					permits.acquire();
+				} else if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+					throw new ProviderException("Request to " + endpoint + " timed out after waiting " + timeout + "ms for a free connection");
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ProviderException(e);
+			}
+		}
+
+		private void release() {
+			if (permits != null) {
+				permits.release();
+			}
+		}
 	}
 }
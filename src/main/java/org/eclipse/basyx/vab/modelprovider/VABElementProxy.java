@@ -24,18 +24,27 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.modelprovider;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IAsyncModelProvider;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchRequest;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Proxy class for a VAB element
+ * Proxy class for a VAB element. Besides the blocking calls, all calls are
+ * available as asynchronous variants. They are sent without blocking, if the
+ * provider implements {@link IAsyncModelProvider}.
  * 
  * @author kuhn
  *
  */
-public class VABElementProxy implements IModelProvider {
+public class VABElementProxy implements IModelProvider, IAsyncModelProvider {
 
 	private static Logger logger = LoggerFactory.getLogger(VABElementProxy.class);
 
@@ -49,6 +58,11 @@ public class VABElementProxy implements IModelProvider {
 	 */
 	protected IModelProvider provider = null;
 
+	/**
+	 * Asynchronous view of the provider
+	 */
+	private IAsyncModelProvider asyncProvider = null;
+
 	/**
 	 * Creates the proxy based on a specific model provider. E.g, if the element
 	 * resides on <i>basyx://127.0.0.1</i> in the path <i>a/b/c</i>, <i>provider</i>
@@ -171,6 +185,82 @@ public class VABElementProxy implements IModelProvider {
 		}
 	}
 
+	/**
+	 * Execute a batch of requests relative to this element
+	 */
+	@Override
+	public List<VABBatchResult> executeBatch(List<VABBatchRequest> requests) throws ProviderException {
+		List<VABBatchRequest> absoluteRequests = new ArrayList<>(requests.size());
+		for (VABBatchRequest request : requests) {
+			absoluteRequests.add(request.withPath(constructPath(request.getPath())));
+		}
+
+		// Execute batch on server
+		try {
+			return provider.executeBatch(absoluteRequests);
+		} catch (ProviderException e) {
+			throw e;
+		} catch (Exception e) {
+			logger.debug("Exception in executeBatch", e);
+			throw new ProviderException(e);
+		}
+	}
+
+	/**
+	 * Read VAB element value without blocking
+	 */
+	@Override
+	public CompletableFuture<Object> getValueAsync(String elementPath) {
+		return getAsyncProvider().getValueAsync(constructPath(elementPath));
+	}
+
+	/**
+	 * Update VAB element value without blocking
+	 */
+	@Override
+	public CompletableFuture<Void> setValueAsync(String elementPath, Object newValue) {
+		return getAsyncProvider().setValueAsync(constructPath(elementPath), newValue);
+	}
+
+	/**
+	 * Add element on server without blocking
+	 */
+	@Override
+	public CompletableFuture<Void> createValueAsync(String elementPath, Object newValue) {
+		return getAsyncProvider().createValueAsync(constructPath(elementPath), newValue);
+	}
+
+	/**
+	 * Delete element from server without blocking
+	 */
+	@Override
+	public CompletableFuture<Void> deleteValueAsync(String elementPath) {
+		return getAsyncProvider().deleteValueAsync(constructPath(elementPath));
+	}
+
+	/**
+	 * Delete element from server without blocking
+	 */
+	@Override
+	public CompletableFuture<Void> deleteValueAsync(String elementPath, Object value) {
+		return getAsyncProvider().deleteValueAsync(constructPath(elementPath), value);
+	}
+
+	/**
+	 * Invoke element as an operation without blocking
+	 */
+	@Override
+	public CompletableFuture<Object> invokeOperationAsync(String elementPath, Object... parameter) {
+		return getAsyncProvider().invokeOperationAsync(constructPath(elementPath), parameter);
+	}
+
+	private IAsyncModelProvider getAsyncProvider() {
+		if (asyncProvider == null) {
+			asyncProvider = IAsyncModelProvider.of(provider);
+		}
+		return asyncProvider;
+	}
+
 	/**
 	 * Add path to VAB element address. Make sure that resulting path contains the
 	 * proper number of slashes ("/")
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+
+/**
+ * Immutable, pre-tokenized VAB path. A path is parsed once, e.g. when a
+ * request enters a provider, and then handed through the provider stack
+ * without splitting and rebuilding its string again. Sub-paths are views on
+ * the same segment array and therefore cheap to create. <br>
+ * <br>
+ * Empty segments are dropped while parsing, i.e. <i>/a//b/</i> results in the
+ * segments <i>[a, b]</i> like {@link VABPathTools#splitPath(String)}. The
+ * string representation of a path never contains leading or trailing slashes.
+ */
+public final class VABPath {
+	public static final VABPath EMPTY = new VABPath(new String[0], 0, 0);
+
+	/**
+	 * Segments occurring in many requests (e.g. "aas", "submodels", "value") are
+	 * interned, so that equal segments share one instance. The pool is bounded to
+	 * not grow with arbitrary identifiers.
+	 */
+	private static final int MAX_INTERNED_SEGMENTS = 4096;
+	private static final Map<String, String> INTERNED_SEGMENTS = new ConcurrentHashMap<>();
+
+	private final String[] segments;
+	private final int offset;
+	private final int length;
+
+	// Lazily built string representation; racy single-check is safe, since
+	// Strings are immutable
+	private String string;
+
+	private VABPath(String[] segments, int offset, int length) {
+		this.segments = segments;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * Parses a path, e.g. <i>/a/b/c</i>
+	 * 
+	 * @param path
+	 * @return the parsed path
+	 * @throws MalformedRequestException
+	 *             if the path is null
+	 */
+	public static VABPath parse(String path) throws MalformedRequestException {
+		VABPathTools.checkPathForNull(path);
+
+		List<String> segments = new ArrayList<>();
+		int start = 0;
+		int pathLength = path.length();
+		for (int i = 0; i <= pathLength; i++) {
+			if (i == pathLength || path.charAt(i) == '/') {
+				if (i > start) {
+					segments.add(intern(path.substring(start, i)));
+				}
+				start = i + 1;
+			}
+		}
+
+		if (segments.isEmpty()) {
+			return EMPTY;
+		}
+
+		VABPath parsed = new VABPath(segments.toArray(new String[segments.size()]), 0, segments.size());
+		if (path.length() > 0 && path.charAt(0) != '/' && path.charAt(path.length() - 1) != '/' && path.indexOf("//") < 0) {
+			// The passed path already is the normalized representation
+			parsed.string = path;
+		}
+		return parsed;
+	}
+
+	/**
+	 * Creates a path from single segments. The segments must not contain "/".
+	 * 
+	 * @param segments
+	 * @return the path
+	 */
+	public static VABPath of(String... segments) {
+		if (segments.length == 0) {
+			return EMPTY;
+		}
+		return new VABPath(segments.clone(), 0, segments.length);
+	}
+
+	private static String intern(String segment) {
+		String interned = INTERNED_SEGMENTS.get(segment);
+		if (interned != null) {
+			return interned;
+		}
+
+		if (INTERNED_SEGMENTS.size() < MAX_INTERNED_SEGMENTS) {
+			interned = INTERNED_SEGMENTS.putIfAbsent(segment, segment);
+			return interned == null ? segment : interned;
+		}
+		return segment;
+	}
+
+	/**
+	 * Returns the number of segments
+	 */
+	public int size() {
+		return length;
+	}
+
+	/**
+	 * Check, if the path does not contain any segments
+	 */
+	public boolean isEmpty() {
+		return length == 0;
+	}
+
+	/**
+	 * Returns the segment at the given index
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public String get(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for path '" + this + "'");
+		}
+		return segments[offset + index];
+	}
+
+	/**
+	 * Returns the first segment or "" if the path is empty
+	 */
+	public String getFirst() {
+		return length > 0 ? segments[offset] : "";
+	}
+
+	/**
+	 * Returns the last segment or "" if the path is empty
+	 */
+	public String getLast() {
+		return length > 0 ? segments[offset + length - 1] : "";
+	}
+
+	/**
+	 * Checks if the first segment equals the given segment
+	 * 
+	 * @param segment
+	 * @return
+	 */
+	public boolean startsWith(String segment) {
+		return length > 0 && segments[offset].equals(segment);
+	}
+
+	/**
+	 * Checks if the path starts with all segments of the given path
+	 * 
+	 * @param prefix
+	 * @return
+	 */
+	public boolean startsWith(VABPath prefix) {
+		if (prefix.length > length) {
+			return false;
+		}
+
+		for (int i = 0; i < prefix.length; i++) {
+			if (!segments[offset + i].equals(prefix.segments[prefix.offset + i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the path without its first <i>from</i> segments, e.g. skipping 2
+	 * segments of <i>a/b/c</i> results in <i>c</i>
+	 * 
+	 * @param from
+	 * @return
+	 */
+	public VABPath subPath(int from) {
+		return subPath(from, length);
+	}
+
+	/**
+	 * Returns the segments [from, to) of this path
+	 * 
+	 * @param from
+	 *            inclusive start index
+	 * @param to
+	 *            exclusive end index
+	 * @return
+	 */
+	public VABPath subPath(int from, int to) {
+		if (from >= to || from >= length) {
+			return EMPTY;
+		}
+		if (from == 0 && to >= length) {
+			return this;
+		}
+		return new VABPath(segments, offset + from, Math.min(to, length) - from);
+	}
+
+	/**
+	 * Returns the path without its last segment
+	 */
+	public VABPath getParent() {
+		return subPath(0, length - 1);
+	}
+
+	/**
+	 * Returns a new path with the given segment appended
+	 * 
+	 * @param segment
+	 * @return
+	 */
+	public VABPath append(String segment) {
+		String[] appended = Arrays.copyOfRange(segments, offset, offset + length + 1);
+		appended[length] = segment;
+		return new VABPath(appended, 0, appended.length);
+	}
+
+	/**
+	 * Returns a copy of the segments of this path
+	 */
+	public String[] toArray() {
+		return Arrays.copyOfRange(segments, offset, offset + length);
+	}
+
+	@Override
+	public String toString() {
+		String result = string;
+		if (result == null) {
+			result = String.join(VABPathTools.SEPERATOR, Arrays.asList(segments).subList(offset, offset + length));
+			string = result;
+		}
+		return result;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = offset; i < offset + length; i++) {
+			result = 31 * result + segments[i].hashCode();
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof VABPath)) {
+			return false;
+		}
+
+		VABPath other = (VABPath) obj;
+		return length == other.length && startsWith(other);
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider;
+
+import java.util.List;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVABPathModelProvider;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchRequest;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchResult;
+
+/**
+ * Adapter that makes any {@link IModelProvider} accept pre-parsed
+ * {@link VABPath}s by forwarding their string representation. Used for
+ * providers that do not dispatch on path segments themselves, e.g. connectors
+ * to remote providers.
+ */
+public class VABPathModelProviderAdapter implements IVABPathModelProvider {
+	private final IModelProvider provider;
+
+	public VABPathModelProviderAdapter(IModelProvider provider) {
+		this.provider = provider;
+	}
+
+	/**
+	 * Returns a provider that accepts pre-parsed paths. If the given provider
+	 * already does, it is returned as is.
+	 * 
+	 * @param provider
+	 * @return
+	 */
+	public static IVABPathModelProvider of(IModelProvider provider) {
+		if (provider instanceof IVABPathModelProvider) {
+			return (IVABPathModelProvider) provider;
+		}
+		return new VABPathModelProviderAdapter(provider);
+	}
+
+	/**
+	 * Returns the wrapped provider
+	 */
+	public IModelProvider getProvider() {
+		return provider;
+	}
+
+	@Override
+	public Object getValue(VABPath path) throws ProviderException {
+		return provider.getValue(path.toString());
+	}
+
+	@Override
+	public void setValue(VABPath path, Object newValue) throws ProviderException {
+		provider.setValue(path.toString(), newValue);
+	}
+
+	@Override
+	public void createValue(VABPath path, Object newEntity) throws ProviderException {
+		provider.createValue(path.toString(), newEntity);
+	}
+
+	@Override
+	public void deleteValue(VABPath path) throws ProviderException {
+		provider.deleteValue(path.toString());
+	}
+
+	@Override
+	public void deleteValue(VABPath path, Object obj) throws ProviderException {
+		provider.deleteValue(path.toString(), obj);
+	}
+
+	@Override
+	public Object invokeOperation(VABPath path, Object... parameter) throws ProviderException {
+		return provider.invokeOperation(path.toString(), parameter);
+	}
+
+	@Override
+	public Object getValue(String path) throws ProviderException {
+		return provider.getValue(path);
+	}
+
+	@Override
+	public void setValue(String path, Object newValue) throws ProviderException {
+		provider.setValue(path, newValue);
+	}
+
+	@Override
+	public void createValue(String path, Object newEntity) throws ProviderException {
+		provider.createValue(path, newEntity);
+	}
+
+	@Override
+	public void deleteValue(String path) throws ProviderException {
+		provider.deleteValue(path);
+	}
+
+	@Override
+	public void deleteValue(String path, Object obj) throws ProviderException {
+		provider.deleteValue(path, obj);
+	}
+
+	@Override
+	public Object invokeOperation(String path, Object... parameter) throws ProviderException {
+		return provider.invokeOperation(path, parameter);
+	}
+
+	@Override
+	public List<VABBatchResult> executeBatch(List<VABBatchRequest> requests) throws ProviderException {
+		return provider.executeBatch(requests);
+	}
+}
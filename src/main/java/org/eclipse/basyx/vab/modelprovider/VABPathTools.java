@@ -49,14 +49,16 @@ public class VABPathTools {
 	 * @return
 	 */
 	public static String stripSlashes(String path) {
-		while (path.startsWith("/")) {
-			path = path.substring(1);
+		int start = 0;
+		int end = path.length();
+		while (start < end && path.charAt(start) == '/') {
+			start++;
 		}
 
-		while (path.endsWith("/")) {
-			path = path.substring(0, path.length() - 1);
+		while (end > start && path.charAt(end - 1) == '/') {
+			end--;
 		}
-		return path;
+		return path.substring(start, end);
 	}
 
 	/**
@@ -306,11 +308,14 @@ public class VABPathTools {
 			return null;
 		}
 
-		if (isEmptyPath(fullPath) || !fullPath.contains("//")) {
+		int protocolEnd = fullPath.indexOf("//");
+		if (isEmptyPath(fullPath) || protocolEnd < 0) {
 			return "";
 		} else {
-			String[] splitted = fullPath.split("//");
-			return splitted[0] + "//" + splitted[1];
+			// The endpoint ends at the next double slash, which separates it from the
+			// remaining path
+			int endpointEnd = fullPath.indexOf("//", protocolEnd + 2);
+			return endpointEnd < 0 ? fullPath : fullPath.substring(0, endpointEnd);
 		}
 	}
 
@@ -334,9 +339,10 @@ public class VABPathTools {
 		} else if (!fullPath.contains("//")) {
 			return fullPath;
 		} else {
-			String firstEndpoint = fullPath.replaceFirst(getFirstEndpoint(fullPath), "");
+			// The first endpoint is always a prefix of the full path
+			String firstEndpoint = fullPath.substring(getFirstEndpoint(fullPath).length());
 			if (firstEndpoint.startsWith("//")) {
-				firstEndpoint = firstEndpoint.replaceFirst("//", "");
+				firstEndpoint = firstEndpoint.substring(2);
 			}
 			return firstEndpoint;
 		}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.api;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.basyx.vab.modelprovider.async.AsyncModelProviderAdapter;
+
+/**
+ * Asynchronous variant of {@link IModelProvider}. Instead of blocking the
+ * calling thread until the request is answered, each call immediately returns a
+ * {@link CompletableFuture}. The future is completed with the result, or
+ * completed exceptionally with the
+ * {@link org.eclipse.basyx.vab.exception.provider.ProviderException} that the
+ * synchronous call would have thrown. <br>
+ * <br>
+ * Use {@link #of(IModelProvider)} to get an asynchronous view of any
+ * IModelProvider and
+ * {@link org.eclipse.basyx.vab.modelprovider.async.SyncModelProviderAdapter} to
+ * use an IAsyncModelProvider where an IModelProvider is expected.
+ */
+public interface IAsyncModelProvider {
+
+	/**
+	 * Gets a value stored in a given path
+	 * 
+	 * @param path
+	 *            Path to the requested value
+	 * @return future for the value. Object type is assumed to be [Integer | ... |
+	 *         Collection]
+	 */
+	public CompletableFuture<Object> getValueAsync(String path);
+
+	/**
+	 * Sets or overrides existing value in a given path
+	 * 
+	 * @param path
+	 *            Path to the requested value
+	 * @param newValue
+	 *            Updated value
+	 * @return future that is completed when the value has been set
+	 */
+	public CompletableFuture<Void> setValueAsync(String path, Object newValue);
+
+	/**
+	 * Create a new value under the given path
+	 * 
+	 * @param path
+	 *            Path to the entity where the element should be created
+	 * @param newEntity
+	 *            new Element to be created on the server
+	 * @return future that is completed when the value has been created
+	 */
+	public CompletableFuture<Void> createValueAsync(String path, Object newEntity);
+
+	/**
+	 * Deletes value under the given path
+	 * 
+	 * @param path
+	 *            Path to the entity that should be deleted
+	 * @return future that is completed when the value has been deleted
+	 */
+	public CompletableFuture<Void> deleteValueAsync(String path);
+
+	/**
+	 * Deletes an entry from a map or collection by the given key
+	 * 
+	 * @param path
+	 *            Path to the entity that should be deleted
+	 * @return future that is completed when the entry has been deleted
+	 */
+	public CompletableFuture<Void> deleteValueAsync(String path, Object obj);
+
+	/**
+	 * Invoke an operation
+	 *
+	 * @param path
+	 *            Path to operation
+	 * @param parameter
+	 *            Operation parameter
+	 * @return future for the return value
+	 */
+	public CompletableFuture<Object> invokeOperationAsync(String path, Object... parameter);
+
+	/**
+	 * Returns the given provider, if it natively supports asynchronous calls.
+	 * Otherwise, it is wrapped in an {@link AsyncModelProviderAdapter} that
+	 * executes the blocking calls on a shared thread pool.
+	 * 
+	 * @param provider
+	 * @return
+	 */
+	public static IAsyncModelProvider of(IModelProvider provider) {
+		if (provider instanceof IAsyncModelProvider) {
+			return (IAsyncModelProvider) provider;
+		} else {
+			return new AsyncModelProviderAdapter(provider);
+		}
+	}
+}
@@ -24,7 +24,12 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.modelprovider.api;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchRequest;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchResult;
 
 /**
  * Basic model provider backend interface
@@ -90,4 +95,21 @@ public interface IModelProvider {
 	 */
 	public Object invokeOperation(String path, Object... parameter) throws ProviderException;
 
+	/**
+	 * Executes a batch of requests. A failing request does not affect the other
+	 * requests of the batch, its exception is reported in its result instead. The
+	 * default implementation executes the requests one after another on this
+	 * provider; remote providers execute the whole batch in a single round trip.
+	 * 
+	 * @param requests
+	 *            Requests to execute in the given order
+	 * @return One result per request in the order of the requests
+	 */
+	public default List<VABBatchResult> executeBatch(List<VABBatchRequest> requests) throws ProviderException {
+		List<VABBatchResult> results = new ArrayList<>(requests.size());
+		for (VABBatchRequest request : requests) {
+			results.add(VABBatchResult.execute(request, this));
+		}
+		return results;
+	}
 }
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.api;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.VABPath;
+
+/**
+ * Model provider that accepts pre-parsed {@link VABPath}s. Providers that
+ * dispatch on path segments implement this interface, so that a path is parsed
+ * only once when entering the provider stack and then forwarded as sub-path
+ * view instead of being split and rebuilt at every layer. <br>
+ * <br>
+ * The String methods of {@link IModelProvider} are adapters that parse the
+ * path and call the corresponding VABPath method.
+ */
+public interface IVABPathModelProvider extends IModelProvider {
+
+	/**
+	 * Gets a value stored in a given path
+	 * 
+	 * @param path
+	 *            Path to the requested value
+	 * @return Object type is assumed to be [Integer | ... | Collection]
+	 */
+	public Object getValue(VABPath path) throws ProviderException;
+
+	/**
+	 * Sets or overrides existing value in a given path
+	 * 
+	 * @param path
+	 *            Path to the requested value
+	 * @param newValue
+	 *            Updated value
+	 */
+	public void setValue(VABPath path, Object newValue) throws ProviderException;
+
+	/**
+	 * Create a new value under the given path
+	 * 
+	 * @param path
+	 *            Path to the entity where the element should be created
+	 * @param newEntity
+	 *            new Element to be created on the server
+	 */
+	public void createValue(VABPath path, Object newEntity) throws ProviderException;
+
+	/**
+	 * Deletes value under the given path
+	 * 
+	 * @param path
+	 *            Path to the entity that should be deleted
+	 */
+	public void deleteValue(VABPath path) throws ProviderException;
+
+	/**
+	 * Deletes an entry from a map or collection by the given key
+	 * 
+	 * @param path
+	 *            Path to the entity that should be deleted
+	 */
+	public void deleteValue(VABPath path, Object obj) throws ProviderException;
+
+	/**
+	 * Invoke an operation
+	 *
+	 * @param path
+	 *            Path to operation
+	 * @param parameter
+	 *            Operation parameter
+	 * @return Return value
+	 */
+	public Object invokeOperation(VABPath path, Object... parameter) throws ProviderException;
+
+	@Override
+	public default Object getValue(String path) throws ProviderException {
+		return getValue(VABPath.parse(path));
+	}
+
+	@Override
+	public default void setValue(String path, Object newValue) throws ProviderException {
+		setValue(VABPath.parse(path), newValue);
+	}
+
+	@Override
+	public default void createValue(String path, Object newEntity) throws ProviderException {
+		createValue(VABPath.parse(path), newEntity);
+	}
+
+	@Override
+	public default void deleteValue(String path) throws ProviderException {
+		deleteValue(VABPath.parse(path));
+	}
+
+	@Override
+	public default void deleteValue(String path, Object obj) throws ProviderException {
+		deleteValue(VABPath.parse(path), obj);
+	}
+
+	@Override
+	public default Object invokeOperation(String path, Object... parameter) throws ProviderException {
+		return invokeOperation(VABPath.parse(path), parameter);
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.basyx.vab.modelprovider.api.IAsyncModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Provides the {@link IAsyncModelProvider} interface for a blocking
+ * {@link IModelProvider}. Each call is executed on an executor, so that the
+ * caller is not blocked. Note that this still occupies one thread of the
+ * executor per outstanding call; providers that natively implement
+ * {@link IAsyncModelProvider} should be preferred, see
+ * {@link IAsyncModelProvider#of(IModelProvider)}.
+ */
+public class AsyncModelProviderAdapter implements IAsyncModelProvider {
+	private static final AtomicInteger threadCount = new AtomicInteger();
+	private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(r -> {
+		Thread thread = new Thread(r, AsyncModelProviderAdapter.class.getSimpleName() + "-" + threadCount.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final IModelProvider provider;
+	private final Executor executor;
+
+	/**
+	 * Constructor using a shared, unbounded pool of daemon threads for executing
+	 * the calls
+	 * 
+	 * @param provider
+	 */
+	public AsyncModelProviderAdapter(IModelProvider provider) {
+		this(provider, DEFAULT_EXECUTOR);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param provider
+	 *            the blocking provider
+	 * @param executor
+	 *            executor the blocking calls are executed on
+	 */
+	public AsyncModelProviderAdapter(IModelProvider provider, Executor executor) {
+		this.provider = provider;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the wrapped blocking provider
+	 * 
+	 * @return
+	 */
+	public IModelProvider getProvider() {
+		return provider;
+	}
+
+	@Override
+	public CompletableFuture<Object> getValueAsync(String path) {
+		return CompletableFuture.supplyAsync(() -> provider.getValue(path), executor);
+	}
+
+	@Override
+	public CompletableFuture<Void> setValueAsync(String path, Object newValue) {
+		return CompletableFuture.runAsync(() -> provider.setValue(path, newValue), executor);
+	}
+
+	@Override
+	public CompletableFuture<Void> createValueAsync(String path, Object newEntity) {
+		return CompletableFuture.runAsync(() -> provider.createValue(path, newEntity), executor);
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteValueAsync(String path) {
+		return CompletableFuture.runAsync(() -> provider.deleteValue(path), executor);
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteValueAsync(String path, Object obj) {
+		return CompletableFuture.runAsync(() -> provider.deleteValue(path, obj), executor);
+	}
+
+	@Override
+	public CompletableFuture<Object> invokeOperationAsync(String path, Object... parameter) {
+		return CompletableFuture.supplyAsync(() -> provider.invokeOperation(path, parameter), executor);
+	}
+}
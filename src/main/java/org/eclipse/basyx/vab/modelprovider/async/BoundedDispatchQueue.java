@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.async;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue whose elements are handled asynchronously in the order they
+ * have been dispatched. The queue has no thread of its own. It is drained by a
+ * task on an executor, which is shared by all queues by default, while there
+ * are elements to handle. If the queue is full, the {@link OverflowPolicy}
+ * decides whether the dispatching thread blocks or an element is dropped.
+ *
+ * @param <E>
+ *            type of the queued elements
+ */
+public class BoundedDispatchQueue<E> {
+	/**
+	 * Behaviour if an element is dispatched while the queue is full
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * The dispatching thread waits until there is space in the queue
+		 */
+		BLOCK,
+
+		/**
+		 * The oldest element in the queue is dropped
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * The new element is dropped
+		 */
+		DROP_NEWEST
+	}
+
+	/**
+	 * Handles the elements of the queue. The callback has to be called with null
+	 * after the element has been handled or with the cause, if handling failed.
+	 * It may be called later, e.g. after a remote acknowledgement. Exceptions
+	 * thrown by the handler count as failure, too. Failures are not logged by
+	 * the queue.
+	 */
+	@FunctionalInterface
+	public interface Handler<E> {
+		void handle(E element, Consumer<Throwable> callback) throws Exception;
+	}
+
+	// Maximum number of elements handled by one drain task before it yields the
+	// thread to other queues
+	private static final int DRAIN_BATCH_SIZE = 64;
+
+	private static ExecutorService sharedExecutor;
+
+	private final Handler<E> handler;
+	private final BlockingQueue<Pending<E>> queue;
+	private final OverflowPolicy overflowPolicy;
+	private final Executor executor;
+	private final AtomicBoolean draining = new AtomicBoolean();
+	private volatile boolean closed = false;
+
+	private final LongAdder deliveredCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+	private final LongAdder droppedCount = new LongAdder();
+	private final LongAdder totalLatency = new LongAdder();
+	private final AtomicLong maxLatency = new AtomicLong();
+
+	/**
+	 * Creates a queue that is drained on the shared executor
+	 *
+	 * @param handler
+	 * @param capacity
+	 *            maximum number of queued elements
+	 * @param overflowPolicy
+	 *            behaviour if the queue is full
+	 */
+	public BoundedDispatchQueue(Handler<E> handler, int capacity, OverflowPolicy overflowPolicy) {
+		this(handler, capacity, overflowPolicy, getSharedExecutor());
+	}
+
+	/**
+	 * Creates a queue that is drained on the given executor
+	 *
+	 * @param handler
+	 * @param capacity
+	 *            maximum number of queued elements
+	 * @param overflowPolicy
+	 *            behaviour if the queue is full
+	 * @param executor
+	 */
+	public BoundedDispatchQueue(Handler<E> handler, int capacity, OverflowPolicy overflowPolicy, Executor executor) {
+		this.handler = handler;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.overflowPolicy = overflowPolicy;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the executor shared by all queues. It has one daemon thread per
+	 * processor, so that the number of threads does not grow with the number of
+	 * queues.
+	 *
+	 * @return
+	 */
+	public static synchronized Executor getSharedExecutor() {
+		if (sharedExecutor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			sharedExecutor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+				Thread thread = new Thread(runnable, BoundedDispatchQueue.class.getSimpleName() + "-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return sharedExecutor;
+	}
+
+	/**
+	 * Adds an element to the queue
+	 *
+	 * @param element
+	 * @return false, if the queue has been closed
+	 */
+	public boolean dispatch(E element) {
+		if (closed) {
+			return false;
+		}
+
+		Pending<E> pending = new Pending<>(element);
+		switch (overflowPolicy) {
+		case BLOCK:
+			try {
+				queue.put(pending);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				droppedCount.increment();
+			}
+			break;
+		case DROP_OLDEST:
+			while (!queue.offer(pending)) {
+				if (queue.poll() != null) {
+					droppedCount.increment();
+				}
+			}
+			break;
+		case DROP_NEWEST:
+			if (!queue.offer(pending)) {
+				droppedCount.increment();
+			}
+			break;
+		}
+		scheduleDrain();
+		return true;
+	}
+
+	/**
+	 * Stops accepting new elements. The remaining elements are still handled.
+	 */
+	public void close() {
+		closed = true;
+	}
+
+	/**
+	 * Closes the queue and waits for the remaining elements to be handed to the
+	 * handler
+	 *
+	 * @param timeout
+	 *            time in milliseconds
+	 * @return true, if the queue has been drained within the timeout
+	 * @throws InterruptedException
+	 */
+	public boolean close(long timeout) throws InterruptedException {
+		close();
+		long deadline = System.currentTimeMillis() + timeout;
+		synchronized (this) {
+			while (!isIdle()) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				wait(remaining);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of elements waiting to be handled
+	 *
+	 * @return
+	 */
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * Returns the number of elements that have been handled successfully
+	 *
+	 * @return
+	 */
+	public long getDeliveredCount() {
+		return deliveredCount.sum();
+	}
+
+	/**
+	 * Returns the number of elements whose handling failed
+	 *
+	 * @return
+	 */
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+
+	/**
+	 * Returns the number of elements that have been dropped due to the overflow
+	 * policy
+	 *
+	 * @return
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	/**
+	 * Returns the average time in milliseconds from dispatching an element until
+	 * it has been handled
+	 *
+	 * @return
+	 */
+	public double getAverageLatency() {
+		long delivered = deliveredCount.sum();
+		if (delivered == 0) {
+			return 0;
+		}
+		return TimeUnit.NANOSECONDS.toMicros(totalLatency.sum() / delivered) / 1000.0;
+	}
+
+	/**
+	 * Returns the maximum time in milliseconds from dispatching an element until
+	 * it has been handled
+	 *
+	 * @return
+	 */
+	public double getMaxLatency() {
+		return TimeUnit.NANOSECONDS.toMicros(maxLatency.get()) / 1000.0;
+	}
+
+	private boolean isIdle() {
+		return queue.isEmpty() && !draining.get();
+	}
+
+	/**
+	 * Starts a drain task, unless one is already running. Only one task drains
+	 * the queue at a time, so the elements are handled in order.
+	 */
+	private void scheduleDrain() {
+		if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+			executor.execute(this::drain);
+		}
+	}
+
+	private void drain() {
+		for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+			Pending<E> pending = queue.poll();
+			if (pending == null) {
+				break;
+			}
+
+			try {
+				handler.handle(pending.element, cause -> onHandled(pending, cause));
+			} catch (Exception e) {
+				onHandled(pending, e);
+			}
+		}
+
+		draining.set(false);
+		synchronized (this) {
+			notifyAll();
+		}
+
+		// Elements may have been added after the last poll
+		scheduleDrain();
+	}
+
+	private void onHandled(Pending<E> pending, Throwable cause) {
+		if (cause != null) {
+			failedCount.increment();
+			return;
+		}
+
+		long latency = System.nanoTime() - pending.dispatched;
+		deliveredCount.increment();
+		totalLatency.add(latency);
+		maxLatency.accumulateAndGet(latency, Math::max);
+	}
+
+	private static class Pending<E> {
+		private final E element;
+		private final long dispatched = System.nanoTime();
+
+		private Pending(E element) {
+			this.element = element;
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+
+/**
+ * Helper methods for bridging between blocking and {@link CompletableFuture}
+ * based calls of model providers
+ */
+public class FutureHelper {
+
+	private FutureHelper() {
+	}
+
+	/**
+	 * Creates a future that is already completed exceptionally with the given
+	 * exception
+	 * 
+	 * @param exception
+	 * @return
+	 */
+	public static <T> CompletableFuture<T> failedFuture(Throwable exception) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(exception);
+		return future;
+	}
+
+	/**
+	 * Calls the given supplier of a future. If the supplier throws instead of
+	 * returning a future, e.g. because of an invalid argument, a future that is
+	 * completed exceptionally with the thrown exception is returned instead.
+	 * 
+	 * @param supplier
+	 * @return
+	 */
+	public static <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> supplier) {
+		try {
+			return supplier.get();
+		} catch (RuntimeException e) {
+			return failedFuture(e);
+		}
+	}
+
+	/**
+	 * Waits for the given future and returns its result. If the future completed
+	 * exceptionally, the original exception is rethrown, i.e. it is not wrapped
+	 * in a {@link CompletionException}. Checked exceptions are wrapped in a
+	 * {@link ProviderException}.
+	 * 
+	 * @param future
+	 * @return
+	 * @throws ProviderException
+	 */
+	public static <T> T join(CompletableFuture<T> future) throws ProviderException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProviderException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = unwrap(e);
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new ProviderException(cause);
+			}
+		}
+	}
+
+	/**
+	 * Returns the actual cause of an exception passed to a completion stage, i.e.
+	 * removes {@link CompletionException} and {@link ExecutionException} wrappers
+	 * 
+	 * @param exception
+	 * @return
+	 */
+	public static Throwable unwrap(Throwable exception) {
+		while ((exception instanceof CompletionException || exception instanceof ExecutionException) && exception.getCause() != null) {
+			exception = exception.getCause();
+		}
+		return exception;
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.async;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IAsyncModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Provides the blocking {@link IModelProvider} interface for an
+ * {@link IAsyncModelProvider}. Each call waits for the completion of the
+ * corresponding asynchronous call. Exceptions are rethrown as they were thrown
+ * by the asynchronous provider.
+ */
+public class SyncModelProviderAdapter implements IModelProvider {
+	private final IAsyncModelProvider provider;
+
+	public SyncModelProviderAdapter(IAsyncModelProvider provider) {
+		this.provider = provider;
+	}
+
+	/**
+	 * Returns the wrapped asynchronous provider
+	 * 
+	 * @return
+	 */
+	public IAsyncModelProvider getProvider() {
+		return provider;
+	}
+
+	@Override
+	public Object getValue(String path) throws ProviderException {
+		return FutureHelper.join(provider.getValueAsync(path));
+	}
+
+	@Override
+	public void setValue(String path, Object newValue) throws ProviderException {
+		FutureHelper.join(provider.setValueAsync(path, newValue));
+	}
+
+	@Override
+	public void createValue(String path, Object newEntity) throws ProviderException {
+		FutureHelper.join(provider.createValueAsync(path, newEntity));
+	}
+
+	@Override
+	public void deleteValue(String path) throws ProviderException {
+		FutureHelper.join(provider.deleteValueAsync(path));
+	}
+
+	@Override
+	public void deleteValue(String path, Object obj) throws ProviderException {
+		FutureHelper.join(provider.deleteValueAsync(path, obj));
+	}
+
+	@Override
+	public Object invokeOperation(String path, Object... parameter) throws ProviderException {
+		return FutureHelper.join(provider.invokeOperationAsync(path, parameter));
+	}
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.batch;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import org.eclipse.basyx.submodel.restapi.operation.InvocationRequest;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.model.VABModelMap;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Single request of a batch that is executed with
+ * {@link IModelProvider#executeBatch(java.util.List)}. It consists of a verb,
+ * the path and an optional value.
+ */
+public class VABBatchRequest extends VABModelMap<Object> {
+	public static final String VERB = "verb";
+	public static final String PATH = "path";
+	public static final String VALUE = "value";
+
+	private VABBatchRequest() {
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param verb
+	 * @param path
+	 * @param value
+	 *            value to set or create, key to delete, operation parameters or
+	 *            null
+	 */
+	public VABBatchRequest(VABBatchVerb verb, String path, Object value) {
+		put(VERB, verb.name());
+		put(PATH, path);
+		if (value != null) {
+			put(VALUE, value);
+		}
+	}
+
+	/**
+	 * Creates a request reading the value under the given path
+	 */
+	public static VABBatchRequest getValue(String path) {
+		return new VABBatchRequest(VABBatchVerb.GET, path, null);
+	}
+
+	/**
+	 * Creates a request setting the value under the given path
+	 */
+	public static VABBatchRequest setValue(String path, Object newValue) {
+		return new VABBatchRequest(VABBatchVerb.SET, path, newValue);
+	}
+
+	/**
+	 * Creates a request creating a new value under the given path
+	 */
+	public static VABBatchRequest createValue(String path, Object newEntity) {
+		return new VABBatchRequest(VABBatchVerb.CREATE, path, newEntity);
+	}
+
+	/**
+	 * Creates a request deleting the value under the given path
+	 */
+	public static VABBatchRequest deleteValue(String path) {
+		return new VABBatchRequest(VABBatchVerb.DELETE, path, null);
+	}
+
+	/**
+	 * Creates a request deleting an entry from a map or collection by the given key
+	 */
+	public static VABBatchRequest deleteValue(String path, Object obj) {
+		return new VABBatchRequest(VABBatchVerb.DELETE, path, obj);
+	}
+
+	/**
+	 * Creates a request invoking the operation under the given path
+	 */
+	public static VABBatchRequest invokeOperation(String path, Object... parameter) {
+		// Parameters are transmitted in the same way as by single invocations
+		if (parameter.length == 1 && parameter[0] instanceof InvocationRequest) {
+			return new VABBatchRequest(VABBatchVerb.INVOKE, path, parameter[0]);
+		} else {
+			return new VABBatchRequest(VABBatchVerb.INVOKE, path, Arrays.asList(parameter));
+		}
+	}
+
+	/**
+	 * Creates a request from a deserialized map
+	 * 
+	 * @param map
+	 * @return the request
+	 * @throws MalformedRequestException
+	 *             if the map does not describe a valid request
+	 */
+	public static VABBatchRequest createAsFacade(Map<String, Object> map) throws MalformedRequestException {
+		if (!(map.get(VERB) instanceof String) || !(map.get(PATH) instanceof String)) {
+			throw new MalformedRequestException("Batch request entries require a verb and a path");
+		}
+
+		try {
+			VABBatchVerb.valueOf((String) map.get(VERB));
+		} catch (IllegalArgumentException e) {
+			throw new MalformedRequestException("Unknown verb in batch request: " + map.get(VERB));
+		}
+
+		VABBatchRequest ret = new VABBatchRequest();
+		ret.setMap(map);
+		return ret;
+	}
+
+	public VABBatchVerb getVerb() {
+		return VABBatchVerb.valueOf((String) get(VERB));
+	}
+
+	public String getPath() {
+		return (String) get(PATH);
+	}
+
+	/**
+	 * Returns the value to set or create, the key to delete or the operation
+	 * parameters
+	 */
+	public Object getArgument() {
+		return get(VALUE);
+	}
+
+	/**
+	 * Returns a copy of this request with the given path
+	 */
+	public VABBatchRequest withPath(String path) {
+		return new VABBatchRequest(getVerb(), path, getArgument());
+	}
+
+	/**
+	 * Returns the operation parameters of an invoke request
+	 */
+	@SuppressWarnings("unchecked")
+	public Object[] getParameters() {
+		Object value = getArgument();
+		if (value instanceof Collection<?>) {
+			return ((Collection<Object>) value).toArray();
+		} else if (value instanceof Object[]) {
+			return (Object[]) value;
+		} else {
+			return new Object[] { value };
+		}
+	}
+
+	/**
+	 * Executes this request on the given provider
+	 * 
+	 * @param provider
+	 * @return the result of get and invoke requests, null otherwise
+	 * @throws ProviderException
+	 */
+	public Object executeOn(IModelProvider provider) throws ProviderException {
+		String path = getPath();
+		switch (getVerb()) {
+		case GET:
+			return provider.getValue(path);
+		case SET:
+			provider.setValue(path, getArgument());
+			return null;
+		case CREATE:
+			provider.createValue(path, getArgument());
+			return null;
+		case DELETE:
+			if (containsKey(VALUE)) {
+				provider.deleteValue(path, getArgument());
+			} else {
+				provider.deleteValue(path);
+			}
+			return null;
+		case INVOKE:
+			return provider.invokeOperation(path, getParameters());
+		default:
+			throw new MalformedRequestException("Unknown verb in batch request: " + getVerb());
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.batch;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Result of a single {@link VABBatchRequest}. Either carries the value returned
+ * by the request or the exception it failed with.
+ */
+public class VABBatchResult {
+	private final Object value;
+	private final ProviderException exception;
+
+	private VABBatchResult(Object value, ProviderException exception) {
+		this.value = value;
+		this.exception = exception;
+	}
+
+	/**
+	 * Creates the result of a successful request
+	 */
+	public static VABBatchResult success(Object value) {
+		return new VABBatchResult(value, null);
+	}
+
+	/**
+	 * Creates the result of a failed request
+	 */
+	public static VABBatchResult failure(ProviderException exception) {
+		return new VABBatchResult(null, exception);
+	}
+
+	/**
+	 * Executes the request on the given provider and captures its result. An
+	 * exception only fails this request, not the complete batch.
+	 * 
+	 * @param request
+	 * @param provider
+	 * @return the result
+	 */
+	public static VABBatchResult execute(VABBatchRequest request, IModelProvider provider) {
+		try {
+			return success(request.executeOn(provider));
+		} catch (ProviderException e) {
+			return failure(e);
+		} catch (Exception e) {
+			return failure(new ProviderException(e));
+		}
+	}
+
+	/**
+	 * Indicates if the request succeeded
+	 */
+	public boolean isSuccess() {
+		return exception == null;
+	}
+
+	/**
+	 * Returns the value returned by the request
+	 * 
+	 * @return the value; null for requests that do not return a value
+	 * @throws ProviderException
+	 *             the exception the request failed with
+	 */
+	public Object getValue() throws ProviderException {
+		if (exception != null) {
+			throw exception;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the exception the request failed with or null, if it succeeded
+	 */
+	public ProviderException getException() {
+		return exception;
+	}
+}
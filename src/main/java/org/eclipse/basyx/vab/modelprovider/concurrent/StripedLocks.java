@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.modelprovider.concurrent;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks that keys are mapped to by their hash. Writers on
+ * different keys usually get different locks and can proceed in parallel,
+ * while the memory needed is independent of the number of keys.
+ */
+public class StripedLocks {
+	private final Lock[] locks;
+	private final int mask;
+
+	/**
+	 * Creates striped locks with four stripes per available processor
+	 */
+	public StripedLocks() {
+		this(4 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates striped locks with at least the given number of stripes. The number
+	 * is rounded up to the next power of two.
+	 * 
+	 * @param stripes
+	 */
+	public StripedLocks(int stripes) {
+		int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+		locks = new Lock[size];
+		for (int i = 0; i < size; i++) {
+			locks[i] = new ReentrantLock();
+		}
+		mask = size - 1;
+	}
+
+	/**
+	 * Returns the lock for the given hash
+	 * 
+	 * @param hash
+	 * @return
+	 */
+	public Lock get(int hash) {
+		// Spread the higher bits, since only the lower bits are used for indexing
+		int spread = hash ^ (hash >>> 16);
+		return locks[spread & mask];
+	}
+
+	/**
+	 * Acquires all locks in a fixed order, e.g. for writes that affect all keys
+	 */
+	public void lockAll() {
+		for (Lock lock : locks) {
+			lock.lock();
+		}
+	}
+
+	/**
+	 * Releases all locks acquired by {@link #lockAll()}
+	 */
+	public void unlockAll() {
+		for (int i = locks.length - 1; i >= 0; i--) {
+			locks[i].unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of stripes
+	 */
+	public int size() {
+		return locks.length;
+	}
+}
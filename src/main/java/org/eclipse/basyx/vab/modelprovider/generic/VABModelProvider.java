@@ -24,23 +24,55 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.modelprovider.generic;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
 import org.eclipse.basyx.vab.exception.provider.NotAnInvokableException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceAlreadyExistsException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
-import org.eclipse.basyx.vab.modelprovider.VABPathTools;
-import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.model.VABModelMap;
+import org.eclipse.basyx.vab.modelprovider.VABPath;
+import org.eclipse.basyx.vab.modelprovider.api.IVABPathModelProvider;
+import org.eclipse.basyx.vab.modelprovider.concurrent.StripedLocks;
 
 /**
  * A generic VAB model provider.
  * 
  * @author espen
  */
-public class VABModelProvider implements IModelProvider {
+public class VABModelProvider implements IVABPathModelProvider {
+	/**
+	 * Public default constructors of the maps and collections copied on writes.
+	 * Null, if a class has none
+	 */
+	private static final ClassValue<Constructor<?>> DEFAULT_CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+		@Override
+		protected Constructor<?> computeValue(Class<?> type) {
+			if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())) {
+				return null;
+			}
+			try {
+				return type.getConstructor();
+			} catch (NoSuchMethodException e) {
+				return null;
+			}
+		}
+	};
+
 	/**
 	 * Handler, which handles single element objects
 	 */
@@ -49,84 +81,385 @@ public class VABModelProvider implements IModelProvider {
 	/**
 	 * Root object that stores contained elements
 	 */
-	protected Object elements;
+	protected volatile Object elements;
+
+	/**
+	 * Immutable version of the model that readers operate on. Null, if this
+	 * provider does not support concurrent access
+	 */
+	private volatile ModelVersion current;
+
+	/**
+	 * Number of writes of a provider that does not support concurrent access
+	 */
+	private volatile long writeCount;
+
+	/**
+	 * Locks serializing the writes per top-level element. Null, if this provider
+	 * does not support concurrent access
+	 */
+	private final StripedLocks writeLocks;
+
+	/**
+	 * Serializes the publication of new versions
+	 */
+	private final Object publishLock = new Object();
 
 	public VABModelProvider(Object elements, IVABElementHandler handler) {
+		this(elements, handler, false);
+	}
+
+	/**
+	 * Creates a provider that optionally supports concurrent access. <br>
+	 * <br>
+	 * In concurrent mode, the model is never modified in place. Each write copies
+	 * the maps and collections on the path to the written element, modifies the
+	 * copies and publishes them as a new version of the model that shares all
+	 * other parts with the previous version. Readers take the current version and
+	 * operate on it without any locks or copies, so a reader always sees one
+	 * consistent version, independent of concurrent writes. <br>
+	 * <br>
+	 * Writes are serialized per element of a top-level container through striped
+	 * locks, e.g. per submodel element for the path
+	 * <i>submodelElements/{idShort}/...</i>. Writes to different elements are
+	 * prepared in parallel, only publishing the new version is serialized.
+	 * 
+	 * @param elements
+	 * @param handler
+	 * @param concurrent
+	 */
+	public VABModelProvider(Object elements, IVABElementHandler handler, boolean concurrent) {
 		this.handler = handler;
 		this.elements = elements;
+		if (concurrent) {
+			this.writeLocks = new StripedLocks();
+			this.current = new ModelVersion(detachRoot(elements), 0);
+		} else {
+			this.writeLocks = null;
+		}
+	}
+
+	/**
+	 * Lets a model map root view a plain copy of its contents, so that the first
+	 * version does not change when the model map is updated
+	 */
+	@SuppressWarnings("unchecked")
+	private static Object detachRoot(Object root) {
+		if (root instanceof VABModelMap<?>) {
+			Map<String, Object> contents = copyMap(root);
+			((VABModelMap<Object>) root).setMap(contents);
+			return contents;
+		}
+		return root;
+	}
+
+	/**
+	 * Returns true, if this provider supports concurrent access
+	 */
+	public boolean isConcurrent() {
+		return writeLocks != null;
+	}
+
+	/**
+	 * Returns the version of the model, which is incremented by each successful
+	 * write
+	 */
+	public long getVersion() {
+		ModelVersion version = current;
+		return version == null ? writeCount : version.number;
 	}
 
 	@Override
-	public Object getValue(String path) {
+	public Object getValue(VABPath path) {
 		Object element = getTargetElement(path);
 		return handler.postprocessObject(element);
 	}
 
 	@Override
-	public void setValue(String path, Object newValue) {
-		VABPathTools.checkPathForNull(path);
-		if (VABPathTools.isEmptyPath(path)) {
-			// Empty path => parent element == null => replace root, if it exists
-			if (elements != null) {
-				elements = newValue;
+	public void setValue(VABPath path, Object newValue) {
+		write(path, (root, relativePath) -> {
+			if (relativePath.isEmpty()) {
+				// Empty path => parent element == null => replace root, if it exists
+				return root != null ? newValue : null;
 			}
-			return;
-		}
 
-		Object parentElement = getParentElement(path);
-		String propertyName = VABPathTools.getLastElement(path);
-		// Throws an exception, if the element does not exist
-		handler.getElementProperty(parentElement, propertyName);
-		// => Can only set elements that have already been created
-		handler.setModelPropertyValue(parentElement, propertyName, newValue);
+			Object parentElement = getParentElement(root, relativePath);
+			String propertyName = relativePath.getLast();
+			// Throws an exception, if the element does not exist
+			handler.getElementProperty(parentElement, propertyName);
+			// => Can only set elements that have already been created
+			handler.setModelPropertyValue(parentElement, propertyName, newValue);
+			return root;
+		});
 	}
 
 	@Override
-	public void createValue(String path, Object newValue) {
-		VABPathTools.checkPathForNull(path);
-		if (VABPathTools.isEmptyPath(path)) {
-			// The complete model should be replaced if it does not exist
-			if (elements == null) {
-				elements = newValue;
-			} else {
-				throw new ResourceAlreadyExistsException("Root element does already exist.");
+	public void createValue(VABPath path, Object newValue) {
+		write(path, (root, relativePath) -> {
+			if (relativePath.isEmpty()) {
+				// The complete model should be replaced if it does not exist
+				if (root == null) {
+					return newValue;
+				} else {
+					throw new ResourceAlreadyExistsException("Root element does already exist.");
+				}
+			}
+
+			// Find parent & name of new element
+			Object parentElement = getParentElement(root, relativePath);
+			String propertyName = relativePath.getLast();
+			try {
+				Object childElement = handler.getElementProperty(parentElement, propertyName);
+				// The last path element does exist -> create the new value here
+				handler.createValue(childElement, newValue);
+			} catch (ResourceNotFoundException e) {
+				// The last path element does not exist
+				// -> create the new property in the parent element
+				handler.setModelPropertyValue(parentElement, propertyName, newValue);
+			}
+			return root;
+		});
+	}
+
+	@Override
+	public void deleteValue(VABPath path) {
+		write(path, (root, relativePath) -> {
+			Object parentElement = getParentElement(root, relativePath);
+			String propertyName = relativePath.getLast();
+			handler.deleteValue(parentElement, propertyName);
+			return root;
+		});
+	}
+
+	@Override
+	public void deleteValue(VABPath path, Object obj) {
+		write(path, (root, relativePath) -> {
+			Object targetElement = getTargetElement(root, relativePath);
+			handler.deleteValue(targetElement, obj);
+			return root;
+		});
+	}
+
+	/**
+	 * Applies a write operation to the model. The operation gets the root to
+	 * operate on and the path relative to it, and returns the new root.
+	 */
+	private void write(VABPath path, BiFunction<Object, VABPath, Object> operation) {
+		if (writeLocks == null) {
+			elements = operation.apply(elements, path);
+			writeCount++;
+			return;
+		}
+
+		if (path.size() < 2) {
+			// Writes on top-level containers or the root affect all elements
+			writeLocks.lockAll();
+			try {
+				writeModel(path, operation);
+			} finally {
+				writeLocks.unlockAll();
 			}
 			return;
 		}
 
-		// Find parent & name of new element
-		Object parentElement = getParentElement(path);
-		String propertyName = VABPathTools.getLastElement(path);
+		// Writes are serialized per element of a top-level container, i.e. per the
+		// first two path elements
+		Lock lock = writeLocks.get(31 * path.get(0).hashCode() + path.get(1).hashCode());
+		lock.lock();
 		try {
-			Object childElement = handler.getElementProperty(parentElement, propertyName);
-			// The last path element does exist -> create the new value here
-			handler.createValue(childElement, newValue);
-		} catch (ResourceNotFoundException e) {
-			// The last path element does not exist
-			// -> create the new property in the parent element
-			handler.setModelPropertyValue(parentElement, propertyName, newValue);
+			if (path.size() == 2 || !writeElement(path, operation)) {
+				writeModel(path, operation);
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
-	@Override
-	public void deleteValue(String path) {
-		VABPathTools.checkPathForNull(path);
+	/**
+	 * Applies the operation to a copy of the whole path and publishes the result
+	 */
+	private void writeModel(VABPath path, BiFunction<Object, VABPath, Object> operation) {
+		synchronized (publishLock) {
+			ModelVersion version = current;
+			Object newRoot = operation.apply(copyPath(version.root, path), path);
+			publish(version, newRoot, path.isEmpty());
+		}
+	}
 
-		Object parentElement = getParentElement(path);
-		String propertyName = VABPathTools.getLastElement(path);
-		handler.deleteValue(parentElement, propertyName);
+	/**
+	 * Applies the operation to a copy of the top-level element the path points to
+	 * without blocking other writers and then publishes the new element. Returns
+	 * false, if the element is not a plain map entry of a plain map, e.g. because
+	 * it is provided through hidden accessors.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean writeElement(VABPath path, BiFunction<Object, VABPath, Object> operation) {
+		// The element can not be replaced concurrently, since all writers
+		// replacing it hold the same or all locks
+		Object container = getMapEntry(current.root, path.get(0));
+		Object element = getMapEntry(container, path.get(1));
+		if (!(element instanceof Map<?, ?>)) {
+			return false;
+		}
+
+		VABPath elementPath = path.subPath(2);
+		Object newElement = operation.apply(copyPath(element, elementPath), elementPath);
+
+		synchronized (publishLock) {
+			ModelVersion version = current;
+			Map<String, Object> newRoot = (Map<String, Object>) copyNode(version.root);
+			Map<String, Object> newContainer = (Map<String, Object>) copyNode(newRoot.get(path.get(0)));
+			newRoot.put(path.get(0), newContainer);
+			newContainer.put(path.get(1), newElement);
+			publish(version, newRoot, false);
+		}
+		return true;
 	}
 
-	@Override
-	public void deleteValue(String path, Object obj) {
-		Object targetElement = getTargetElement(path);
-		handler.deleteValue(targetElement, obj);
+	/**
+	 * Publishes a new version of the model. The root object keeps its identity if
+	 * only its contents changed, so that it stays a view on the current version
+	 */
+	@SuppressWarnings("unchecked")
+	private void publish(ModelVersion version, Object newRoot, boolean replacedRoot) {
+		if (!replacedRoot && elements instanceof VABModelMap<?> && newRoot instanceof Map<?, ?>) {
+			((VABModelMap<Object>) elements).setMap((Map<String, Object>) newRoot);
+		} else {
+			elements = newRoot;
+		}
+		current = new ModelVersion(newRoot, version.number + 1);
 	}
 
-	@Override
-	public Object invokeOperation(String path, Object... parameters) {
+	/**
+	 * Copies the given root and all maps and collections on the given path. The
+	 * copies are not visible to any reader and can therefore be modified.
+	 */
+	private Object copyPath(Object root, VABPath path) {
+		Object rootCopy = copyNode(root);
+		Object node = rootCopy;
+		for (int i = 0; i < path.size(); i++) {
+			Object child;
+			try {
+				child = handler.getElementProperty(node, path.get(i));
+			} catch (ProviderException e) {
+				// The operation itself reports the invalid path
+				break;
+			}
+			Object childCopy = copyNode(child);
+			if (childCopy == child || !replaceChild(node, path.get(i), child, childCopy)) {
+				// Neither map nor collection or not stored in its parent, e.g. because
+				// it is provided through a hidden accessor
+				break;
+			}
+			node = childCopy;
+		}
+		return rootCopy;
+	}
+
+	/**
+	 * Replaces a child in a copied parent by its copy. Returns false, if the
+	 * child is not contained in the parent.
+	 */
+	@SuppressWarnings("unchecked")
+	private static boolean replaceChild(Object parent, String name, Object child, Object childCopy) {
+		if (parent instanceof Map<?, ?>) {
+			Map<String, Object> map = (Map<String, Object>) parent;
+			if (map.get(name) != child) {
+				return false;
+			}
+			map.put(name, childCopy);
+			return true;
+		} else if (parent instanceof List<?>) {
+			List<Object> list = (List<Object>) parent;
+			for (int i = 0; i < list.size(); i++) {
+				if (list.get(i) == child) {
+					list.set(i, childCopy);
+					return true;
+				}
+			}
+			return false;
+		} else if (parent instanceof Collection<?>) {
+			// Rebuild the collection to keep the order of its elements
+			Collection<Object> collection = (Collection<Object>) parent;
+			List<Object> contents = new ArrayList<>(collection.size());
+			boolean replaced = false;
+			for (Object o : collection) {
+				if (o == child && !replaced) {
+					contents.add(childCopy);
+					replaced = true;
+				} else {
+					contents.add(o);
+				}
+			}
+			if (replaced) {
+				collection.clear();
+				collection.addAll(contents);
+			}
+			return replaced;
+		}
+		return false;
+	}
 
-		path = VABPathTools.stripInvokeFromPath(path);
+	/**
+	 * Copies a map or collection. The copy has the class of the original, if it
+	 * can be instantiated, so that e.g. model maps stay model maps.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Object copyNode(Object node) {
+		if (node instanceof VABModelMap<?>) {
+			VABModelMap<Object> copy = (VABModelMap<Object>) newInstance(node.getClass(), VABModelMap.class);
+			copy.setMap(copyMap(node));
+			return copy;
+		} else if (node instanceof Map<?, ?>) {
+			Map<String, Object> copy = (Map<String, Object>) newInstance(node.getClass(), LinkedHashMap.class);
+			copy.putAll((Map<String, Object>) node);
+			return copy;
+		} else if (node instanceof Set<?>) {
+			Set<Object> copy = (Set<Object>) newInstance(node.getClass(), LinkedHashSet.class);
+			copy.addAll((Set<Object>) node);
+			return copy;
+		} else if (node instanceof Collection<?>) {
+			Collection<Object> copy = (Collection<Object>) newInstance(node.getClass(), ArrayList.class);
+			copy.addAll((Collection<Object>) node);
+			return copy;
+		} else {
+			return node;
+		}
+	}
+
+	/**
+	 * Creates an empty instance of the given class or, if it has no public default
+	 * constructor, of the fallback class
+	 */
+	private static Object newInstance(Class<?> type, Class<?> fallback) {
+		Constructor<?> constructor = DEFAULT_CONSTRUCTORS.get(type);
+		if (constructor == null) {
+			constructor = DEFAULT_CONSTRUCTORS.get(fallback);
+		}
+		try {
+			return constructor.newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new ProviderException(e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> copyMap(Object map) {
+		return new LinkedHashMap<>((Map<String, Object>) map);
+	}
+
+	private static Object getMapEntry(Object map, String key) {
+		if (map instanceof Map<?, ?>) {
+			return ((Map<?, ?>) map).get(key);
+		}
+		return null;
+	}
+
+	@Override
+	public Object invokeOperation(VABPath path, Object... parameters) {
+		if (path.getLast().startsWith(Operation.INVOKE)) {
+			path = path.getParent();
+		}
 
 		Object childElement = getValue(path);
 
@@ -193,21 +526,17 @@ public class VABModelProvider implements IModelProvider {
 		}
 	}
 
+
 	/**
 	 * Get the parent of an element in this provider. The path should include the
 	 * path to the element separated by '/'. E.g., for accessing element c in path
 	 * a/b, the path should be a/b/c.
 	 */
-	private Object getParentElement(String path) {
-		VABPathTools.checkPathForNull(path);
-
-		// Split path into its elements, separated by '/'
-		String[] pathElements = VABPathTools.splitPath(path);
-
-		Object currentElement = elements;
+	private Object getParentElement(Object root, VABPath path) {
+		Object currentElement = root;
 		// ignore the leaf element, only return the leaf's parent element
-		for (int i = 0; i < pathElements.length - 1; i++) {
-			currentElement = handler.getElementProperty(currentElement, pathElements[i]);
+		for (int i = 0; i < path.size() - 1; i++) {
+			currentElement = handler.getElementProperty(currentElement, path.get(i));
 		}
 
 		if (currentElement == null) {
@@ -222,16 +551,37 @@ public class VABModelProvider implements IModelProvider {
 	 * target element. E.g., it returns c for the path a/b/c
 	 */
 	protected Object getTargetElement(String path) {
-		VABPathTools.checkPathForNull(path);
-		if (VABPathTools.isEmptyPath(path)) {
-			return elements;
+		return getTargetElement(VABPath.parse(path));
+	}
+
+	/**
+	 * Instead of returning the parent element of a path, this function gives the
+	 * target element. E.g., it returns c for the path a/b/c
+	 */
+	protected Object getTargetElement(VABPath path) {
+		ModelVersion version = current;
+		return getTargetElement(version == null ? elements : version.root, path);
+	}
+
+	private Object getTargetElement(Object root, VABPath path) {
+		if (path.isEmpty()) {
+			return root;
 		}
 
-		Object parentElement = getParentElement(path);
-		String operationName = VABPathTools.getLastElement(path);
-		if (operationName != null) {
-			return handler.getElementProperty(parentElement, operationName);
+		Object parentElement = getParentElement(root, path);
+		return handler.getElementProperty(parentElement, path.getLast());
+	}
+
+	/**
+	 * Immutable version of the model
+	 */
+	private static class ModelVersion {
+		private final Object root;
+		private final long number;
+
+		private ModelVersion(Object root, long number) {
+			this.root = root;
+			this.number = number;
 		}
-		return null;
 	}
 }
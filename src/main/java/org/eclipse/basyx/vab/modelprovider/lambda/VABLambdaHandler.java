@@ -51,6 +51,28 @@ public class VABLambdaHandler extends VABMapHandler {
 	public static final String VALUE_REMOVEKEY_SUFFIX = "removeKey";
 	public static final String VALUE_REMOVEOBJ_SUFFIX = "removeObject";
 
+	/**
+	 * If true, the handled model is never modified in place, so that parts
+	 * without hidden getters can be returned without copying them
+	 */
+	private final boolean immutableModel;
+
+	public VABLambdaHandler() {
+		this(false);
+	}
+
+	/**
+	 * Creates a handler that shares the parts of the model without hidden getters
+	 * with the returned objects instead of copying them, if the model is never
+	 * modified in place. This is the case for the versions of a concurrent
+	 * {@link org.eclipse.basyx.vab.modelprovider.generic.VABModelProvider}.
+	 * 
+	 * @param immutableModel
+	 */
+	public VABLambdaHandler(boolean immutableModel) {
+		this.immutableModel = immutableModel;
+	}
+
 	@Override
 	public Object postprocessObject(Object element) {
 		return super.postprocessObject(resolveAll(element));
@@ -142,18 +164,27 @@ public class VABLambdaHandler extends VABMapHandler {
 
 	private Object resolveMap(Map<String, Object> map) {
 		Map<String, Object> ret = new LinkedHashMap<>();
-		for (String s : map.keySet()) {
-			ret.put(s, resolveAll(map.get(s)));
+		boolean resolved = false;
+		// Iterate the entries instead of looking up each key, so that a consistent
+		// state is read if the map is modified concurrently
+		for (Map.Entry<String, Object> entry : map.entrySet()) {
+			Object value = entry.getValue();
+			Object resolvedValue = resolveAll(value);
+			resolved |= resolvedValue != value;
+			ret.put(entry.getKey(), resolvedValue);
 		}
-		return ret;
+		return immutableModel && !resolved ? map : ret;
 	}
 
 	private Object resolveCollection(Collection<Object> coll) {
 		List<Object> ret = new ArrayList<>(coll.size());
+		boolean resolved = false;
 		for (Object o : coll) {
-			ret.add(resolveAll(o));
+			Object resolvedValue = resolveAll(o);
+			resolved |= resolvedValue != o;
+			ret.add(resolvedValue);
 		}
-		return ret;
+		return immutableModel && !resolved ? coll : ret;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -45,4 +45,12 @@ public class VABLambdaProvider extends VABModelProvider {
 	public VABLambdaProvider(Map<String, Object> elements) {
 		super(elements, new VABLambdaHandler());
 	}
+
+	/**
+	 * Creates a provider that optionally supports concurrent access, see
+	 * {@link VABModelProvider}
+	 */
+	public VABLambdaProvider(Map<String, Object> elements, boolean concurrent) {
+		super(elements, new VABLambdaHandler(concurrent), concurrent);
+	}
 }
@@ -45,11 +45,13 @@ public class VABMapHandler implements IVABElementHandler {
 		if (element instanceof Map<?, ?>) {
 			Map<?, ?> map = (Map<?, ?>) element;
 
-			// check if requested property exists in map
-			if (!map.containsKey(propertyName)) {
+			// check if requested property exists in map. Null values are allowed, so
+			// only check the key if there is no value
+			Object value = map.get(propertyName);
+			if (value == null && !map.containsKey(propertyName)) {
 				throw new ResourceNotFoundException("Property \"" + propertyName + "\" does not exist.");
 			}
-			return map.get(propertyName);
+			return value;
 		} else if (element instanceof Collection<?> || element instanceof Object[]) {
 			throw new ResourceNotFoundException("It is not possible to access single elements in lists.");
 		} else {
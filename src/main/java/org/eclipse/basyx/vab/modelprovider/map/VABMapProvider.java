@@ -42,6 +42,14 @@ public class VABMapProvider extends VABModelProvider {
 		super(elements, new VABMapHandler());
 	}
 
+	/**
+	 * Creates a provider that optionally supports concurrent access, see
+	 * {@link VABModelProvider#VABModelProvider(Object, IVABElementHandler, boolean)}
+	 */
+	public VABMapProvider(Map<String, Object> elements, boolean concurrent) {
+		super(elements, new VABMapHandler(), concurrent);
+	}
+
 	protected VABMapProvider(Map<String, Object> elements, IVABElementHandler handler) {
 		super(elements, handler);
 	}
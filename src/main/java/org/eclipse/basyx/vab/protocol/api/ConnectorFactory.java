@@ -24,27 +24,77 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.protocol.api;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * ConnectorProvider that caches connectors for addresses to save resources
+ * ConnectorProvider that caches connectors for addresses to save resources.
+ * The cache is bounded: If it exceeds its maximum size, the least recently used
+ * connectors are evicted. Additionally, connectors that have not been used for
+ * the idle timeout are evicted. They are swept whenever a connector is created,
+ * at most once per half of the idle timeout, so they are also closed if their
+ * address is not requested again. Evicted connectors are closed, if they are
+ * {@link AutoCloseable}.
  * 
  * @author schnicke
  *
  */
 public abstract class ConnectorFactory implements IConnectorFactory {
+	private static Logger logger = LoggerFactory.getLogger(ConnectorFactory.class);
 
-	private Map<String, IModelProvider> providerMap = new LinkedHashMap<>();
+	/**
+	 * Default maximum number of cached connectors
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+	private final Map<String, CacheEntry> providerMap = new ConcurrentHashMap<>();
+
+	// Only one thread evicts entries at a time
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+	private volatile long idleTimeout = 0;
+	private volatile long lastSweep = System.nanoTime();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
 
 	@Override
 	public IModelProvider getConnector(String addr) {
-		if (!providerMap.containsKey(addr)) {
-			providerMap.put(addr, createProvider(addr));
+		while (true) {
+			CacheEntry entry = providerMap.get(addr);
+			if (entry == null) {
+				CacheEntry newEntry = new CacheEntry(addr);
+				entry = providerMap.putIfAbsent(addr, newEntry);
+				if (entry == null) {
+					missCount.increment();
+					IModelProvider provider = newEntry.getProvider();
+					if (providerMap.size() > maximumSize || isSweepDue(System.nanoTime())) {
+						evict();
+					}
+					return provider;
+				}
+			}
+
+			if (isExpired(entry, System.nanoTime())) {
+				evict(addr, entry);
+				continue;
+			}
+
+			hitCount.increment();
+			return entry.getProvider();
 		}
-		return providerMap.get(addr);
 	}
 
 	/**
@@ -54,4 +104,195 @@ public abstract class ConnectorFactory implements IConnectorFactory {
 	 * @return
 	 */
 	protected abstract IModelProvider createProvider(String addr);
+
+	/**
+	 * Closes a provider that has been evicted from the cache. By default, providers
+	 * are closed if they are {@link AutoCloseable}.
+	 * 
+	 * @param provider
+	 */
+	protected void closeProvider(IModelProvider provider) {
+		if (provider instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) provider).close();
+			} catch (Exception e) {
+				logger.warn("Could not close evicted connector", e);
+			}
+		}
+	}
+
+	/**
+	 * Sets the maximum number of cached connectors
+	 * 
+	 * @param maximumSize
+	 */
+	public void setMaximumSize(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("The maximum size has to be positive, but is " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Sets the time after which unused connectors are evicted
+	 * 
+	 * @param idleTimeout
+	 *            time in milliseconds; 0 disables the eviction of idle connectors
+	 */
+	public void setIdleTimeout(long idleTimeout) {
+		if (idleTimeout < 0) {
+			throw new IllegalArgumentException("The idle timeout must not be negative, but is " + idleTimeout);
+		}
+		this.idleTimeout = idleTimeout;
+	}
+
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	/**
+	 * Returns the number of currently cached connectors
+	 * 
+	 * @return
+	 */
+	public int getCacheSize() {
+		return providerMap.size();
+	}
+
+	/**
+	 * Returns the number of requests that have been answered by a cached connector
+	 * 
+	 * @return
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * Returns the number of requests that required the creation of a new connector
+	 * 
+	 * @return
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * Returns the number of connectors that have been evicted from the cache
+	 * 
+	 * @return
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * Evicts all cached connectors
+	 */
+	public void clear() {
+		for (Map.Entry<String, CacheEntry> e : providerMap.entrySet()) {
+			evict(e.getKey(), e.getValue());
+		}
+	}
+
+	private boolean isExpired(CacheEntry entry, long now) {
+		long timeout = idleTimeout;
+		return timeout > 0 && now - entry.lastAccess > TimeUnit.MILLISECONDS.toNanos(timeout);
+	}
+
+	private boolean isSweepDue(long now) {
+		long timeout = idleTimeout;
+		return timeout > 0 && now - lastSweep > TimeUnit.MILLISECONDS.toNanos(timeout) / 2;
+	}
+
+	/**
+	 * Evicts all idle connectors and the least recently used connectors that
+	 * exceed the maximum size
+	 */
+	private void evict() {
+		// If another thread is already evicting, it also takes care of the new entry
+		if (!evictionLock.tryLock()) {
+			return;
+		}
+
+		try {
+			long now = System.nanoTime();
+			lastSweep = now;
+			List<Map.Entry<String, CacheEntry>> candidates = new ArrayList<>(providerMap.size());
+			for (Map.Entry<String, CacheEntry> e : providerMap.entrySet()) {
+				if (isExpired(e.getValue(), now)) {
+					evict(e.getKey(), e.getValue());
+				} else {
+					candidates.add(e);
+				}
+			}
+
+			int excess = providerMap.size() - maximumSize;
+			if (excess <= 0) {
+				return;
+			}
+
+			candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+			for (int i = 0; i < candidates.size() && excess > 0; i++) {
+				Map.Entry<String, CacheEntry> e = candidates.get(i);
+				if (evict(e.getKey(), e.getValue())) {
+					excess--;
+				}
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private boolean evict(String addr, CacheEntry entry) {
+		if (!providerMap.remove(addr, entry)) {
+			// Already evicted by another thread
+			return false;
+		}
+		evictionCount.increment();
+		IModelProvider provider = entry.provider;
+		if (provider != null) {
+			closeProvider(provider);
+		}
+		return true;
+	}
+
+	/**
+	 * Cached connector. The connector is created by the first thread requesting
+	 * it, while concurrent requests for the same address wait for it.
+	 */
+	private class CacheEntry {
+		private final String addr;
+		private volatile IModelProvider provider;
+		private volatile long lastAccess = System.nanoTime();
+
+		private CacheEntry(String addr) {
+			this.addr = addr;
+		}
+
+		private IModelProvider getProvider() {
+			lastAccess = System.nanoTime();
+			IModelProvider current = provider;
+			if (current != null) {
+				return current;
+			}
+
+			synchronized (this) {
+				if (provider == null) {
+					try {
+						provider = createProvider(addr);
+					} catch (RuntimeException e) {
+						// Do not cache failed connectors
+						providerMap.remove(addr, this);
+						throw e;
+					}
+				}
+				return provider;
+			}
+		}
+	}
 }
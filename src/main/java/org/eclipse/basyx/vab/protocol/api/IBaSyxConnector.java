@@ -92,6 +92,20 @@ public interface IBaSyxConnector {
 	 */
 	public String invokeOperation(String path, String jsonObject) throws ProviderException;
 
+	/**
+	 * Executes a batch of requests in a single round trip
+	 * 
+	 * @param jsonBatch
+	 *            serialized list of
+	 *            {@link org.eclipse.basyx.vab.modelprovider.batch.VABBatchRequest}s
+	 * @return serialized list of results, one per request
+	 * @throws UnsupportedOperationException
+	 *             if the connector does not support batches. This is the default.
+	 */
+	public default String executeBatch(String jsonBatch) throws ProviderException {
+		throw new UnsupportedOperationException("Batch requests are not supported by " + getClass().getName());
+	}
+
 	/**
 	 * Get string representation of endpoint for given path for debugging.
 	 * 
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits the bytes received on a connection into BaSyx TCP frames. Frames that
+ * span multiple reads are accumulated in a receive buffer that grows on demand,
+ * complete frames are returned as views on that buffer without copying them.
+ * <br>
+ * <br>
+ * A decoder created with a {@link ByteBufferPool} takes its receive buffers
+ * from the pool. Its frames can be kept beyond the next read by detaching their
+ * buffer with {@link #detach()}, e.g. for processing them on other threads.
+ */
+public class BaSyxFrameDecoder {
+	/**
+	 * Default initial size of the receive buffer
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private final int initialBufferSize;
+	private final int maxFrameSize;
+	private final ByteBufferPool pool;
+	private ByteBuffer receiveBuffer;
+	private int readPosition = 0;
+
+	// Buffer containing the frames returned since the last detach, or null
+	private ByteBuffer framesBuffer;
+
+	/**
+	 * Constructor without frame size limit
+	 */
+	public BaSyxFrameDecoder() {
+		this(DEFAULT_BUFFER_SIZE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param initialBufferSize
+	 *            initial size of the receive buffer
+	 * @param maxFrameSize
+	 *            maximum accepted frame size
+	 */
+	public BaSyxFrameDecoder(int initialBufferSize, int maxFrameSize) {
+		this.initialBufferSize = initialBufferSize;
+		this.maxFrameSize = maxFrameSize;
+		this.pool = null;
+		this.receiveBuffer = ByteBuffer.allocate(initialBufferSize).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Constructor for a decoder whose receive buffers are taken from the given
+	 * pool. Buffers for frames exceeding the pooled buffer size are allocated
+	 * separately.
+	 * 
+	 * @param pool
+	 * @param maxFrameSize
+	 *            maximum accepted frame size
+	 */
+	public BaSyxFrameDecoder(ByteBufferPool pool, int maxFrameSize) {
+		this.initialBufferSize = pool.getBufferSize();
+		this.maxFrameSize = maxFrameSize;
+		this.pool = pool;
+		this.receiveBuffer = pool.acquire();
+	}
+
+	/**
+	 * Reads the available bytes from the channel. Frames returned by
+	 * {@link #nextFrame()} before are invalid afterwards, unless the decoder has
+	 * a pool.
+	 * 
+	 * @param channel
+	 * @return number of bytes read or -1, if the channel has reached end of
+	 *         stream
+	 * @throws IOException
+	 */
+	public int read(ReadableByteChannel channel) throws IOException {
+		if (pool != null && framesBuffer == receiveBuffer) {
+			// The returned frames are still valid, so the buffer must not be overwritten
+			moveTo(allocate(receiveBuffer.position() - readPosition));
+		} else if (readPosition == receiveBuffer.position()) {
+			// Everything has been consumed
+			readPosition = 0;
+			if (receiveBuffer.capacity() > initialBufferSize) {
+				// Release buffer that has been enlarged for a big frame
+				receiveBuffer = allocate(0);
+			} else {
+				receiveBuffer.clear();
+			}
+		} else if (!receiveBuffer.hasRemaining()) {
+			compact();
+		}
+		return channel.read(receiveBuffer);
+	}
+
+	/**
+	 * Hands the buffer containing the frames returned since the last call over to
+	 * the caller. The decoder continues with another buffer, so these frames stay
+	 * valid. The caller has to return the buffer to the pool after all of its
+	 * frames have been processed. Only supported by decoders with a pool.
+	 * 
+	 * @return the buffer or null, if no frames have been returned
+	 */
+	public ByteBuffer detach() {
+		ByteBuffer detached = framesBuffer;
+		if (detached == receiveBuffer) {
+			moveTo(allocate(receiveBuffer.position() - readPosition));
+		}
+		framesBuffer = null;
+		return detached;
+	}
+
+	/**
+	 * Returns the receive buffer to the pool. The decoder must not be used
+	 * afterwards.
+	 */
+	public void release() {
+		if (pool != null && framesBuffer != receiveBuffer) {
+			pool.release(receiveBuffer);
+		}
+		receiveBuffer = null;
+	}
+
+	/**
+	 * Returns the next completely received frame without the leading frame size.
+	 * The returned buffer is a little endian view on the receive buffer that is
+	 * valid until the next call to {@link #read(ReadableByteChannel)}. For
+	 * decoders with a pool, it is valid until its buffer has been detached and
+	 * released.
+	 * 
+	 * @return the frame or null, if no complete frame has been received yet
+	 * @throws IOException
+	 *             if the frame size is invalid
+	 */
+	public ByteBuffer nextFrame() throws IOException {
+		int available = receiveBuffer.position() - readPosition;
+		if (available < 4) {
+			return null;
+		}
+
+		int frameSize = receiveBuffer.getInt(readPosition);
+		if (frameSize <= 0 || frameSize > maxFrameSize) {
+			throw new IOException("Invalid BaSyx frame size " + frameSize);
+		}
+
+		if (available < 4 + frameSize) {
+			// Make sure that the complete frame fits into the buffer
+			if (readPosition + 4 + frameSize > receiveBuffer.capacity()) {
+				if (4 + frameSize > receiveBuffer.capacity()) {
+					moveTo(ByteBuffer.allocate(4 + frameSize).order(ByteOrder.LITTLE_ENDIAN));
+				} else if (pool != null && framesBuffer == receiveBuffer) {
+					moveTo(allocate(4 + frameSize));
+				} else {
+					compact();
+				}
+			}
+			return null;
+		}
+
+		ByteBuffer frame = receiveBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		frame.limit(readPosition + 4 + frameSize);
+		frame.position(readPosition + 4);
+		readPosition += 4 + frameSize;
+		framesBuffer = receiveBuffer;
+		return frame;
+	}
+
+	/**
+	 * Blocks until the next frame has been received from a blocking channel
+	 * 
+	 * @param channel
+	 * @return the frame, see {@link #nextFrame()}
+	 * @throws IOException
+	 * @throws ClosedChannelException
+	 *             if the channel reached end of stream before a frame has been
+	 *             received
+	 */
+	public ByteBuffer readFrame(ReadableByteChannel channel) throws IOException {
+		ByteBuffer frame;
+		while ((frame = nextFrame()) == null) {
+			if (read(channel) == -1) {
+				throw new ClosedChannelException();
+			}
+		}
+		return frame;
+	}
+
+	/**
+	 * Continues with the given buffer after copying the unconsumed bytes into it.
+	 * The previous buffer is returned to the pool, unless it contains returned
+	 * frames.
+	 */
+	private void moveTo(ByteBuffer buffer) {
+		receiveBuffer.flip();
+		receiveBuffer.position(readPosition);
+		buffer.put(receiveBuffer);
+		if (pool != null && framesBuffer != receiveBuffer) {
+			pool.release(receiveBuffer);
+		}
+		receiveBuffer = buffer;
+		readPosition = 0;
+	}
+
+	/**
+	 * Returns a new receive buffer of at least the initial size
+	 */
+	private ByteBuffer allocate(int minimumSize) {
+		if (pool != null && minimumSize <= initialBufferSize) {
+			return pool.acquire();
+		}
+		return ByteBuffer.allocate(Math.max(minimumSize, initialBufferSize)).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private void compact() {
+		receiveBuffer.flip();
+		receiveBuffer.position(readPosition);
+		receiveBuffer.compact();
+		readPosition = 0;
+	}
+
+	/**
+	 * Reads a string preceded by its length in bytes from the frame
+	 * 
+	 * @param frame
+	 * @return the UTF-8 decoded string
+	 */
+	public static String getString(ByteBuffer frame) {
+		int length = frame.getInt();
+		String result;
+		if (frame.hasArray()) {
+			result = new String(frame.array(), frame.arrayOffset() + frame.position(), length, StandardCharsets.UTF_8);
+			frame.position(frame.position() + length);
+		} else {
+			byte[] bytes = new byte[length];
+			frame.get(bytes);
+			result = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a stream on a payload preceded by its length in bytes without
+	 * copying it. The frame is positioned after the payload.
+	 * 
+	 * @param frame
+	 * @return stream of the payload bytes
+	 */
+	public static InputStream getPayloadStream(ByteBuffer frame) {
+		int length = frame.getInt();
+		ByteBuffer payload = frame.duplicate();
+		payload.limit(payload.position() + length);
+		frame.position(frame.position() + length);
+		return new ByteBufferInputStream(payload);
+	}
+
+	/**
+	 * Stream on the remaining bytes of a buffer
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		public ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(len, buffer.remaining());
+			buffer.get(b, off, count);
+			return count;
+		}
+
+		@Override
+		public long skip(long n) {
+			int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
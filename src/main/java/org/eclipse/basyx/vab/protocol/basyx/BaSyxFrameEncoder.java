@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
+
+/**
+ * Encodes a BaSyx TCP frame into a sequence of pooled direct buffers. The frame
+ * is transmitted using a gathering write, i.e. header and payload are never
+ * concatenated into one array. All length fields are computed from the encoded
+ * UTF-8 bytes. <br>
+ * <br>
+ * An encoder can be reused for multiple frames, but only encodes one frame at
+ * a time. {@link #release()} has to be called after the frame has been
+ * transmitted to return the buffers to the pool.
+ */
+public class BaSyxFrameEncoder {
+	private final ByteBufferPool pool;
+	private final List<ByteBuffer> buffers = new ArrayList<>();
+	private final OutputStream payloadStream = new PayloadOutputStream();
+	private ByteBuffer current;
+	private ByteBuffer[] frame;
+	private int size;
+	private long payloadLengthMark;
+	private int payloadStart;
+
+	/**
+	 * Constructor using the default {@link ByteBufferPool}
+	 */
+	public BaSyxFrameEncoder() {
+		this(ByteBufferPool.getDefault());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param pool
+	 *            pool the buffers are taken from
+	 */
+	public BaSyxFrameEncoder(ByteBufferPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Encodes a request frame without request id
+	 * 
+	 * @param command
+	 * @param path
+	 * @param value
+	 *            serialized value or null, if the command has no value
+	 * @return this encoder
+	 */
+	public BaSyxFrameEncoder encodeRequest(byte command, String path, String value) {
+		startFrame();
+		putInt8(command);
+		return putRequestBody(path, value);
+	}
+
+	/**
+	 * Encodes a request frame tagged with the given request id
+	 * 
+	 * @param command
+	 * @param requestId
+	 * @param path
+	 * @param value
+	 *            serialized value or null, if the command has no value
+	 * @return this encoder
+	 */
+	public BaSyxFrameEncoder encodeRequest(byte command, int requestId, String path, String value) {
+		startFrame();
+		putInt8(command | VABBaSyxTCPInterface.BASYX_REQUEST_ID_FLAG);
+		putInt32(requestId);
+		return putRequestBody(path, value);
+	}
+
+	private BaSyxFrameEncoder putRequestBody(String path, String value) {
+		putString(path);
+		if (value != null) {
+			putString(value);
+		}
+		finishFrame();
+		return this;
+	}
+
+	/**
+	 * Starts a new frame by reserving the frame size field. Buffers of a previous
+	 * frame are released.
+	 * 
+	 * @return this encoder
+	 */
+	public BaSyxFrameEncoder startFrame() {
+		release();
+		reserveInt32();
+		return this;
+	}
+
+	/**
+	 * Appends a single byte
+	 * 
+	 * @return this encoder
+	 */
+	public BaSyxFrameEncoder putInt8(int value) {
+		ensureRemaining(1);
+		current.put((byte) value);
+		size += 1;
+		return this;
+	}
+
+	/**
+	 * Appends a 32 bit integer
+	 * 
+	 * @return this encoder
+	 */
+	public BaSyxFrameEncoder putInt32(int value) {
+		ensureRemaining(4);
+		current.putInt(value);
+		size += 4;
+		return this;
+	}
+
+	/**
+	 * Appends the given bytes
+	 * 
+	 * @return this encoder
+	 */
+	public BaSyxFrameEncoder putBytes(byte[] bytes, int offset, int length) {
+		while (length > 0) {
+			ensureRemaining(1);
+			int chunk = Math.min(length, current.remaining());
+			current.put(bytes, offset, chunk);
+			offset += chunk;
+			length -= chunk;
+			size += chunk;
+		}
+		return this;
+	}
+
+	/**
+	 * Appends the UTF-8 encoded string preceded by its length in bytes
+	 * 
+	 * @return this encoder
+	 */
+	public BaSyxFrameEncoder putString(String value) {
+		long lengthMark = reserveInt32();
+		int start = size;
+		putUTF8(value);
+		setInt32(lengthMark, size - start);
+		return this;
+	}
+
+	/**
+	 * Starts a payload of unknown length that is written to the returned stream.
+	 * The length field is set by {@link #endPayload()}.
+	 * 
+	 * @return stream that appends to the frame
+	 */
+	public OutputStream startPayload() {
+		payloadLengthMark = reserveInt32();
+		payloadStart = size;
+		return payloadStream;
+	}
+
+	/**
+	 * Ends a payload started by {@link #startPayload()}
+	 * 
+	 * @return this encoder
+	 */
+	public BaSyxFrameEncoder endPayload() {
+		setInt32(payloadLengthMark, size - payloadStart);
+		return this;
+	}
+
+	/**
+	 * Sets the frame size and prepares the buffers for transmission
+	 * 
+	 * @return the buffers that contain the frame
+	 */
+	public ByteBuffer[] finishFrame() {
+		// Frame size does not include the size field itself
+		buffers.get(0).putInt(0, size - 4);
+		for (ByteBuffer buffer : buffers) {
+			buffer.flip();
+		}
+		frame = buffers.toArray(new ByteBuffer[buffers.size()]);
+		return frame;
+	}
+
+	/**
+	 * Returns the buffers of the finished frame
+	 * 
+	 * @return the buffers or null, if no frame has been finished
+	 */
+	public ByteBuffer[] getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Returns the number of bytes of the current frame including the size field
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Writes as much of the finished frame as the channel accepts
+	 * 
+	 * @param channel
+	 * @return true, if the frame has been written completely
+	 * @throws IOException
+	 */
+	public boolean writeTo(GatheringByteChannel channel) throws IOException {
+		channel.write(frame);
+		return !frame[frame.length - 1].hasRemaining();
+	}
+
+	/**
+	 * Writes the complete finished frame to a blocking channel
+	 * 
+	 * @param channel
+	 * @throws IOException
+	 */
+	public void writeFullyTo(GatheringByteChannel channel) throws IOException {
+		while (!writeTo(channel)) {
+			// Continue writing
+		}
+	}
+
+	/**
+	 * Returns all buffers to the pool and resets the encoder
+	 */
+	public void release() {
+		for (ByteBuffer buffer : buffers) {
+			pool.release(buffer);
+		}
+		buffers.clear();
+		current = null;
+		frame = null;
+		size = 0;
+	}
+
+	/**
+	 * Reserves space for a 32 bit integer that is set later on
+	 * 
+	 * @return mark to be passed to {@link #setInt32(long, int)}
+	 */
+	private long reserveInt32() {
+		ensureRemaining(4);
+		long mark = ((long) (buffers.size() - 1) << 32) | current.position();
+		current.position(current.position() + 4);
+		size += 4;
+		return mark;
+	}
+
+	private void setInt32(long mark, int value) {
+		buffers.get((int) (mark >>> 32)).putInt((int) mark, value);
+	}
+
+	private void ensureRemaining(int bytes) {
+		if (current == null || current.remaining() < bytes) {
+			current = pool.acquire();
+			buffers.add(current);
+		}
+	}
+
+	/**
+	 * Encodes the string as UTF-8 directly into the buffers. Unpaired surrogates
+	 * are replaced by '?' like {@link String#getBytes(java.nio.charset.Charset)}
+	 * does.
+	 */
+	private void putUTF8(String value) {
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				ensureRemaining(1);
+				current.put((byte) c);
+				size += 1;
+			} else if (c < 0x800) {
+				ensureRemaining(2);
+				current.put((byte) (0xC0 | (c >> 6)));
+				current.put((byte) (0x80 | (c & 0x3F)));
+				size += 2;
+			} else if (Character.isSurrogate(c)) {
+				if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+					int codePoint = Character.toCodePoint(c, value.charAt(++i));
+					ensureRemaining(4);
+					current.put((byte) (0xF0 | (codePoint >> 18)));
+					current.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+					current.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+					current.put((byte) (0x80 | (codePoint & 0x3F)));
+					size += 4;
+				} else {
+					ensureRemaining(1);
+					current.put((byte) '?');
+					size += 1;
+				}
+			} else {
+				ensureRemaining(3);
+				current.put((byte) (0xE0 | (c >> 12)));
+				current.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+				current.put((byte) (0x80 | (c & 0x3F)));
+				size += 3;
+			}
+		}
+	}
+
+	/**
+	 * Stream view on the payload of the frame
+	 */
+	private class PayloadOutputStream extends OutputStream {
+		@Override
+		public void write(int b) {
+			putInt8(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			putBytes(b, off, len);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Pool of direct {@link ByteBuffer}s with a fixed capacity. Buffers that are
+ * released while the pool is full are left to the garbage collector.
+ */
+public class ByteBufferPool {
+	/**
+	 * Default capacity of the pooled buffers
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
+	/**
+	 * Default number of buffers kept by the pool
+	 */
+	public static final int DEFAULT_MAX_POOLED_BUFFERS = 256;
+
+	private static final ByteBufferPool DEFAULT_POOL = new ByteBufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED_BUFFERS);
+
+	private final int bufferSize;
+	private final ArrayBlockingQueue<ByteBuffer> pooledBuffers;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param bufferSize
+	 *            capacity of the buffers, has to be at least 16 bytes
+	 * @param maxPooledBuffers
+	 *            maximum number of released buffers kept for reuse
+	 */
+	public ByteBufferPool(int bufferSize, int maxPooledBuffers) {
+		if (bufferSize < 16) {
+			throw new IllegalArgumentException("Buffer size has to be at least 16 bytes, but is " + bufferSize);
+		}
+		this.bufferSize = bufferSize;
+		this.pooledBuffers = new ArrayBlockingQueue<>(Math.max(1, maxPooledBuffers));
+	}
+
+	/**
+	 * Returns the pool that is shared by default by all BaSyx TCP connections
+	 */
+	public static ByteBufferPool getDefault() {
+		return DEFAULT_POOL;
+	}
+
+	/**
+	 * Returns an empty little endian buffer, either from the pool or newly
+	 * allocated
+	 */
+	public ByteBuffer acquire() {
+		ByteBuffer buffer = pooledBuffers.poll();
+		if (buffer == null) {
+			buffer = ByteBuffer.allocateDirect(bufferSize);
+		} else {
+			buffer.clear();
+		}
+		return buffer.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Returns the buffer to the pool. The buffer must not be used afterwards.
+	 * 
+	 * @param buffer
+	 */
+	public void release(ByteBuffer buffer) {
+		if (buffer.isDirect() && buffer.capacity() == bufferSize) {
+			pooledBuffers.offer(buffer);
+		}
+	}
+
+	/**
+	 * Returns the capacity of the pooled buffers
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * Returns the number of buffers currently available for reuse
+	 */
+	public int getPooledBuffers() {
+		return pooledBuffers.size();
+	}
+}
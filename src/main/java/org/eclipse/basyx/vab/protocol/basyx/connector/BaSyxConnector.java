@@ -32,7 +32,8 @@ import java.nio.channels.SocketChannel;
 
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.protocol.api.IBaSyxConnector;
-import org.eclipse.basyx.vab.protocol.basyx.CoderTools;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameDecoder;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameEncoder;
 import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +49,7 @@ public class BaSyxConnector implements IBaSyxConnector {
 	private Logger logger = LoggerFactory.getLogger(BaSyxConnector.class);
 	private InetSocketAddress serverSocketAddress;
 	private SocketChannel channelToProvider;
+	private final BaSyxFrameEncoder frameEncoder = new BaSyxFrameEncoder();
 
 	/**
 	 * Constructor that creates a connection.
@@ -69,10 +71,21 @@ public class BaSyxConnector implements IBaSyxConnector {
 		}
 	}
 
+	/**
+	 * Returns the address of the connected server
+	 */
+	protected InetSocketAddress getServerSocketAddress() {
+		return serverSocketAddress;
+	}
+
 	/**
 	 * Close connection
 	 */
 	private void closeConnection() {
+		if (channelToProvider == null) {
+			return;
+		}
+
 		// Try to close connection
 		try {
 			channelToProvider.close();
@@ -84,62 +97,83 @@ public class BaSyxConnector implements IBaSyxConnector {
 
 	/**
 	 * Invoke a BaSyx operation in a remote provider
+	 * 
+	 * @param command
+	 *            the BaSyx command, e.g. {@link VABBaSyxTCPInterface#BASYX_GET}
+	 * @param servicePath
+	 * @param value
+	 *            serialized value or null, if the command has no value
+	 * @return the serialized result or null, if the call failed
+	 */
+	protected synchronized String invokeBaSyx(byte command, String servicePath, String value) {
+		try {
+			// Encode BaSyx operation
+			frameEncoder.encodeRequest(command, servicePath, value);
+			return exchange(frameEncoder.getFrame());
+		} finally {
+			frameEncoder.release();
+		}
+	}
+
+	/**
+	 * Invoke a BaSyx operation in a remote provider
+	 * 
+	 * @param call
+	 *            the complete encoded frame of the call including its size
+	 * @return the serialized result or null, if the call failed
 	 */
 	protected synchronized String invokeBaSyx(byte[] call) {
+		return exchange(new ByteBuffer[] { ByteBuffer.wrap(call) });
+	}
+
+	/**
+	 * Sends a frame over a new connection and reads the response
+	 */
+	private String exchange(ByteBuffer[] txFrame) {
 		// Catch exceptions
 		try {
-			// Send byte array (BaSyx operation) via channel to provider
-			ByteBuffer txBuffer = ByteBuffer.wrap(call);
-
 			// Channel to provider
 			channelToProvider = SocketChannel.open();
 			// - Setup channel: set to blocking and connect to provider
 			channelToProvider.configureBlocking(true);
 			channelToProvider.connect(serverSocketAddress);
 
-			channelToProvider.write(txBuffer);
-
-			// Read response
-			// - Wait for leading 4 byte header that contains frame length
-			ByteBuffer rxBuffer1 = ByteBuffer.allocate(4);
-			// System.out.println("RX1");
-			readBytes(rxBuffer1, 4);
-			// System.out.println("RX1-d");
-			int frameSize = CoderTools.getInt32(rxBuffer1.array(), 0);
+			// Send BaSyx operation via channel to provider
+			writeFully(txFrame);
 
-			// Wait for frame to arrive
-			ByteBuffer rxBuffer2 = ByteBuffer.allocate(frameSize);
-			// System.out.println("RX2");
-			readBytes(rxBuffer2, frameSize);
-			// System.out.println("RX2-d");
-			byte[] rxFrame = rxBuffer2.array();
-
-			// Return received data
-
-			// Result check
-			if ((rxFrame == null) || (rxFrame.length < 2))
-				return null;
+			// Read response. The decoder is only used for this connection, so that bytes
+			// of a failed call can not be mistaken for the response of the next call.
+			ByteBuffer rxFrame = new BaSyxFrameDecoder().readFrame(channelToProvider);
 
 			// - FIXME: Check result on position 0
+			rxFrame.get();
 
 			// Extract response
-			int jsonResultLen = CoderTools.getInt32(rxFrame, 1);
-			String jsonResult = new String(rxFrame, 1 + 4, jsonResultLen);
-
-			// Close connection to prevent unused open channels
-			closeConnection();
+			String jsonResult = BaSyxFrameDecoder.getString(rxFrame);
 
 			// Return result
-			return jsonResult.toString();
+			return jsonResult;
 		} catch (IOException e) {
 			// Print stack trace
 			logger.error("Exception in invokeBaSyx", e);
+		} finally {
+			// Close connection to prevent unused open channels
+			closeConnection();
 		}
 
 		// Indicate error
 		return null;
 	}
 
+	/**
+	 * Writes all buffers of a frame to the blocking channel
+	 */
+	private void writeFully(ByteBuffer[] frame) throws IOException {
+		while (frame[frame.length - 1].hasRemaining()) {
+			channelToProvider.write(frame);
+		}
+	}
+
 	/**
 	 * Read a number of bytes
 	 */
@@ -165,10 +199,8 @@ public class BaSyxConnector implements IBaSyxConnector {
 	@Override
 	public String getValue(String servicePath) {
 
-		byte[] call = createCall(servicePath, VABBaSyxTCPInterface.BASYX_GET);
-
 		// Invoke BaSyx call and return result
-		return invokeBaSyx(call);
+		return invokeBaSyx(VABBaSyxTCPInterface.BASYX_GET, servicePath, null);
 	}
 
 	/**
@@ -181,10 +213,8 @@ public class BaSyxConnector implements IBaSyxConnector {
 	@Override
 	public String setValue(String servicePath, String newValue) {
 
-		byte[] call = createCall(servicePath, newValue, VABBaSyxTCPInterface.BASYX_SET);
-
 		// Invoke BaSyx call and return result
-		return invokeBaSyx(call);
+		return invokeBaSyx(VABBaSyxTCPInterface.BASYX_SET, servicePath, newValue);
 	}
 
 	/**
@@ -193,10 +223,8 @@ public class BaSyxConnector implements IBaSyxConnector {
 	@Override
 	public String createValue(String servicePath, String newValue) throws ProviderException {
 
-		byte[] call = createCall(servicePath, newValue, VABBaSyxTCPInterface.BASYX_CREATE);
-
 		// Invoke BaSyx call and return result
-		return invokeBaSyx(call);
+		return invokeBaSyx(VABBaSyxTCPInterface.BASYX_CREATE, servicePath, newValue);
 	}
 
 	/**
@@ -205,10 +233,8 @@ public class BaSyxConnector implements IBaSyxConnector {
 	@Override
 	public String invokeOperation(String servicePath, String parameters) throws ProviderException {
 
-		byte[] call = createCall(servicePath, parameters, VABBaSyxTCPInterface.BASYX_INVOKE);
-
 		// Invoke BaSyx call and return result
-		return invokeBaSyx(call);
+		return invokeBaSyx(VABBaSyxTCPInterface.BASYX_INVOKE, servicePath, parameters);
 
 	}
 
@@ -221,10 +247,8 @@ public class BaSyxConnector implements IBaSyxConnector {
 	@Override
 	public String deleteValue(String servicePath) throws ProviderException {
 
-		byte[] call = createCall(servicePath, VABBaSyxTCPInterface.BASYX_DELETE);
-
 		// Invoke BaSyx call and return result
-		return invokeBaSyx(call);
+		return invokeBaSyx(VABBaSyxTCPInterface.BASYX_DELETE, servicePath, null);
 	}
 
 	/**
@@ -237,59 +261,22 @@ public class BaSyxConnector implements IBaSyxConnector {
 	@Override
 	public String deleteValue(String servicePath, String jsonObject) throws ProviderException {
 
-		byte[] call = createCall(servicePath, jsonObject, VABBaSyxTCPInterface.BASYX_DELETE);
-
 		// Invoke BaSyx call and return result
-		return invokeBaSyx(call);
+		return invokeBaSyx(VABBaSyxTCPInterface.BASYX_DELETE, servicePath, jsonObject);
 	}
 
 	/**
-	 * Create non-parameterized call that can be used as an argument to the
-	 * invokeBaSyx function
+	 * Invoke a BaSyx batch operation. Executes all requests of the batch with a
+	 * single round trip
 	 * 
-	 * @param servicePath
-	 * @param jsonObject
-	 * @return
+	 * @throws ProviderException
+	 *             that carries the Exceptions thrown on the server
 	 */
-	private byte[] createCall(String servicePath, byte callType) {
-		// Create call
-		byte[] call = new byte[4 + 1 + 4 + servicePath.length()];
-		// - Encode size does not include leading four bytes
-		CoderTools.setInt32(call, 0, call.length - 4);
-		// - Encode operation GET
-		CoderTools.setInt8(call, 4, callType);
-		// - Encode path length and path
-		CoderTools.setInt32(call, 5, servicePath.length());
-		CoderTools.setString(call, 9, servicePath);
-
-		return call;
-	}
+	@Override
+	public String executeBatch(String jsonBatch) throws ProviderException {
 
-	/**
-	 * Create parameterized byte call that can be used as an argument to the
-	 * invokeBaSyx function
-	 * 
-	 * @param servicePath
-	 * @param newValue
-	 * @param callType
-	 * @return
-	 */
-	private byte[] createCall(String servicePath, String newValue, byte callType) {
-
-		// Create call
-		byte[] call = new byte[4 + 1 + 4 + servicePath.length() + 4 + newValue.length()];
-		// - Encode size does not include leading four bytes
-		CoderTools.setInt32(call, 0, call.length - 4);
-		// - Encode operation SET
-		CoderTools.setInt8(call, 4, callType);
-		// - Encode path
-		CoderTools.setInt32(call, 5, servicePath.length());
-		CoderTools.setString(call, 9, servicePath);
-		// - Encode value
-		CoderTools.setInt32(call, 9 + servicePath.length(), newValue.length());
-		CoderTools.setString(call, 9 + servicePath.length() + 4, newValue);
-
-		return call;
+		// Invoke BaSyx call and return result
+		return invokeBaSyx(VABBaSyxTCPInterface.BASYX_BATCH, "", jsonBatch);
 	}
 
 	/**
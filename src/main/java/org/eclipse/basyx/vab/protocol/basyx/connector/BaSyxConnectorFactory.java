@@ -24,6 +24,9 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.protocol.basyx.connector;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
@@ -38,6 +41,44 @@ import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
  */
 public class BaSyxConnectorFactory extends ConnectorFactory {
 
+	/**
+	 * Number of persistent connections per endpoint; 0 disables multiplexing
+	 */
+	private final int connectionsPerEndpoint;
+
+	/**
+	 * Response timeout of multiplexed connectors in milliseconds
+	 */
+	private final long timeout;
+
+	/**
+	 * Multiplexed connectors shared by all providers for the same endpoint
+	 */
+	private final Map<String, MultiplexedBaSyxConnector> multiplexedConnectors = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a factory whose connectors open one connection per call
+	 */
+	public BaSyxConnectorFactory() {
+		this(0, 0);
+	}
+
+	/**
+	 * Creates a factory whose connectors keep persistent connections to each
+	 * endpoint and pipeline requests over them. The servers have to support the
+	 * request id extension of the BaSyx TCP protocol.
+	 * 
+	 * @param connectionsPerEndpoint
+	 *            number of persistent connections per endpoint; 0 disables
+	 *            multiplexing
+	 * @param timeout
+	 *            time in milliseconds to wait for a response; 0 waits infinitely
+	 */
+	public BaSyxConnectorFactory(int connectionsPerEndpoint, long timeout) {
+		this.connectionsPerEndpoint = connectionsPerEndpoint;
+		this.timeout = timeout;
+	}
+
 	/**
 	 * Create the provider
 	 */
@@ -51,7 +92,7 @@ public class BaSyxConnectorFactory extends ConnectorFactory {
 		int hostPort = Integer.parseInt(splitted[0].substring(address.indexOf(':') + 1));
 
 		// Create connector, connect
-		IModelProvider provider = new JSONConnector(new BaSyxConnector(hostName, hostPort));
+		IModelProvider provider = new JSONConnector(createConnector(hostName, hostPort));
 
 		// Create a proxy, if necessary
 		String path = address.replaceFirst(hostName + ":" + hostPort, "");
@@ -62,4 +103,22 @@ public class BaSyxConnectorFactory extends ConnectorFactory {
 		return provider;
 	}
 
+	/**
+	 * Closes the persistent connections of all multiplexed connectors created by
+	 * this factory
+	 */
+	public void close() {
+		multiplexedConnectors.values().forEach(MultiplexedBaSyxConnector::close);
+	}
+
+	/**
+	 * Creates a connector for the given endpoint. Multiplexed connectors are shared
+	 * per endpoint.
+	 */
+	private BaSyxConnector createConnector(String hostName, int hostPort) {
+		if (connectionsPerEndpoint <= 0) {
+			return new BaSyxConnector(hostName, hostPort);
+		}
+		return multiplexedConnectors.computeIfAbsent(hostName + ":" + hostPort, k -> new MultiplexedBaSyxConnector(hostName, hostPort, connectionsPerEndpoint, timeout));
+	}
 }
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.connector;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.async.FutureHelper;
+import org.eclipse.basyx.vab.protocol.api.IAsyncBaSyxConnector;
+import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * BaSyx connector that keeps its connections to the server open and pipelines
+ * requests over them. In contrast to {@link BaSyxConnector}, calls are not
+ * serialized and no connection is established per call. Responses are
+ * correlated to requests using the request id extension of the BaSyx TCP
+ * protocol, which therefore has to be supported by the server. <br>
+ * <br>
+ * As responses are received by a separate reader thread per connection, this
+ * connector also supports sending requests without blocking via
+ * {@link IAsyncBaSyxConnector}.
+ */
+public class MultiplexedBaSyxConnector extends BaSyxConnector implements IAsyncBaSyxConnector {
+	private Logger logger = LoggerFactory.getLogger(MultiplexedBaSyxConnector.class);
+
+	/**
+	 * Fails requests whose timeout elapsed
+	 */
+	private static final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, MultiplexedBaSyxConnector.class.getSimpleName() + "-timeout");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Default number of connections held to the server
+	 */
+	public static final int DEFAULT_POOL_SIZE = 4;
+
+	/**
+	 * Connections to the server. A slot holds the future of its connection, so
+	 * that the connection can be established without blocking the other slots.
+	 */
+	private final AtomicReferenceArray<CompletableFuture<MultiplexedChannel>> channels;
+	private final long timeout;
+	private final AtomicInteger requestIdCounter = new AtomicInteger();
+	private final AtomicInteger nextChannel = new AtomicInteger();
+
+	/**
+	 * Constructor using {@link #DEFAULT_POOL_SIZE} connections and no timeout
+	 */
+	public MultiplexedBaSyxConnector(String hostName, int port) {
+		this(hostName, port, DEFAULT_POOL_SIZE, 0);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param hostName
+	 * @param port
+	 * @param poolSize
+	 *            number of connections requests are distributed on
+	 * @param timeout
+	 *            time in milliseconds to wait for a response; 0 waits infinitely
+	 */
+	public MultiplexedBaSyxConnector(String hostName, int port, int poolSize, long timeout) {
+		super(hostName, port);
+		this.channels = new AtomicReferenceArray<>(poolSize);
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Invoke a BaSyx operation in a remote provider
+	 */
+	@Override
+	protected String invokeBaSyx(byte command, String servicePath, String value) {
+		CompletableFuture<String> response = invokeBaSyxAsync(command, servicePath, value);
+		try {
+			return response.get();
+		} catch (ExecutionException e) {
+			logger.error("Exception in invokeBaSyx", e.getCause());
+		} catch (InterruptedException e) {
+			response.cancel(false);
+			Thread.currentThread().interrupt();
+		}
+
+		// Indicate error
+		return null;
+	}
+
+	/**
+	 * Sends a BaSyx operation to the remote provider without waiting for its
+	 * response
+	 * 
+	 * @param command
+	 *            the BaSyx command, e.g. {@link VABBaSyxTCPInterface#BASYX_GET}
+	 * @param servicePath
+	 * @param value
+	 *            serialized value or null, if the command has no value
+	 * @return future for the serialized result. It is completed exceptionally, if
+	 *         the request could not be sent, the connection was lost or the
+	 *         timeout elapsed.
+	 */
+	protected CompletableFuture<String> invokeBaSyxAsync(byte command, String servicePath, String value) {
+		int requestId = requestIdCounter.incrementAndGet();
+		MultiplexedChannel channel;
+		CompletableFuture<String> response;
+		try {
+			channel = getChannel();
+			response = channel.send(command, requestId, servicePath, value);
+		} catch (IOException e) {
+			return FutureHelper.failedFuture(new ProviderException("Could not send request to " + getServerSocketAddress(), e));
+		}
+
+		if (timeout > 0) {
+			ScheduledFuture<?> timer = timeoutScheduler.schedule(() -> {
+				channel.cancel(requestId);
+				response.completeExceptionally(new ProviderException("Timeout in invokeBaSyx after " + timeout + "ms"));
+			}, timeout, TimeUnit.MILLISECONDS);
+			response.whenComplete((result, e) -> timer.cancel(false));
+		}
+		return response;
+	}
+
+	@Override
+	public CompletableFuture<String> getValueAsync(String servicePath) {
+		return invokeBaSyxAsync(VABBaSyxTCPInterface.BASYX_GET, servicePath, null);
+	}
+
+	@Override
+	public CompletableFuture<String> setValueAsync(String servicePath, String newValue) {
+		return invokeBaSyxAsync(VABBaSyxTCPInterface.BASYX_SET, servicePath, newValue);
+	}
+
+	@Override
+	public CompletableFuture<String> createValueAsync(String servicePath, String newEntity) {
+		return invokeBaSyxAsync(VABBaSyxTCPInterface.BASYX_CREATE, servicePath, newEntity);
+	}
+
+	@Override
+	public CompletableFuture<String> deleteValueAsync(String servicePath) {
+		return invokeBaSyxAsync(VABBaSyxTCPInterface.BASYX_DELETE, servicePath, null);
+	}
+
+	@Override
+	public CompletableFuture<String> deleteValueAsync(String servicePath, String obj) {
+		return invokeBaSyxAsync(VABBaSyxTCPInterface.BASYX_DELETE, servicePath, obj);
+	}
+
+	@Override
+	public CompletableFuture<String> invokeOperationAsync(String servicePath, String parameters) {
+		return invokeBaSyxAsync(VABBaSyxTCPInterface.BASYX_INVOKE, servicePath, parameters);
+	}
+
+	/**
+	 * Closes all connections to the server. Subsequent calls reconnect.
+	 */
+	public void close() {
+		for (int i = 0; i < channels.length(); i++) {
+			CompletableFuture<MultiplexedChannel> channel = channels.getAndSet(i, null);
+			if (channel != null) {
+				// Connections that are currently established are closed as soon as they are
+				// connected
+				channel.thenAccept(MultiplexedChannel::close);
+			}
+		}
+	}
+
+	/**
+	 * Returns the next connection in round-robin order and (re-)connects it if
+	 * necessary. Only callers of the same slot wait for its connection to be
+	 * established.
+	 */
+	private MultiplexedChannel getChannel() throws IOException {
+		int index = Math.floorMod(nextChannel.getAndIncrement(), channels.length());
+		while (true) {
+			CompletableFuture<MultiplexedChannel> current = channels.get(index);
+			if (current != null) {
+				MultiplexedChannel channel = awaitChannel(current);
+				if (channel.isOpen()) {
+					return channel;
+				}
+			}
+
+			CompletableFuture<MultiplexedChannel> connecting = new CompletableFuture<>();
+			if (!channels.compareAndSet(index, current, connecting)) {
+				// Another caller is already reconnecting this slot
+				continue;
+			}
+
+			try {
+				MultiplexedChannel channel = new MultiplexedChannel(getServerSocketAddress());
+				connecting.complete(channel);
+				return channel;
+			} catch (IOException e) {
+				// Let the next call try again
+				channels.compareAndSet(index, connecting, null);
+				connecting.completeExceptionally(e);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Waits for a connection of a slot to be established by another caller
+	 */
+	private MultiplexedChannel awaitChannel(CompletableFuture<MultiplexedChannel> channel) throws IOException {
+		try {
+			return channel.get();
+		} catch (ExecutionException e) {
+			throw new IOException("Could not connect to " + getServerSocketAddress(), e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while connecting to " + getServerSocketAddress());
+		}
+	}
+}
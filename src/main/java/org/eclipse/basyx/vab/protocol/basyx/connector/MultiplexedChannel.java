@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.connector;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameDecoder;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent connection to a BaSyx TCP server that supports multiple
+ * in-flight requests. Requests are tagged with a request id, a reader thread
+ * correlates the responses with the pending requests.
+ */
+class MultiplexedChannel {
+	private static Logger logger = LoggerFactory.getLogger(MultiplexedChannel.class);
+
+	private final SocketChannel channel;
+	private final Map<Integer, CompletableFuture<String>> pendingRequests = new ConcurrentHashMap<>();
+	private final BaSyxFrameEncoder encoder = new BaSyxFrameEncoder();
+	private final BaSyxFrameDecoder decoder = new BaSyxFrameDecoder();
+	private volatile boolean open = true;
+
+	/**
+	 * Connects to the given address and starts the reader thread
+	 * 
+	 * @param address
+	 * @throws IOException
+	 */
+	public MultiplexedChannel(InetSocketAddress address) throws IOException {
+		channel = SocketChannel.open();
+		channel.configureBlocking(true);
+		channel.connect(address);
+
+		Thread reader = new Thread(this::readResponses, MultiplexedChannel.class.getName() + " " + address);
+		reader.setDaemon(true);
+		reader.start();
+	}
+
+	/**
+	 * Indicates if the channel can still be used for sending requests
+	 */
+	public boolean isOpen() {
+		return open;
+	}
+
+	/**
+	 * Sends a BaSyx call tagged with the given request id
+	 * 
+	 * @param command
+	 * @param requestId
+	 * @param servicePath
+	 * @param value
+	 *            serialized value or null, if the command has no value
+	 * @return future that is completed with the JSON response
+	 * @throws IOException
+	 */
+	public synchronized CompletableFuture<String> send(byte command, int requestId, String servicePath, String value) throws IOException {
+		if (!open) {
+			throw new ClosedChannelException();
+		}
+
+		CompletableFuture<String> response = new CompletableFuture<>();
+		pendingRequests.put(requestId, response);
+
+		try {
+			encoder.encodeRequest(command, requestId, servicePath, value);
+			encoder.writeFullyTo(channel);
+		} catch (IOException e) {
+			pendingRequests.remove(requestId);
+			close(e);
+			throw e;
+		} finally {
+			encoder.release();
+		}
+		return response;
+	}
+
+	/**
+	 * Discards a pending request, e.g. after a timeout
+	 * 
+	 * @param requestId
+	 */
+	public void cancel(int requestId) {
+		pendingRequests.remove(requestId);
+	}
+
+	/**
+	 * Closes the connection and fails all pending requests
+	 */
+	public void close() {
+		close(new ClosedChannelException());
+	}
+
+	private void close(Exception cause) {
+		open = false;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			logger.debug("Exception while closing channel", e);
+		}
+
+		for (Integer requestId : pendingRequests.keySet()) {
+			CompletableFuture<String> response = pendingRequests.remove(requestId);
+			if (response != null) {
+				response.completeExceptionally(cause);
+			}
+		}
+	}
+
+	/**
+	 * Reader thread main function
+	 */
+	private void readResponses() {
+		try {
+			while (open) {
+				// Wait for the next response frame
+				ByteBuffer rxFrame = decoder.readFrame(channel);
+
+				// Extract request id and response
+				rxFrame.get();
+				int requestId = rxFrame.getInt();
+				String jsonResult = BaSyxFrameDecoder.getString(rxFrame);
+
+				CompletableFuture<String> response = pendingRequests.remove(requestId);
+				if (response != null) {
+					response.complete(jsonResult);
+				} else {
+					logger.debug("Discarding response for unknown or cancelled request " + requestId);
+				}
+			}
+		} catch (IOException e) {
+			if (open) {
+				logger.debug("Connection closed while reading responses", e);
+			}
+			close(e);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.server;
+
+import static org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface.BASYX_BATCH;
+import static org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface.BASYX_CREATE;
+import static org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface.BASYX_DELETE;
+import static org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface.BASYX_GET;
+import static org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface.BASYX_INVOKE;
+import static org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface.BASYX_REQUEST_ID_FLAG;
+import static org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface.BASYX_RESULT_OK;
+import static org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface.BASYX_SET;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResponseAbortedException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameDecoder;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes a received BaSyx TCP frame, forwards it to a {@link JSONProvider} and
+ * encodes the response frame. The processor is independent of the transport,
+ * i.e. it is used by both the blocking and the non-blocking BaSyx TCP server.
+ * <br>
+ * <br>
+ * Request values are deserialized directly from the received frame and the
+ * response is serialized directly into the buffers of the response frame.
+ * 
+ * @author kuhn, pschorn, schnicke
+ *
+ */
+public class BaSyxTCPRequestProcessor<ModelProvider extends IModelProvider> {
+
+	private static Logger logger = LoggerFactory.getLogger(BaSyxTCPRequestProcessor.class);
+
+	/**
+	 * Reference to IModelProvider backend
+	 */
+	protected JSONProvider<ModelProvider> providerBackend = null;
+
+	/**
+	 * Constructor
+	 */
+	public BaSyxTCPRequestProcessor(JSONProvider<ModelProvider> providerBackend) {
+		this.providerBackend = providerBackend;
+	}
+
+	/**
+	 * Returns true, if the given frame carries a request id
+	 * 
+	 * @param rxFrame
+	 *            the received frame without the leading frame size
+	 */
+	public static boolean hasRequestId(ByteBuffer rxFrame) {
+		return (rxFrame.get(rxFrame.position()) & BASYX_REQUEST_ID_FLAG) != 0;
+	}
+
+	/**
+	 * Process input frame
+	 * 
+	 * @param rxFrame
+	 *            the received little endian frame without the leading frame size
+	 * @param response
+	 *            encoder the response frame is encoded with. The frame is
+	 *            finished and ready to be transmitted afterwards.
+	 * @throws ResponseAbortedException
+	 *             if the request failed after a part of the response has been
+	 *             encoded. The connection has to be closed in this case.
+	 */
+	public void processFrame(ByteBuffer rxFrame, BaSyxFrameEncoder response) {
+		// Get command and the optional request id
+		byte command = rxFrame.get();
+		boolean hasRequestId = (command & BASYX_REQUEST_ID_FLAG) != 0;
+		int requestId = 0;
+		if (hasRequestId) {
+			command = (byte) (command & ~BASYX_REQUEST_ID_FLAG);
+			requestId = rxFrame.getInt();
+		}
+
+		if (command < BASYX_GET || command > BASYX_BATCH) {
+			throw new RuntimeException("Unknown BaSyx TCP command received");
+		}
+
+		// Get path string
+		String path = BaSyxFrameDecoder.getString(rxFrame);
+
+		// Start response frame with positive response
+		response.startFrame();
+		if (hasRequestId) {
+			response.putInt8(BASYX_RESULT_OK | BASYX_REQUEST_ID_FLAG);
+			response.putInt32(requestId);
+		} else {
+			response.putInt8(BASYX_RESULT_OK);
+		}
+		OutputStream output = response.startPayload();
+
+		// Forward request to provider
+		// Exceptions from the JSONProvider are encoded in the returned String. No
+		// further action here, as the current version of the TCP-Mapping states that
+		// always status code 0x00 should be returned.
+		try {
+			switch (command) {
+			case BASYX_GET:
+				providerBackend.processBaSysGet(path, output);
+				break;
+			case BASYX_SET:
+				providerBackend.processBaSysSet(path, BaSyxFrameDecoder.getPayloadStream(rxFrame), output);
+				break;
+			case BASYX_CREATE:
+				providerBackend.processBaSysCreate(path, BaSyxFrameDecoder.getPayloadStream(rxFrame), output);
+				break;
+			case BASYX_DELETE:
+				// The value is optional, a missing value indicates that the entity should be
+				// removed
+				InputStream value = rxFrame.remaining() >= 4 ? BaSyxFrameDecoder.getPayloadStream(rxFrame) : new ByteArrayInputStream(new byte[0]);
+				providerBackend.processBaSysDelete(path, value, output);
+				break;
+			case BASYX_INVOKE:
+				providerBackend.processBaSysInvoke(path, BaSyxFrameDecoder.getPayloadStream(rxFrame), output);
+				break;
+			case BASYX_BATCH:
+				providerBackend.processBaSysBatch(path, BaSyxFrameDecoder.getPayloadStream(rxFrame), output);
+				break;
+			default:
+				break;
+			}
+		} catch (ResponseAbortedException e) {
+			// The partial response can not be completed, the connection has to be closed
+			throw e;
+		} catch (ProviderException e) {
+			logger.debug("Exception in BaSyx TCP command " + command, e);
+		}
+
+		// Finish response frame
+		response.endPayload();
+		response.finishFrame();
+	}
+}
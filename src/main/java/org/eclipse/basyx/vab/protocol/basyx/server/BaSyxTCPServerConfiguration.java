@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.server;
+
+/**
+ * Holds the configuration for a {@link NonBlockingBaSyxTCPServer}. All time
+ * values are given in milliseconds.
+ */
+public final class BaSyxTCPServerConfiguration {
+	private int port = 6998;
+	private int selectorThreads = 1;
+	private int workerThreads = Runtime.getRuntime().availableProcessors();
+	private int maxConnections = 1024;
+	private long idleTimeout = 0;
+	private long drainTimeout = 5000;
+	private int maxFrameSize = Integer.MAX_VALUE;
+	private int maxPendingRequests = 1000;
+
+	/**
+	 * Creates a new {@link BaSyxTCPServerConfiguration} with default settings.
+	 */
+	public BaSyxTCPServerConfiguration() {
+		// Nothing to be done, all settings are default.
+	}
+
+	/**
+	 * Creates a new {@link BaSyxTCPServerConfiguration} with default settings
+	 * listening on the given port.
+	 * 
+	 * @param port
+	 */
+	public BaSyxTCPServerConfiguration(int port) {
+		this.port = port;
+	}
+
+	/**
+	 * Gets the port the server listens on.
+	 * 
+	 * <p>
+	 * Default: 6998
+	 * 
+	 * @return The port.
+	 */
+	public int getPort() {
+		return port;
+	}
+
+	/**
+	 * Sets the port the server listens on.
+	 * 
+	 * @param port
+	 * @return This {@link BaSyxTCPServerConfiguration}.
+	 */
+	public BaSyxTCPServerConfiguration setPort(int port) {
+		this.port = port;
+		return this;
+	}
+
+	/**
+	 * Gets the number of selector threads that accept connections, read request
+	 * frames and write response frames.
+	 * 
+	 * <p>
+	 * Default: 1
+	 * 
+	 * @return The number of selector threads.
+	 */
+	public int getSelectorThreads() {
+		return selectorThreads;
+	}
+
+	/**
+	 * Sets the number of selector threads that accept connections, read request
+	 * frames and write response frames.
+	 * 
+	 * @param selectorThreads
+	 * @return This {@link BaSyxTCPServerConfiguration}.
+	 */
+	public BaSyxTCPServerConfiguration setSelectorThreads(int selectorThreads) {
+		this.selectorThreads = selectorThreads;
+		return this;
+	}
+
+	/**
+	 * Gets the number of worker threads that process requests.
+	 * 
+	 * <p>
+	 * Default: number of available processors
+	 * 
+	 * @return The number of worker threads.
+	 */
+	public int getWorkerThreads() {
+		return workerThreads;
+	}
+
+	/**
+	 * Sets the number of worker threads that process requests.
+	 * 
+	 * @param workerThreads
+	 * @return This {@link BaSyxTCPServerConfiguration}.
+	 */
+	public BaSyxTCPServerConfiguration setWorkerThreads(int workerThreads) {
+		this.workerThreads = workerThreads;
+		return this;
+	}
+
+	/**
+	 * Gets the maximum number of concurrently open connections. Connections
+	 * exceeding this limit are closed right after they have been accepted.
+	 * 
+	 * <p>
+	 * Default: 1024
+	 * 
+	 * @return The maximum number of connections.
+	 */
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	/**
+	 * Sets the maximum number of concurrently open connections. A value &lt;= 0
+	 * disables the limit.
+	 * 
+	 * @param maxConnections
+	 * @return This {@link BaSyxTCPServerConfiguration}.
+	 */
+	public BaSyxTCPServerConfiguration setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+		return this;
+	}
+
+	/**
+	 * Gets the time after which connections without pending requests and without
+	 * traffic are closed.
+	 * 
+	 * <p>
+	 * Default: 0 (i.e., connections are never closed by the server)
+	 * 
+	 * @return The idle timeout.
+	 */
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	/**
+	 * Sets the time after which connections without pending requests and without
+	 * traffic are closed. A value &lt;= 0 disables the timeout.
+	 * 
+	 * @param idleTimeout
+	 * @return This {@link BaSyxTCPServerConfiguration}.
+	 */
+	public BaSyxTCPServerConfiguration setIdleTimeout(long idleTimeout) {
+		this.idleTimeout = idleTimeout;
+		return this;
+	}
+
+	/**
+	 * Gets the maximum time {@link NonBlockingBaSyxTCPServer#stop()} waits for
+	 * pending requests to be answered before closing the connections.
+	 * 
+	 * <p>
+	 * Default: 5000
+	 * 
+	 * @return The drain timeout.
+	 */
+	public long getDrainTimeout() {
+		return drainTimeout;
+	}
+
+	/**
+	 * Sets the maximum time {@link NonBlockingBaSyxTCPServer#stop()} waits for
+	 * pending requests to be answered before closing the connections.
+	 * 
+	 * @param drainTimeout
+	 * @return This {@link BaSyxTCPServerConfiguration}.
+	 */
+	public BaSyxTCPServerConfiguration setDrainTimeout(long drainTimeout) {
+		this.drainTimeout = drainTimeout;
+		return this;
+	}
+
+	/**
+	 * Gets the maximum accepted size of a request frame in bytes. Connections
+	 * sending larger frames are closed.
+	 * 
+	 * <p>
+	 * Default: {@link Integer#MAX_VALUE}
+	 * 
+	 * @return The maximum frame size.
+	 */
+	public int getMaxFrameSize() {
+		return maxFrameSize;
+	}
+
+	/**
+	 * Sets the maximum accepted size of a request frame in bytes.
+	 * 
+	 * @param maxFrameSize
+	 * @return This {@link BaSyxTCPServerConfiguration}.
+	 */
+	public BaSyxTCPServerConfiguration setMaxFrameSize(int maxFrameSize) {
+		this.maxFrameSize = maxFrameSize;
+		return this;
+	}
+
+	/**
+	 * Gets the maximum number of received requests that have not been answered
+	 * yet. While it is reached, the server stops reading from its connections, so
+	 * that the clients are slowed down by TCP flow control.
+	 * 
+	 * <p>
+	 * Default: 1000
+	 * 
+	 * @return The maximum number of pending requests.
+	 */
+	public int getMaxPendingRequests() {
+		return maxPendingRequests;
+	}
+
+	/**
+	 * Sets the maximum number of received requests that have not been answered
+	 * yet. A value &lt;= 0 disables the limit.
+	 * 
+	 * @param maxPendingRequests
+	 * @return This {@link BaSyxTCPServerConfiguration}.
+	 */
+	public BaSyxTCPServerConfiguration setMaxPendingRequests(int maxPendingRequests) {
+		this.maxPendingRequests = maxPendingRequests;
+		return this;
+	}
+}
@@ -0,0 +1,748 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameDecoder;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameEncoder;
+import org.eclipse.basyx.vab.protocol.basyx.ByteBufferPool;
+import org.eclipse.basyx.vab.service.api.BaSyxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * BaSyx TCP server that serves all connections from a small number of selector
+ * threads instead of using one thread per connection. The selector threads
+ * accept connections and do the framing; the requests themselves are processed
+ * by a bounded pool of worker threads. Requests are processed directly from the
+ * pooled receive buffers and responses are encoded into pooled buffers, so
+ * frames are not copied. <br>
+ * <br>
+ * While the configured number of pending requests is reached, the server stops
+ * reading from its connections until requests have been answered. <br>
+ * <br>
+ * Requests without request id are processed in the order they have been
+ * received on their connection. Requests carrying a request id (see
+ * {@link VABBaSyxTCPInterface#BASYX_REQUEST_ID_FLAG}) are processed
+ * concurrently and may be answered out of order.
+ */
+public class NonBlockingBaSyxTCPServer<T extends IModelProvider> implements BaSyxService {
+
+	private static Logger logger = LoggerFactory.getLogger(NonBlockingBaSyxTCPServer.class);
+
+	/**
+	 * Server configuration
+	 */
+	protected final BaSyxTCPServerConfiguration config;
+
+	/**
+	 * Decodes requests, forwards them to the provider backend and encodes the
+	 * responses
+	 */
+	protected final BaSyxTCPRequestProcessor<T> requestProcessor;
+
+	/**
+	 * Store server socket channel instance
+	 */
+	protected ServerSocketChannel serverSockChannel = null;
+
+	/**
+	 * Store name
+	 */
+	protected String name = NonBlockingBaSyxTCPServer.class.getSimpleName();
+
+	/**
+	 * Maximum number of response encoders kept for reuse per connection
+	 */
+	private static final int MAX_POOLED_ENCODERS = 4;
+
+	private final ByteBufferPool bufferPool = ByteBufferPool.getDefault();
+
+	private List<SelectorLoop> selectorLoops;
+	private ThreadPoolExecutor workers;
+	private int nextSelectorLoop = 0;
+	private volatile boolean draining = false;
+
+	private final AtomicInteger openConnections = new AtomicInteger();
+	private final AtomicInteger pendingRequests = new AtomicInteger();
+
+	// Connections that stopped reading because too many requests are pending
+	private final Queue<Connection> suspendedConnections = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Constructor
+	 */
+	public NonBlockingBaSyxTCPServer(T modelProviderBackend, BaSyxTCPServerConfiguration config) {
+		this.config = config;
+		this.requestProcessor = new BaSyxTCPRequestProcessor<T>(new JSONProvider<T>(modelProviderBackend));
+
+		// Create communication channel
+		try {
+			// The channel should listen on all interfaces, binding on 127.0.0.1 prohibits
+			// remote communication
+			InetAddress hostIPAddress = InetAddress.getByName("0.0.0.0");
+
+			// Server socket channel
+			serverSockChannel = ServerSocketChannel.open();
+			serverSockChannel.configureBlocking(false);
+			serverSockChannel.socket().bind(new InetSocketAddress(hostIPAddress, config.getPort()));
+		} catch (IOException e) {
+			logger.error("Exception in NonBlockingBaSyxTCPServer", e);
+		}
+	}
+
+	/**
+	 * Constructor with default configuration for the given port
+	 */
+	public NonBlockingBaSyxTCPServer(T modelProviderBackend, int serverPort) {
+		this(modelProviderBackend, new BaSyxTCPServerConfiguration(serverPort));
+	}
+
+	/**
+	 * Default constructor without port number
+	 */
+	public NonBlockingBaSyxTCPServer(T modelProviderBackend) {
+		this(modelProviderBackend, new BaSyxTCPServerConfiguration());
+	}
+
+	/**
+	 * Start the server
+	 */
+	@Override
+	public void start() {
+		AtomicInteger workerCount = new AtomicInteger();
+		int workerThreads = Math.max(1, config.getWorkerThreads());
+		// Only pending requests are queued, so the queue does not overflow while the
+		// limit of pending requests is enforced
+		int maxPendingRequests = config.getMaxPendingRequests();
+		BlockingQueue<Runnable> queue = maxPendingRequests > 0 ? new ArrayBlockingQueue<>(maxPendingRequests) : new LinkedBlockingQueue<>();
+		workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS, queue, r -> {
+			return new Thread(r, name + "-worker-" + workerCount.incrementAndGet());
+		});
+
+		try {
+			selectorLoops = new ArrayList<>();
+			for (int i = 0; i < Math.max(1, config.getSelectorThreads()); i++) {
+				selectorLoops.add(new SelectorLoop(name + "-selector-" + i));
+			}
+			// The first selector thread also accepts the connections
+			serverSockChannel.register(selectorLoops.get(0).selector, SelectionKey.OP_ACCEPT);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not start " + name, e);
+		}
+
+		for (SelectorLoop loop : selectorLoops) {
+			loop.thread.start();
+		}
+	}
+
+	/**
+	 * Stop the server and block until it is finished. The server stops accepting
+	 * connections and reading requests, waits up to the configured drain timeout
+	 * for pending requests to be answered and closes all connections afterwards.
+	 */
+	@Override
+	public void stop() {
+		draining = true;
+
+		// Stop accepting connections
+		if (serverSockChannel != null) {
+			try {
+				serverSockChannel.close();
+			} catch (IOException e) {
+				logger.error("Exception in stop", e);
+			}
+		}
+
+		// Not started
+		if (selectorLoops == null) {
+			return;
+		}
+
+		// Stop reading requests
+		for (SelectorLoop loop : selectorLoops) {
+			loop.execute(loop::suspendReading);
+		}
+
+		// Drain pending requests
+		long deadline = System.currentTimeMillis() + config.getDrainTimeout();
+		try {
+			while (pendingRequests.get() > 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+		} catch (InterruptedException e) {
+			logger.error("Exception in stop", e);
+			Thread.currentThread().interrupt();
+		}
+		if (pendingRequests.get() > 0) {
+			logger.warn("Closing " + name + " with " + pendingRequests.get() + " unanswered requests");
+		}
+
+		// Close connections and end threads
+		for (SelectorLoop loop : selectorLoops) {
+			loop.shutdown();
+		}
+		workers.shutdownNow();
+		waitFor();
+	}
+
+	/**
+	 * Change service name
+	 */
+	@Override
+	public BaSyxService setName(String newName) {
+		name = newName;
+		return this;
+	}
+
+	/**
+	 * Return service name
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Wait for end of the selector threads
+	 */
+	@Override
+	public void waitFor() {
+		if (selectorLoops == null) {
+			return;
+		}
+
+		try {
+			for (SelectorLoop loop : selectorLoops) {
+				loop.thread.join();
+			}
+			workers.awaitTermination(config.getDrainTimeout(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			logger.error("Exception in waitFor", e);
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Indicate if this service has ended
+	 */
+	@Override
+	public boolean hasEnded() {
+		return serverSockChannel == null || !serverSockChannel.isOpen();
+	}
+
+	/**
+	 * Returns the number of currently open connections
+	 */
+	public int getOpenConnections() {
+		return openConnections.get();
+	}
+
+	/**
+	 * Returns the number of received requests that have not been answered yet
+	 */
+	public int getPendingRequests() {
+		return pendingRequests.get();
+	}
+
+	/**
+	 * Indicates if the maximum number of pending requests is reached
+	 */
+	private boolean isSaturated() {
+		int maxPendingRequests = config.getMaxPendingRequests();
+		return maxPendingRequests > 0 && pendingRequests.get() >= maxPendingRequests;
+	}
+
+	/**
+	 * Continues reading from the suspended connections, if requests can be
+	 * accepted again
+	 */
+	private void resumeConnections() {
+		Connection connection;
+		while (!isSaturated() && (connection = suspendedConnections.poll()) != null) {
+			Connection resumed = connection;
+			resumed.loop.execute(resumed::resumeReading);
+		}
+	}
+
+	/**
+	 * Accepts all pending connections and distributes them to the selector loops
+	 */
+	private void acceptConnections() throws IOException {
+		SocketChannel channel;
+		while ((channel = serverSockChannel.accept()) != null) {
+			int maxConnections = config.getMaxConnections();
+			if (draining || (maxConnections > 0 && openConnections.get() >= maxConnections)) {
+				logger.warn("Rejecting connection from " + channel.getRemoteAddress() + ", " + openConnections.get() + " connections are open");
+				channel.close();
+				continue;
+			}
+
+			openConnections.incrementAndGet();
+			channel.configureBlocking(false);
+			channel.socket().setTcpNoDelay(true);
+
+			SelectorLoop loop = selectorLoops.get(nextSelectorLoop);
+			nextSelectorLoop = (nextSelectorLoop + 1) % selectorLoops.size();
+			SocketChannel accepted = channel;
+			loop.execute(() -> loop.register(accepted));
+		}
+	}
+
+	/**
+	 * Selector thread that serves a subset of the connections
+	 */
+	private class SelectorLoop implements Runnable {
+		private final Selector selector;
+		private final Thread thread;
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+		private volatile boolean running = true;
+
+		public SelectorLoop(String threadName) throws IOException {
+			selector = Selector.open();
+			thread = new Thread(this, threadName);
+		}
+
+		/**
+		 * Executes the task on the selector thread
+		 */
+		public void execute(Runnable task) {
+			tasks.add(task);
+			selector.wakeup();
+		}
+
+		/**
+		 * Ends the selector thread after closing all of its connections
+		 */
+		public void shutdown() {
+			running = false;
+			selector.wakeup();
+		}
+
+		public void register(SocketChannel channel) {
+			try {
+				SelectionKey key = channel.register(selector, draining ? 0 : SelectionKey.OP_READ);
+				key.attach(new Connection(channel, key, this));
+			} catch (IOException e) {
+				logger.error("Exception while registering connection", e);
+				openConnections.decrementAndGet();
+				try {
+					channel.close();
+				} catch (IOException e1) {
+					logger.debug("Exception while closing channel", e1);
+				}
+			}
+		}
+
+		public void suspendReading() {
+			for (SelectionKey key : selector.keys()) {
+				if (key.isValid() && key.attachment() instanceof NonBlockingBaSyxTCPServer.Connection) {
+					key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			long idleTimeout = config.getIdleTimeout();
+			long selectTimeout = idleTimeout > 0 ? Math.max(1, Math.min(idleTimeout / 2, 1000)) : 0;
+
+			while (running) {
+				try {
+					selector.select(selectTimeout);
+				} catch (IOException e) {
+					logger.error("Exception in run", e);
+					break;
+				}
+
+				Runnable task;
+				while ((task = tasks.poll()) != null) {
+					task.run();
+				}
+
+				for (SelectionKey key : selector.selectedKeys()) {
+					handle(key);
+				}
+				selector.selectedKeys().clear();
+
+				if (idleTimeout > 0) {
+					closeIdleConnections(idleTimeout);
+				}
+			}
+
+			// Close all connections of this loop
+			for (SelectionKey key : selector.keys()) {
+				if (key.attachment() instanceof NonBlockingBaSyxTCPServer.Connection) {
+					((Connection) key.attachment()).close();
+				}
+			}
+			try {
+				selector.close();
+			} catch (IOException e) {
+				logger.debug("Exception while closing selector", e);
+			}
+		}
+
+		private void handle(SelectionKey key) {
+			if (!key.isValid()) {
+				return;
+			}
+
+			if (key.isAcceptable()) {
+				try {
+					acceptConnections();
+				} catch (IOException e) {
+					if (!draining) {
+						logger.error("Exception in acceptConnections", e);
+					}
+				}
+				return;
+			}
+
+			Connection connection = (Connection) key.attachment();
+			try {
+				if (key.isReadable()) {
+					connection.onReadable();
+				}
+				if (key.isValid() && key.isWritable()) {
+					connection.onWritable();
+				}
+			} catch (IOException | CancelledKeyException | RejectedExecutionException e) {
+				logger.debug("Closing connection", e);
+				connection.close();
+			}
+		}
+
+		private void closeIdleConnections(long idleTimeout) {
+			long now = System.currentTimeMillis();
+			for (SelectionKey key : selector.keys()) {
+				if (key.attachment() instanceof NonBlockingBaSyxTCPServer.Connection) {
+					Connection connection = (Connection) key.attachment();
+					if (connection.isIdle(now, idleTimeout)) {
+						logger.debug("Closing idle connection");
+						connection.close();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * State of a single client connection
+	 */
+	private class Connection {
+		private final SocketChannel channel;
+		private final SelectionKey key;
+		private final SelectorLoop loop;
+		private final BaSyxFrameDecoder decoder = new BaSyxFrameDecoder(bufferPool, config.getMaxFrameSize());
+		private final Queue<BaSyxFrameEncoder> sendQueue = new ArrayDeque<>();
+		private final Queue<BaSyxFrameEncoder> freeEncoders = new ArrayDeque<>();
+		private CompletableFuture<Void> lastOrderedRequest = CompletableFuture.completedFuture(null);
+		private boolean readSuspended = false;
+		private int pending = 0;
+		private boolean closed = false;
+		private volatile long lastActivity = System.currentTimeMillis();
+
+		public Connection(SocketChannel channel, SelectionKey key, SelectorLoop loop) {
+			this.channel = channel;
+			this.key = key;
+			this.loop = loop;
+		}
+
+		/**
+		 * Reads available bytes and dispatches all completely received frames
+		 */
+		public void onReadable() throws IOException {
+			if (decoder.read(channel) == -1) {
+				close();
+				return;
+			}
+			lastActivity = System.currentTimeMillis();
+
+			dispatchFrames();
+		}
+
+		/**
+		 * Dispatches the received frames. If too many requests are pending, the
+		 * remaining frames are kept and reading is suspended.
+		 */
+		private void dispatchFrames() throws IOException {
+			// The frames are processed asynchronously. Instead of copying them, their
+			// receive buffer is detached and released after all of them are processed.
+			ReceivedFrames received = new ReceivedFrames();
+			try {
+				ByteBuffer frame;
+				while (!isSaturated() && (frame = decoder.nextFrame()) != null) {
+					received.retain();
+					dispatch(frame, received);
+				}
+			} finally {
+				received.buffer = decoder.detach();
+				received.release();
+			}
+
+			if (isSaturated()) {
+				suspendReading();
+			}
+		}
+
+		/**
+		 * Stops reading until the number of pending requests has decreased. Only
+		 * called on the selector thread.
+		 */
+		private void suspendReading() {
+			if (readSuspended || !key.isValid()) {
+				return;
+			}
+			readSuspended = true;
+			key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+			suspendedConnections.add(this);
+
+			// Requests may have been answered in the meantime
+			resumeConnections();
+		}
+
+		/**
+		 * Dispatches the frames that have been kept and continues reading. Only
+		 * called on the selector thread.
+		 */
+		private void resumeReading() {
+			if (!readSuspended || !key.isValid()) {
+				return;
+			}
+			readSuspended = false;
+			try {
+				dispatchFrames();
+			} catch (IOException | RejectedExecutionException e) {
+				logger.debug("Closing connection", e);
+				close();
+				return;
+			}
+			if (!readSuspended && !draining) {
+				key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+			}
+		}
+
+		/**
+		 * Writes queued response frames
+		 */
+		public synchronized void onWritable() throws IOException {
+			while (!sendQueue.isEmpty()) {
+				BaSyxFrameEncoder response = sendQueue.peek();
+				if (!response.writeTo(channel)) {
+					return;
+				}
+				recycle(sendQueue.poll());
+				responseSent();
+			}
+			key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+		}
+
+		/**
+		 * Indicates if the connection has neither traffic nor pending requests
+		 * since the given timeout
+		 */
+		public synchronized boolean isIdle(long now, long idleTimeout) {
+			return pending == 0 && now - lastActivity > idleTimeout;
+		}
+
+		/**
+		 * Closes the connection and discards all pending requests
+		 */
+		public synchronized void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+
+			key.cancel();
+			try {
+				channel.close();
+			} catch (IOException e) {
+				logger.debug("Exception while closing channel", e);
+			}
+
+			for (BaSyxFrameEncoder response : sendQueue) {
+				response.release();
+			}
+			sendQueue.clear();
+			freeEncoders.clear();
+			// The decoder is only used by the selector thread
+			loop.execute(decoder::release);
+			pendingRequests.addAndGet(-pending);
+			pending = 0;
+			if (!suspendedConnections.isEmpty()) {
+				resumeConnections();
+			}
+			openConnections.decrementAndGet();
+		}
+
+		private void dispatch(ByteBuffer rxFrame, ReceivedFrames received) {
+			synchronized (this) {
+				if (closed) {
+					received.release();
+					return;
+				}
+				pending++;
+				pendingRequests.incrementAndGet();
+			}
+
+			Runnable task = () -> process(rxFrame, received);
+			if (BaSyxTCPRequestProcessor.hasRequestId(rxFrame)) {
+				CompletableFuture.runAsync(task, workers);
+			} else {
+				lastOrderedRequest = lastOrderedRequest.thenRunAsync(task, workers).whenComplete((result, e) -> {
+					// Requests are only failing if they could not be scheduled
+					if (e != null) {
+						logger.error("Could not process request, closing connection", e);
+						close();
+					}
+				});
+			}
+		}
+
+		/**
+		 * Processes a request on a worker thread
+		 */
+		private void process(ByteBuffer rxFrame, ReceivedFrames received) {
+			BaSyxFrameEncoder response = acquireEncoder();
+			try {
+				requestProcessor.processFrame(rxFrame, response);
+			} catch (Exception e) {
+				logger.error("Exception while processing request, closing connection", e);
+				recycle(response);
+				close();
+				return;
+			} finally {
+				received.release();
+			}
+
+			try {
+				send(response);
+			} catch (Exception e) {
+				logger.error("Exception while sending response, closing connection", e);
+				recycle(response);
+				close();
+			}
+		}
+
+		/**
+		 * Writes the response frame directly, if possible. Otherwise it is queued and
+		 * written by the selector thread.
+		 */
+		private synchronized void send(BaSyxFrameEncoder response) throws IOException {
+			if (closed) {
+				response.release();
+				return;
+			}
+
+			if (sendQueue.isEmpty() && response.writeTo(channel)) {
+				recycle(response);
+				responseSent();
+				return;
+			}
+
+			sendQueue.add(response);
+			if (sendQueue.size() == 1) {
+				loop.execute(this::enableWriting);
+			}
+		}
+
+		private synchronized BaSyxFrameEncoder acquireEncoder() {
+			BaSyxFrameEncoder encoder = freeEncoders.poll();
+			return encoder != null ? encoder : new BaSyxFrameEncoder(bufferPool);
+		}
+
+		/**
+		 * Returns the buffers of the encoder to the pool and keeps the encoder for
+		 * the next response
+		 */
+		private synchronized void recycle(BaSyxFrameEncoder encoder) {
+			encoder.release();
+			if (!closed && freeEncoders.size() < MAX_POOLED_ENCODERS) {
+				freeEncoders.add(encoder);
+			}
+		}
+
+		private synchronized void enableWriting() {
+			if (!closed && !sendQueue.isEmpty()) {
+				key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+			}
+		}
+
+		private void responseSent() {
+			pending--;
+			pendingRequests.decrementAndGet();
+			lastActivity = System.currentTimeMillis();
+			if (!suspendedConnections.isEmpty()) {
+				resumeConnections();
+			}
+		}
+	}
+
+	/**
+	 * Receive buffer shared by the frames of one read. It is returned to the pool
+	 * after all of its frames have been processed.
+	 */
+	private class ReceivedFrames {
+		// One reference is held by the reading selector thread
+		private final AtomicInteger references = new AtomicInteger(1);
+		private ByteBuffer buffer;
+
+		private void retain() {
+			references.incrementAndGet();
+		}
+
+		private void release() {
+			if (references.decrementAndGet() == 0 && buffer != null) {
+				bufferPool.release(buffer);
+			}
+		}
+	}
+}
@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.http.connector;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.routing.RouteInfo;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.DefaultHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+
+/**
+ * Pool of persistent HTTP connections that is used by {@link HTTPConnector}s.
+ * Connections are kept alive and reused for subsequent requests to the same
+ * endpoint (scheme, host and port) instead of performing a new TCP/TLS
+ * handshake per request. <br>
+ * <br>
+ * Connectors created with the same configuration share a pool via
+ * {@link #getSharedPool(HTTPConnectionPoolConfiguration)}, so that each
+ * endpoint has a single set of connections within the process. If all
+ * connections to an endpoint are in use, requests wait up to the configured
+ * connection request timeout for a free connection. <br>
+ * <br>
+ * The underlying transport is blocking. Asynchronous requests are therefore
+ * sent by a bounded set of threads of the pool. If all threads are busy and the
+ * queue is full, further asynchronous requests fail immediately.
+ */
+public class HTTPConnectionPool {
+	private static final String HTTP_POOL_ID = "http";
+	private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(Arrays.asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS", "TRACE"));
+	private static Map<List<Object>, HTTPConnectionPool> sharedPools = new ConcurrentHashMap<>();
+
+	private final HTTPConnectionPoolConfiguration configuration;
+	private final RoutePoolingConnectionManager connectionManager;
+	private final IdleConnectionEvictor evictor;
+	private final ThreadPoolExecutor asyncExecutor;
+	private final Client client;
+
+	/**
+	 * Creates a pool using the default SSL context and hostname verification for
+	 * HTTPS endpoints
+	 * 
+	 * @param configuration
+	 */
+	public HTTPConnectionPool(HTTPConnectionPoolConfiguration configuration) {
+		this(configuration, SSLContexts.createDefault(), new DefaultHostnameVerifier());
+	}
+
+	/**
+	 * Creates a pool using the given SSL context and hostname verifier for HTTPS
+	 * endpoints
+	 * 
+	 * @param configuration
+	 * @param sslContext
+	 * @param hostnameVerifier
+	 */
+	public HTTPConnectionPool(HTTPConnectionPoolConfiguration configuration, SSLContext sslContext, HostnameVerifier hostnameVerifier) {
+		this.configuration = configuration.clone();
+
+		Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create().register("http", PlainConnectionSocketFactory.getSocketFactory())
+				.register("https", new SSLConnectionSocketFactory(sslContext, hostnameVerifier)).build();
+		connectionManager = new RoutePoolingConnectionManager(registry);
+		connectionManager.setMaxTotal(this.configuration.getMaxConnectionsTotal());
+		connectionManager.setDefaultMaxPerRoute(this.configuration.getMaxConnectionsPerRoute());
+		connectionManager.setValidateAfterInactivity(this.configuration.getValidateAfterInactivity());
+
+		ClientConfig clientConfig = new ClientConfig();
+		clientConfig.connectorProvider(new ApacheConnectorProvider());
+		clientConfig.property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager);
+		clientConfig.property(ApacheClientProperties.CONNECTION_MANAGER_SHARED, true);
+		clientConfig.property(ApacheClientProperties.RETRY_HANDLER, (HttpRequestRetryHandler) this::retryOnClosedConnection);
+		// Keep double slashes, as they separate the endpoints of gateway paths
+		RequestConfig requestConfig = RequestConfig.custom().setNormalizeUri(false).setConnectionRequestTimeout(this.configuration.getConnectionRequestTimeout()).build();
+		clientConfig.property(ApacheClientProperties.REQUEST_CONFIG, requestConfig);
+		clientConfig.property(ClientProperties.CONNECT_TIMEOUT, this.configuration.getConnectTimeout());
+		clientConfig.property(ClientProperties.READ_TIMEOUT, this.configuration.getReadTimeout());
+		// Send Content-Length instead of chunked bodies, as the previous transport did
+		clientConfig.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED);
+		asyncExecutor = createAsyncExecutor(this.configuration);
+		clientConfig.executorService(asyncExecutor);
+		client = ClientBuilder.newClient(clientConfig);
+
+		long idleTimeout = this.configuration.getIdleTimeout();
+		if (idleTimeout > 0) {
+			evictor = new IdleConnectionEvictor(connectionManager, Math.max(idleTimeout / 2, 1), TimeUnit.MILLISECONDS, idleTimeout, TimeUnit.MILLISECONDS);
+			evictor.start();
+		} else {
+			evictor = null;
+		}
+	}
+
+	/**
+	 * Pooled connections may have been closed by the server, e.g. on restart,
+	 * before the stale check applies. In this case the other idle connections to
+	 * the same endpoint are likely closed as well, so they are dropped and the
+	 * request is sent once more on a new connection. As the request may have been
+	 * processed nevertheless, only idempotent requests are retried.
+	 */
+	private boolean retryOnClosedConnection(IOException exception, int executionCount, HttpContext context) {
+		if (executionCount > 1 || !(exception instanceof NoHttpResponseException)) {
+			return false;
+		}
+
+		HttpClientContext clientContext = HttpClientContext.adapt(context);
+		RouteInfo route = clientContext.getHttpRoute();
+		if (route instanceof HttpRoute) {
+			connectionManager.closeIdleConnections((HttpRoute) route);
+		}
+		return isIdempotent(clientContext.getRequest());
+	}
+
+	private static boolean isIdempotent(HttpRequest request) {
+		if (request == null) {
+			return false;
+		}
+		return IDEMPOTENT_METHODS.contains(request.getRequestLine().getMethod().toUpperCase());
+	}
+
+	private static ThreadPoolExecutor createAsyncExecutor(HTTPConnectionPoolConfiguration configuration) {
+		AtomicInteger threadCount = new AtomicInteger();
+		int threads = configuration.getMaxAsyncThreads();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(configuration.getMaxQueuedAsyncRequests()), runnable -> {
+			Thread thread = new Thread(runnable, HTTPConnectionPool.class.getSimpleName() + "-async-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Returns the process-wide pool for the default configuration
+	 * 
+	 * @return
+	 */
+	public static HTTPConnectionPool getSharedPool() {
+		return getSharedPool(new HTTPConnectionPoolConfiguration());
+	}
+
+	/**
+	 * Returns the process-wide pool for the given configuration. It is created on
+	 * first access.
+	 * 
+	 * @param configuration
+	 * @return
+	 */
+	public static HTTPConnectionPool getSharedPool(HTTPConnectionPoolConfiguration configuration) {
+		return getSharedPool(HTTP_POOL_ID, configuration, HTTPConnectionPool::new);
+	}
+
+	/**
+	 * Returns the process-wide pool identified by poolId and configuration. If it
+	 * does not exist yet, it is created using the passed pool factory. This allows
+	 * sharing pools with custom SSL settings, e.g. for HTTPS connectors.
+	 * 
+	 * @param poolId
+	 * @param configuration
+	 * @param poolFactory
+	 * @return
+	 */
+	public static HTTPConnectionPool getSharedPool(String poolId, HTTPConnectionPoolConfiguration configuration, Function<HTTPConnectionPoolConfiguration, HTTPConnectionPool> poolFactory) {
+		HTTPConnectionPoolConfiguration key = configuration.clone();
+		return sharedPools.computeIfAbsent(Arrays.asList(poolId, key), k -> poolFactory.apply(key));
+	}
+
+	/**
+	 * Closes all shared pools. Connectors still using them can not be used
+	 * afterwards.
+	 */
+	public static void closeSharedPools() {
+		sharedPools.values().forEach(HTTPConnectionPool::close);
+		sharedPools.clear();
+	}
+
+	/**
+	 * Closes the idle connections of all shared pools, e.g. after the servers
+	 * they point to were restarted
+	 */
+	public static void closeIdleSharedConnections() {
+		sharedPools.values().forEach(HTTPConnectionPool::closeIdleConnections);
+	}
+
+	/**
+	 * Closes all connections that are currently not in use
+	 */
+	public void closeIdleConnections() {
+		connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns the Jersey client that sends its requests over this pool
+	 * 
+	 * @return
+	 */
+	public Client getClient() {
+		return client;
+	}
+
+	/**
+	 * Returns a copy of the configuration of this pool
+	 * 
+	 * @return
+	 */
+	public HTTPConnectionPoolConfiguration getConfiguration() {
+		return configuration.clone();
+	}
+
+	/**
+	 * Returns the statistics over all endpoints of this pool
+	 * 
+	 * @return
+	 */
+	public PoolStats getTotalStats() {
+		return connectionManager.getTotalStats();
+	}
+
+	/**
+	 * Returns the statistics of the connections to the given endpoint
+	 * 
+	 * @param endpoint
+	 *            URL of the endpoint, e.g. http://localhost:4001/aasServer. Only
+	 *            scheme, host and port are evaluated.
+	 * @return
+	 */
+	public PoolStats getStats(String endpoint) {
+		URI uri = URI.create(endpoint);
+		boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+		int port = uri.getPort();
+		if (port < 0) {
+			port = secure ? 443 : 80;
+		}
+		HttpHost host = new HttpHost(uri.getHost(), port, uri.getScheme());
+		return connectionManager.getStats(new HttpRoute(host, null, secure));
+	}
+
+	/**
+	 * Returns the statistics per endpoint that is currently known to this pool
+	 * 
+	 * @return map of endpoint (e.g. http://localhost:4001) to its statistics
+	 */
+	public Map<String, PoolStats> getStatsPerEndpoint() {
+		Map<String, PoolStats> stats = new LinkedHashMap<>();
+		for (HttpRoute route : connectionManager.getRoutes()) {
+			stats.put(route.getTargetHost().toURI(), connectionManager.getStats(route));
+		}
+		return stats;
+	}
+
+	/**
+	 * Closes the client and all pooled connections
+	 */
+	public void close() {
+		client.close();
+		asyncExecutor.shutdown();
+		if (evictor != null) {
+			evictor.shutdown();
+		}
+		connectionManager.shutdown();
+	}
+
+	/**
+	 * Connection manager that can close the idle connections of a single route
+	 */
+	private static class RoutePoolingConnectionManager extends PoolingHttpClientConnectionManager {
+		private RoutePoolingConnectionManager(Registry<ConnectionSocketFactory> registry) {
+			super(registry);
+		}
+
+		private void closeIdleConnections(HttpRoute route) {
+			enumAvailable(entry -> {
+				if (route.equals(entry.getRoute())) {
+					entry.close();
+				}
+			});
+		}
+	}
+}
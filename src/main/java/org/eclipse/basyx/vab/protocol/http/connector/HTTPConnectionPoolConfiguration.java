@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.http.connector;
+
+import java.util.Objects;
+
+/**
+ * Holds the configuration for a {@link HTTPConnectionPool}. All time values are
+ * given in milliseconds.
+ */
+public final class HTTPConnectionPoolConfiguration implements Cloneable {
+	private int maxConnectionsTotal = 200;
+	private int maxConnectionsPerRoute = 20;
+	private long idleTimeout = 30000;
+	private int validateAfterInactivity = 2000;
+	private int connectTimeout = 0;
+	private int readTimeout = 0;
+	private int connectionRequestTimeout = 30000;
+	private int maxAsyncThreads = 20;
+	private int maxQueuedAsyncRequests = 1000;
+
+	/**
+	 * Creates a new {@link HTTPConnectionPoolConfiguration} with default settings.
+	 */
+	public HTTPConnectionPoolConfiguration() {
+		// Nothing to be done, all settings are default.
+	}
+
+	/**
+	 * Creates a shallow copy of this object.
+	 *
+	 * @return A shallow copy.
+	 */
+	@Override
+	public HTTPConnectionPoolConfiguration clone() {
+		try {
+			return (HTTPConnectionPoolConfiguration) super.clone();
+		} catch (CloneNotSupportedException impossible) {
+			// Can't happen because we support cloning.
+			throw new AssertionError(impossible);
+		}
+	}
+
+	/**
+	 * Gets the maximum number of connections held by the pool across all
+	 * endpoints.
+	 * 
+	 * <p>
+	 * Default: 200
+	 * 
+	 * @return The maximum number of connections.
+	 */
+	public int getMaxConnectionsTotal() {
+		return maxConnectionsTotal;
+	}
+
+	/**
+	 * Sets the maximum number of connections held by the pool across all
+	 * endpoints.
+	 * 
+	 * @param maxConnectionsTotal
+	 * @return This {@link HTTPConnectionPoolConfiguration}.
+	 */
+	public HTTPConnectionPoolConfiguration setMaxConnectionsTotal(int maxConnectionsTotal) {
+		this.maxConnectionsTotal = maxConnectionsTotal;
+		return this;
+	}
+
+	/**
+	 * Gets the maximum number of connections per route, i.e. per endpoint
+	 * (scheme, host and port).
+	 * 
+	 * <p>
+	 * Default: 20
+	 * 
+	 * @return The maximum number of connections per route.
+	 */
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	/**
+	 * Sets the maximum number of connections per route, i.e. per endpoint
+	 * (scheme, host and port).
+	 * 
+	 * @param maxConnectionsPerRoute
+	 * @return This {@link HTTPConnectionPoolConfiguration}.
+	 */
+	public HTTPConnectionPoolConfiguration setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		return this;
+	}
+
+	/**
+	 * Gets the time after which idle connections are evicted from the pool.
+	 * 
+	 * <p>
+	 * Default: 30000
+	 * 
+	 * @return The idle timeout.
+	 */
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	/**
+	 * Sets the time after which idle connections are evicted from the pool. A
+	 * value &lt;= 0 disables the eviction.
+	 * 
+	 * @param idleTimeout
+	 * @return This {@link HTTPConnectionPoolConfiguration}.
+	 */
+	public HTTPConnectionPoolConfiguration setIdleTimeout(long idleTimeout) {
+		this.idleTimeout = idleTimeout;
+		return this;
+	}
+
+	/**
+	 * Gets the period of inactivity after which a pooled connection is
+	 * revalidated before it is reused.
+	 * 
+	 * <p>
+	 * Default: 2000
+	 * 
+	 * @return The inactivity period.
+	 */
+	public int getValidateAfterInactivity() {
+		return validateAfterInactivity;
+	}
+
+	/**
+	 * Sets the period of inactivity after which a pooled connection is
+	 * revalidated before it is reused.
+	 * 
+	 * @param validateAfterInactivity
+	 * @return This {@link HTTPConnectionPoolConfiguration}.
+	 */
+	public HTTPConnectionPoolConfiguration setValidateAfterInactivity(int validateAfterInactivity) {
+		this.validateAfterInactivity = validateAfterInactivity;
+		return this;
+	}
+
+	/**
+	 * Gets the connect timeout.
+	 * 
+	 * <p>
+	 * Default: 0 (i.e., infinite)
+	 * 
+	 * @return The connect timeout.
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * Sets the connect timeout. A value of 0 is interpreted as infinite.
+	 * 
+	 * @param connectTimeout
+	 * @return This {@link HTTPConnectionPoolConfiguration}.
+	 */
+	public HTTPConnectionPoolConfiguration setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
+		return this;
+	}
+
+	/**
+	 * Gets the read timeout.
+	 * 
+	 * <p>
+	 * Default: 0 (i.e., infinite)
+	 * 
+	 * @return The read timeout.
+	 */
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	/**
+	 * Sets the read timeout. A value of 0 is interpreted as infinite.
+	 * 
+	 * @param readTimeout
+	 * @return This {@link HTTPConnectionPoolConfiguration}.
+	 */
+	public HTTPConnectionPoolConfiguration setReadTimeout(int readTimeout) {
+		this.readTimeout = readTimeout;
+		return this;
+	}
+
+	/**
+	 * Gets the maximum time to wait for a connection of the pool if all
+	 * connections to an endpoint are in use.
+	 * 
+	 * <p>
+	 * Default: 30000
+	 * 
+	 * @return The connection request timeout.
+	 */
+	public int getConnectionRequestTimeout() {
+		return connectionRequestTimeout;
+	}
+
+	/**
+	 * Sets the maximum time to wait for a connection of the pool if all
+	 * connections to an endpoint are in use. A value of 0 is interpreted as
+	 * infinite.
+	 * 
+	 * @param connectionRequestTimeout
+	 * @return This {@link HTTPConnectionPoolConfiguration}.
+	 */
+	public HTTPConnectionPoolConfiguration setConnectionRequestTimeout(int connectionRequestTimeout) {
+		this.connectionRequestTimeout = connectionRequestTimeout;
+		return this;
+	}
+
+	/**
+	 * Gets the maximum number of threads sending asynchronous requests. The HTTP
+	 * transport is blocking, so each asynchronous request occupies one of these
+	 * threads until its response has been received.
+	 * 
+	 * <p>
+	 * Default: 20
+	 * 
+	 * @return The maximum number of threads.
+	 */
+	public int getMaxAsyncThreads() {
+		return maxAsyncThreads;
+	}
+
+	/**
+	 * Sets the maximum number of threads sending asynchronous requests.
+	 * 
+	 * @param maxAsyncThreads
+	 * @return This {@link HTTPConnectionPoolConfiguration}.
+	 */
+	public HTTPConnectionPoolConfiguration setMaxAsyncThreads(int maxAsyncThreads) {
+		this.maxAsyncThreads = maxAsyncThreads;
+		return this;
+	}
+
+	/**
+	 * Gets the maximum number of asynchronous requests waiting for a free thread.
+	 * Further requests fail immediately.
+	 * 
+	 * <p>
+	 * Default: 1000
+	 * 
+	 * @return The maximum number of queued requests.
+	 */
+	public int getMaxQueuedAsyncRequests() {
+		return maxQueuedAsyncRequests;
+	}
+
+	/**
+	 * Sets the maximum number of asynchronous requests waiting for a free thread.
+	 * 
+	 * @param maxQueuedAsyncRequests
+	 * @return This {@link HTTPConnectionPoolConfiguration}.
+	 */
+	public HTTPConnectionPoolConfiguration setMaxQueuedAsyncRequests(int maxQueuedAsyncRequests) {
+		this.maxQueuedAsyncRequests = maxQueuedAsyncRequests;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(maxConnectionsTotal, maxConnectionsPerRoute, idleTimeout, validateAfterInactivity, connectTimeout, readTimeout, connectionRequestTimeout, maxAsyncThreads, maxQueuedAsyncRequests);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof HTTPConnectionPoolConfiguration)) {
+			return false;
+		}
+		HTTPConnectionPoolConfiguration other = (HTTPConnectionPoolConfiguration) obj;
+		return maxConnectionsTotal == other.maxConnectionsTotal && maxConnectionsPerRoute == other.maxConnectionsPerRoute && idleTimeout == other.idleTimeout && validateAfterInactivity == other.validateAfterInactivity
+				&& connectTimeout == other.connectTimeout && readTimeout == other.readTimeout && connectionRequestTimeout == other.connectionRequestTimeout && maxAsyncThreads == other.maxAsyncThreads && maxQueuedAsyncRequests == other.maxQueuedAsyncRequests;
+	}
+}
@@ -27,9 +27,11 @@ package org.eclipse.basyx.vab.protocol.http.connector;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation.Builder;
 import javax.ws.rs.client.WebTarget;
@@ -38,13 +40,16 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
+import org.apache.http.conn.ConnectionPoolTimeoutException;
 import org.eclipse.basyx.vab.coder.json.metaprotocol.Message;
 import org.eclipse.basyx.vab.coder.json.metaprotocol.MessageType;
 import org.eclipse.basyx.vab.coder.json.metaprotocol.Result;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
-import org.eclipse.basyx.vab.protocol.api.IBaSyxConnector;
+import org.eclipse.basyx.vab.modelprovider.async.FutureHelper;
+import org.eclipse.basyx.vab.protocol.api.IAsyncBaSyxConnector;
 import org.eclipse.basyx.vab.protocol.http.server.ExceptionToHTTPCodeMapper;
+import org.eclipse.basyx.vab.protocol.http.server.VABHTTPInterface;
 import org.glassfish.jersey.client.HttpUrlConnectorProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,12 +60,15 @@ import com.google.gson.Gson;
 import io.netty.handler.codec.http.HttpMethod;
 
 /**
- * HTTP connector class
+ * HTTP connector class. Asynchronous calls are sent using the reactive client
+ * API of JAX-RS, so that the calling thread does not wait for the response.
+ * The transport itself is blocking, i.e. each outstanding asynchronous call
+ * occupies a thread of the bounded executor of the {@link HTTPConnectionPool}.
  * 
  * @author kuhn, pschorn, schnicke
  *
  */
-public class HTTPConnector implements IBaSyxConnector {
+public class HTTPConnector implements IAsyncBaSyxConnector {
 
 	private static Logger logger = LoggerFactory.getLogger(HTTPConnector.class);
 
@@ -68,6 +76,7 @@ public class HTTPConnector implements IBaSyxConnector {
 	private String mediaType;
 	@Nullable
 	private final IAuthorizationSupplier authorizationSupplier;
+	protected HTTPConnectionPool connectionPool;
 	protected Client client;
 
 	/**
@@ -95,16 +104,48 @@ public class HTTPConnector implements IBaSyxConnector {
 	}
 
 	public HTTPConnector(final String address, final String mediaType, @Nullable final IAuthorizationSupplier authorizationSupplier) {
+		this(address, mediaType, authorizationSupplier, HTTPConnectionPool.getSharedPool());
+	}
+
+	/**
+	 * Creates a connector that sends its requests over the given connection pool
+	 * 
+	 * @param address
+	 * @param mediaType
+	 * @param authorizationSupplier
+	 * @param connectionPool
+	 */
+	public HTTPConnector(final String address, final String mediaType, @Nullable final IAuthorizationSupplier authorizationSupplier, HTTPConnectionPool connectionPool) {
 		this.address = address;
 		this.mediaType = mediaType;
 		this.authorizationSupplier = authorizationSupplier;
 
-		// Create client
-		client = ClientBuilder.newClient();
+		// Use pooled client
+		setConnectionPool(connectionPool);
 
 		logger.trace("Create with addr: {}", address);
 	}
 
+	/**
+	 * Sets the connection pool used for sending requests
+	 * 
+	 * @param connectionPool
+	 */
+	protected void setConnectionPool(HTTPConnectionPool connectionPool) {
+		this.connectionPool = connectionPool;
+		this.client = connectionPool.getClient();
+	}
+
+	/**
+	 * Returns the connection pool used by this connector, e.g. for retrieving its
+	 * statistics
+	 * 
+	 * @return
+	 */
+	public HTTPConnectionPool getConnectionPool() {
+		return connectionPool;
+	}
+
 	/**
 	 * Invokes BasysPut method via HTTP PUT. Overrides existing property, operation
 	 * or event.
@@ -211,8 +252,10 @@ public class HTTPConnector implements IBaSyxConnector {
 		Response rsp = null;
 		try {
 			rsp = request.get();
+		} catch (ProcessingException e) {
+			throw handleTransportException(HttpMethod.GET, e);
 		} finally {
-			if (!isRequestSuccess(rsp)) {
+			if (rsp != null && !isRequestSuccess(rsp)) {
 				throw this.handleProcessingException(HttpMethod.GET, rsp);
 			}
 		}
@@ -230,8 +273,10 @@ public class HTTPConnector implements IBaSyxConnector {
 		Response rsp = null;
 		try {
 			rsp = request.put(Entity.entity(newValue, mediaType));
+		} catch (ProcessingException e) {
+			throw handleTransportException(HttpMethod.PUT, e);
 		} finally {
-			if (!isRequestSuccess(rsp)) {
+			if (rsp != null && !isRequestSuccess(rsp)) {
 				throw this.handleProcessingException(HttpMethod.PUT, rsp);
 			}
 		}
@@ -250,8 +295,10 @@ public class HTTPConnector implements IBaSyxConnector {
 			final Builder request = this.client.target(VABPathTools.concatenatePaths(address, servicePath)).request();
 			getAuthorization().ifPresent(authorization -> request.header(HttpHeaders.AUTHORIZATION, authorization));
 			rsp = request.build("PATCH", Entity.text(newValue)).property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true).invoke();
+		} catch (ProcessingException e) {
+			throw handleTransportException(HttpMethod.PATCH, e);
 		} finally {
-			if (!isRequestSuccess(rsp)) {
+			if (rsp != null && !isRequestSuccess(rsp)) {
 				throw this.handleProcessingException(HttpMethod.PATCH, rsp);
 			}
 		}
@@ -269,8 +316,10 @@ public class HTTPConnector implements IBaSyxConnector {
 		Response rsp = null;
 		try {
 			rsp = request.post(Entity.entity(parameter, mediaType));
+		} catch (ProcessingException e) {
+			throw handleTransportException(HttpMethod.POST, e);
 		} finally {
-			if (!isRequestSuccess(rsp)) {
+			if (rsp != null && !isRequestSuccess(rsp)) {
 				throw this.handleProcessingException(HttpMethod.POST, rsp);
 			}
 		}
@@ -288,8 +337,10 @@ public class HTTPConnector implements IBaSyxConnector {
 		Response rsp = null;
 		try {
 			rsp = request.delete();
+		} catch (ProcessingException e) {
+			throw handleTransportException(HttpMethod.DELETE, e);
 		} finally {
-			if (!isRequestSuccess(rsp)) {
+			if (rsp != null && !isRequestSuccess(rsp)) {
 				throw this.handleProcessingException(HttpMethod.DELETE, rsp);
 			}
 		}
@@ -304,6 +355,89 @@ public class HTTPConnector implements IBaSyxConnector {
 		return httpPost(path, parameter);
 	}
 
+	/**
+	 * Executes a batch of requests with a single HTTP POST to the batch endpoint
+	 * 
+	 * @throws ProviderException
+	 */
+	@Override
+	public String executeBatch(String jsonBatch) throws ProviderException {
+
+		return httpPost(VABHTTPInterface.BATCH_PATH_ELEMENT, jsonBatch);
+	}
+
+	@Override
+	public CompletableFuture<String> getValueAsync(String servicePath) {
+		logger.trace("[HTTP Get Async] {}", VABPathTools.concatenatePaths(address, servicePath));
+
+		return FutureHelper.call(() -> handleAsyncResponse(HttpMethod.GET, retrieveBuilder(servicePath).rx().get()));
+	}
+
+	@Override
+	public CompletableFuture<String> setValueAsync(String servicePath, String newValue) {
+		logger.trace("[HTTP Put Async] {} [[ {} ]]", VABPathTools.concatenatePaths(address, servicePath), newValue);
+
+		return FutureHelper.call(() -> handleAsyncResponse(HttpMethod.PUT, retrieveBuilder(servicePath).rx().put(Entity.entity(newValue, mediaType))));
+	}
+
+	@Override
+	public CompletableFuture<String> createValueAsync(String servicePath, String newValue) {
+		return httpPostAsync(servicePath, newValue);
+	}
+
+	@Override
+	public CompletableFuture<String> deleteValueAsync(String servicePath) {
+		logger.trace("[HTTP Delete Async] {}", VABPathTools.concatenatePaths(address, servicePath));
+
+		return FutureHelper.call(() -> handleAsyncResponse(HttpMethod.DELETE, retrieveBuilder(servicePath).rx().delete()));
+	}
+
+	@Override
+	public CompletableFuture<String> deleteValueAsync(String servicePath, String obj) {
+		logger.trace("[HTTP Patch Async] {} {}", VABPathTools.concatenatePaths(address, servicePath), obj);
+
+		return FutureHelper.call(() -> {
+			final Builder request = this.client.target(VABPathTools.concatenatePaths(address, servicePath)).request();
+			getAuthorization().ifPresent(authorization -> request.header(HttpHeaders.AUTHORIZATION, authorization));
+			request.property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true);
+			return handleAsyncResponse(HttpMethod.PATCH, request.rx().method("PATCH", Entity.text(obj)));
+		});
+	}
+
+	@Override
+	public CompletableFuture<String> invokeOperationAsync(String path, String parameter) {
+		return httpPostAsync(path, parameter);
+	}
+
+	private CompletableFuture<String> httpPostAsync(String servicePath, String parameter) {
+		logger.trace("[HTTP Post Async] {} {}", VABPathTools.concatenatePaths(address, servicePath), parameter);
+
+		return FutureHelper.call(() -> handleAsyncResponse(HttpMethod.POST, retrieveBuilder(servicePath).rx().post(Entity.entity(parameter, mediaType))));
+	}
+
+	/**
+	 * Maps the response of an asynchronous request in the same way as for
+	 * synchronous requests
+	 * 
+	 * @param method
+	 * @param response
+	 * @return
+	 */
+	private CompletableFuture<String> handleAsyncResponse(HttpMethod method, CompletionStage<Response> response) {
+		return response.toCompletableFuture().handle((rsp, e) -> {
+			if (e != null) {
+				logger.debug("Exception in asynchronous HTTP " + method.name(), e);
+				throw handleTransportException(method, e);
+			}
+			if (!isRequestSuccess(rsp)) {
+				throw handleProcessingException(method, rsp);
+			}
+
+			// Return response message (header)
+			return rsp.readEntity(String.class);
+		});
+	}
+
 	/**
 	 * Create the builder depending on the service path
 	 * 
@@ -314,6 +448,25 @@ public class HTTPConnector implements IBaSyxConnector {
 		return buildRequest(client, VABPathTools.concatenatePaths(address, servicePath));
 	}
 
+	/**
+	 * Maps an exception that occurred before a response was received. If no
+	 * connection of the pool became available in time, the timeout is reported.
+	 * Otherwise, the request is reported as failed in the same way as a missing
+	 * response.
+	 * 
+	 * @param method
+	 * @param e
+	 * @return
+	 */
+	private ProviderException handleTransportException(HttpMethod method, Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConnectionPoolTimeoutException) {
+				return new ProviderException("[HTTP " + method.name() + "] Timeout waiting for a pooled connection to " + address, cause);
+			}
+		}
+		return handleProcessingException(method, null);
+	}
+
 	private ProviderException handleProcessingException(HttpMethod method, Response rsp) {
 		if (rsp == null) {
 			return ExceptionToHTTPCodeMapper.mapToException(404, buildMessageString(method.name(), null));
@@ -24,11 +24,40 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.protocol.http.connector;
 
+import javax.ws.rs.core.MediaType;
+
 import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
 
 public class HTTPConnectorFactory extends ConnectorFactory {
+	private final HTTPConnectionPool connectionPool;
+
+	/**
+	 * Creates a factory whose connectors share the default connection pool
+	 */
+	public HTTPConnectorFactory() {
+		this(HTTPConnectionPool.getSharedPool());
+	}
+
+	/**
+	 * Creates a factory whose connectors share the connection pool for the given
+	 * configuration
+	 * 
+	 * @param poolConfiguration
+	 */
+	public HTTPConnectorFactory(HTTPConnectionPoolConfiguration poolConfiguration) {
+		this(HTTPConnectionPool.getSharedPool(poolConfiguration));
+	}
+
+	/**
+	 * Creates a factory whose connectors use the given connection pool
+	 * 
+	 * @param connectionPool
+	 */
+	public HTTPConnectorFactory(HTTPConnectionPool connectionPool) {
+		this.connectionPool = connectionPool;
+	}
 
 	/**
 	 * returns HTTPConnetor wrapped with ConnectedHashmapProvider that handles
@@ -37,7 +66,16 @@ public class HTTPConnectorFactory extends ConnectorFactory {
 	@Override
 	protected IModelProvider createProvider(String addr) {
 
-		return new JSONConnector(new HTTPConnector(addr));
+		return new JSONConnector(new HTTPConnector(addr, MediaType.APPLICATION_JSON + ";charset=UTF-8", null, connectionPool));
+	}
+
+	/**
+	 * Returns the connection pool shared by the created connectors
+	 * 
+	 * @return
+	 */
+	public HTTPConnectionPool getConnectionPool() {
+		return connectionPool;
 	}
 
 }
@@ -41,6 +41,7 @@ import org.apache.catalina.LifecycleEvent;
 import org.apache.catalina.LifecycleException;
 import org.apache.catalina.LifecycleListener;
 import org.apache.catalina.LifecycleState;
+import org.apache.catalina.Wrapper;
 import org.apache.catalina.connector.Connector;
 import org.apache.catalina.startup.Tomcat;
 import org.apache.tomcat.util.descriptor.web.FilterDef;
@@ -139,7 +140,10 @@ public class BaSyxHTTPServer {
 			HttpServlet servlet = entry.getValue();
 
 			// Add new Servlet and Mapping to tomcat environment
-			Tomcat.addServlet(rootCtx, Integer.toString(servlet.hashCode()), servlet);
+			// - Async support enables servlets to stream events, e.g. the
+			// InvocationEventServlet
+			Wrapper wrapper = Tomcat.addServlet(rootCtx, Integer.toString(servlet.hashCode()), servlet);
+			wrapper.setAsyncSupported(true);
 			rootCtx.addServletMappingDecoded(mapping, Integer.toString(servlet.hashCode()));
 		}
 	}
@@ -169,6 +173,7 @@ public class BaSyxHTTPServer {
 		filterChainProxyFilterDefinition.setFilterName(FilterChainProxy.class.getSimpleName());
 		filterChainProxyFilterDefinition.setFilterClass(FilterChainProxy.class.getName());
 		filterChainProxyFilterDefinition.setFilter(filterChainProxy);
+		filterChainProxyFilterDefinition.setAsyncSupported(Boolean.TRUE.toString());
 		return filterChainProxyFilterDefinition;
 	}
 
@@ -45,14 +45,13 @@ import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResponseAbortedException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.http.helper.SizeLimitedInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.base.Charsets;
-import com.google.common.io.ByteSource;
-
 /**
  * VAB provider class that enables access to an IModelProvider via HTTP REST
  * interface<br>
@@ -81,11 +80,23 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	 */
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Last path element of POST requests that carry a batch of requests. The
+	 * paths of the batched requests are relative to the path before this
+	 * element.
+	 */
+	public static final String BATCH_PATH_ELEMENT = "$batch";
+
 	/**
 	 * Reference to IModelProvider backend
 	 */
 	protected JSONProvider<ModelProvider> providerBackend = null;
 
+	/**
+	 * Maximum accepted size of a JSON request body in bytes
+	 */
+	private long maxRequestBodySize = Long.MAX_VALUE;
+
 	/**
 	 * Constructor
 	 */
@@ -94,6 +105,26 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 		providerBackend = new JSONProvider<ModelProvider>(provider);
 	}
 
+	/**
+	 * Sets the maximum accepted size of a JSON request body in bytes. Larger
+	 * requests are rejected with a {@link MalformedRequestException}.
+	 * 
+	 * @param maxRequestBodySize
+	 */
+	public void setMaxRequestBodySize(long maxRequestBodySize) {
+		this.maxRequestBodySize = maxRequestBodySize;
+	}
+
+	/**
+	 * Sets the maximum nesting depth of objects and arrays accepted in JSON request
+	 * bodies
+	 * 
+	 * @param maxDepth
+	 */
+	public void setMaxRequestNestingDepth(int maxDepth) {
+		providerBackend.getSerializerReference().setMaxDepth(maxDepth);
+	}
+
 	/**
 	 * Access model provider
 	 */
@@ -128,6 +159,9 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 
 			// Process get request
 			providerBackend.processBaSysGet(path, resp.getOutputStream());
+		} catch (ResponseAbortedException e) {
+			// The response is partially sent, the container has to abort the connection
+			throw new IOException(e);
 		} catch (ProviderException e) {
 			int httpCode = ExceptionToHTTPCodeMapper.mapFromException(e);
 			resp.setStatus(httpCode);
@@ -143,14 +177,13 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	protected void doPut(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		try {
 			String path = extractPath(req);
-			String serValue = extractSerializedValue(req);
-			logger.trace("DoPut: {}", serValue);
+			InputStream serValue = extractSerializedValue(req);
 
 			resp.setContentType("application/json");
 			resp.setCharacterEncoding("UTF-8");
 			resp.setStatus(200);
 
-			providerBackend.processBaSysSet(path, serValue.toString(), resp.getOutputStream());
+			providerBackend.processBaSysSet(path, serValue, resp.getOutputStream());
 		} catch (ProviderException e) {
 			int httpCode = ExceptionToHTTPCodeMapper.mapFromException(e);
 			resp.setStatus(httpCode);
@@ -174,6 +207,9 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 			} else {
 				handleJSONPostRequest(req, path, resp);
 			}
+		} catch (ResponseAbortedException e) {
+			// The response is partially sent, the container has to abort the connection
+			throw new IOException(e);
 		} catch (ProviderException e) {
 			int httpCode = ExceptionToHTTPCodeMapper.mapFromException(e);
 			resp.setStatus(httpCode);
@@ -189,8 +225,7 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	protected void doPatch(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		try {
 			String path = extractPath(req);
-			String serValue = extractSerializedValue(req);
-			logger.trace("DoPatch: {}", serValue);
+			InputStream serValue = extractSerializedValue(req);
 
 			resp.setStatus(200);
 
@@ -288,15 +323,23 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	}
 
 	/**
-	 * Read serialized value
+	 * Returns the stream of the serialized value limited to the maximum request
+	 * body size. The value is deserialized while it is read.
 	 * 
 	 * @param req
 	 * @return
 	 * @throws IOException
 	 */
-	private String extractSerializedValue(HttpServletRequest req) throws IOException {
-		// https://www.baeldung.com/convert-input-stream-to-string#guava
-		return getByteSource(req).asCharSource(Charsets.UTF_8).read();
+	private InputStream extractSerializedValue(HttpServletRequest req) throws IOException {
+		if (maxRequestBodySize == Long.MAX_VALUE) {
+			return req.getInputStream();
+		}
+
+		// Reject requests that announce their size upfront
+		if (req.getContentLengthLong() > maxRequestBodySize) {
+			throw new MalformedRequestException("Request body exceeds the maximum size of " + maxRequestBodySize + " bytes");
+		}
+		return new SizeLimitedInputStream(req.getInputStream(), maxRequestBodySize);
 	}
 
 	/**
@@ -322,20 +365,6 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 		return fileStreams;
 	}
 
-	/**
-	 * Gets a {@link ByteSource} from request stream
-	 * 
-	 * @return
-	 */
-	private ByteSource getByteSource(HttpServletRequest req) {
-		return new ByteSource() {
-			@Override
-			public InputStream openStream() throws IOException {
-				return req.getInputStream();
-			}
-		};
-	}
-
 	/**
 	 * Setup HTML response header for HttpPost
 	 * 
@@ -373,11 +402,14 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	 * @throws IOException
 	 */
 	private void handleJSONPostRequest(HttpServletRequest req, String path, HttpServletResponse resp) throws IOException {
-		String serValue = extractSerializedValue(req);
-		logger.trace("DoPost: {}", serValue);
+		InputStream serValue = extractSerializedValue(req);
 
-		// Check if request is for property creation or operation invoke
-		if (VABPathTools.isOperationInvokationPath(path)) {
+		// Check if request is a batch, for property creation or operation invoke
+		if (isBatchPath(path)) {
+			// Batch results are reported per request
+			resp.setStatus(200);
+			providerBackend.processBaSysBatch(VABPathTools.getParentPath(path), serValue, resp.getOutputStream());
+		} else if (VABPathTools.isOperationInvokationPath(path)) {
 			// Invoke BaSys VAB 'invoke' primitive
 			providerBackend.processBaSysInvoke(path, serValue, resp.getOutputStream());
 		} else {
@@ -385,4 +417,14 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 			providerBackend.processBaSysCreate(path, serValue, resp.getOutputStream());
 		}
 	}
+
+	/**
+	 * Checks if the request path addresses the batch endpoint
+	 * 
+	 * @param path
+	 * @return
+	 */
+	private boolean isBatchPath(String path) {
+		return BATCH_PATH_ELEMENT.equals(VABPathTools.getLastElement(path));
+	}
 }
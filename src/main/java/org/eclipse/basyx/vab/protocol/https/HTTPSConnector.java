@@ -27,6 +27,7 @@ package org.eclipse.basyx.vab.protocol.https;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectionPoolConfiguration;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
 import org.eclipse.basyx.vab.protocol.http.connector.IAuthorizationSupplier;
 import org.slf4j.Logger;
@@ -69,28 +70,33 @@ public class HTTPSConnector extends HTTPConnector {
 	}
 
 	public HTTPSConnector(String address, IAuthorizationSupplier authorizationSupplier, boolean validateFlag) {
+		this(address, authorizationSupplier, validateFlag, new HTTPConnectionPoolConfiguration());
+	}
+
+	/**
+	 * Initiates an HTTPSConnector that uses the shared HTTPS connection pool for
+	 * the given pool configuration
+	 * 
+	 * @param address
+	 * @param authorizationSupplier
+	 * @param validateFlag
+	 * @param poolConfiguration
+	 */
+	public HTTPSConnector(String address, IAuthorizationSupplier authorizationSupplier, boolean validateFlag, HTTPConnectionPoolConfiguration poolConfiguration) {
 		super(address, authorizationSupplier);
-		if (validateFlag) {
-			setHttpsClientWithValidation();
-		} else {
-			setHttpsClientWithoutValidation();
-		}
+		setHttpsClient(validateFlag, poolConfiguration);
 	}
 
 	/**
 	 * Configures the client so that it can run with HTTPS protocol
 	 */
-	private void setHttpsClientWithoutValidation() {
-		try {
-			this.client = JerseyHttpsClientFactory.getJerseyHTTPSClientWithoutValidation();
-		} catch (KeyManagementException | NoSuchAlgorithmException e) {
-			logger.error("Cannot create a https client");
-		}
+	private void setHttpsClientWithValidation() {
+		setHttpsClient(true, new HTTPConnectionPoolConfiguration());
 	}
 
-	private void setHttpsClientWithValidation() {
+	private void setHttpsClient(boolean validate, HTTPConnectionPoolConfiguration poolConfiguration) {
 		try {
-			this.client = JerseyHttpsClientFactory.getJerseyHTTPSClientWithValidation();
+			setConnectionPool(JerseyHttpsClientFactory.getHTTPSConnectionPool(poolConfiguration, validate));
 		} catch (KeyManagementException | NoSuchAlgorithmException e) {
 			logger.error("Cannot create a https client");
 		}
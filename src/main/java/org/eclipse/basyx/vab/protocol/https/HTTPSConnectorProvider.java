@@ -27,6 +27,7 @@ package org.eclipse.basyx.vab.protocol.https;
 import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectionPoolConfiguration;
 import org.eclipse.basyx.vab.protocol.http.connector.IAuthorizationSupplier;
 
 /**
@@ -39,6 +40,7 @@ import org.eclipse.basyx.vab.protocol.http.connector.IAuthorizationSupplier;
 public class HTTPSConnectorProvider extends ConnectorFactory {
 	private IAuthorizationSupplier supplier;
 	private boolean validateFlag = true;
+	private HTTPConnectionPoolConfiguration poolConfiguration = new HTTPConnectionPoolConfiguration();
 
 	public HTTPSConnectorProvider() {
 	}
@@ -54,6 +56,16 @@ public class HTTPSConnectorProvider extends ConnectorFactory {
 		this.supplier = supplier;
 	}
 
+	/**
+	 * Sets the configuration of the connection pool shared by the created
+	 * connectors
+	 * 
+	 * @param poolConfiguration
+	 */
+	public void setConnectionPoolConfiguration(HTTPConnectionPoolConfiguration poolConfiguration) {
+		this.poolConfiguration = poolConfiguration;
+	}
+
 	/**
 	 * Enable the validation of hostname in Jersey Https client
 	 */
@@ -74,6 +86,6 @@ public class HTTPSConnectorProvider extends ConnectorFactory {
 	 */
 	@Override
 	protected IModelProvider createProvider(String addr) {
-		return new JSONConnector(new HTTPSConnector(addr, supplier, validateFlag));
+		return new JSONConnector(new HTTPSConnector(addr, supplier, validateFlag, poolConfiguration));
 	}
 }
@@ -36,6 +36,8 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectionPool;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectionPoolConfiguration;
 
 /**
  * A Factory class containing methods creating an HTTPS client with no
@@ -69,6 +71,24 @@ public class JerseyHttpsClientFactory {
 		return getJerseyHTTPSClient(new DefaultHostnameVerifier());
 	}
 
+	/**
+	 * Returns the shared connection pool for HTTPS connections with the given
+	 * configuration
+	 * 
+	 * @param configuration
+	 * @param validate
+	 *            true, if the hostname should be validated
+	 * @return
+	 * @throws KeyManagementException
+	 * @throws NoSuchAlgorithmException
+	 */
+	public static HTTPConnectionPool getHTTPSConnectionPool(HTTPConnectionPoolConfiguration configuration, boolean validate) throws KeyManagementException, NoSuchAlgorithmException {
+		SSLContext sslContext = getSslContext(PROTOCOL);
+		HostnameVerifier hostnameVerifier = validate ? new DefaultHostnameVerifier() : new NonVerifyingHostnameVerifier();
+		String poolId = validate ? "https-validating" : "https-nonvalidating";
+		return HTTPConnectionPool.getSharedPool(poolId, configuration, c -> new HTTPConnectionPool(c, sslContext, hostnameVerifier));
+	}
+
 	private static Client getJerseyHTTPSClient(HostnameVerifier hostnameVerifier) throws KeyManagementException, NoSuchAlgorithmException {
 		SSLContext sslContext = getSslContext(PROTOCOL);
 		return ClientBuilder.newBuilder().sslContext(sslContext).hostnameVerifier(hostnameVerifier).build();
@@ -222,6 +222,21 @@ public interface IOpcUaClient {
 	 */
 	boolean hasConnected();
 
+	/**
+	 * Closes the connection to the server endpoint, if a connection attempt has
+	 * been made.
+	 * 
+	 * <p>
+	 * The connection is closed asynchronously. Subsequent requests establish a new
+	 * connection.
+	 * 
+	 * <p>
+	 * By default, this does nothing. Implementations that hold a connection should
+	 * override it.
+	 */
+	default void disconnect() {
+	}
+
 	/**
 	 * Gets the id of the node pointed to by when resolving the given path against
 	 * the starting node.
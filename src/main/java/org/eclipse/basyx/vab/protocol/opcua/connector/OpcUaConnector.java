@@ -29,10 +29,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IAsyncModelProvider;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.async.FutureHelper;
 import org.eclipse.basyx.vab.protocol.opcua.exception.OpcUaException;
 import org.eclipse.basyx.vab.protocol.opcua.types.NodeId;
 import org.slf4j.Logger;
@@ -84,7 +87,8 @@ import org.slf4j.LoggerFactory;
  * <p>
  * If it is enabled, it will cache any browse path passed to
  * {@link #getValue(String)}, {@link #setValue(String, Object)} or
- * {@link #invokeOperation(String, Object...)} and the matching node id for the
+ * {@link #invokeOperation(String, Object...)} (or their asynchronous variants)
+ * and the matching node id for the
  * specified duration. Subsequent requests using the same browse path within the
  * configured timespan would omit the additional network request for browse path
  * resolution.
@@ -96,8 +100,15 @@ import org.slf4j.LoggerFactory;
  * Such changes would render this cache invalid, but there is no way for this
  * connector to get notified of them. Only use the cache with servers where you
  * can be sure the address space doesn't change.
+ *
+ * <h2>Asynchronous access</h2>
+ *
+ * All requests are also available as non-blocking variants through
+ * {@link IAsyncModelProvider}. They use the asynchronous methods of the
+ * {@link IOpcUaClient}, including the browse path translation, and share the
+ * node id cache with the blocking variants.
  */
-public class OpcUaConnector implements IModelProvider {
+public class OpcUaConnector implements IModelProvider, IAsyncModelProvider, AutoCloseable {
 	/**
 	 * {@link TimerTask} which removes an entry from a map.
 	 */
@@ -136,6 +147,14 @@ public class OpcUaConnector implements IModelProvider {
 		return client;
 	}
 
+	/**
+	 * Closes the connection of the OPC UA client
+	 */
+	@Override
+	public void close() {
+		client.disconnect();
+	}
+
 	/**
 	 * Sets the duration for the NodeId cache.
 	 *
@@ -211,33 +230,110 @@ public class OpcUaConnector implements IModelProvider {
 		}
 	}
 
+	@Override
+	public CompletableFuture<Object> getValueAsync(String path) {
+		return FutureHelper.call(() -> getNodeIdForBrowsePathAsync(path).thenCompose(client::readValueAsync)).whenComplete((value, e) -> {
+			if (e != null) {
+				logger.error("Failed to get node value.");
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> setValueAsync(String path, Object newValue) {
+		return FutureHelper.call(() -> getNodeIdForBrowsePathAsync(path).thenCompose(nodeId -> client.writeValueAsync(nodeId, newValue))).whenComplete((value, e) -> {
+			if (e != null) {
+				logger.error("Failed to set node value.");
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> createValueAsync(String path, Object newEntity) {
+		return FutureHelper.failedFuture(new UnsupportedOperationException("Cannot create values through OPC UA."));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteValueAsync(String path) {
+		return FutureHelper.failedFuture(new UnsupportedOperationException("Cannot delete values through OPC UA."));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteValueAsync(String path, Object obj) {
+		return FutureHelper.failedFuture(new UnsupportedOperationException("Cannot delete values through OPC UA."));
+	}
+
+	@Override
+	public CompletableFuture<Object> invokeOperationAsync(String path, Object... parameters) {
+		CompletableFuture<List<Object>> result = FutureHelper.call(() -> getNodeIdsForOperationBrowsePathAsync(path).thenCompose(nodeIds -> client.invokeMethodAsync(nodeIds.get(1), nodeIds.get(0), parameters)));
+		return result.<Object>thenApply(outputs -> outputs).whenComplete((value, e) -> {
+			if (e != null) {
+				logger.error("Failed to invoke operation.");
+			}
+		});
+	}
+
 	private NodeId getNodeIdForBrowsePath(String browsePath) {
-		if (nodeIdCache.containsKey(browsePath)) {
+		NodeId cached = nodeIdCache.get(browsePath);
+		if (cached != null) {
 			logger.debug("Using cached NodeId for browse path '{}'.", browsePath);
-			return nodeIdCache.get(browsePath);
+			return cached;
 		}
 
 		NodeId nodeId = client.translateBrowsePathToNodeId(browsePath);
+		cacheNodeId(browsePath, nodeId);
+		return nodeId;
+	}
+
+	private CompletableFuture<NodeId> getNodeIdForBrowsePathAsync(String browsePath) {
+		NodeId cached = nodeIdCache.get(browsePath);
+		if (cached != null) {
+			logger.debug("Using cached NodeId for browse path '{}'.", browsePath);
+			return CompletableFuture.completedFuture(cached);
+		}
+
+		return client.translateBrowsePathToNodeIdAsync(browsePath).thenApply(nodeId -> {
+			cacheNodeId(browsePath, nodeId);
+			return nodeId;
+		});
+	}
 
+	private void cacheNodeId(String browsePath, NodeId nodeId) {
 		if (!cacheDuration.isZero()) {
 			nodeIdCache.put(browsePath, nodeId);
 			cacheTimer.schedule(new RemoveEntryFromMapTimerTask<>(nodeIdCache, browsePath), cacheDuration.toMillis());
 		}
-		return nodeId;
 	}
 
 	private List<NodeId> getNodeIdsForOperationBrowsePath(String browsePath) {
-		if (operationNodeIdsCache.containsKey(browsePath)) {
+		List<NodeId> cached = operationNodeIdsCache.get(browsePath);
+		if (cached != null) {
 			logger.debug("Using cached NodeIds for operation at browse path '{}'.", browsePath);
-			return operationNodeIdsCache.get(browsePath);
+			return cached;
 		}
 
 		List<NodeId> nodeIds = client.translateBrowsePathToParentAndTargetNodeId(browsePath);
+		cacheOperationNodeIds(browsePath, nodeIds);
+		return nodeIds;
+	}
+
+	private CompletableFuture<List<NodeId>> getNodeIdsForOperationBrowsePathAsync(String browsePath) {
+		List<NodeId> cached = operationNodeIdsCache.get(browsePath);
+		if (cached != null) {
+			logger.debug("Using cached NodeIds for operation at browse path '{}'.", browsePath);
+			return CompletableFuture.completedFuture(cached);
+		}
 
+		return client.translateBrowsePathToParentAndTargetNodeIdAsync(browsePath).thenApply(nodeIds -> {
+			cacheOperationNodeIds(browsePath, nodeIds);
+			return nodeIds;
+		});
+	}
+
+	private void cacheOperationNodeIds(String browsePath, List<NodeId> nodeIds) {
 		if (!cacheDuration.isZero()) {
 			operationNodeIdsCache.put(browsePath, nodeIds);
 			cacheTimer.schedule(new RemoveEntryFromMapTimerTask<>(operationNodeIdsCache, browsePath), cacheDuration.toMillis());
 		}
-		return nodeIds;
 	}
 }
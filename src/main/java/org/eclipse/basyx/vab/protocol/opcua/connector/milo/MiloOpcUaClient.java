@@ -227,6 +227,25 @@ public class MiloOpcUaClient implements IOpcUaClient {
 		}
 	}
 
+	/**
+	 * Closes the connection to the server endpoint.
+	 *
+	 * <p>
+	 * See the documentation of {@link IOpcUaClient#disconnect()} for more
+	 * information.
+	 */
+	@Override
+	public synchronized void disconnect() {
+		if (futureClient == null) {
+			return;
+		}
+		futureClient.thenAccept(UaClient::disconnect).exceptionally(e -> {
+			logger.warn("Could not disconnect from " + endpointUrl, e);
+			return null;
+		});
+		futureClient = null;
+	}
+
 	/**
 	 * Gets the client object from the underlying OPC UA library.
 	 *
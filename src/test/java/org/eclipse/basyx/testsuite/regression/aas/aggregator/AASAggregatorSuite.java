@@ -25,11 +25,16 @@
 package org.eclipse.basyx.testsuite.regression.aas.aggregator;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
+import org.eclipse.basyx.aas.aggregator.api.AASPage;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.aggregator.restapi.AASAggregatorProvider;
 import org.eclipse.basyx.aas.manager.ConnectedAssetAdministrationShellManager;
@@ -43,6 +48,7 @@ import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
 import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.LangStrings;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
@@ -127,6 +133,39 @@ public abstract class AASAggregatorSuite {
 		}
 	}
 
+	@Test
+	public void testGetAASPage() throws Exception {
+		IAASAggregator aggregator = getAggregator();
+		aggregator.createAAS(aas1);
+		aggregator.createAAS(aas2);
+
+		// The first page contains one AAS and points to the second page
+		AASPage first = aggregator.getAASPage(1, null);
+		assertEquals(1, first.getItems().size());
+		assertNotNull(first.getCursor());
+
+		// The second page contains the other AAS and is the last page
+		AASPage second = aggregator.getAASPage(1, first.getCursor());
+		assertEquals(1, second.getItems().size());
+		assertNull(second.getCursor());
+
+		Set<String> ids = new HashSet<>();
+		ids.add(first.getItems().iterator().next().getIdentification().getId());
+		ids.add(second.getItems().iterator().next().getIdentification().getId());
+		assertTrue(ids.contains(aas1Id));
+		assertTrue(ids.contains(aas2Id));
+
+		// A page that is large enough contains all AAS
+		AASPage all = aggregator.getAASPage(10, null);
+		assertEquals(2, all.getItems().size());
+		assertNull(all.getCursor());
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void testGetAASPageInvalidLimit() {
+		getAggregator().getAASPage(0, null);
+	}
+
 	@Test
 	public void testUpdate() throws Exception {
 		IAASAggregator aggregator = getAggregator();
@@ -24,8 +24,16 @@
  ******************************************************************************/
 package org.eclipse.basyx.testsuite.regression.aas.aggregator;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
 import org.eclipse.basyx.aas.aggregator.AASAggregator;
+import org.eclipse.basyx.aas.aggregator.api.AASPage;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.junit.Test;
 
 /**
  * Tests the AASAggregator implementation.
@@ -38,4 +46,57 @@ public class TestAASAggregator extends AASAggregatorSuite {
 	protected IAASAggregator getAggregator() {
 		return new AASAggregator();
 	}
+
+	@Test
+	public void testListAndPageOrder() {
+		IAASAggregator aggregator = getAggregator();
+		aggregator.createAAS(aas2);
+		aggregator.createAAS(aas1);
+
+		// The list keeps the order of creation
+		List<IAssetAdministrationShell> list = (List<IAssetAdministrationShell>) aggregator.getAASList();
+		assertEquals(aas2.getIdentification().getId(), list.get(0).getIdentification().getId());
+		assertEquals(aas1.getIdentification().getId(), list.get(1).getIdentification().getId());
+
+		// Pages are sorted by id
+		AASPage page = aggregator.getAASPage(2, null);
+		assertEquals(aas1.getIdentification().getId(), page.getItems().iterator().next().getIdentification().getId());
+	}
+
+	/**
+	 * Subclasses may modify the provider map directly. Pages and list reflect
+	 * these changes, even if the number of AAS stays the same.
+	 */
+	@Test
+	public void testDirectProviderMapModification() {
+		AASAggregator aggregator = new AASAggregator() {
+			{
+				createAAS(aas1);
+				aasProviderMap.put(aas2.getIdentification().getId(), aasProviderMap.remove(aas1.getIdentification().getId()));
+			}
+		};
+
+		AASPage page = aggregator.getAASPage(2, null);
+		assertEquals(1, page.getItems().size());
+		assertEquals(1, aggregator.getAASList().size());
+		assertEquals(aas1.getIdentification().getId(), aggregator.getAASPage(1, null).getItems().iterator().next().getIdentification().getId());
+	}
+
+	@Test
+	public void testListIsModifiable() {
+		IAASAggregator aggregator = getAggregator();
+		aggregator.createAAS(aas1);
+		aggregator.createAAS(aas2);
+
+		List<IAssetAdministrationShell> list = (List<IAssetAdministrationShell>) aggregator.getAASList();
+
+		// The AAS is only retrieved once
+		IAssetAdministrationShell first = list.get(0);
+		assertSame(first, list.get(0));
+
+		list.remove(0);
+		assertEquals(1, list.size());
+		list.add(first);
+		assertSame(first, list.get(1));
+	}
 }
@@ -209,6 +209,41 @@ public class MultiSubmodelProviderTest {
 		}
 	}
 
+	/**
+	 * Tests if requests reach the new submodel after the submodel has been
+	 * replaced, both through the provider and directly in its aggregator
+	 */
+	@Test
+	public void replaceSubmodelTest() {
+		Submodel sm = new SimpleAASSubmodel("TestSM");
+		sm.setIdentification(IdentifierType.CUSTOM, "TestId");
+		proxy.setValue("/aas/submodels/" + sm.getIdShort(), sm);
+		getTestRunner("TestSM");
+
+		Submodel sm2 = createSubmodelWithIntegerValue("TestSM", 456);
+		proxy.setValue("/aas/submodels/" + sm2.getIdShort(), sm2);
+		assertEquals(456, getIntegerValue(proxy, "TestSM"));
+
+		MultiSubmodelProvider provider = new MultiSubmodelProvider();
+		provider.getSmAggregator().createSubmodel(sm);
+		VABElementProxy localProxy = new VABElementProxy("", provider);
+		assertEquals(123, getIntegerValue(localProxy, "TestSM"));
+
+		provider.getSmAggregator().createSubmodel(createSubmodelWithIntegerValue("TestSM", 789));
+		assertEquals(789, getIntegerValue(localProxy, "TestSM"));
+	}
+
+	private Submodel createSubmodelWithIntegerValue(String idShort, int value) {
+		Submodel sm = new SimpleAASSubmodel(idShort);
+		sm.setIdentification(IdentifierType.CUSTOM, "TestId" + value);
+		((Property) sm.getSubmodelElements().get("integerProperty")).setValue(value);
+		return sm;
+	}
+
+	private Object getIntegerValue(VABElementProxy proxy, String smIdShort) {
+		return proxy.getValue("/aas/submodels/" + smIdShort + "/" + SubmodelProvider.SUBMODEL + "/" + MultiSubmodelElementProvider.ELEMENTS + "/integerProperty/value");
+	}
+
 	/**
 	 * Tests if SubmodelElements are returned as a List in Submodel and
 	 * SubmodelElementCollection and not as Map
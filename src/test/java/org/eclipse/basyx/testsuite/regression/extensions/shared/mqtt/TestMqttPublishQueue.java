@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.shared.mqtt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.basyx.extensions.shared.mqtt.MqttPublishQueue;
+import org.eclipse.basyx.extensions.shared.mqtt.MqttPublishQueue.Publisher;
+import org.eclipse.basyx.vab.modelprovider.async.BoundedDispatchQueue.OverflowPolicy;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.junit.Test;
+
+/**
+ * Tests the asynchronous publishing of MQTT messages through the
+ * MqttPublishQueue
+ */
+public class TestMqttPublishQueue {
+	private List<String> published = Collections.synchronizedList(new ArrayList<>());
+
+	// Blocks the publishing thread until it is released
+	private CountDownLatch started = new CountDownLatch(1);
+	private CountDownLatch release = new CountDownLatch(1);
+
+	private Publisher blockingPublisher = (topic, message, callback) -> {
+		started.countDown();
+		try {
+			release.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		published.add(topic);
+		callback.accept(null);
+	};
+
+	@Test
+	public void testPublishing() throws InterruptedException {
+		MqttPublishQueue queue = new MqttPublishQueue((topic, message, callback) -> {
+			published.add(topic);
+			callback.accept(null);
+		}, 10, OverflowPolicy.BLOCK);
+
+		queue.enqueue("a", createMessage());
+		queue.enqueue("b", createMessage());
+		assertTrue(queue.close(1000));
+
+		assertEquals(2, queue.getPublishedCount());
+		assertEquals(0, queue.getQueueDepth());
+		assertTrue(queue.getMaxLatency() >= queue.getAverageLatency());
+		assertEquals(2, published.size());
+		assertEquals("a", published.get(0));
+		assertEquals("b", published.get(1));
+	}
+
+	@Test
+	public void testDropNewest() throws InterruptedException {
+		MqttPublishQueue queue = new MqttPublishQueue(blockingPublisher, 1, OverflowPolicy.DROP_NEWEST);
+		fillQueue(queue);
+		queue.enqueue("c", createMessage());
+
+		release.countDown();
+		assertTrue(queue.close(1000));
+		assertEquals(1, queue.getDroppedCount());
+		assertEquals(2, queue.getPublishedCount());
+		assertEquals("b", published.get(1));
+	}
+
+	@Test
+	public void testDropOldest() throws InterruptedException {
+		MqttPublishQueue queue = new MqttPublishQueue(blockingPublisher, 1, OverflowPolicy.DROP_OLDEST);
+		fillQueue(queue);
+		queue.enqueue("c", createMessage());
+
+		release.countDown();
+		assertTrue(queue.close(1000));
+		assertEquals(1, queue.getDroppedCount());
+		assertEquals(2, queue.getPublishedCount());
+		assertEquals("c", published.get(1));
+	}
+
+	@Test
+	public void testFailedDelivery() throws InterruptedException {
+		MqttPublishQueue queue = new MqttPublishQueue((topic, message, callback) -> {
+			callback.accept(new RuntimeException("Broker not available"));
+		}, 10, OverflowPolicy.BLOCK);
+
+		queue.enqueue("a", createMessage());
+		assertTrue(queue.close(1000));
+		assertEquals(1, queue.getFailedCount());
+		assertEquals(0, queue.getPublishedCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEnqueueAfterClose() {
+		MqttPublishQueue queue = new MqttPublishQueue(blockingPublisher, 10, OverflowPolicy.BLOCK);
+		queue.close();
+		queue.enqueue("a", createMessage());
+	}
+
+	/**
+	 * Makes the publishing thread wait while publishing "a" and fills the queue
+	 * of capacity 1 with "b"
+	 */
+	private void fillQueue(MqttPublishQueue queue) throws InterruptedException {
+		queue.enqueue("a", createMessage());
+		started.await();
+		queue.enqueue("b", createMessage());
+		assertEquals(1, queue.getQueueDepth());
+	}
+
+	private MqttMessage createMessage() {
+		return new MqttMessage("payload".getBytes());
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.shared.mqtt;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.basyx.extensions.shared.mqtt.UpdateCoalescer;
+import org.junit.Test;
+
+/**
+ * Tests the coalescing of frequent updates by the UpdateCoalescer
+ */
+public class TestUpdateCoalescer {
+	private List<Object> published = Collections.synchronizedList(new ArrayList<>());
+
+	@Test
+	public void testCoalescing() throws InterruptedException {
+		UpdateCoalescer coalescer = new UpdateCoalescer(100, (key, value) -> published.add(value));
+
+		// The first update is published directly, the following ones are coalesced
+		for (int i = 0; i < 10; i++) {
+			coalescer.update("prop", i);
+		}
+		assertEquals(1, published.size());
+		assertEquals(0, published.get(0));
+
+		// Only the latest value is published at the end of the interval
+		Thread.sleep(300);
+		assertEquals(2, published.size());
+		assertEquals(9, published.get(1));
+		coalescer.close();
+	}
+
+	@Test
+	public void testIndependentKeys() {
+		UpdateCoalescer coalescer = new UpdateCoalescer(1000, (key, value) -> published.add(key));
+		coalescer.update("a", 1);
+		coalescer.update("b", 1);
+
+		assertEquals(2, published.size());
+		coalescer.close();
+	}
+
+	@Test
+	public void testDeadband() throws InterruptedException {
+		UpdateCoalescer coalescer = new UpdateCoalescer(0, 1.0, (key, value) -> published.add(value));
+		coalescer.update("prop", 10.0);
+		coalescer.update("prop", 10.5);
+		coalescer.update("prop", 9.2);
+		coalescer.update("prop", 11.0);
+
+		// Non-numeric values are always published
+		coalescer.update("prop", "text");
+		Thread.sleep(100);
+
+		assertEquals(3, published.size());
+		assertEquals(10.0, published.get(0));
+		assertEquals(11.0, published.get(1));
+		assertEquals("text", published.get(2));
+		coalescer.close();
+	}
+
+	@Test
+	public void testRemove() throws InterruptedException {
+		UpdateCoalescer coalescer = new UpdateCoalescer(50, (key, value) -> published.add(value));
+		coalescer.update("prop", 1);
+		coalescer.update("prop", 2);
+		coalescer.remove("prop");
+
+		Thread.sleep(200);
+		assertEquals(1, published.size());
+		coalescer.close();
+	}
+}
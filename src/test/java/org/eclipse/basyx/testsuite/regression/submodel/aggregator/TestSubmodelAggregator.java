@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.eclipse.basyx.submodel.aggregator.SubmodelAggregator;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the lookup of submodels by identifier in the SubmodelAggregator
+ */
+public class TestSubmodelAggregator {
+	private static final Identifier ID1 = new Identifier(IdentifierType.CUSTOM, "sm1");
+	private static final Identifier ID2 = new Identifier(IdentifierType.CUSTOM, "sm2");
+
+	private SubmodelAggregator aggregator;
+
+	@Before
+	public void setup() {
+		aggregator = new SubmodelAggregator();
+		aggregator.createSubmodel(new Submodel("smIdShort1", ID1));
+		aggregator.createSubmodel(new Submodel("smIdShort2", ID2));
+	}
+
+	@Test
+	public void testGetById() {
+		assertEquals("smIdShort1", aggregator.getSubmodel(ID1).getIdShort());
+		assertEquals("smIdShort2", aggregator.getSubmodelAPIById(ID2).getSubmodel().getIdShort());
+		assertNotFound(new Identifier(IdentifierType.CUSTOM, "unknown"));
+	}
+
+	@Test
+	public void testDelete() {
+		aggregator.deleteSubmodelByIdentifier(ID1);
+		assertNotFound(ID1);
+		assertEquals(1, aggregator.getSubmodelList().size());
+
+		aggregator.deleteSubmodelByIdShort("smIdShort2");
+		assertNotFound(ID2);
+		assertEquals(0, aggregator.getSubmodelList().size());
+
+		// Deleting unknown submodels is ignored
+		aggregator.deleteSubmodelByIdentifier(ID1);
+	}
+
+	@Test
+	public void testUpdateIdShort() {
+		aggregator.updateSubmodel(new Submodel("renamed", ID1));
+
+		assertEquals("renamed", aggregator.getSubmodel(ID1).getIdShort());
+		assertEquals(2, aggregator.getSubmodelList().size());
+		try {
+			aggregator.getSubmodelbyIdShort("smIdShort1");
+			fail();
+		} catch (ResourceNotFoundException e) {
+		}
+	}
+
+	@Test
+	public void testUpdateIdentifier() {
+		Identifier newId = new Identifier(IdentifierType.CUSTOM, "newId");
+		aggregator.updateSubmodel(new Submodel("smIdShort1", newId));
+
+		assertEquals("smIdShort1", aggregator.getSubmodel(newId).getIdShort());
+		assertNotFound(ID1);
+		assertEquals(2, aggregator.getSubmodelList().size());
+	}
+
+	private void assertNotFound(Identifier id) {
+		try {
+			aggregator.getSubmodel(id);
+			fail();
+		} catch (ResourceNotFoundException e) {
+		}
+	}
+}
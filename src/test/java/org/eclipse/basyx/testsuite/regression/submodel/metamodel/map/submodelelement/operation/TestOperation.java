@@ -25,6 +25,8 @@
 package org.eclipse.basyx.testsuite.regression.submodel.metamodel.map.submodelelement.operation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -38,6 +40,7 @@ import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOpera
 import org.eclipse.basyx.submodel.metamodel.map.reference.Key;
 import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationInvocationPlan;
 import org.junit.Test;
 
 /**
@@ -95,6 +98,25 @@ public class TestOperation extends TestOperationSuite {
 		assertEquals(expected, setValueForTestSetNoInNoOutFunctionAsInvokable);
 	}
 
+	@Test
+	public void testInvocationPlan() throws Exception {
+		Operation operation = new Operation(TWO_IN, OUT, INOUT, SIMPLE_FUNC);
+		operation.setIdShort("function");
+		OperationInvocationPlan plan = operation.getInvocationPlan();
+		assertEquals(0, plan.getInputSlot(IN_IDSHORT1));
+		assertEquals(1, plan.getInputSlot(IN_IDSHORT2));
+		assertEquals(-1, plan.getInputSlot("unknown"));
+
+		// The plan is reused as long as the operation is not changed
+		assertEquals(5, operation.invokeSimple(3, 2));
+		assertSame(plan, operation.getInvocationPlan());
+
+		// Replacing the variables leads to a new plan
+		operation.setInputVariables(ONE_IN);
+		assertNotSame(plan, operation.getInvocationPlan());
+		assertEquals(1, operation.getInvocationPlan().getInputIdShorts().length);
+	}
+
 	@Test
 	public void testSetDataSpecificationReferences() {
 		Operation operation = new Operation(TWO_IN, OUT, INOUT, SIMPLE_FUNC);
@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperationVariable;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationVariable;
+import org.eclipse.basyx.submodel.restapi.operation.AsyncOperationHandler;
+import org.eclipse.basyx.submodel.restapi.operation.ExecutionState;
+import org.eclipse.basyx.submodel.restapi.operation.InvocationCallbackSender;
+import org.eclipse.basyx.submodel.restapi.operation.InvocationRequest;
+import org.eclipse.basyx.submodel.restapi.operation.InvocationResponse;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link AsyncOperationHandler}
+ */
+public class AsyncOperationHandlerTest {
+	private static final String OPERATION_ID = "operation";
+
+	private AsyncOperationHandler handler;
+
+	@Before
+	public void setup() {
+		handler = new AsyncOperationHandler();
+	}
+
+	@Test
+	public void testResult() throws InterruptedException {
+		Operation operation = createOperation(params -> (int) params[0] + 1);
+		operation.setInputVariables(Collections.singletonList(new OperationVariable(new Property("input", 0))));
+		handler.invoke(operation, OPERATION_ID, "request", new Object[] { 1 }, createOutputs(), 10000);
+
+		InvocationResponse response = waitForResult("request");
+		assertEquals(ExecutionState.COMPLETED, response.getExecutionState());
+		assertEquals(2, response.getOutputArguments().iterator().next().getValue().getValue());
+
+		// Finished results are removed after they have been retrieved
+		assertFalse(handler.hasRequest("request"));
+	}
+
+	@Test
+	public void testFailure() throws InterruptedException {
+		Operation operation = createOperation(params -> {
+			throw new IllegalStateException();
+		});
+		handler.invoke(operation, OPERATION_ID, "request", new Object[0], createOutputs(), 10000);
+
+		InvocationResponse response = waitForResult("request");
+		assertEquals(ExecutionState.FAILED, response.getExecutionState());
+		assertTrue(response.getOutputArguments().iterator().next().getValue().getValue() instanceof ProviderException);
+	}
+
+	@Test
+	public void testTimeout() throws InterruptedException {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Operation operation = createOperation(params -> {
+			try {
+				Thread.sleep(10000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return null;
+		});
+		handler.invoke(operation, OPERATION_ID, "request", new Object[0], createOutputs(), 50);
+
+		InvocationResponse response = waitForResult("request");
+		assertEquals(ExecutionState.TIMEOUT, response.getExecutionState());
+
+		// The operation is stopped to free its thread
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testResultTimeToLive() throws InterruptedException {
+		handler.setResultTimeToLive(50);
+		Operation operation = createOperation(params -> 1);
+		handler.invoke(operation, OPERATION_ID, "request", new Object[0], createOutputs(), 10000);
+
+		// Results that are not retrieved are removed after their time to live
+		long end = System.currentTimeMillis() + 5000;
+		while (handler.hasRequest("request") && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertFalse(handler.hasRequest("request"));
+		assertEquals(0, handler.getInvocationCount());
+	}
+
+	@Test
+	public void testOperationExecutor() throws InterruptedException {
+		ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "operationExecutor"));
+		try {
+			handler.setExecutor(OPERATION_ID, executor);
+			Operation operation = createOperation(params -> Thread.currentThread().getName());
+			handler.invoke(operation, OPERATION_ID, "request", new Object[0], createOutputs(), 10000);
+
+			InvocationResponse response = waitForResult("request");
+			assertEquals("operationExecutor", response.getOutputArguments().iterator().next().getValue().getValue());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testRejectedInvocation() throws InterruptedException {
+		// Executor with one thread and no queue
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+		try {
+			handler.setExecutor(executor);
+			Operation blocking = createOperation(params -> {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return 1;
+			});
+			handler.invoke(blocking, OPERATION_ID, "running", new Object[0], createOutputs(), 10000);
+			handler.invoke(createOperation(params -> 1), OPERATION_ID, "rejected", new Object[0], createOutputs(), 10000);
+
+			// The rejected invocation fails instead of waiting
+			InvocationResponse response = (InvocationResponse) handler.getResult("rejected", OPERATION_ID);
+			assertEquals(ExecutionState.FAILED, response.getExecutionState());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testSeparateHandlers() throws InterruptedException {
+		Operation operation = createOperation(params -> 1);
+		handler.invoke(operation, OPERATION_ID, "request", new Object[0], createOutputs(), 10000);
+
+		// Other handlers do not know the request
+		assertFalse(new AsyncOperationHandler().hasRequest("request"));
+		assertFalse(AsyncOperationHandler.hasRequestId("request"));
+		assertTrue(handler.hasRequest("request"));
+	}
+
+	@Test
+	public void testWrongOperation() {
+		Operation operation = createOperation(params -> 1);
+		handler.invoke(operation, OPERATION_ID, "request", new Object[0], createOutputs(), 10000);
+		try {
+			handler.getResult("request", "otherOperation");
+			fail();
+		} catch (ResourceNotFoundException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void testListener() throws InterruptedException {
+		List<ExecutionState> states = new CopyOnWriteArrayList<>();
+		CountDownLatch finished = new CountDownLatch(1);
+		handler.addListener((operationId, response) -> {
+			assertEquals(OPERATION_ID, operationId);
+			states.add(response.getExecutionState());
+			if (response.getExecutionState() != ExecutionState.INITIATED) {
+				finished.countDown();
+			}
+		});
+
+		Operation operation = createOperation(params -> 1);
+		handler.invoke(operation, OPERATION_ID, "request", new Object[0], createOutputs(), 10000);
+
+		assertTrue(finished.await(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList(ExecutionState.INITIATED, ExecutionState.COMPLETED), states);
+	}
+
+	@Test
+	public void testCallback() throws Exception {
+		// The first attempt fails, so that the response is only delivered by a retry
+		Map<String, Object> delivered = new ConcurrentHashMap<>();
+		AtomicInteger attempts = new AtomicInteger();
+		VABLambdaProvider callbackEndpoint = new VABLambdaProvider(new HashMap<>()) {
+			@Override
+			public void createValue(String path, Object newEntity) throws ProviderException {
+				if (attempts.incrementAndGet() == 1) {
+					throw new ProviderException("Endpoint not reachable");
+				}
+				delivered.put(path, newEntity);
+			}
+		};
+		List<String> addresses = new CopyOnWriteArrayList<>();
+		IConnectorFactory connectorFactory = address -> {
+			addresses.add(address);
+			return callbackEndpoint;
+		};
+		InvocationCallbackSender sender = new InvocationCallbackSender(connectorFactory, InvocationCallbackSender.allowHosts("localhost"));
+		sender.setRetryDelay(10);
+		handler.setCallbackSender(sender);
+
+		Operation operation = createOperation(params -> 1);
+		InvocationRequest request = new InvocationRequest("request", new ArrayList<>(), new ArrayList<>(), 10000, "http://localhost/callback");
+		handler.invoke(operation, OPERATION_ID, request, createOutputs());
+
+		long end = System.currentTimeMillis() + 5000;
+		while (sender.getDeliveredCount() == 0 && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, sender.getDeliveredCount());
+		assertEquals(2, attempts.get());
+		assertEquals("http://localhost/callback", addresses.get(0));
+
+		InvocationResponse response = (InvocationResponse) delivered.get("");
+		assertEquals("request", response.getRequestId());
+		assertEquals(ExecutionState.COMPLETED, response.getExecutionState());
+	}
+
+	@Test
+	public void testCallbackGivenUp() throws Exception {
+		IConnectorFactory connectorFactory = address -> {
+			throw new ProviderException("Endpoint not reachable");
+		};
+		InvocationCallbackSender sender = new InvocationCallbackSender(connectorFactory, InvocationCallbackSender.allowHosts("localhost"));
+		sender.setRetryDelay(1);
+		sender.setMaximumAttempts(3);
+
+		try {
+			sender.send("http://localhost/callback", new InvocationResponse("request", new ArrayList<>(), new ArrayList<>(), ExecutionState.COMPLETED)).get(5, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof ProviderException);
+		}
+		assertEquals(1, sender.getFailedCount());
+		assertEquals(0, sender.getDeliveredCount());
+	}
+
+	@Test
+	public void testCallbackDisabled() {
+		Operation operation = createOperation(params -> 1);
+		InvocationRequest request = new InvocationRequest("request", new ArrayList<>(), new ArrayList<>(), 10000, "http://localhost/callback");
+		try {
+			handler.invoke(operation, OPERATION_ID, request, createOutputs());
+			fail();
+		} catch (MalformedRequestException e) {
+			// Expected
+		}
+		assertFalse(handler.hasRequest("request"));
+	}
+
+	@Test
+	public void testCallbackNotAllowed() {
+		IConnectorFactory connectorFactory = address -> {
+			throw new IllegalStateException("Callback must not be sent to " + address);
+		};
+		handler.setCallbackSender(new InvocationCallbackSender(connectorFactory, InvocationCallbackSender.allowHosts("callbacks.example.com:8080")));
+
+		Operation operation = createOperation(params -> 1);
+		InvocationRequest request = new InvocationRequest("request", new ArrayList<>(), new ArrayList<>(), 10000, "http://internal-host/admin");
+		try {
+			handler.invoke(operation, OPERATION_ID, request, createOutputs());
+			fail();
+		} catch (MalformedRequestException e) {
+			// Expected
+		}
+		assertFalse(handler.hasRequest("request"));
+	}
+
+	@Test
+	public void testAllowHosts() {
+		Predicate<String> validator = InvocationCallbackSender.allowHosts("localhost", "callbacks.example.com:8080");
+		assertTrue(validator.test("http://localhost:4001/callback"));
+		assertTrue(validator.test("https://LOCALHOST/callback"));
+		assertTrue(validator.test("http://callbacks.example.com:8080/callback"));
+		assertFalse(validator.test("http://callbacks.example.com/callback"));
+		assertFalse(validator.test("http://169.254.169.254/latest/meta-data"));
+		assertFalse(validator.test("file://localhost/etc/passwd"));
+		assertFalse(validator.test("basyx://localhost:4001/callback"));
+		assertFalse(validator.test("http://user@localhost/callback"));
+		assertFalse(validator.test("not a url"));
+	}
+
+	private InvocationResponse waitForResult(String requestId) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < end) {
+			InvocationResponse response = (InvocationResponse) handler.getResult(requestId, OPERATION_ID);
+			if (response.getExecutionState() != ExecutionState.INITIATED) {
+				return response;
+			}
+			Thread.sleep(10);
+		}
+		fail("Request " + requestId + " did not finish");
+		return null;
+	}
+
+	private static Operation createOperation(Function<Object[], Object> function) {
+		Operation operation = new Operation(OPERATION_ID);
+		operation.setInvokable(function);
+		return operation;
+	}
+
+	private static Collection<IOperationVariable> createOutputs() {
+		Collection<IOperationVariable> outputs = new ArrayList<>();
+		outputs.add(new OperationVariable(new Property("result", 0)));
+		return outputs;
+	}
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.IdShortPathIndex;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link IdShortPathIndex} and the access to nested elements through
+ * it
+ */
+public class IdShortPathIndexTest {
+	private static final String DEEP_PATH = "c0/c1/c2/c3/c4/c5/leaf";
+
+	private ISubmodelAPI api;
+
+	@Before
+	public void setup() {
+		Submodel sm = new Submodel("indexedSM", new Identifier(IdentifierType.CUSTOM, "indexedSM"));
+		SubmodelElementCollection parent = new SubmodelElementCollection("c0");
+		sm.addSubmodelElement(parent);
+		for (int i = 1; i < 6; i++) {
+			SubmodelElementCollection child = new SubmodelElementCollection("c" + i);
+			parent.addSubmodelElement(child);
+			parent = child;
+		}
+		parent.addSubmodelElement(new Property("leaf", 5));
+		sm.addSubmodelElement(new Property("top", 1));
+
+		api = new VABSubmodelAPIFactory().create(sm);
+	}
+
+	@Test
+	public void testElementPaths() {
+		IdShortPathIndex index = new IdShortPathIndex();
+		SubmodelElementCollection col = new SubmodelElementCollection("col");
+		col.addSubmodelElement(new Property("prop", 1));
+		index.put("col", col);
+
+		assertEquals("col", index.getElementPath("col"));
+		assertEquals("col/value/prop", index.getElementPath("col/prop"));
+		assertEquals("col/value/prop", index.getElementPath("/col/prop/"));
+		assertTrue(index.isCollection("col"));
+
+		index.put("col/prop2", new Property("prop2", 2));
+		assertEquals("col/value/prop2", index.getElementPath("col/prop2"));
+
+		// Elements in unknown collections are not indexed
+		index.put("unknown/prop", new Property("prop", 2));
+		assertNull(index.getElementPath("unknown/prop"));
+
+		index.remove("col");
+		assertNull(index.getElementPath("col"));
+		assertNull(index.getElementPath("col/prop"));
+		assertNull(index.getElementPath("col/prop2"));
+	}
+
+	@Test
+	public void testDeeplyNestedAccess() {
+		assertEquals(5, api.getSubmodelElementValue(DEEP_PATH));
+		assertEquals("leaf", api.getSubmodelElement(DEEP_PATH).getIdShort());
+
+		api.updateSubmodelElement(DEEP_PATH, 10);
+		assertEquals(10, api.getSubmodelElementValue(DEEP_PATH));
+		assertEquals(1, api.getSubmodelElementValue("top"));
+	}
+
+	@Test
+	public void testAddAndReplace() {
+		api.addSubmodelElement("c0/c1/added", new Property("added", 2));
+		assertEquals(2, api.getSubmodelElementValue("c0/c1/added"));
+
+		// Replace a collection with a collection containing other elements
+		SubmodelElementCollection replacement = new SubmodelElementCollection("c1");
+		replacement.addSubmodelElement(new Property("replaced", 3));
+		api.addSubmodelElement("c0/c1", replacement);
+
+		assertEquals(3, api.getSubmodelElementValue("c0/c1/replaced"));
+		assertNotFound("c0/c1/added");
+		assertNotFound(DEEP_PATH);
+	}
+
+	@Test
+	public void testDelete() {
+		api.deleteSubmodelElement("c0/c1/c2");
+		assertNotFound(DEEP_PATH);
+		assertNotFound("c0/c1/c2");
+
+		api.addSubmodelElement("c0/c1/c2", new Property("c2", 4));
+		assertEquals(4, api.getSubmodelElementValue("c0/c1/c2"));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testUpdateCollection() {
+		Property newProp = new Property("newProp", 6);
+		api.updateSubmodelElement("c0/c1/c2/c3/c4/c5", Arrays.asList(newProp));
+
+		assertEquals(6, api.getSubmodelElementValue("c0/c1/c2/c3/c4/c5/newProp"));
+		assertNotFound(DEEP_PATH);
+		Collection<ISubmodelElement> value = (Collection<ISubmodelElement>) api.getSubmodelElementValue("c0/c1/c2/c3/c4/c5");
+		assertEquals(1, value.size());
+	}
+
+	@Test
+	public void testUpdateTopLevelCollection() {
+		// Top-level elements can be updated before the index has been built
+		api.updateSubmodelElement("top", 2);
+		assertEquals(2, api.getSubmodelElementValue("top"));
+
+		// Builds the index
+		assertEquals(5, api.getSubmodelElementValue(DEEP_PATH));
+
+		api.updateSubmodelElement("c0", Arrays.asList(new Property("newProp", 7)));
+		assertEquals(7, api.getSubmodelElementValue("c0/newProp"));
+		assertNotFound(DEEP_PATH);
+	}
+
+	private void assertNotFound(String idShortPath) {
+		try {
+			api.getSubmodelElement(idShortPath);
+			fail("Element " + idShortPath + " should not exist");
+		} catch (ResourceNotFoundException e) {
+		}
+	}
+}
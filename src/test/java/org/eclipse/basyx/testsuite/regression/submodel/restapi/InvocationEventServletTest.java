@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperationVariable;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationVariable;
+import org.eclipse.basyx.submodel.restapi.operation.AsyncOperationHandler;
+import org.eclipse.basyx.submodel.restapi.operation.ExecutionState;
+import org.eclipse.basyx.submodel.restapi.operation.InvocationEventServlet;
+import org.eclipse.basyx.testsuite.regression.vab.protocol.http.AASHTTPServerResource;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the {@link InvocationEventServlet}
+ */
+public class InvocationEventServletTest {
+	private static final String OPERATION_ID = "operation";
+	private static final int PORT = 4021;
+	private static final String URL = "http://localhost:" + PORT + "/events";
+
+	private AsyncOperationHandler handler = new AsyncOperationHandler();
+
+	@Rule
+	public AASHTTPServerResource res = new AASHTTPServerResource(new BaSyxContext("", "", "localhost", PORT).addServletMapping("/events/*", new InvocationEventServlet(handler)));
+
+	@Test
+	public void testUnknownRequest() throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(URL + "?requestId=unknown").openConnection();
+		assertEquals(404, connection.getResponseCode());
+	}
+
+	@Test
+	public void testRequestStream() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Operation operation = new Operation(OPERATION_ID);
+		operation.setInvokable((Runnable) () -> {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		handler.invoke(operation, OPERATION_ID, "request", new Object[0], createOutputs(), 10000);
+
+		HttpURLConnection connection = (HttpURLConnection) new URL(URL + "?requestId=request").openConnection();
+		connection.setReadTimeout(5000);
+		assertEquals(200, connection.getResponseCode());
+		release.countDown();
+
+		// The stream contains the finished event and is closed afterwards
+		Collection<String> events = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith("event: ")) {
+					events.add(line.substring("event: ".length()));
+				}
+			}
+		}
+		assertTrue(events.contains(ExecutionState.COMPLETED.getStandardizedLiteral()));
+	}
+
+	private static Collection<IOperationVariable> createOutputs() {
+		Collection<IOperationVariable> outputs = new ArrayList<>();
+		outputs.add(new OperationVariable(new Property("result", 0)));
+		return outputs;
+	}
+}
@@ -25,6 +25,8 @@
 package org.eclipse.basyx.testsuite.regression.submodel.restapi;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -38,10 +40,13 @@ import java.util.stream.Collectors;
 import org.eclipse.basyx.submodel.metamodel.api.qualifier.haskind.ModelingKind;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperationVariable;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationInvocationPlan;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationVariable;
 import org.eclipse.basyx.submodel.restapi.OperationProvider;
+import org.eclipse.basyx.submodel.restapi.operation.AsyncOperationHandler;
 import org.eclipse.basyx.submodel.restapi.operation.CallbackResponse;
 import org.eclipse.basyx.submodel.restapi.operation.DelegatedInvocationManager;
 import org.eclipse.basyx.submodel.restapi.operation.InvocationRequest;
@@ -253,6 +258,43 @@ public class OperationProviderTest {
 		}
 	}
 
+	/**
+	 * Tests that a provider created for an operation reuses its invocation plan
+	 */
+	@Test
+	public void testInvocationPlanReuse() throws Exception {
+		Operation operation = createOperation(OPID_OUT, getInVariables(), getOutVariables(), SUB_RETURN_FUNC);
+		OperationProvider provider = new OperationProvider(operation, DelegatedInvocationManager.getDefault(), AsyncOperationHandler.getDefault());
+		OperationInvocationPlan plan = operation.getInvocationPlan();
+
+		assertEquals(4, provider.invokeOperation("invoke", 10, 6));
+		Collection<IOperationVariable> outResponse = invokeSync(provider, getInvocationRequest(new Property("testIn1", 10), new Property("testIn2", 6)));
+		assertEquals(4, outResponse.iterator().next().getValue().getValue());
+		assertSame(plan, operation.getInvocationPlan());
+	}
+
+	/**
+	 * Tests that a result not matching the output variable is not reported as a
+	 * malformed request
+	 */
+	@Test
+	public void testInvalidOutput() throws Exception {
+		Collection<OperationVariable> out = new ArrayList<>();
+		SubmodelElementCollection outCollection = new SubmodelElementCollection("testOut");
+		outCollection.setKind(ModelingKind.TEMPLATE);
+		out.add(new OperationVariable(outCollection));
+
+		Operation operation = createOperation(OPID_OUT, getInVariables(), out, v -> Arrays.asList(v));
+		OperationProvider provider = new OperationProvider(new VABLambdaProvider(operation));
+
+		try {
+			invokeSync(provider, getInvocationRequest(new Property("testIn1", 10), new Property("testIn2", 6)));
+			fail();
+		} catch (RuntimeException e) {
+			assertFalse(e instanceof MalformedRequestException);
+		}
+	}
+
 	@Test
 	public void testInvocationDelegation() {
 		// Start an http server with an operation
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationExecutionTimeoutException;
+import org.eclipse.basyx.submodel.restapi.operation.DelegatedInvocationManager;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link DelegatedInvocationManager}
+ */
+public class TestDelegatedInvocationManager {
+	private static final String URL = "http://localhost/operation";
+
+	// Addresses for which connectors have been created
+	private List<String> createdConnectors;
+
+	// Released by the tests to finish blocked invocations
+	private CountDownLatch release;
+
+	private DelegatedInvocationManager manager;
+
+	@Before
+	public void setup() {
+		createdConnectors = new CopyOnWriteArrayList<>();
+		release = new CountDownLatch(1);
+		IConnectorFactory connectorFactory = address -> {
+			createdConnectors.add(address);
+			return createEndpoint(address);
+		};
+		manager = new DelegatedInvocationManager(connectorFactory);
+	}
+
+	private IModelProvider createEndpoint(String address) {
+		return new VABLambdaProvider(new HashMap<>()) {
+			@Override
+			public Object invokeOperation(String path, Object... parameter) throws ProviderException {
+				if (parameter.length > 0 && "block".equals(parameter[0])) {
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return address;
+			}
+		};
+	}
+
+	@Test
+	public void testDelegation() {
+		Operation operation = createDelegatingOperation(URL);
+		assertTrue(DelegatedInvocationManager.isDelegatingOperation(operation));
+		assertFalse(DelegatedInvocationManager.isDelegatingOperation(new Operation("local")));
+		assertEquals(URL, manager.invokeDelegatedOperation(operation));
+	}
+
+	@Test
+	public void testConnectorReuse() {
+		Operation operation = createDelegatingOperation(URL);
+		manager.invokeDelegatedOperation(operation);
+		manager.invokeDelegatedOperation(createDelegatingOperation(URL));
+		assertEquals(1, createdConnectors.size());
+
+		// A replaced operation with another URL uses the new target
+		String otherUrl = "http://localhost/other";
+		assertEquals(otherUrl, manager.invokeDelegatedOperation(createDelegatingOperation(otherUrl)));
+		assertEquals(2, createdConnectors.size());
+
+		// Invalidated targets are resolved again
+		manager.invalidate(URL);
+		manager.invokeDelegatedOperation(operation);
+		assertEquals(3, createdConnectors.size());
+	}
+
+	@Test
+	public void testTimeout() {
+		manager.setTimeout(URL, 50);
+		try {
+			manager.invokeDelegatedOperation(createDelegatingOperation(URL), "block");
+			fail();
+		} catch (OperationExecutionTimeoutException e) {
+			// Expected
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void testConcurrencyLimit() throws InterruptedException {
+		manager.setMaximumConcurrentInvocations(1);
+		manager.setTimeout(100);
+		Operation operation = createDelegatingOperation(URL);
+
+		// Occupy the only slot of the target
+		Thread blocking = new Thread(() -> {
+			try {
+				manager.invokeDelegatedOperation(operation, "block");
+			} catch (OperationExecutionTimeoutException e) {
+				// The blocked invocation times out itself, but keeps its slot
+			}
+		});
+		blocking.start();
+		Thread.sleep(20);
+
+		try {
+			manager.invokeDelegatedOperation(operation);
+			fail();
+		} catch (OperationExecutionTimeoutException e) {
+			// Expected
+		}
+
+		// After the blocked invocation has finished, the slot is free again
+		release.countDown();
+		blocking.join();
+		long end = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < end) {
+			try {
+				assertEquals(URL, manager.invokeDelegatedOperation(operation));
+				return;
+			} catch (OperationExecutionTimeoutException e) {
+				Thread.sleep(10);
+			}
+		}
+		fail();
+	}
+
+	@Test
+	public void testLimitChangeKeepsRunningInvocations() throws InterruptedException {
+		manager.setMaximumConcurrentInvocations(1);
+		manager.setTimeout(100);
+		Operation operation = createDelegatingOperation(URL);
+
+		Thread blocking = new Thread(() -> {
+			try {
+				manager.invokeDelegatedOperation(operation, "block");
+			} catch (OperationExecutionTimeoutException e) {
+				// The blocked invocation times out itself, but keeps its slot
+			}
+		});
+		blocking.start();
+		Thread.sleep(20);
+
+		// Changing the limits and invalidating the connector does not free the
+		// occupied slot
+		manager.setTimeout(50);
+		manager.setMaximumConcurrentInvocations(URL, 1);
+		manager.invalidate(URL);
+		try {
+			manager.invokeDelegatedOperation(operation);
+			fail();
+		} catch (OperationExecutionTimeoutException e) {
+			// Expected
+		}
+
+		// Raising the limit frees another slot
+		manager.setMaximumConcurrentInvocations(URL, 2);
+		assertEquals(URL, manager.invokeDelegatedOperation(operation));
+
+		release.countDown();
+		blocking.join();
+	}
+
+	private static Operation createDelegatingOperation(String url) {
+		Operation operation = new Operation("delegating");
+		operation.setQualifiers(Arrays.asList(DelegatedInvocationManager.createDelegationQualifier(url)));
+		return operation;
+	}
+}
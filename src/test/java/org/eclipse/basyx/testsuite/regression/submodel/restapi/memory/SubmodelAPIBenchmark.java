@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi.memory;
+
+import java.util.function.Consumer;
+
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPIFactory;
+import org.eclipse.basyx.submodel.restapi.memory.InMemorySubmodelAPIFactory;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
+
+/**
+ * Compares the time per call of the InMemorySubmodelAPI and the
+ * VABSubmodelAPI. It is not part of the test suite and has to be run manually.
+ */
+public class SubmodelAPIBenchmark {
+	private static final int DEPTH = 4;
+	private static final int ELEMENTS = 20;
+	private static final int WARMUP = 20000;
+	private static final int ITERATIONS = 100000;
+	private static final String NESTED_PATH = "c0/c1/c2/c3/prop0";
+
+	public static void main(String[] args) {
+		benchmark("VABSubmodelAPI", new VABSubmodelAPIFactory());
+		benchmark("InMemorySubmodelAPI", new InMemorySubmodelAPIFactory());
+	}
+
+	private static void benchmark(String name, ISubmodelAPIFactory factory) {
+		ISubmodelAPI api = factory.create(createSubmodel());
+		System.out.println(name);
+		measure("  getSubmodelElementValue (top-level)", i -> api.getSubmodelElementValue("prop0"));
+		measure("  getSubmodelElementValue (nested)", i -> api.getSubmodelElementValue(NESTED_PATH));
+		measure("  updateSubmodelElement (nested)", i -> api.updateSubmodelElement(NESTED_PATH, i));
+		measure("  getSubmodelElement (nested)", i -> api.getSubmodelElement(NESTED_PATH));
+	}
+
+	private static void measure(String name, Consumer<Integer> call) {
+		for (int i = 0; i < WARMUP; i++) {
+			call.accept(i);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			call.accept(i);
+		}
+		long nanosPerCall = (System.nanoTime() - start) / ITERATIONS;
+		System.out.println(name + ": " + nanosPerCall + " ns/call");
+	}
+
+	/**
+	 * Creates a submodel with properties on each level of nested collections
+	 */
+	private static Submodel createSubmodel() {
+		Submodel sm = new Submodel("benchmarkSM", new Identifier(IdentifierType.CUSTOM, "benchmarkSM"));
+		addProperties(sm::addSubmodelElement);
+
+		SubmodelElementCollection parent = new SubmodelElementCollection("c0");
+		sm.addSubmodelElement(parent);
+		for (int i = 1; i < DEPTH; i++) {
+			SubmodelElementCollection child = new SubmodelElementCollection("c" + i);
+			addProperties(parent::addSubmodelElement);
+			parent.addSubmodelElement(child);
+			parent = child;
+		}
+		addProperties(parent::addSubmodelElement);
+		return sm;
+	}
+
+	private static void addProperties(Consumer<Property> target) {
+		for (int i = 0; i < ELEMENTS; i++) {
+			target.accept(new Property("prop" + i, i));
+		}
+	}
+}
@@ -26,8 +26,13 @@ package org.eclipse.basyx.testsuite.regression.submodel.restapi.observing;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
 import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
@@ -35,9 +40,12 @@ import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
 import org.eclipse.basyx.submodel.metamodel.map.reference.Key;
 import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.submodel.observer.ObserverDispatcher;
 import org.eclipse.basyx.submodel.restapi.observing.ISubmodelAPIObserver;
 import org.eclipse.basyx.submodel.restapi.observing.ObservableSubmodelAPI;
 import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
+import org.eclipse.basyx.vab.modelprovider.async.BoundedDispatchQueue.OverflowPolicy;
 import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
 import org.junit.Before;
 import org.junit.Test;
@@ -96,6 +104,19 @@ public class ObservableSubmodelAPITest {
 		assertEquals(prop2.getValue(), observer.newValue);
 	}
 
+	@Test
+	public void testAddOperation() {
+		Operation operation = new Operation("operation");
+		api.addSubmodelElement(operation);
+		assertTrue(observer.addedNotified);
+		assertEquals("operation", observer.idShortPath);
+		assertNull(observer.newValue);
+
+		api.removeObserver(observer);
+		api.addSubmodelElement(new Operation("otherOperation"));
+		assertEquals("otherOperation", api.getSubmodelElement("otherOperation").getIdShort());
+	}
+
 	@Test
 	public void testDeleteElement() {
 		api.deleteSubmodelElement(PROPERTY_ID);
@@ -118,6 +139,78 @@ public class ObservableSubmodelAPITest {
 		assertFalse(observer.deletedNotified);
 	}
 
+	@Test
+	public void testAsyncDispatch() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		List<Object> values = new ArrayList<>();
+		ISubmodelAPIObserver slowObserver = new MockObserver() {
+			@Override
+			public void elementUpdated(String idShortPath, Object newValue) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				values.add(newValue);
+			}
+		};
+		api.removeObserver(observer);
+		api.addObserver(slowObserver);
+		api.enableAsyncDispatch(100, OverflowPolicy.BLOCK);
+
+		// The updates do not wait for the blocked observer
+		for (int i = 0; i < 10; i++) {
+			api.updateSubmodelElement(PROPERTY_ID, i);
+		}
+		ObserverDispatcher<ISubmodelAPIObserver> dispatcher = api.getDispatcher(slowObserver);
+		assertTrue(dispatcher.getQueueDepth() > 0);
+
+		// After the observer is released, it receives all updates in order
+		release.countDown();
+		assertTrue(dispatcher.close(1000));
+		assertEquals(10, dispatcher.getDeliveredCount());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i, values.get(i));
+		}
+	}
+
+	@Test
+	public void testAsyncDispatchState() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		List<Object> values = new ArrayList<>();
+		ISubmodelAPIObserver slowObserver = new MockObserver() {
+			@Override
+			public void elementAdded(String idShortPath, Object newValue) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				values.add(newValue);
+			}
+		};
+		api.removeObserver(observer);
+		api.addObserver(slowObserver);
+		api.enableAsyncDispatch(100, OverflowPolicy.BLOCK);
+
+		// The observer receives the value at the time of the event, not a later one
+		Property prop = new Property("newProperty", "initial");
+		api.addSubmodelElement(prop);
+		prop.setValue("changed");
+
+		release.countDown();
+		assertTrue(api.getDispatcher(slowObserver).close(1000));
+		assertEquals("initial", values.get(0));
+	}
+
+	@Test
+	public void testDisableAsyncDispatch() {
+		api.enableAsyncDispatch(100, OverflowPolicy.BLOCK);
+		api.disableAsyncDispatch();
+		api.updateSubmodelElement(PROPERTY_ID, 2);
+		assertTrue(observer.updatedNotified);
+	}
+
 	private class MockObserver implements ISubmodelAPIObserver {
 
 		public boolean addedNotified = false;
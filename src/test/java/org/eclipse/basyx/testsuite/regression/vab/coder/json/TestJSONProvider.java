@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.coder.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResponseAbortedException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.junit.Test;
+
+/**
+ * Tests the handling of failures while a response of the JSONProvider is
+ * serialized
+ */
+public class TestJSONProvider {
+
+	/**
+	 * A failure of a response that fits into the response buffer is answered with
+	 * the error only
+	 */
+	@Test
+	public void testFailureBeforeCommit() {
+		JSONProvider<IModelProvider> provider = createProvider(failingList(10));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			provider.processBaSysGet("/list", out);
+			fail();
+		} catch (ResponseAbortedException e) {
+			fail();
+		} catch (ProviderException e) {
+			// Expected
+		}
+
+		String response = new String(out.toByteArray(), StandardCharsets.UTF_8);
+		assertTrue(response.startsWith("{"));
+		assertTrue(response.contains("\"success\":false"));
+	}
+
+	/**
+	 * A failure of a response that has already been partially written must not be
+	 * completed with an error
+	 */
+	@Test
+	public void testFailureAfterCommit() {
+		JSONProvider<IModelProvider> provider = createProvider(failingList(100000));
+		provider.setResponseBufferSize(1024);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			provider.processBaSysGet("/list", out);
+			fail();
+		} catch (ResponseAbortedException e) {
+			// Expected
+		}
+
+		String response = new String(out.toByteArray(), StandardCharsets.UTF_8);
+		assertTrue(response.startsWith("["));
+		assertTrue(!response.contains("success"));
+	}
+
+	/**
+	 * Responses larger than the response buffer are streamed completely
+	 */
+	@Test
+	public void testLargeResponse() {
+		List<String> list = Collections.nCopies(1000, "value");
+		JSONProvider<IModelProvider> provider = createProvider(list);
+		provider.setResponseBufferSize(128);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		provider.processBaSysGet("/list", out);
+
+		String expected = provider.getSerializerReference().serialize(list);
+		assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	private JSONProvider<IModelProvider> createProvider(Object value) {
+		IModelProvider backend = mock(IModelProvider.class);
+		when(backend.getValue("/list")).thenReturn(value);
+		return new JSONProvider<IModelProvider>(backend);
+	}
+
+	/**
+	 * Creates a list that fails while it is iterated after the given number of
+	 * elements
+	 */
+	private List<String> failingList(int failAt) {
+		return new AbstractList<String>() {
+			@Override
+			public String get(int index) {
+				if (index == failAt) {
+					throw new IllegalStateException("Element " + index + " is not available");
+				}
+				return "value" + index;
+			}
+
+			@Override
+			public int size() {
+				return failAt + 1;
+			}
+		};
+	}
+}
@@ -26,12 +26,16 @@ package org.eclipse.basyx.testsuite.regression.vab.coder.json;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -52,6 +56,7 @@ import org.junit.Test;
 import com.google.common.collect.Sets;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
 
 /**
@@ -357,6 +362,54 @@ public class TestJson {
 		assertEquals(expectedObj.toString(), toolWithRemoveFlagOn.serialize(expected));
 	}
 
+	/**
+	 * Tests if serializing directly to a stream yields the same JSON as
+	 * serializing to a String, both with and without remove flags
+	 */
+	@Test
+	public void testStreamingSerialization() throws IOException {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("a", 123);
+		map.put("b", "\u00e4<b>");
+		map.put("c", null);
+		map.put("d", new ArrayList<String>());
+		map.put("e", Arrays.asList(1, null, 2.5, true));
+		map.put("f", (Consumer<Object>) x -> {
+		});
+
+		GSONTools toolWithRemoveFlagOn = new GSONTools(new DefaultTypeFactory(), true, true);
+		for (GSONTools t : Arrays.asList(tools, toolWithRemoveFlagOn)) {
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			t.serialize(map, stream);
+			assertEquals(t.serialize(map), new String(stream.toByteArray(), StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Tests if deserializing from a stream yields the same objects as
+	 * deserializing from a String and if the maximum nesting depth is enforced
+	 */
+	@Test
+	public void testStreamingDeserialization() throws IOException {
+		String json = "{\"a\": [1, 2.5, 10000000000, null, {\"x\": true}], \"b\": \"\u00e4\", \"c\": {\"_basyxFunctionType\": \"operation\"}}";
+		assertEquals(tools.deserialize(json), tools.deserialize(toStream(json)));
+		assertEquals(null, tools.deserialize(toStream("")));
+
+		GSONTools limitedTools = new GSONTools(new DefaultTypeFactory());
+		limitedTools.setMaxDepth(2);
+		assertEquals(tools.deserialize("[[1]]"), limitedTools.deserialize(toStream("[[1]]")));
+		try {
+			limitedTools.deserialize(toStream("[[[1]]]"));
+			fail();
+		} catch (JsonParseException e) {
+			// Expected
+		}
+	}
+
+	private InputStream toStream(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+
 	/**
 	 * Tests for an arbitrary primitive object if it is deserialized correctly
 	 * 
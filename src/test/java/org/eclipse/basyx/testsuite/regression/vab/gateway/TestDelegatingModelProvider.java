@@ -26,9 +26,17 @@ package org.eclipse.basyx.testsuite.regression.vab.gateway;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
 import org.eclipse.basyx.testsuite.regression.vab.modelprovider.IModelProviderStub;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.gateway.DelegatingModelProvider;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 import org.junit.Test;
 
@@ -73,4 +81,70 @@ public class TestDelegatingModelProvider {
 		// Assert that stub was passed the correct rest of the path
 		assertEquals(rest, stub.getPath());
 	}
+
+	/**
+	 * Tests if connectors are resolved once per endpoint
+	 */
+	@Test
+	public void testConnectorReuse() {
+		AtomicInteger resolved = new AtomicInteger();
+		DelegatingModelProvider provider = new DelegatingModelProvider(new IConnectorFactory() {
+
+			@Override
+			public IModelProvider getConnector(String addr) {
+				resolved.incrementAndGet();
+				return stub;
+			}
+		});
+
+		provider.getValue("basyx://12.34.56.78:9090//a/b");
+		provider.setValue("basyx://12.34.56.78:9090//c", 1);
+		assertEquals(1, resolved.get());
+		assertEquals("c", stub.getPath());
+
+		provider.getValue("basyx://98.76.54.32:9090//a/b");
+		assertEquals(2, resolved.get());
+	}
+
+	/**
+	 * Tests if requests exceeding the concurrency limit of an endpoint time out
+	 */
+	@Test(expected = ProviderException.class)
+	public void testConcurrencyLimit() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Map<String, Object> map = new HashMap<>();
+		map.put("blocking", (Function<Object[], Object>) params -> {
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return null;
+		});
+		IModelProvider backend = new VABLambdaProvider(map);
+
+		DelegatingModelProvider provider = new DelegatingModelProvider(new IConnectorFactory() {
+
+			@Override
+			public IModelProvider getConnector(String addr) {
+				return backend;
+			}
+		});
+		provider.setMaximumConcurrentRequests(1);
+		provider.setQueueTimeout(50);
+
+		Thread blocking = new Thread(() -> provider.invokeOperation("basyx://12.34.56.78:9090//blocking"));
+		blocking.start();
+		entered.await();
+
+		try {
+			provider.invokeOperation("basyx://12.34.56.78:9090//blocking");
+		} finally {
+			release.countDown();
+			blocking.join();
+		}
+	}
 }
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.modelprovider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.manager.VABConnectionManager;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.async.FutureHelper;
+
+/**
+ * Snippet to test the asynchronous functionality of a IModelProvider
+ */
+public class MapAsync {
+
+	public static void test(VABConnectionManager connManager) throws Exception {
+		VABElementProxy connVABElement = connManager.connectToVABElement("urn:fhg:es.iese:vab:1:1:simplevabelement");
+
+		getAndSetAsync(connVABElement);
+
+		fanOutAsync(connVABElement);
+
+		getNonexistantPathAsync(connVABElement);
+	}
+
+	private static void getAndSetAsync(VABElementProxy connVABElement) throws Exception {
+		assertEquals(123, connVABElement.getValueAsync("primitives/integer").get());
+
+		connVABElement.setValueAsync("primitives/string", "async").get();
+		assertEquals("async", connVABElement.getValue("primitives/string"));
+
+		// Revert
+		connVABElement.setValueAsync("primitives/string", "TestValue").get();
+	}
+
+	private static void fanOutAsync(VABElementProxy connVABElement) throws Exception {
+		// Send all requests before waiting for any response
+		List<CompletableFuture<Object>> futures = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			futures.add(connVABElement.getValueAsync("primitives/double"));
+		}
+		for (CompletableFuture<Object> future : futures) {
+			assertEquals(3.14d, future.get());
+		}
+	}
+
+	private static void getNonexistantPathAsync(VABElementProxy connVABElement) throws InterruptedException {
+		CompletableFuture<Object> future = connVABElement.getValueAsync("primitives/unknown");
+		try {
+			future.get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof ResourceNotFoundException);
+		}
+
+		// Blocking on the future rethrows the original exception
+		try {
+			FutureHelper.join(future);
+			fail();
+		} catch (ResourceNotFoundException e) {
+		}
+	}
+}
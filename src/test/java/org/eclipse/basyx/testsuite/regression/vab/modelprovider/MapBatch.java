@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.modelprovider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.manager.VABConnectionManager;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchRequest;
+import org.eclipse.basyx.vab.modelprovider.batch.VABBatchResult;
+
+/**
+ * Snippet to test batch functionality of a IModelProvider
+ */
+public class MapBatch {
+
+	public static void test(VABConnectionManager connManager) {
+		VABElementProxy connVABElement = connManager.connectToVABElement("urn:fhg:es.iese:vab:1:1:simplevabelement");
+
+		executeMixedBatch(connVABElement);
+
+		executeBatchWithFailingRequest(connVABElement);
+
+		executeBatchOnSubPath(connVABElement);
+	}
+
+	private static void executeMixedBatch(VABElementProxy connVABElement) {
+		List<VABBatchResult> results = connVABElement.executeBatch(Arrays.asList(
+				VABBatchRequest.getValue("primitives/integer"),
+				VABBatchRequest.setValue("primitives/string", "batched"),
+				VABBatchRequest.getValue("primitives/string"),
+				VABBatchRequest.invokeOperation("operations/complex/" + Operation.INVOKE, 12, 34)));
+
+		assertEquals(4, results.size());
+		assertEquals(123, results.get(0).getValue());
+		assertTrue(results.get(1).isSuccess());
+		assertEquals("batched", results.get(2).getValue());
+		assertEquals(46, results.get(3).getValue());
+
+		// Revert
+		connVABElement.setValue("primitives/string", "TestValue");
+	}
+
+	private static void executeBatchWithFailingRequest(VABElementProxy connVABElement) {
+		List<VABBatchResult> results = connVABElement.executeBatch(Arrays.asList(
+				VABBatchRequest.getValue("primitives/integer"),
+				VABBatchRequest.getValue("primitives/unknown"),
+				VABBatchRequest.getValue("primitives/double")));
+
+		// A failing request does not affect the other requests of the batch
+		assertEquals(3, results.size());
+		assertEquals(123, results.get(0).getValue());
+		assertFalse(results.get(1).isSuccess());
+		assertTrue(results.get(1).getException() instanceof ResourceNotFoundException);
+		try {
+			results.get(1).getValue();
+			fail();
+		} catch (ResourceNotFoundException e) {
+		}
+		assertEquals(3.14d, results.get(2).getValue());
+	}
+
+	private static void executeBatchOnSubPath(VABElementProxy connVABElement) {
+		VABElementProxy primitives = connVABElement.getDeepProxy("primitives");
+		List<VABBatchResult> results = primitives.executeBatch(Arrays.asList(
+				VABBatchRequest.getValue("integer"),
+				VABBatchRequest.getValue("string")));
+
+		assertEquals(123, results.get(0).getValue());
+		assertEquals("TestValue", results.get(1).getValue());
+	}
+}
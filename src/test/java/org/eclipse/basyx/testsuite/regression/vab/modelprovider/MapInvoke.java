@@ -35,6 +35,7 @@ import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.manager.VABConnectionManager;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.async.FutureHelper;
 
 /**
  * Snippet to test invoke functionality of a IModelProvider
@@ -49,6 +50,8 @@ public class MapInvoke {
 
 		invokeComplexObjectReturningFunction(connVABElement);
 
+		invokeAsync(connVABElement);
+
 		invokeSupportedFunctionalInterfaces(connVABElement);
 
 		invokeNonexistantPath(connVABElement);
@@ -69,6 +72,11 @@ public class MapInvoke {
 		assertEquals(46, complex);
 	}
 
+	private static void invokeAsync(VABElementProxy connVABElement) {
+		Object complex = FutureHelper.join(connVABElement.invokeOperationAsync("operations/complex/", 12, 34));
+		assertEquals(46, complex);
+	}
+
 	private static void invokeSupportedFunctionalInterfaces(VABElementProxy connVABElement) {
 		boolean result = (boolean) connVABElement.invokeOperation("operations/supplier/" + Operation.INVOKE);
 		assertTrue(result);
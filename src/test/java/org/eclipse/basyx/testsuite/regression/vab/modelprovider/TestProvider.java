@@ -58,6 +58,16 @@ public abstract class TestProvider {
 		MapInvoke.test(getConnectionManager());
 	}
 
+	@Test
+	public void testMapBatch() {
+		MapBatch.test(getConnectionManager());
+	}
+
+	@Test
+	public void testMapAsync() throws Exception {
+		MapAsync.test(getConnectionManager());
+	}
+
 	@Test
 	public void testCollectionCreateDelete() throws Exception {
 		TestCollectionProperty.testCreateDelete(getConnectionManager());
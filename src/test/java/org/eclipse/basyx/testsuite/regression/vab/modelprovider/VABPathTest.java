@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.modelprovider;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.modelprovider.VABPath;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.junit.Test;
+
+/**
+ * Tests the pre-parsed {@link VABPath}
+ */
+public class VABPathTest {
+
+	@Test
+	public void testParse() {
+		String[] paths = new String[] { "a/b/c", "/a/b/c", "a/b/c/", "//a//b///c//" };
+		for (String path : paths) {
+			VABPath parsed = VABPath.parse(path);
+			assertArrayEquals(VABPathTools.splitPath(path), parsed.toArray());
+			assertEquals("a/b/c", parsed.toString());
+			assertEquals(VABPath.of("a", "b", "c"), parsed);
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		assertSame(VABPath.EMPTY, VABPath.parse(""));
+		assertSame(VABPath.EMPTY, VABPath.parse("/"));
+		assertTrue(VABPath.EMPTY.isEmpty());
+		assertEquals("", VABPath.EMPTY.toString());
+		assertEquals("", VABPath.EMPTY.getLast());
+		assertSame(VABPath.EMPTY, VABPath.EMPTY.getParent());
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void testParseNull() {
+		VABPath.parse(null);
+	}
+
+	@Test
+	public void testSubPath() {
+		VABPath path = VABPath.parse("aas/submodels/sm/submodel/submodelElements/prop/value");
+
+		VABPath smPath = path.subPath(3);
+		assertEquals("submodel/submodelElements/prop/value", smPath.toString());
+		assertEquals(4, smPath.size());
+		assertEquals("submodel", smPath.getFirst());
+		assertEquals("value", smPath.getLast());
+		assertEquals("submodel/submodelElements/prop", smPath.getParent().toString());
+		assertEquals("submodelElements/prop", smPath.subPath(1, 3).toString());
+		assertEquals(VABPath.parse("prop/value"), smPath.subPath(2));
+		assertEquals(VABPath.parse("prop/value").hashCode(), smPath.subPath(2).hashCode());
+		assertTrue(smPath.subPath(4).isEmpty());
+		assertTrue(smPath.subPath(10).isEmpty());
+	}
+
+	@Test
+	public void testStartsWith() {
+		VABPath path = VABPath.parse("/aas/submodels/sm");
+		assertTrue(path.startsWith("aas"));
+		assertFalse(path.startsWith("submodels"));
+		assertTrue(path.startsWith(VABPath.of("aas", "submodels")));
+		assertFalse(path.startsWith(VABPath.of("aas", "submodel")));
+		assertFalse(path.startsWith(VABPath.parse("aas/submodels/sm/submodel")));
+		assertFalse(VABPath.EMPTY.startsWith("aas"));
+	}
+
+	@Test
+	public void testAppend() {
+		VABPath path = VABPath.parse("a/b/c").subPath(1);
+		VABPath appended = path.append("d");
+		assertEquals("b/c/d", appended.toString());
+		assertEquals("b/c", path.toString());
+	}
+
+	@Test
+	public void testInternedSegments() {
+		VABPath first = VABPath.parse(new String("aas/submodels"));
+		VABPath second = VABPath.parse(new String("/aas/submodels/"));
+		assertSame(first.get(1), second.get(1));
+	}
+}
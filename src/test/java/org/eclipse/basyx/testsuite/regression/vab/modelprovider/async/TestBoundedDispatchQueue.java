@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.modelprovider.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.basyx.vab.modelprovider.async.BoundedDispatchQueue;
+import org.eclipse.basyx.vab.modelprovider.async.BoundedDispatchQueue.OverflowPolicy;
+import org.junit.Test;
+
+/**
+ * Tests the BoundedDispatchQueue
+ *
+ */
+public class TestBoundedDispatchQueue {
+
+	/**
+	 * Several queues share a single thread and still handle their elements in
+	 * order
+	 */
+	@Test
+	public void testSharedExecutor() throws InterruptedException {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			List<List<Integer>> handled = new ArrayList<>();
+			List<BoundedDispatchQueue<Integer>> queues = new ArrayList<>();
+			for (int i = 0; i < 5; i++) {
+				List<Integer> elements = new ArrayList<>();
+				handled.add(elements);
+				queues.add(new BoundedDispatchQueue<>((element, callback) -> {
+					elements.add(element);
+					callback.accept(null);
+				}, 1000, OverflowPolicy.BLOCK, executor));
+			}
+
+			for (int i = 0; i < 200; i++) {
+				for (BoundedDispatchQueue<Integer> queue : queues) {
+					queue.dispatch(i);
+				}
+			}
+
+			for (int q = 0; q < queues.size(); q++) {
+				assertTrue(queues.get(q).close(1000));
+				assertEquals(200, queues.get(q).getDeliveredCount());
+				for (int i = 0; i < 200; i++) {
+					assertEquals(i, (int) handled.get(q).get(i));
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailedHandling() throws InterruptedException {
+		BoundedDispatchQueue<String> queue = new BoundedDispatchQueue<>((element, callback) -> {
+			if (element.equals("fail")) {
+				throw new IllegalStateException();
+			}
+			callback.accept(element.equals("error") ? new IllegalArgumentException() : null);
+		}, 10, OverflowPolicy.BLOCK);
+
+		queue.dispatch("ok");
+		queue.dispatch("fail");
+		queue.dispatch("error");
+		assertTrue(queue.close(1000));
+
+		assertEquals(1, queue.getDeliveredCount());
+		assertEquals(2, queue.getFailedCount());
+	}
+
+	@Test
+	public void testDispatchAfterClose() {
+		BoundedDispatchQueue<String> queue = new BoundedDispatchQueue<>((element, callback) -> callback.accept(null), 10, OverflowPolicy.BLOCK);
+		queue.close();
+		assertFalse(queue.dispatch("a"));
+		assertEquals(0, queue.getQueueDepth());
+	}
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.modelprovider.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.SimpleVABElement;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.api.IAsyncModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.async.AsyncModelProviderAdapter;
+import org.eclipse.basyx.vab.modelprovider.async.SyncModelProviderAdapter;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.junit.Test;
+
+/**
+ * Tests the adapters between {@link IModelProvider} and
+ * {@link IAsyncModelProvider}
+ */
+public class TestModelProviderAdapters {
+
+	@Test
+	public void testAsyncAdapter() throws Exception {
+		IAsyncModelProvider provider = IAsyncModelProvider.of(new VABMapProvider(new SimpleVABElement()));
+		assertTrue(provider instanceof AsyncModelProviderAdapter);
+
+		provider.setValueAsync("primitives/integer", 10).get();
+		assertEquals(10, provider.getValueAsync("primitives/integer").get());
+		assertEquals(46, provider.invokeOperationAsync("operations/complex", 12, 34).get());
+
+		CompletableFuture<Object> unknown = provider.getValueAsync("primitives/unknown");
+		try {
+			unknown.get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof ResourceNotFoundException);
+		}
+	}
+
+	@Test
+	public void testSyncAdapter() {
+		IModelProvider provider = new SyncModelProviderAdapter(IAsyncModelProvider.of(new VABMapProvider(new SimpleVABElement())));
+
+		provider.setValue("primitives/integer", 10);
+		assertEquals(10, provider.getValue("primitives/integer"));
+		assertEquals(46, provider.invokeOperation("operations/complex", 12, 34));
+
+		// Exceptions are rethrown without being wrapped
+		try {
+			provider.getValue("primitives/unknown");
+			fail();
+		} catch (ResourceNotFoundException e) {
+		}
+	}
+
+	@Test
+	public void testNativeAsyncProviderIsNotWrapped() {
+		IAsyncModelProvider async = new AsyncModelProviderAdapter(new VABMapProvider(new SimpleVABElement()));
+		SyncModelProviderAdapter sync = new SyncModelProviderAdapter(async);
+		assertSame(sync.getProvider(), async);
+
+		VABElementProxy proxy = new VABElementProxy("", new VABMapProvider(new SimpleVABElement()));
+		assertSame(proxy, IAsyncModelProvider.of(proxy));
+	}
+}
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.modelprovider.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.SimpleVABElement;
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.TestProvider;
+import org.eclipse.basyx.testsuite.regression.vab.protocol.http.TestsuiteDirectory;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.manager.VABConnectionManager;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.generic.VABModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapHandler;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.junit.Test;
+
+/**
+ * Tests the concurrent mode of the VABModelProvider according to the test cases
+ * in the snippet package and under concurrent reads and writes
+ */
+public class TestConcurrentModelProvider extends TestProvider {
+	private static final int WRITERS = 4;
+	private static final int WRITES = 500;
+
+	private VABConnectionManager connManager;
+
+	@Override
+	protected VABConnectionManager getConnectionManager() {
+		if (connManager == null) {
+			connManager = new VABConnectionManager(new TestsuiteDirectory(), new ConnectorFactory() {
+				@Override
+				protected IModelProvider createProvider(String addr) {
+					return new VABMapProvider(new SimpleVABElement(), true);
+				}
+			});
+		}
+		return connManager;
+	}
+
+	/**
+	 * Writers update and add submodel elements while readers iterate the whole
+	 * submodel. Neither side may fail and no write may be lost.
+	 */
+	@Test
+	public void testConcurrentSubmodelAccess() throws Exception {
+		Submodel sm = new Submodel("concurrentSM", new Identifier(IdentifierType.CUSTOM, "concurrentSM"));
+		for (int i = 0; i < WRITERS; i++) {
+			sm.addSubmodelElement(new Property("prop" + i, 0));
+		}
+		ISubmodelAPI api = new VABSubmodelAPIFactory(true).create(sm);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2 * WRITERS);
+		AtomicBoolean writing = new AtomicBoolean(true);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int i = 0; i < WRITERS; i++) {
+				String idShort = "prop" + i;
+				writers.add(executor.submit(() -> {
+					for (int j = 1; j <= WRITES; j++) {
+						api.updateSubmodelElement(idShort, j);
+						if (j % 50 == 0) {
+							api.addSubmodelElement(new Property(idShort + "_" + j, j));
+						}
+					}
+				}));
+			}
+
+			List<Future<?>> readers = new ArrayList<>();
+			for (int i = 0; i < WRITERS; i++) {
+				readers.add(executor.submit(() -> {
+					while (writing.get()) {
+						Map<String, Object> smMap = SubmodelElementMapCollectionConverter.smToMap((Submodel) api.getSubmodel());
+						Collection<?> elements = (Collection<?>) smMap.get(Submodel.SUBMODELELEMENT);
+						assertTrue(elements.size() >= WRITERS);
+						api.getSubmodelElements();
+					}
+				}));
+			}
+
+			for (Future<?> writer : writers) {
+				writer.get(30, TimeUnit.SECONDS);
+			}
+			writing.set(false);
+			for (Future<?> reader : readers) {
+				reader.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			writing.set(false);
+			executor.shutdownNow();
+		}
+
+		Collection<ISubmodelElement> elements = api.getSubmodelElements();
+		assertEquals(WRITERS + WRITERS * WRITES / 50, elements.size());
+		for (int i = 0; i < WRITERS; i++) {
+			assertEquals(WRITES, api.getSubmodelElementValue("prop" + i));
+		}
+	}
+
+	/**
+	 * Concurrent writes to the same element must not be lost
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testConcurrentCollectionWrites() throws Exception {
+		IModelProvider provider = new VABMapProvider(new SimpleVABElement(), true);
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int i = 0; i < WRITERS; i++) {
+				int writer = i;
+				writers.add(executor.submit(() -> {
+					for (int j = 0; j < WRITES; j++) {
+						provider.createValue("structure/list", writer * WRITES + j);
+					}
+				}));
+			}
+			for (Future<?> writer : writers) {
+				writer.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Collection<Object> list = (Collection<Object>) provider.getValue("structure/list");
+		assertEquals(WRITERS * WRITES, list.size());
+	}
+
+	/**
+	 * Values that have been read must not change through later writes and each
+	 * successful write must create a new version
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testVersionedSnapshots() {
+		VABMapProvider provider = new VABMapProvider(new SimpleVABElement(), true);
+		long version = provider.getVersion();
+
+		Map<String, Object> structure = (Map<String, Object>) provider.getValue("structure");
+		Map<String, Object> nested = (Map<String, Object>) provider.getValue("special/nested");
+
+		provider.createValue("structure/map/key", "value");
+		provider.createValue("structure/list", 1);
+		provider.setValue("special/nested/nested/value", 200);
+		assertEquals(version + 3, provider.getVersion());
+
+		// Previously read values still show the old version
+		assertTrue(((Map<String, Object>) structure.get("map")).isEmpty());
+		assertTrue(((Collection<Object>) structure.get("list")).isEmpty());
+		assertEquals(100, ((Map<String, Object>) nested.get("nested")).get("value"));
+
+		// New reads show the new version
+		assertEquals("value", provider.getValue("structure/map/key"));
+		assertEquals(1, ((Collection<Object>) provider.getValue("structure/list")).size());
+		assertEquals(200, provider.getValue("special/nested/nested/value"));
+
+		// Failed writes do not publish a version
+		try {
+			provider.setValue("structure/unknown", 1);
+		} catch (ResourceNotFoundException e) {
+		}
+		assertEquals(version + 3, provider.getVersion());
+	}
+
+	/**
+	 * Writes below a list must not modify the list of previous versions
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testSnapshotsBelowCollections() {
+		// Resolves list elements by their index
+		VABMapHandler handler = new VABMapHandler() {
+			@Override
+			public Object getElementProperty(Object element, String propertyName) {
+				if (element instanceof List<?>) {
+					return ((List<?>) element).get(Integer.parseInt(propertyName));
+				}
+				return super.getElementProperty(element, propertyName);
+			}
+		};
+		Map<String, Object> entry = new LinkedHashMap<>();
+		entry.put("value", 1);
+		List<Object> list = new ArrayList<>();
+		list.add(entry);
+		Map<String, Object> structure = new LinkedHashMap<>();
+		structure.put("list", list);
+		Map<String, Object> root = new LinkedHashMap<>();
+		root.put("structure", structure);
+		VABModelProvider provider = new VABModelProvider(root, handler, true);
+
+		List<Object> before = (List<Object>) provider.getValue("structure/list");
+		provider.setValue("structure/list/0/value", 2);
+
+		assertEquals(1, ((Map<String, Object>) before.get(0)).get("value"));
+		assertEquals(2, provider.getValue("structure/list/0/value"));
+	}
+
+	/**
+	 * Copies of model maps made by writes keep their class
+	 */
+	@Test
+	public void testCopiesKeepModelMapType() {
+		Map<String, Object> elements = new LinkedHashMap<>();
+		elements.put("prop", new Property("prop", 1));
+		Map<String, Object> root = new LinkedHashMap<>();
+		root.put("elements", elements);
+		VABMapProvider provider = new VABMapProvider(root, true);
+
+		Object before = provider.getValue("elements/prop");
+		provider.setValue("elements/prop/value", 2);
+
+		Object after = provider.getValue("elements/prop");
+		assertTrue(after instanceof Property);
+		assertEquals(2, ((Property) after).getValue());
+		assertEquals(1, ((Property) before).getValue());
+	}
+
+	/**
+	 * The version of a submodel increases with each modification
+	 */
+	@Test
+	public void testSubmodelVersion() {
+		Submodel sm = new Submodel("versionedSM", new Identifier(IdentifierType.CUSTOM, "versionedSM"));
+		sm.addSubmodelElement(new Property("prop", 0));
+		VABSubmodelAPI api = (VABSubmodelAPI) new VABSubmodelAPIFactory(true).create(sm);
+
+		long version = api.getVersion();
+		ISubmodel before = api.getSubmodel();
+		api.updateSubmodelElement("prop", 1);
+		long updatedVersion = api.getVersion();
+		assertTrue(updatedVersion > version);
+		api.addSubmodelElement(new Property("prop2", 2));
+		assertTrue(api.getVersion() > updatedVersion);
+
+		assertEquals(0, before.getSubmodelElement("prop").getValue());
+		assertEquals(1, before.getSubmodelElements().size());
+		assertEquals(1, api.getSubmodelElementValue("prop"));
+	}
+}
@@ -75,4 +75,10 @@ public class TestFileSystemProvider extends TestProvider {
 	public void testMapInvoke() {
 		// not implemented for file system providers
 	}
+
+	@Override
+	public void testMapBatch() {
+		// batches contain invocations, which are not implemented for file system
+		// providers
+	}
 }
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.junit.Test;
+
+/**
+ * Tests the connector cache of the ConnectorFactory
+ */
+public class TestConnectorFactory {
+
+	/**
+	 * Connector that keeps track of being closed
+	 */
+	private static class CloseableProvider extends VABLambdaProvider implements AutoCloseable {
+		private boolean closed = false;
+
+		public CloseableProvider() {
+			super(new HashMap<>());
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+
+	private static class TestFactory extends ConnectorFactory {
+		private AtomicInteger created = new AtomicInteger();
+
+		@Override
+		protected IModelProvider createProvider(String addr) {
+			created.incrementAndGet();
+			return new CloseableProvider();
+		}
+	}
+
+	@Test
+	public void testCaching() {
+		TestFactory factory = new TestFactory();
+		IModelProvider a = factory.getConnector("http://a");
+		assertSame(a, factory.getConnector("http://a"));
+		assertNotSame(a, factory.getConnector("http://b"));
+
+		assertEquals(2, factory.created.get());
+		assertEquals(1, factory.getHitCount());
+		assertEquals(2, factory.getMissCount());
+		assertEquals(0, factory.getEvictionCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() throws InterruptedException {
+		TestFactory factory = new TestFactory();
+		factory.setMaximumSize(2);
+
+		CloseableProvider a = (CloseableProvider) factory.getConnector("http://a");
+		Thread.sleep(2);
+		CloseableProvider b = (CloseableProvider) factory.getConnector("http://b");
+		Thread.sleep(2);
+
+		// Access a, so that b is the least recently used connector
+		factory.getConnector("http://a");
+		Thread.sleep(2);
+		factory.getConnector("http://c");
+
+		assertEquals(2, factory.getCacheSize());
+		assertEquals(1, factory.getEvictionCount());
+		assertTrue(b.closed);
+		assertFalse(a.closed);
+		assertSame(a, factory.getConnector("http://a"));
+		assertNotSame(b, factory.getConnector("http://b"));
+	}
+
+	@Test
+	public void testIdleTimeout() throws InterruptedException {
+		TestFactory factory = new TestFactory();
+		factory.setIdleTimeout(20);
+
+		CloseableProvider a = (CloseableProvider) factory.getConnector("http://a");
+		Thread.sleep(50);
+
+		assertNotSame(a, factory.getConnector("http://a"));
+		assertTrue(a.closed);
+		assertEquals(1, factory.getEvictionCount());
+	}
+
+	@Test
+	public void testIdleSweep() throws InterruptedException {
+		TestFactory factory = new TestFactory();
+		factory.setIdleTimeout(20);
+
+		CloseableProvider a = (CloseableProvider) factory.getConnector("http://a");
+		Thread.sleep(50);
+
+		// Creating another connector also closes the idle one, even though its
+		// address is not requested again
+		factory.getConnector("http://b");
+		assertTrue(a.closed);
+		assertEquals(1, factory.getCacheSize());
+		assertEquals(1, factory.getEvictionCount());
+	}
+
+	@Test
+	public void testClear() {
+		TestFactory factory = new TestFactory();
+		CloseableProvider a = (CloseableProvider) factory.getConnector("http://a");
+		factory.clear();
+
+		assertTrue(a.closed);
+		assertEquals(0, factory.getCacheSize());
+	}
+
+	@Test
+	public void testConcurrentCreation() throws Exception {
+		TestFactory factory = new TestFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<IModelProvider>> tasks = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				tasks.add(() -> factory.getConnector("http://a"));
+			}
+
+			IModelProvider expected = null;
+			for (Future<IModelProvider> result : executor.invokeAll(tasks)) {
+				if (expected == null) {
+					expected = result.get();
+				}
+				assertSame(expected, result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// All threads share a single connector
+		assertEquals(1, factory.created.get());
+	}
+}
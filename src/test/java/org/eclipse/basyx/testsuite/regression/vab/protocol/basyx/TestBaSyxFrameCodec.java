@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.basyx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameDecoder;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameEncoder;
+import org.eclipse.basyx.vab.protocol.basyx.ByteBufferPool;
+import org.eclipse.basyx.vab.protocol.basyx.CoderTools;
+import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
+import org.junit.Test;
+
+/**
+ * Tests the BaSyx TCP frame encoder and decoder
+ */
+public class TestBaSyxFrameCodec {
+	private static final String NON_ASCII = "/sm/prop\u00e4\u00df\u20ac\ud83d\ude00";
+
+	/**
+	 * Length fields have to be given in UTF-8 bytes instead of characters
+	 */
+	@Test
+	public void testNonASCIIRequest() throws IOException {
+		byte[] frame = encode(new BaSyxFrameEncoder().encodeRequest(VABBaSyxTCPInterface.BASYX_SET, NON_ASCII, "\"\u00fc\""));
+		byte[] path = NON_ASCII.getBytes(StandardCharsets.UTF_8);
+		byte[] value = "\"\u00fc\"".getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(frame.length - 4, CoderTools.getInt32(frame, 0));
+		assertEquals(VABBaSyxTCPInterface.BASYX_SET, frame[4]);
+		assertEquals(path.length, CoderTools.getInt32(frame, 5));
+		assertEquals(NON_ASCII, new String(frame, 9, path.length, StandardCharsets.UTF_8));
+		assertEquals(value.length, CoderTools.getInt32(frame, 9 + path.length));
+		assertEquals(4 + 1 + 4 + path.length + 4 + value.length, frame.length);
+	}
+
+	/**
+	 * Frames spanning multiple pooled buffers and multiple reads have to be
+	 * decoded correctly
+	 */
+	@Test
+	public void testLargeFrameWithPartialReads() throws IOException {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			builder.append("\u00e4bc");
+		}
+		String value = builder.toString();
+
+		ByteBufferPool pool = new ByteBufferPool(64, 4);
+		byte[] frames = encode(new BaSyxFrameEncoder(pool).encodeRequest(VABBaSyxTCPInterface.BASYX_INVOKE, 42, NON_ASCII, value), new BaSyxFrameEncoder(pool).encodeRequest(VABBaSyxTCPInterface.BASYX_GET, NON_ASCII, null));
+
+		BaSyxFrameDecoder decoder = new BaSyxFrameDecoder(16, Integer.MAX_VALUE);
+		ReadableByteChannel channel = new ChunkedChannel(frames, 7);
+
+		ByteBuffer first = decoder.readFrame(channel);
+		assertEquals(VABBaSyxTCPInterface.BASYX_INVOKE | VABBaSyxTCPInterface.BASYX_REQUEST_ID_FLAG, first.get());
+		assertEquals(42, first.getInt());
+		assertEquals(NON_ASCII, BaSyxFrameDecoder.getString(first));
+		assertEquals(value, BaSyxFrameDecoder.getString(first));
+
+		ByteBuffer second = decoder.readFrame(channel);
+		assertEquals(VABBaSyxTCPInterface.BASYX_GET, second.get());
+		assertEquals(NON_ASCII, BaSyxFrameDecoder.getString(second));
+		assertEquals(0, second.remaining());
+		assertNull(decoder.nextFrame());
+	}
+
+	/**
+	 * Frames of a pooled decoder have to stay valid after their buffer has been
+	 * detached, even if more bytes are read
+	 */
+	@Test
+	public void testDetachedFrames() throws IOException {
+		ByteBufferPool pool = new ByteBufferPool(64, 4);
+		BaSyxFrameEncoder[] encoders = new BaSyxFrameEncoder[20];
+		for (int i = 0; i < encoders.length; i++) {
+			encoders[i] = new BaSyxFrameEncoder(pool).encodeRequest(VABBaSyxTCPInterface.BASYX_GET, i, NON_ASCII + i, null);
+		}
+		ReadableByteChannel channel = new ChunkedChannel(encode(encoders), 50);
+
+		BaSyxFrameDecoder decoder = new BaSyxFrameDecoder(pool, Integer.MAX_VALUE);
+		List<ByteBuffer> frames = new ArrayList<>();
+		while (decoder.read(channel) != -1) {
+			ByteBuffer frame;
+			while ((frame = decoder.nextFrame()) != null) {
+				frames.add(frame);
+			}
+			decoder.detach();
+		}
+
+		assertEquals(encoders.length, frames.size());
+		for (int i = 0; i < frames.size(); i++) {
+			ByteBuffer frame = frames.get(i);
+			assertEquals(VABBaSyxTCPInterface.BASYX_GET | VABBaSyxTCPInterface.BASYX_REQUEST_ID_FLAG, frame.get());
+			assertEquals(i, frame.getInt());
+			assertEquals(NON_ASCII + i, BaSyxFrameDecoder.getString(frame));
+		}
+	}
+
+	/**
+	 * Payloads written to the payload stream have to be prefixed with their length
+	 */
+	@Test
+	public void testStreamedPayload() throws IOException {
+		BaSyxFrameEncoder encoder = new BaSyxFrameEncoder(new ByteBufferPool(16, 4));
+		encoder.startFrame();
+		encoder.putInt8(VABBaSyxTCPInterface.BASYX_RESULT_OK);
+		OutputStream payload = encoder.startPayload();
+		byte[] json = ("[\"" + NON_ASCII + "\"]").getBytes(StandardCharsets.UTF_8);
+		payload.write(json);
+		encoder.endPayload();
+		encoder.finishFrame();
+
+		BaSyxFrameDecoder decoder = new BaSyxFrameDecoder();
+		ByteBuffer frame = decoder.readFrame(Channels.newChannel(new ByteArrayInputStream(encode(encoder))));
+		assertEquals(VABBaSyxTCPInterface.BASYX_RESULT_OK, frame.get());
+		InputStream stream = BaSyxFrameDecoder.getPayloadStream(frame);
+		ByteArrayOutputStream read = new ByteArrayOutputStream();
+		int b;
+		while ((b = stream.read()) != -1) {
+			read.write(b);
+		}
+		assertEquals("[\"" + NON_ASCII + "\"]", new String(read.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	private byte[] encode(BaSyxFrameEncoder... encoders) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		WritableByteChannel channel = Channels.newChannel(output);
+		for (BaSyxFrameEncoder encoder : encoders) {
+			for (ByteBuffer buffer : encoder.getFrame()) {
+				channel.write(buffer);
+			}
+			encoder.release();
+		}
+		return output.toByteArray();
+	}
+
+	/**
+	 * Channel that returns at most a fixed number of bytes per read
+	 */
+	private static class ChunkedChannel implements ReadableByteChannel {
+		private final ByteBuffer data;
+		private final int chunkSize;
+
+		public ChunkedChannel(byte[] data, int chunkSize) {
+			this.data = ByteBuffer.wrap(data);
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		public int read(ByteBuffer dst) {
+			if (!data.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(chunkSize, Math.min(dst.remaining(), data.remaining()));
+			for (int i = 0; i < count; i++) {
+				dst.put(data.get());
+			}
+			return count;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -24,14 +24,24 @@
  ******************************************************************************/
 package org.eclipse.basyx.testsuite.regression.vab.protocol.basyx;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.basyx.testsuite.regression.vab.modelprovider.SimpleVABElement;
 import org.eclipse.basyx.testsuite.regression.vab.modelprovider.TestProvider;
 import org.eclipse.basyx.vab.manager.VABConnectionManager;
 import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameDecoder;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameEncoder;
 import org.eclipse.basyx.vab.protocol.basyx.connector.BaSyxConnector;
 import org.eclipse.basyx.vab.protocol.basyx.connector.BaSyxConnectorFactory;
 import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
@@ -74,4 +84,42 @@ public class TestVABBaSyxTCP extends TestProvider {
 		Set<Thread> threads = Thread.getAllStackTraces().keySet();
 		assertFalse(threads.stream().anyMatch(t -> t.getName().contains(VABBaSyxTCPInterface.class.getName())));
 	}
+
+	/**
+	 * Tests if a response that was cut off does not corrupt the response of the
+	 * next call
+	 */
+	@Test
+	public void testCallAfterTruncatedResponse() throws Exception {
+		try (ServerSocketChannel server = ServerSocketChannel.open()) {
+			server.bind(new InetSocketAddress("localhost", 6995));
+			CompletableFuture<Void> serverDone = CompletableFuture.runAsync(() -> {
+				try {
+					// First connection: announce a frame of 100 bytes, but only send 3
+					try (SocketChannel channel = server.accept()) {
+						new BaSyxFrameDecoder().readFrame(channel);
+						ByteBuffer truncated = ByteBuffer.allocate(7).order(ByteOrder.LITTLE_ENDIAN);
+						truncated.putInt(100).put(new byte[] { 1, 2, 3 }).flip();
+						channel.write(truncated);
+					}
+
+					// Second connection: send a complete response
+					try (SocketChannel channel = server.accept()) {
+						new BaSyxFrameDecoder().readFrame(channel);
+						BaSyxFrameEncoder encoder = new BaSyxFrameEncoder();
+						encoder.startFrame().putInt8(0).putString("42").finishFrame();
+						encoder.writeFullyTo(channel);
+						encoder.release();
+					}
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			});
+
+			BaSyxConnector connector = new BaSyxConnector("localhost", 6995);
+			assertNull(connector.getValue("integer"));
+			assertEquals("42", connector.getValue("integer"));
+			serverDone.get();
+		}
+	}
 }
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.basyx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.SimpleVABElement;
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.TestProvider;
+import org.eclipse.basyx.vab.manager.VABConnectionManager;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.basyx.connector.BaSyxConnectorFactory;
+import org.eclipse.basyx.vab.protocol.basyx.connector.MultiplexedBaSyxConnector;
+import org.eclipse.basyx.vab.protocol.basyx.server.BaSyxTCPServer;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Test VAB using the BaSyx protocol with persistent, multiplexed connections.
+ * This is an integration test
+ */
+public class TestVABBaSyxTCPMultiplexed extends TestProvider {
+	private BaSyxConnectorFactory factory = new BaSyxConnectorFactory(2, 5000);
+	protected VABConnectionManager connManager = new VABConnectionManager(new TestsuiteDirectory_BaSyxNative(), factory);
+
+	@Rule
+	public VABTCPServerResource res = new VABTCPServerResource(new VABMapProvider(new SimpleVABElement()));
+
+	@Override
+	protected VABConnectionManager getConnectionManager() {
+		return connManager;
+	}
+
+	@After
+	public void closeConnections() {
+		factory.close();
+	}
+
+	/**
+	 * Tests if concurrent requests over the shared connections are answered with
+	 * their own responses
+	 */
+	@Test
+	public void testConcurrentRequests() throws Exception {
+		VABElementProxy proxy = connManager.connectToVABElement("urn:fhg:es.iese:vab:1:1:simplevabelement");
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object>> integers = new ArrayList<>();
+			List<Future<Object>> strings = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				integers.add(executor.submit(() -> proxy.getValue("/primitives/integer")));
+				strings.add(executor.submit(() -> proxy.getValue("/primitives/string")));
+			}
+			for (Future<Object> f : integers) {
+				assertEquals(123, f.get());
+			}
+			for (Future<Object> f : strings) {
+				assertEquals("TestValue", f.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests if a connection that could not be established is established again by
+	 * the next request
+	 */
+	@Test
+	public void testReconnectAfterFailedConnect() throws Exception {
+		int port = 6996;
+		MultiplexedBaSyxConnector connector = new MultiplexedBaSyxConnector("localhost", port, 1, 5000);
+		try {
+			connector.getValueAsync("/primitives/integer").get();
+			fail();
+		} catch (ExecutionException e) {
+			// Expected
+		}
+
+		BaSyxTCPServer<IModelProvider> server = new BaSyxTCPServer<>(new VABMapProvider(new SimpleVABElement()), port);
+		server.start();
+		try {
+			assertEquals("123", connector.getValueAsync("/primitives/integer").get());
+		} finally {
+			connector.close();
+			server.stop();
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (C) 2022 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.basyx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.SimpleVABElement;
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.TestProvider;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.manager.VABConnectionManager;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameDecoder;
+import org.eclipse.basyx.vab.protocol.basyx.BaSyxFrameEncoder;
+import org.eclipse.basyx.vab.protocol.basyx.connector.BaSyxConnectorFactory;
+import org.eclipse.basyx.vab.protocol.basyx.server.BaSyxTCPServerConfiguration;
+import org.eclipse.basyx.vab.protocol.basyx.server.NonBlockingBaSyxTCPServer;
+import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test VAB using the BaSyx protocol served by the
+ * {@link NonBlockingBaSyxTCPServer}. This is an integration test
+ */
+public class TestVABNonBlockingBaSyxTCP extends TestProvider {
+	private static final int MAX_CONNECTIONS = 4;
+	private static final long IDLE_TIMEOUT = 200;
+
+	protected VABConnectionManager connManager = new VABConnectionManager(new TestsuiteDirectory_BaSyxNative(), new BaSyxConnectorFactory());
+
+	private NonBlockingBaSyxTCPServer<IModelProvider> server;
+
+	@Override
+	protected VABConnectionManager getConnectionManager() {
+		return connManager;
+	}
+
+	@Before
+	public void startServer() {
+		BaSyxTCPServerConfiguration config = new BaSyxTCPServerConfiguration(6998).setSelectorThreads(2).setWorkerThreads(4).setMaxConnections(MAX_CONNECTIONS).setIdleTimeout(IDLE_TIMEOUT);
+		server = new NonBlockingBaSyxTCPServer<>(new VABMapProvider(new SimpleVABElement()), config);
+		server.start();
+	}
+
+	@After
+	public void stopServer() {
+		server.stop();
+	}
+
+	/**
+	 * Tests if connections exceeding the configured maximum are rejected
+	 */
+	@Test
+	public void testMaxConnections() throws Exception {
+		Socket[] sockets = new Socket[MAX_CONNECTIONS + 2];
+		try {
+			for (int i = 0; i < sockets.length; i++) {
+				sockets[i] = new Socket("localhost", 6998);
+			}
+			Thread.sleep(100);
+			assertEquals(MAX_CONNECTIONS, server.getOpenConnections());
+		} finally {
+			close(sockets);
+		}
+	}
+
+	/**
+	 * Tests if idle connections are closed by the server
+	 */
+	@Test
+	public void testIdleTimeout() throws Exception {
+		Socket socket = new Socket("localhost", 6998);
+		try {
+			Thread.sleep(100);
+			assertEquals(1, server.getOpenConnections());
+
+			Thread.sleep(IDLE_TIMEOUT * 3);
+			assertEquals(0, server.getOpenConnections());
+			assertEquals(-1, socket.getInputStream().read());
+		} finally {
+			close(socket);
+		}
+	}
+
+	/**
+	 * Tests if the server stops reading requests while the maximum number of
+	 * pending requests is reached
+	 */
+	@Test
+	public void testMaxPendingRequests() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		IModelProvider blockingProvider = new VABMapProvider(new SimpleVABElement()) {
+			@Override
+			public Object getValue(String path) throws ProviderException {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.getValue(path);
+			}
+		};
+		BaSyxTCPServerConfiguration config = new BaSyxTCPServerConfiguration(6997).setWorkerThreads(1).setMaxPendingRequests(2);
+		NonBlockingBaSyxTCPServer<IModelProvider> limitedServer = new NonBlockingBaSyxTCPServer<>(blockingProvider, config);
+		limitedServer.start();
+
+		int requests = 10;
+		try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", 6997))) {
+			BaSyxFrameEncoder encoder = new BaSyxFrameEncoder();
+			for (int i = 0; i < requests; i++) {
+				encoder.encodeRequest(VABBaSyxTCPInterface.BASYX_GET, i, "/primitives/integer", null);
+				encoder.writeFullyTo(channel);
+			}
+			encoder.release();
+
+			Thread.sleep(200);
+			assertEquals(2, limitedServer.getPendingRequests());
+
+			release.countDown();
+			BaSyxFrameDecoder decoder = new BaSyxFrameDecoder();
+			for (int i = 0; i < requests; i++) {
+				decoder.readFrame(channel);
+			}
+
+			// The last response may be received before the server finished sending it
+			long deadline = System.currentTimeMillis() + 1000;
+			while (limitedServer.getPendingRequests() > 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, limitedServer.getPendingRequests());
+		} finally {
+			release.countDown();
+			limitedServer.stop();
+		}
+	}
+
+	/**
+	 * Tests if a server that was never started can be stopped
+	 */
+	@Test
+	public void testStopWithoutStart() {
+		NonBlockingBaSyxTCPServer<IModelProvider> unstarted = new NonBlockingBaSyxTCPServer<>(new VABMapProvider(new SimpleVABElement()), 6997);
+		unstarted.stop();
+		assertTrue(unstarted.hasEnded());
+	}
+
+	private void close(Socket... sockets) throws IOException {
+		for (Socket socket : sockets) {
+			if (socket != null) {
+				socket.close();
+			}
+		}
+	}
+}
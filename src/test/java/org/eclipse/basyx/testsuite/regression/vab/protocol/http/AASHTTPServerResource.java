@@ -24,6 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.testsuite.regression.vab.protocol.http;
 
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectionPool;
 import org.eclipse.basyx.vab.protocol.http.server.BaSyxHTTPServer;
 import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
 import org.junit.rules.ExternalResource;
@@ -61,5 +62,8 @@ public class AASHTTPServerResource extends ExternalResource {
 	@Override
 	protected void after() {
 		server.shutdown();
+
+		// Pooled connections to the stopped server can not be reused
+		HTTPConnectionPool.closeIdleSharedConnections();
 	}
 }
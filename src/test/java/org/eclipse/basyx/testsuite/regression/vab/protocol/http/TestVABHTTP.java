@@ -30,16 +30,24 @@ import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Invocation.Builder;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.apache.http.client.ClientProtocolException;
+import org.apache.http.pool.PoolStats;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
 import org.eclipse.basyx.testsuite.regression.vab.modelprovider.SimpleVABElement;
 import org.eclipse.basyx.testsuite.regression.vab.modelprovider.TestProvider;
@@ -52,6 +60,7 @@ import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectionPoolConfiguration;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
 import org.eclipse.basyx.vab.protocol.http.helper.HTTPUploadHelper;
 import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
@@ -108,6 +117,102 @@ public class TestVABHTTP extends TestProvider {
 		httpProvider.getValue("");
 	}
 
+	/**
+	 * Tests if connections are returned to the pool and kept alive after requests
+	 */
+	@Test
+	public void testConnectionReuse() {
+		HTTPConnectorFactory factory = new HTTPConnectorFactory(new HTTPConnectionPoolConfiguration().setMaxConnectionsPerRoute(2));
+		IModelProvider provider = factory.getConnector(SIMPLE_VAB_URL);
+		for (int i = 0; i < 10; i++) {
+			provider.getValue("/primitives/integer");
+		}
+
+		PoolStats stats = factory.getConnectionPool().getStats(SIMPLE_VAB_URL);
+		assertEquals(0, stats.getLeased());
+		assertTrue(stats.getAvailable() > 0);
+		assertTrue(stats.getAvailable() <= 2);
+	}
+
+	/**
+	 * Tests if a request fails instead of blocking if all pooled connections are
+	 * in use
+	 */
+	@Test
+	public void testConnectionRequestTimeout() {
+		HTTPConnectorFactory factory = new HTTPConnectorFactory(new HTTPConnectionPoolConfiguration().setMaxConnectionsPerRoute(1).setConnectionRequestTimeout(200));
+
+		// Keep the only connection leased by not reading the response
+		Response leased = factory.getConnectionPool().getClient().target(SIMPLE_VAB_URL + "/primitives/integer").request().get();
+		try {
+			factory.getConnector(SIMPLE_VAB_URL).getValue("/primitives/integer");
+			fail();
+		} catch (ProviderException e) {
+			// Expected
+		} finally {
+			leased.close();
+		}
+	}
+
+	/**
+	 * Tests if only idempotent requests are sent again if the connection was
+	 * closed without a response
+	 */
+	@Test
+	public void testRetryOnlyIdempotentRequests() throws Exception {
+		try (ServerSocket server = new ServerSocket(0)) {
+			AtomicInteger connections = new AtomicInteger();
+			CompletableFuture.runAsync(() -> {
+				while (!server.isClosed()) {
+					// Close each connection after reading the request without responding
+					try (Socket socket = server.accept()) {
+						connections.incrementAndGet();
+						readRequest(socket.getInputStream());
+					} catch (IOException e) {
+						// Server closed
+					}
+				}
+			});
+
+			String url = "http://localhost:" + server.getLocalPort();
+			IModelProvider provider = new HTTPConnectorFactory(new HTTPConnectionPoolConfiguration().setConnectTimeout(1000)).getConnector(url);
+
+			try {
+				provider.invokeOperation("/operation", 1);
+				fail();
+			} catch (ProviderException e) {
+				// Expected
+			}
+			assertEquals(1, connections.get());
+
+			try {
+				provider.getValue("/value");
+				fail();
+			} catch (ProviderException e) {
+				// Expected
+			}
+			TimeUnit.MILLISECONDS.sleep(100);
+			assertEquals(3, connections.get());
+		}
+	}
+
+	private static void readRequest(InputStream in) throws IOException {
+		StringBuilder headers = new StringBuilder();
+		int c;
+		while (!headers.toString().endsWith("\r\n\r\n") && (c = in.read()) != -1) {
+			headers.append((char) c);
+		}
+
+		for (String header : headers.toString().split("\r\n")) {
+			if (header.toLowerCase().startsWith("content-length:")) {
+				int length = Integer.parseInt(header.substring("content-length:".length()).trim());
+				for (int i = 0; i < length; i++) {
+					in.read();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Tests if multiple parameters are correctly accepted and passed to the
 	 * provider